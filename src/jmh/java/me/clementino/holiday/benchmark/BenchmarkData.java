@@ -0,0 +1,91 @@
+package me.clementino.holiday.benchmark;
+
+import module java.base;
+import me.clementino.holiday.domain.dop.FixedHoliday;
+import me.clementino.holiday.domain.dop.Holiday;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.KnownHoliday;
+import me.clementino.holiday.domain.dop.Locality;
+import me.clementino.holiday.domain.dop.Location;
+import me.clementino.holiday.domain.dop.MoveableFromBaseHoliday;
+import me.clementino.holiday.domain.dop.MoveableHoliday;
+import me.clementino.holiday.domain.dop.ObservedHoliday;
+import me.clementino.holiday.dto.HolidayDataDTO;
+
+/** Sample data shared by the benchmarks, one holiday per {@link Holiday} variant. */
+final class BenchmarkData {
+
+  /** The {@link Holiday} variants, used as a benchmark parameter. */
+  enum Variant {
+    FIXED,
+    OBSERVED,
+    MOVEABLE,
+    MOVEABLE_FROM_BASE
+  }
+
+  private static final List<Locality> BRAZIL = List.of(Locality.brazil());
+
+  private static final MoveableHoliday EASTER = new MoveableHoliday(
+      "Easter",
+      "Easter Sunday",
+      LocalDate.of(2025, 4, 20),
+      BRAZIL,
+      HolidayType.RELIGIOUS,
+      KnownHoliday.EASTER,
+      false);
+
+  private BenchmarkData() {
+  }
+
+  static Holiday holiday(Variant variant) {
+    return switch (variant) {
+      case FIXED -> new FixedHoliday(
+          "Christmas",
+          "Christmas Day",
+          LocalDate.of(2025, 12, 25),
+          25,
+          Month.DECEMBER,
+          BRAZIL,
+          HolidayType.NATIONAL);
+      case OBSERVED -> new ObservedHoliday(
+          "Independence Day",
+          "Brazilian Independence Day",
+          LocalDate.of(2025, 9, 7),
+          BRAZIL,
+          HolidayType.NATIONAL,
+          LocalDate.of(2025, 9, 8),
+          true);
+      case MOVEABLE -> EASTER;
+      case MOVEABLE_FROM_BASE -> new MoveableFromBaseHoliday(
+          "Good Friday",
+          "Friday before Easter",
+          LocalDate.of(2025, 4, 18),
+          BRAZIL,
+          HolidayType.RELIGIOUS,
+          KnownHoliday.GOOD_FRIDAY,
+          EASTER,
+          -2,
+          false);
+    };
+  }
+
+  /** A list of holiday DTOs shaped like a typical API response page. */
+  static List<HolidayDataDTO> holidayData(int size) {
+    var start = LocalDate.of(2025, 1, 1);
+    var created = LocalDateTime.of(2025, 1, 15, 10, 30);
+    return IntStream.range(0, size)
+        .mapToObj(i -> new HolidayDataDTO(
+            "holiday-" + i,
+            "Holiday " + i,
+            start.plusDays(i % 365),
+            i % 4 == 0 ? Optional.of(start.plusDays(i % 365 + 1)) : Optional.empty(),
+            i % 3 == 0 ? new Location("BR", "SP", "São Paulo") : new Location("BR", null, null),
+            i % 2 == 0 ? HolidayType.NATIONAL : HolidayType.RELIGIOUS,
+            true,
+            Optional.of("Description of holiday " + i),
+            Optional.of(created),
+            Optional.of(created),
+            Optional.of(0)))
+        .toList();
+  }
+}
@@ -0,0 +1,63 @@
+package me.clementino.holiday.benchmark;
+
+import module java.base;
+import com.neovisionaries.i18n.CountryCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import me.clementino.holiday.util.CountryCodeUtil;
+
+/**
+ * Country normalization through the {@link CountryCodeUtil} indexes, against the linear scan over
+ * {@link CountryCode#values()} it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CountryCodeBenchmark {
+
+  @Param({"BR", "Brazil", "Zimbabwe", "united states"})
+  public String input;
+
+  @Benchmark
+  public Optional<String> normalizeCountry() {
+    return CountryCodeUtil.normalizeCountry(input);
+  }
+
+  @Benchmark
+  public Optional<String> getCountryCode() {
+    return CountryCodeUtil.getCountryCode(input);
+  }
+
+  @Benchmark
+  public Optional<String> linearScanNormalizeCountry() {
+    String trimmed = input.trim();
+    CountryCode code = CountryCode.getByCode(trimmed.toUpperCase());
+    if (code != null && code != CountryCode.UNDEFINED) {
+      return Optional.of(trimmed.toUpperCase());
+    }
+    return linearScanGetCountryCode();
+  }
+
+  @Benchmark
+  public Optional<String> linearScanGetCountryCode() {
+    for (CountryCode code : CountryCode.values()) {
+      if (code != CountryCode.UNDEFINED
+          && code.getName() != null
+          && code.getName().equalsIgnoreCase(input.trim())) {
+        return Optional.of(code.getAlpha2());
+      }
+    }
+    return Optional.empty();
+  }
+}
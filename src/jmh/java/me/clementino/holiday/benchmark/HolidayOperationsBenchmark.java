@@ -0,0 +1,62 @@
+package me.clementino.holiday.benchmark;
+
+import module java.base;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import me.clementino.holiday.domain.dop.Holiday;
+import me.clementino.holiday.domain.dop.HolidayOperations;
+
+/**
+ * Date calculations of {@link HolidayOperations} for every {@link Holiday} variant.
+ *
+ * <p>
+ * The operations are called on a plain instance, without the Spring cache proxy, so the scores
+ * are the cost of a cache miss. Years inside and outside the precomputed moveable feast table are
+ * measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HolidayOperationsBenchmark {
+
+  @Param({"FIXED", "OBSERVED", "MOVEABLE", "MOVEABLE_FROM_BASE"})
+  public BenchmarkData.Variant variant;
+
+  @Param({"2025", "5000"})
+  public int year;
+
+  private final HolidayOperations operations = new HolidayOperations();
+  private Holiday holiday;
+
+  @Setup
+  public void setUp() {
+    holiday = BenchmarkData.holiday(variant);
+  }
+
+  @Benchmark
+  public Holiday calculateDate() {
+    return operations.calculateDate(holiday, year);
+  }
+
+  @Benchmark
+  public Holiday calculateObservedDate() {
+    return operations.calculateObservedDate(holiday, year);
+  }
+
+  @Benchmark
+  public LocalDate getDateOnly() {
+    return operations.getDateOnly(holiday, year);
+  }
+}
@@ -0,0 +1,60 @@
+package me.clementino.holiday.benchmark;
+
+import module java.base;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import me.clementino.holiday.domain.dop.Holiday;
+import me.clementino.holiday.domain.dop.Locality;
+import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.dto.HolidayResponseDTO;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.mapper.HolidayMapper;
+
+/** Conversions between domain, persistence and API representations of a holiday. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+  @Param({"FIXED", "MOVEABLE_FROM_BASE"})
+  public BenchmarkData.Variant variant;
+
+  private final HolidayMapper mapper = new HolidayMapper();
+  private final Locality city = Locality.saoPauloCity();
+  private Holiday holiday;
+  private HolidayDataDTO holidayData;
+
+  @Setup
+  public void setUp() {
+    holiday = BenchmarkData.holiday(variant);
+    holidayData = BenchmarkData.holidayData(1).getFirst();
+  }
+
+  @Benchmark
+  public HolidayResponseDTO toResponse() {
+    return mapper.toResponse(holidayData);
+  }
+
+  @Benchmark
+  public HolidayEntity toEntity() {
+    return mapper.toEntity(holiday);
+  }
+
+  @Benchmark
+  public LocalityEntity fromDopLocality() {
+    return LocalityEntity.fromDopLocality(city);
+  }
+}
@@ -0,0 +1,51 @@
+package me.clementino.holiday.benchmark;
+
+import module java.base;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import me.clementino.holiday.config.JacksonConfig;
+import me.clementino.holiday.dto.HolidayResponseDTO;
+import me.clementino.holiday.mapper.HolidayMapper;
+
+/**
+ * Jackson serialization of {@link HolidayResponseDTO} lists, with the application's
+ * {@link ObjectMapper} configuration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+  @Param({"1", "20", "500"})
+  public int size;
+
+  private ObjectWriter writer;
+  private List<HolidayResponseDTO> responses;
+
+  @Setup
+  public void setUp() {
+    writer = new JacksonConfig().objectMapper().writer();
+    var mapper = new HolidayMapper();
+    responses = BenchmarkData.holidayData(size).stream().map(mapper::toResponse).toList();
+  }
+
+  @Benchmark
+  public byte[] writeResponses() throws JsonProcessingException {
+    return writer.writeValueAsBytes(responses);
+  }
+}
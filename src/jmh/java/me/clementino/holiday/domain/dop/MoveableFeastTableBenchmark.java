@@ -0,0 +1,42 @@
+package me.clementino.holiday.domain.dop;
+
+import module java.base;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookup of moveable holiday dates in {@link MoveableFeastTable} against computing them with
+ * {@link HolidayOperations#calculateMoveableRule}. Lives in the domain package to reach both.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoveableFeastTableBenchmark {
+
+  @Param({"EASTER", "GOOD_FRIDAY", "THANKSGIVING_US"})
+  public KnownHoliday rule;
+
+  @Param({"2025"})
+  public int year;
+
+  @Benchmark
+  public LocalDate table() {
+    return MoveableFeastTable.date(rule, year);
+  }
+
+  @Benchmark
+  public LocalDate algorithm() {
+    return HolidayOperations.calculateMoveableRule(rule, year);
+  }
+}
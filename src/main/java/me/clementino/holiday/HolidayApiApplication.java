@@ -1,14 +1,137 @@
 package me.clementino.holiday;
 
+import module java.base;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import me.clementino.holiday.dto.HolidayImportReportDTO;
+import me.clementino.holiday.repository.HolidayRepository;
+import me.clementino.holiday.repository.MappedHolidaySnapshot;
+import me.clementino.holiday.service.HolidayImportService;
 
 @SpringBootApplication
 @EnableMongoAuditing
 public class HolidayApiApplication {
 
+  private static final Logger log = LoggerFactory.getLogger(HolidayApiApplication.class);
+
+  /** Command line option naming an NDJSON file to import instead of serving HTTP. */
+  static final String IMPORT_OPTION = "import";
+
+  /** Command line option with the byte offset to resume the import from. */
+  static final String IMPORT_OFFSET_OPTION = "import.offset";
+
+  /** Command line option naming a snapshot file to export the holidays to. */
+  static final String EXPORT_SNAPSHOT_OPTION = "export-snapshot";
+
   public static void main(final String[] args) {
-    SpringApplication.run(HolidayApiApplication.class, args);
+    boolean command = Arrays.stream(args)
+        .anyMatch(arg -> arg.startsWith("--" + IMPORT_OPTION + "=")
+            || arg.startsWith("--" + EXPORT_SNAPSHOT_OPTION + "="));
+    if (!command) {
+      SpringApplication.run(HolidayApiApplication.class, args);
+      return;
+    }
+    // As a command line property it also wins over the web application type of the 'reactive' profile
+    String[] commandArgs = Arrays.copyOf(args, args.length + 1);
+    commandArgs[args.length] = "--spring.main.web-application-type=" + WebApplicationType.NONE;
+    new SpringApplicationBuilder(HolidayApiApplication.class)
+        .web(WebApplicationType.NONE)
+        .run(commandArgs);
+  }
+
+  /**
+   * Command line import: {@code java -jar holiday-api.jar --import=holidays.ndjson}.
+   *
+   * <p>
+   * Progress checkpoints are written next to the file ({@code holidays.ndjson.checkpoint}) and a
+   * later run resumes from there, unless {@code --import.offset=<bytes>} is given. The checkpoint
+   * file is removed once the import completes. The application exits when the import ends, with
+   * status 1 if it was interrupted.
+   */
+  @Bean
+  ApplicationRunner holidayImportRunner(
+      HolidayImportService importService, ConfigurableApplicationContext context) {
+    return args -> {
+      if (!args.containsOption(IMPORT_OPTION)) {
+        return;
+      }
+      Path file = Path.of(args.getOptionValues(IMPORT_OPTION).getFirst());
+      Path checkpointFile = file.resolveSibling(file.getFileName() + ".checkpoint");
+
+      long offset;
+      if (args.containsOption(IMPORT_OFFSET_OPTION)) {
+        offset = Long.parseLong(args.getOptionValues(IMPORT_OFFSET_OPTION).getFirst());
+      } else if (Files.exists(checkpointFile)) {
+        offset = Long.parseLong(Files.readString(checkpointFile).strip());
+        log.info("Resuming import of {} from offset {}", file, offset);
+      } else {
+        offset = 0;
+      }
+
+      HolidayImportReportDTO report;
+      try (InputStream source = new BufferedInputStream(Files.newInputStream(file))) {
+        report = importService.importNdjson(
+            source,
+            offset,
+            progress -> {
+              writeCheckpoint(checkpointFile, progress.checkpointOffset());
+              log.info(
+                  "Imported {} holidays ({} failed, {} records/s), checkpoint {}",
+                  progress.imported(), progress.failed(),
+                  Math.round(progress.recordsPerSecond()), progress.checkpointOffset());
+            });
+      }
+
+      if (report.status() == HolidayImportReportDTO.Status.COMPLETED) {
+        Files.deleteIfExists(checkpointFile);
+      } else {
+        writeCheckpoint(checkpointFile, report.checkpointOffset());
+        log.error("Import interrupted: {}. Run again to resume from offset {}",
+            report.error(), report.checkpointOffset());
+      }
+      report.failures().forEach(
+          failure -> log.warn("Rejected record at offset {}: {}", failure.offset(), failure.errors()));
+
+      int exitCode = report.status() == HolidayImportReportDTO.Status.COMPLETED ? 0 : 1;
+      System.exit(SpringApplication.exit(context, () -> exitCode));
+    };
+  }
+
+  /**
+   * Command line snapshot export:
+   * {@code java -jar holiday-api.jar --export-snapshot=holidays.snapshot}.
+   *
+   * <p>
+   * Writes every holiday to a {@link MappedHolidaySnapshot} file, which instances started with the
+   * {@code snapshot} profile serve without MongoDB. The application exits when the export ends.
+   */
+  @Bean
+  ApplicationRunner holidaySnapshotExportRunner(
+      HolidayRepository holidayRepository, ConfigurableApplicationContext context) {
+    return args -> {
+      if (!args.containsOption(EXPORT_SNAPSHOT_OPTION)) {
+        return;
+      }
+      Path file = Path.of(args.getOptionValues(EXPORT_SNAPSHOT_OPTION).getFirst());
+      int exported = MappedHolidaySnapshot.write(holidayRepository.findAll(), file);
+      log.info("Exported {} holidays to snapshot {}", exported, file);
+      System.exit(SpringApplication.exit(context, () -> 0));
+    };
+  }
+
+  private static void writeCheckpoint(Path checkpointFile, long offset) {
+    try {
+      Files.writeString(checkpointFile, Long.toString(offset));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 }
@@ -0,0 +1,38 @@
+package me.clementino.holiday.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache configuration.
+ *
+ * <p>
+ * The provider (Caffeine), bounds and TTL are configured through {@code spring.cache.*} in
+ * {@code application.yml}; this class only enables caching and names the caches used by the
+ * service and domain layers.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  /** Dates of a holiday resolved for a given year. */
+  public static final String HOLIDAYS_BY_YEAR = "holidays-by-year";
+
+  /** Holiday instances recalculated for a given year. */
+  public static final String CALCULATED_HOLIDAYS = "calculated-holidays";
+
+  /** Filtered holiday listings keyed by {@code HolidayFilter}. */
+  public static final String LOCALITY_HOLIDAYS = "locality-holidays";
+
+  /** Single holidays keyed by id. */
+  public static final String HOLIDAY_BY_ID = "holiday-by-id";
+
+  /** Non-working day bitsets keyed by location and year. */
+  public static final String BUSINESS_CALENDARS = "business-calendars";
+
+  /** Compiled holiday calendars keyed by location and year. */
+  public static final String COMPILED_CALENDARS = "compiled-calendars";
+
+  /** Locality indexes of the holidays stored for a country, keyed by country code. */
+  public static final String LOCALITY_INDEXES = "locality-indexes";
+}
@@ -0,0 +1,33 @@
+package me.clementino.holiday.config;
+
+import module java.base;
+import io.micrometer.common.annotation.ValueResolver;
+import io.micrometer.core.aop.MeterTagAnnotationHandler;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics configuration.
+ *
+ * <p>
+ * {@code @Timed} methods are timed by the aspect Spring Boot registers when
+ * {@code management.observations.annotations.enabled} is true. The handler declared here lets
+ * their parameters add tags with {@code @MeterTag(resolver = ...)}, e.g. the holiday variant of
+ * {@link me.clementino.holiday.domain.dop.HolidayOperations#calculateDate}. Only resolver classes
+ * are supported, not SpEL expressions.
+ */
+@Configuration
+public class MetricsConfig {
+
+  @Bean
+  MeterTagAnnotationHandler meterTagAnnotationHandler() {
+    Map<Class<? extends ValueResolver>, ValueResolver> resolvers = new ConcurrentHashMap<>();
+    return new MeterTagAnnotationHandler(
+        type -> resolvers.computeIfAbsent(type, BeanUtils::instantiateClass),
+        type -> {
+          throw new UnsupportedOperationException(
+              "@MeterTag expressions are not supported, use a resolver: " + type);
+        });
+  }
+}
@@ -0,0 +1,96 @@
+package me.clementino.holiday.config;
+
+import module java.base;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * MongoDB driver {@link CommandListener} recording the latency of every command and the number
+ * of documents it returned.
+ *
+ * <p>
+ * Meters, tagged with the command name, the collection and {@code status=success|failure}:
+ * {@code holiday.mongodb.commands} times each command as measured by the driver, and
+ * {@code holiday.mongodb.commands.documents} (successful commands only) counts the documents in
+ * the reply batch of cursor commands ({@code find}, {@code aggregate}, {@code getMore}), the
+ * documents affected by writes, or the document returned by {@code findAndModify}. A query whose
+ * results span several batches therefore shows up as a {@code find} followed by {@code getMore}
+ * commands.
+ */
+public class MongoCommandMetrics implements CommandListener {
+
+  private static final String UNKNOWN = "unknown";
+
+  private final MeterRegistry registry;
+  private final ConcurrentMap<Integer, String> collections = new ConcurrentHashMap<>();
+
+  public MongoCommandMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public void commandStarted(CommandStartedEvent event) {
+    collections.put(event.getRequestId(), collection(event.getCommandName(), event.getCommand()));
+  }
+
+  @Override
+  public void commandSucceeded(CommandSucceededEvent event) {
+    String collection = Objects.requireNonNullElse(collections.remove(event.getRequestId()), UNKNOWN);
+    timer(event.getCommandName(), collection, "success")
+        .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    DistributionSummary.builder("holiday.mongodb.commands.documents")
+        .description("Documents returned or affected by MongoDB commands")
+        .baseUnit("documents")
+        .tag("command", event.getCommandName())
+        .tag("collection", collection)
+        .register(registry)
+        .record(documents(event.getResponse()));
+  }
+
+  @Override
+  public void commandFailed(CommandFailedEvent event) {
+    String collection = Objects.requireNonNullElse(collections.remove(event.getRequestId()), UNKNOWN);
+    timer(event.getCommandName(), collection, "failure")
+        .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+  }
+
+  private Timer timer(String command, String collection, String status) {
+    return Timer.builder("holiday.mongodb.commands")
+        .description("Latency of MongoDB commands as measured by the driver")
+        .tag("command", command)
+        .tag("collection", collection)
+        .tag("status", status)
+        .register(registry);
+  }
+
+  /** The collection is the value of the command name key, or of {@code collection} for getMore. */
+  private static String collection(String commandName, BsonDocument command) {
+    BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+    return value != null && value.isString() ? value.asString().getValue() : UNKNOWN;
+  }
+
+  static int documents(BsonDocument response) {
+    if (response == null) {
+      return 0;
+    }
+    if (response.isDocument("cursor")) {
+      BsonDocument cursor = response.getDocument("cursor");
+      BsonArray batch = cursor.isArray("firstBatch")
+          ? cursor.getArray("firstBatch")
+          : cursor.getArray("nextBatch", new BsonArray());
+      return batch.size();
+    }
+    if (response.isNumber("n")) {
+      return response.getNumber("n").intValue();
+    }
+    return response.isDocument("value") ? 1 : 0;
+  }
+}
@@ -0,0 +1,57 @@
+package me.clementino.holiday.config;
+
+import module java.base;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MongoDB driver connection pool and command metrics configuration.
+ *
+ * <p>
+ * Every request handler blocks on a synchronous repository call, so with virtual threads
+ * ({@code spring.threads.virtual.enabled=true}) the number of requests in flight is no longer
+ * bounded by the Tomcat thread pool and the connection pool becomes the real limit. The driver
+ * has no wait-queue size any more: a thread that finds the pool exhausted waits up to
+ * {@code holiday.mongodb.pool.max-wait-time} for a connection and then fails with a
+ * {@code MongoTimeoutException}, which the API answers with {@code 503 Service Unavailable}. The
+ * default wait of two minutes would otherwise let thousands of requests pile up on checkout.
+ *
+ * <p>
+ * These settings are applied after the ones of {@code spring.data.mongodb.uri}, so pool options
+ * in the connection string are overridden.
+ *
+ * <p>
+ * Every command sent by the driver is recorded by {@link MongoCommandMetrics}, which replaces
+ * the command metrics of Spring Boot ({@code management.metrics.mongo.command.enabled=false}).
+ */
+@Configuration
+public class MongoConfig {
+
+  @Bean
+  MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+      @Value("${holiday.mongodb.pool.max-size:100}") int maxSize,
+      @Value("${holiday.mongodb.pool.min-size:10}") int minSize,
+      @Value("${holiday.mongodb.pool.max-connecting:8}") int maxConnecting,
+      @Value("${holiday.mongodb.pool.max-wait-time:2s}") Duration maxWaitTime,
+      @Value("${holiday.mongodb.pool.max-idle-time:5m}") Duration maxIdleTime) {
+    if (minSize > maxSize) {
+      throw new IllegalArgumentException(
+          "holiday.mongodb.pool.min-size must not exceed max-size, got " + minSize + " > " + maxSize);
+    }
+    return settings -> settings.applyToConnectionPoolSettings(
+        pool -> pool
+            .maxSize(maxSize)
+            .minSize(minSize)
+            .maxConnecting(maxConnecting)
+            .maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS)
+            .maxConnectionIdleTime(maxIdleTime.toMillis(), TimeUnit.MILLISECONDS));
+  }
+
+  @Bean
+  MongoClientSettingsBuilderCustomizer commandMetricsCustomizer(MeterRegistry meterRegistry) {
+    return settings -> settings.addCommandListener(new MongoCommandMetrics(meterRegistry));
+  }
+}
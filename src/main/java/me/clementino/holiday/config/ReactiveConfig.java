@@ -0,0 +1,65 @@
+package me.clementino.holiday.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import java.util.ArrayList;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientFactory;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Reactor Netty configuration of the {@code reactive} profile.
+ *
+ * <p>
+ * Handlers never block, so a few event-loop threads serve any number of concurrent connections.
+ * The loop size is fixed by {@code holiday.reactive.event-loop-threads} instead of Reactor's
+ * default of one thread per core, which keeps the footprint predictable on small edge nodes.
+ *
+ * <p>
+ * Reads go through the reactive driver. The blocking beans shared with the servlet stack stay in
+ * the context but are rarely used, so the blocking client replaces the auto-configured one with
+ * a pool that opens connections on demand, up to {@code holiday.reactive.blocking-pool-max-size},
+ * instead of keeping {@code holiday.mongodb.pool.min-size} connections open next to the reactive
+ * driver's.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveConfig {
+
+  @Bean
+  ReactorResourceFactory reactorResourceFactory(
+      @Value("${holiday.reactive.event-loop-threads:4}") int eventLoopThreads) {
+    if (eventLoopThreads < 1) {
+      throw new IllegalArgumentException(
+          "holiday.reactive.event-loop-threads must be positive, got: " + eventLoopThreads);
+    }
+    var factory = new ReactorResourceFactory();
+    factory.setUseGlobalResources(false);
+    factory.setLoopResourcesSupplier(
+        () -> LoopResources.create("holiday-event-loop", eventLoopThreads, true));
+    return factory;
+  }
+
+  @Bean
+  MongoClient blockingMongoClient(
+      ObjectProvider<MongoClientSettingsBuilderCustomizer> builderCustomizers,
+      MongoClientSettings settings,
+      @Value("${holiday.reactive.blocking-pool-max-size:2}") int blockingPoolMaxSize) {
+    if (blockingPoolMaxSize < 1) {
+      throw new IllegalArgumentException(
+          "holiday.reactive.blocking-pool-max-size must be positive, got: " + blockingPoolMaxSize);
+    }
+    var customizers = new ArrayList<>(builderCustomizers.orderedStream().toList());
+    customizers.add(
+        builder -> builder.applyToConnectionPoolSettings(
+            pool -> pool.minSize(0).maxSize(blockingPoolMaxSize)));
+    return new MongoClientFactory(customizers).createMongoClient(settings);
+  }
+}
@@ -0,0 +1,85 @@
+package me.clementino.holiday.config;
+
+import module java.base;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import me.clementino.holiday.mapper.HolidayMapper;
+import me.clementino.holiday.repository.HolidayOccurrenceStore;
+import me.clementino.holiday.repository.MappedHolidaySnapshot;
+
+/**
+ * Read-only serving from a snapshot file, enabled by setting {@code holiday.snapshot.file} (see
+ * the {@code snapshot} profile).
+ *
+ * <p>
+ * The file is memory-mapped at startup and every read is answered from it, so the instance needs
+ * no MongoDB and starts in the time it takes to map the file. Writes to {@code /api/**} are
+ * rejected with {@code 405 Method Not Allowed} instead of waiting for a database that is not
+ * there.
+ *
+ * <p>
+ * Setting {@code holiday.snapshot.occurrences.first-year} and {@code last-year} also expands the
+ * snapshot into a {@link HolidayOccurrenceStore} at startup, which then answers occurrence
+ * expansion within those years. The snapshot never changes, so the store never goes stale.
+ */
+@Configuration
+@ConditionalOnProperty(name = "holiday.snapshot.file")
+public class SnapshotConfig implements WebMvcConfigurer {
+
+  private static final Logger log = LoggerFactory.getLogger(SnapshotConfig.class);
+
+  private static final Set<HttpMethod> READ_METHODS =
+      Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+  @Bean
+  MappedHolidaySnapshot mappedHolidaySnapshot(@Value("${holiday.snapshot.file}") Path file)
+      throws IOException {
+    MappedHolidaySnapshot snapshot = MappedHolidaySnapshot.open(file);
+    log.info("Serving {} holidays from snapshot {} written at {}",
+        snapshot.size(), file, snapshot.createdAt());
+    return snapshot;
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "holiday.snapshot.occurrences.first-year")
+  HolidayOccurrenceStore holidayOccurrenceStore(
+      MappedHolidaySnapshot snapshot,
+      HolidayMapper mapper,
+      @Value("${holiday.snapshot.occurrences.first-year}") int firstYear,
+      @Value("${holiday.snapshot.occurrences.last-year}") int lastYear) {
+    HolidayOccurrenceStore store =
+        HolidayOccurrenceStore.build(
+            snapshot.findAll(), mapper::toRecurringHoliday, firstYear, lastYear);
+    log.info("Expanded {} holiday occurrence rows for {}-{} into {} off-heap bytes",
+        store.size(), firstYear, lastYear, store.byteSize());
+    return store;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new HandlerInterceptor() {
+      @Override
+      public boolean preHandle(
+          HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (READ_METHODS.contains(HttpMethod.valueOf(request.getMethod()))) {
+          return true;
+        }
+        response.setStatus(HttpStatus.METHOD_NOT_ALLOWED.value());
+        response.setHeader(HttpHeaders.ALLOW, "GET, HEAD, OPTIONS");
+        return false;
+      }
+    }).addPathPatterns("/api/**");
+  }
+}
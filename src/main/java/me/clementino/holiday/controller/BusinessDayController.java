@@ -0,0 +1,98 @@
+package me.clementino.holiday.controller;
+
+import module java.base;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// Application specific imports
+import me.clementino.holiday.domain.dop.Location;
+import me.clementino.holiday.dto.BusinessDayAddResponseDTO;
+import me.clementino.holiday.dto.BusinessDayCheckResponseDTO;
+import me.clementino.holiday.dto.BusinessDayCountResponseDTO;
+import me.clementino.holiday.service.BusinessDayService;
+
+/**
+ * REST Controller for business-day calculations such as settlement dates.
+ *
+ * <p>
+ * A business day is a weekday that is not an observed holiday of the given country, state and
+ * city. Invalid arguments are answered with {@code 400 Bad Request}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@RequestMapping("/api/business-days")
+@Tag(name = "Business Day API", description = "Business-day calculations based on weekends and observed holidays")
+public class BusinessDayController {
+
+  private final BusinessDayService businessDayService;
+
+  public BusinessDayController(BusinessDayService businessDayService) {
+    this.businessDayService = businessDayService;
+  }
+
+  @GetMapping("/is-business-day")
+  @Operation(summary = "Check a business day", description = "Check whether a date is a business day at a location")
+  @ApiResponse(responseCode = "200", description = "Successfully checked the date")
+  @ApiResponse(responseCode = "400", description = "Invalid location or date")
+  public ResponseEntity<BusinessDayCheckResponseDTO> isBusinessDay(
+      @Parameter(description = "ISO country code") @RequestParam String country,
+      @Parameter(description = "State code") @RequestParam(required = false) String state,
+      @Parameter(description = "City name") @RequestParam(required = false) String city,
+      @Parameter(description = "Date to check (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+    try {
+      boolean businessDay = businessDayService.isBusinessDay(new Location(country, state, city), date);
+      return ResponseEntity.ok(new BusinessDayCheckResponseDTO(date, businessDay));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/count")
+  @Operation(summary = "Count business days", description = "Count the business days between two dates, both inclusive")
+  @ApiResponse(responseCode = "200", description = "Successfully counted business days")
+  @ApiResponse(responseCode = "400", description = "Invalid location or date range")
+  public ResponseEntity<BusinessDayCountResponseDTO> countBusinessDays(
+      @Parameter(description = "ISO country code") @RequestParam String country,
+      @Parameter(description = "State code") @RequestParam(required = false) String state,
+      @Parameter(description = "City name") @RequestParam(required = false) String city,
+      @Parameter(description = "First date, inclusive (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @Parameter(description = "Last date, inclusive (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+    try {
+      int businessDays = businessDayService.countBusinessDays(new Location(country, state, city), from, to);
+      return ResponseEntity.ok(new BusinessDayCountResponseDTO(from, to, businessDays));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/add")
+  @Operation(summary = "Add business days", description = "Find the date a number of business days after (or, when negative, before) a start date")
+  @ApiResponse(responseCode = "200", description = "Successfully calculated the date")
+  @ApiResponse(responseCode = "400", description = "Invalid location, date or number of days")
+  public ResponseEntity<BusinessDayAddResponseDTO> addBusinessDays(
+      @Parameter(description = "ISO country code") @RequestParam String country,
+      @Parameter(description = "State code") @RequestParam(required = false) String state,
+      @Parameter(description = "City name") @RequestParam(required = false) String city,
+      @Parameter(description = "Start date, not counted (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+      @Parameter(description = "Business days to add, negative to go backwards") @RequestParam int days) {
+
+    try {
+      LocalDate result = businessDayService.addBusinessDays(new Location(country, state, city), date, days);
+      return ResponseEntity.ok(new BusinessDayAddResponseDTO(date, days, result));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+}
@@ -2,11 +2,24 @@ package me.clementino.holiday.controller;
 
 import module java.base;
 import jakarta.validation.Valid;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,16 +30,33 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 // Application specific imports
 import me.clementino.holiday.domain.dop.HolidayType;
 import me.clementino.holiday.domain.dop.Location;
 import me.clementino.holiday.dto.CreateHolidayRequestDTO;
+import me.clementino.holiday.dto.HolidayBatchItemDTO;
+import me.clementino.holiday.dto.HolidayBatchResponseDTO;
+import me.clementino.holiday.dto.HolidayCheckResponseDTO;
+import me.clementino.holiday.dto.HolidayCursor;
+import me.clementino.holiday.dto.HolidayImportReportDTO;
 import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.dto.HolidayPageDTO;
+import me.clementino.holiday.dto.HolidayPageResponseDTO;
 import me.clementino.holiday.dto.HolidayResponseDTO;
 import me.clementino.holiday.dto.UpdateHolidayRequestDTO;
+import me.clementino.holiday.entity.HolidayEntity;
 import me.clementino.holiday.mapper.HolidayCreationMapper;
+import me.clementino.holiday.mapper.HolidayFragmentCache;
+import me.clementino.holiday.mapper.HolidayJsonWriter;
 import me.clementino.holiday.mapper.HolidayMapper;
+import me.clementino.holiday.repository.HolidayChangeTracker;
+import me.clementino.holiday.repository.HolidayChangeTracker.ChangeToken;
+import me.clementino.holiday.repository.HolidayFilter;
+import me.clementino.holiday.service.HolidayBatchService;
+import me.clementino.holiday.service.HolidayImportService;
 import me.clementino.holiday.service.HolidayService;
 
 /**
@@ -41,29 +71,116 @@ import me.clementino.holiday.service.HolidayService;
  * <li>Using immutable data structures (records) for requests and responses
  * <li>Clear data transformation between layers
  * </ul>
+ *
+ * <p>
+ * JSON reads support conditional GETs. A holiday's strong ETag comes from its version and last
+ * update, or from a hash of its content when it has no version, and its {@code Last-Modified}
+ * from its last update. Listings and pages are validated by the collection-level
+ * {@link HolidayChangeTracker} token, checked before any holiday is loaded, so an unchanged
+ * listing costs a single token lookup and is answered with {@code 304 Not Modified}.
+ * {@code Cache-Control} lets clients keep responses for {@code holiday.http.max-age} and
+ * revalidate them afterwards.
+ *
+ * <p>
+ * Listings (JSON arrays and NDJSON) are assembled from the pre-rendered JSON of each stored
+ * holiday in the {@link HolidayFragmentCache}; occurrences are written one by one with
+ * {@link HolidayJsonWriter}. Both emit the {@link HolidayResponseDTO} JSON without building the
+ * DTOs.
  */
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/api/holidays")
 @Tag(name = "Holiday API", description = "Operations for managing holidays using Data-Oriented Programming principles")
 public class HolidayController {
 
+  /** Media type for newline-delimited JSON streaming responses. */
+  public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+  /** Number of NDJSON records written between explicit flushes to the client. */
+  private static final int NDJSON_FLUSH_INTERVAL = 256;
+
+  /** Entity tag and, when known, last modification time of a representation. */
+  private record Validators(String etag, Optional<Instant> lastModified) {
+
+    static Validators of(ChangeToken token) {
+      return new Validators(token.etag(), Optional.of(token.lastModified()));
+    }
+
+    /** True when {@code If-None-Match} or {@code If-Modified-Since} matches these validators. */
+    boolean matches(WebRequest request) {
+      return lastModified
+          .map(time -> request.checkNotModified(etag, time.toEpochMilli()))
+          .orElseGet(() -> request.checkNotModified(etag));
+    }
+  }
+
   private final HolidayService holidayService;
+  private final HolidayBatchService batchService;
+  private final HolidayImportService importService;
   private final HolidayMapper holidayMapper;
+  private final HolidayJsonWriter jsonWriter;
+  private final HolidayFragmentCache fragmentCache;
   private final HolidayCreationMapper creationMapper;
+  private final ObjectMapper objectMapper;
+  private final HolidayChangeTracker changeTracker;
+  private final CacheControl cacheControl;
 
   public HolidayController(
       HolidayService holidayService,
+      HolidayBatchService batchService,
+      HolidayImportService importService,
       HolidayMapper holidayMapper,
-      HolidayCreationMapper creationMapper) {
+      HolidayJsonWriter jsonWriter,
+      HolidayFragmentCache fragmentCache,
+      HolidayCreationMapper creationMapper,
+      ObjectMapper objectMapper,
+      HolidayChangeTracker changeTracker,
+      @Value("${holiday.http.max-age:0s}") Duration maxAge) {
     this.holidayService = holidayService;
+    this.batchService = batchService;
+    this.importService = importService;
     this.holidayMapper = holidayMapper;
+    this.jsonWriter = jsonWriter;
+    this.fragmentCache = fragmentCache;
     this.creationMapper = creationMapper;
+    this.objectMapper = objectMapper;
+    this.changeTracker = changeTracker;
+    this.cacheControl = maxAge.isZero()
+        ? CacheControl.noCache().cachePublic()
+        : CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
   }
 
   @GetMapping
   @Operation(summary = "Get all holidays", description = "Retrieve all holidays with optional filtering using DOP query patterns")
-  @ApiResponse(responseCode = "200", description = "Successfully retrieved holidays")
-  public ResponseEntity<List<HolidayResponseDTO>> getAllHolidays(
+  @ApiResponse(responseCode = "200", description = "Successfully retrieved holidays", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = HolidayResponseDTO.class))))
+  @ApiResponse(responseCode = "304", description = "No holiday changed since the ETag or date sent by the client")
+  public ResponseEntity<StreamingResponseBody> getAllHolidays(
+      @Parameter(description = "Filter by country") @RequestParam(required = false) String country,
+      @Parameter(description = "Filter by state") @RequestParam(required = false) String state,
+      @Parameter(description = "Filter by city") @RequestParam(required = false) String city,
+      @Parameter(description = "Filter by holiday type") @RequestParam(required = false) HolidayType type,
+      @Parameter(description = "Filter by start date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+      @Parameter(description = "Filter by end date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+      @Parameter(description = "Filter by name pattern") @RequestParam(required = false) String namePattern,
+      WebRequest webRequest) {
+
+    Optional<Validators> validators = changeTracker.current().map(Validators::of);
+    if (validators.isPresent() && validators.get().matches(webRequest)) {
+      return notModified(validators.get());
+    }
+
+    List<HolidayDataDTO> holidays = holidayService.findAllWithFilters(
+        new HolidayFilter(country, state, city, type, startDate, endDate, null, namePattern));
+
+    StreamingResponseBody body = out -> fragmentCache.writeArray(out, holidays);
+
+    return okBuilder(validators).contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
+  @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+  @Operation(summary = "Stream holidays as NDJSON", description = "Stream all matching holidays one JSON object per line, straight from a MongoDB cursor. Selected with 'Accept: application/x-ndjson'")
+  @ApiResponse(responseCode = "200", description = "Successfully started streaming holidays")
+  public ResponseEntity<StreamingResponseBody> streamHolidays(
       @Parameter(description = "Filter by country") @RequestParam(required = false) String country,
       @Parameter(description = "Filter by state") @RequestParam(required = false) String state,
       @Parameter(description = "Filter by city") @RequestParam(required = false) String city,
@@ -72,43 +189,170 @@ public class HolidayController {
       @Parameter(description = "Filter by end date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
       @Parameter(description = "Filter by name pattern") @RequestParam(required = false) String namePattern) {
 
-    List<HolidayDataDTO> holidays;
-
-    // If no filters provided, get all holidays
-    if (country == null
-        && state == null
-        && city == null
-        && type == null
-        && startDate == null
-        && endDate == null
-        && namePattern == null) {
-      holidays = holidayService.findAll();
-    } else {
-      holidays = holidayService.findAllWithFilters(
-          country, state, city, type, startDate, endDate, null, namePattern);
+    var filter = new HolidayFilter(
+        country, state, city, type, startDate, endDate, null, namePattern);
+
+    // reading the token drops the cached fragments if another instance changed the collection
+    changeTracker.current();
+
+    StreamingResponseBody body = out -> {
+      try (Stream<HolidayEntity> holidays = holidayService.streamEntitiesWithFilters(filter)) {
+        int written = 0;
+        for (Iterator<HolidayEntity> it = holidays.iterator(); it.hasNext();) {
+          out.write(fragmentCache.fragment(it.next()));
+          out.write('\n');
+          if (++written % NDJSON_FLUSH_INTERVAL == 1) {
+            out.flush();
+          }
+        }
+      }
+    };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+        .body(body);
+  }
+
+  @GetMapping("/occurrences")
+  @Operation(summary = "Expand holiday occurrences", description = "List every yearly occurrence of the matching holidays between two dates, calculated on the fly and streamed in date order")
+  @ApiResponse(responseCode = "200", description = "Successfully started streaming occurrences")
+  @ApiResponse(responseCode = "400", description = "Invalid date range")
+  public ResponseEntity<StreamingResponseBody> getOccurrences(
+      @Parameter(description = "Filter by country") @RequestParam String country,
+      @Parameter(description = "Filter by state") @RequestParam(required = false) String state,
+      @Parameter(description = "Filter by city") @RequestParam(required = false) String city,
+      @Parameter(description = "Filter by holiday type") @RequestParam(required = false) HolidayType type,
+      @Parameter(description = "First date, inclusive (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @Parameter(description = "Last date, inclusive (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+    var filter = new HolidayFilter(country, state, city, type, null, null, null, null);
+
+    Stream<HolidayDataDTO> occurrences;
+    try {
+      occurrences = holidayService.expandOccurrences(filter, from, to);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    StreamingResponseBody body = out -> {
+      try (occurrences;
+          JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+        generator.writeStartArray();
+        for (Iterator<HolidayDataDTO> it = occurrences.iterator(); it.hasNext();) {
+          jsonWriter.write(generator, it.next());
+        }
+        generator.writeEndArray();
+      }
+    };
+
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
+  @GetMapping("/check")
+  @Operation(summary = "Check a holiday", description = "Check whether a date is a holiday at a location, answered from the compiled calendar of its year")
+  @ApiResponse(responseCode = "200", description = "Successfully checked the date")
+  @ApiResponse(responseCode = "400", description = "Invalid location or date")
+  public ResponseEntity<HolidayCheckResponseDTO> checkHoliday(
+      @Parameter(description = "ISO country code") @RequestParam String country,
+      @Parameter(description = "State code") @RequestParam(required = false) String state,
+      @Parameter(description = "City name") @RequestParam(required = false) String city,
+      @Parameter(description = "Date to check (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+    try {
+      List<HolidayDataDTO> holidays = holidayService.findHolidaysOn(new Location(country, state, city), date);
+      boolean observed = holidays.stream()
+          .anyMatch(holiday -> holiday.observed().orElse(holiday.date()).equals(date));
+      return ResponseEntity.ok(
+          new HolidayCheckResponseDTO(
+              date,
+              !holidays.isEmpty(),
+              observed,
+              holidays.stream().map(holidayMapper::toResponse).toList()));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/next")
+  @Operation(summary = "Get the next holiday", description = "Find the first holiday at a location on or after a date, answered from compiled calendars")
+  @ApiResponse(responseCode = "200", description = "Successfully found the next holiday")
+  @ApiResponse(responseCode = "400", description = "Invalid location or date")
+  @ApiResponse(responseCode = "404", description = "No holiday within the years searched")
+  public ResponseEntity<HolidayResponseDTO> getNextHoliday(
+      @Parameter(description = "ISO country code") @RequestParam String country,
+      @Parameter(description = "State code") @RequestParam(required = false) String state,
+      @Parameter(description = "City name") @RequestParam(required = false) String city,
+      @Parameter(description = "First date to consider (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+    try {
+      return holidayService.findNextHoliday(new Location(country, state, city), date)
+          .map(holidayMapper::toResponse)
+          .map(ResponseEntity::ok)
+          .orElse(ResponseEntity.notFound().build());
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
     }
+  }
 
-    List<HolidayResponseDTO> responses = holidays.stream().map(holidayMapper::toResponse).toList();
+  @GetMapping(params = "limit")
+  @Operation(summary = "Get a page of holidays", description = "Retrieve holidays ordered by date using cursor-based pagination. Pass the returned 'next' cursor as 'after' to fetch the following page")
+  @ApiResponse(responseCode = "200", description = "Successfully retrieved the page")
+  @ApiResponse(responseCode = "304", description = "No holiday changed since the ETag or date sent by the client")
+  @ApiResponse(responseCode = "400", description = "Invalid limit or cursor")
+  public ResponseEntity<HolidayPageResponseDTO> getHolidayPage(
+      @Parameter(description = "Maximum number of holidays in the page (1-100)") @RequestParam int limit,
+      @Parameter(description = "Opaque cursor returned as 'next' by the previous page") @RequestParam(required = false) String after,
+      @Parameter(description = "Filter by country") @RequestParam(required = false) String country,
+      @Parameter(description = "Filter by state") @RequestParam(required = false) String state,
+      @Parameter(description = "Filter by city") @RequestParam(required = false) String city,
+      @Parameter(description = "Filter by holiday type") @RequestParam(required = false) HolidayType type,
+      @Parameter(description = "Filter by start date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+      @Parameter(description = "Filter by end date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+      @Parameter(description = "Filter by name pattern") @RequestParam(required = false) String namePattern,
+      WebRequest webRequest) {
 
-    return ResponseEntity.ok(responses);
+    try {
+      var filter = new HolidayFilter(
+          country, state, city, type, startDate, endDate, null, namePattern);
+      var cursor = Optional.ofNullable(after).map(HolidayCursor::decode);
+
+      Optional<Validators> validators = changeTracker.current().map(Validators::of);
+      if (validators.isPresent() && validators.get().matches(webRequest)) {
+        return notModified(validators.get());
+      }
+
+      HolidayPageDTO page = holidayService.findPage(filter, cursor, limit);
+
+      return ok(
+          validators,
+          new HolidayPageResponseDTO(
+              page.items().stream().map(holidayMapper::toResponse).toList(),
+              page.next().map(HolidayCursor::encode).orElse(null)));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   @GetMapping("/{id}")
   @Operation(summary = "Get holiday by ID", description = "Retrieve a specific holiday by its ID")
   @ApiResponse(responseCode = "200", description = "Successfully retrieved holiday")
+  @ApiResponse(responseCode = "304", description = "Holiday unchanged since the ETag or date sent by the client")
   @ApiResponse(responseCode = "404", description = "Holiday not found")
   public ResponseEntity<HolidayResponseDTO> getHolidayById(
-      @Parameter(description = "Holiday ID") @PathVariable String id) {
+      @Parameter(description = "Holiday ID") @PathVariable String id,
+      WebRequest webRequest) {
 
-    try {
-      return holidayService
-          .findById(id)
-          .map(holidayMapper::toResponse)
-          .map(ResponseEntity::ok)
-          .orElse(ResponseEntity.notFound().build());
-    } catch (Exception e) {
+    Optional<HolidayDataDTO> holiday = holidayService.findById(id);
+    if (holiday.isEmpty()) {
       return ResponseEntity.notFound().build();
     }
+
+    HolidayResponseDTO response = holidayMapper.toResponse(holiday.get());
+    Validators validators = validators(holiday.get(), response);
+    if (validators.matches(webRequest)) {
+      return notModified(validators);
+    }
+    return ok(Optional.of(validators), response);
   }
 
   @PostMapping
@@ -123,7 +367,48 @@ public class HolidayController {
       var createdHoliday = holidayService.create(holiday);
       var response = holidayMapper.toResponse(createdHoliday);
       return ResponseEntity.status(201).body(response);
-    } catch (Exception e) {
+    } catch (IllegalArgumentException | DateTimeException e) {
+      // rejected by the domain model; database failures reach the exception handler
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Create holidays in batch", description = "Create many holidays from a JSON array with bulk writes. Every item gets its own result, so invalid items do not reject the whole batch")
+  @ApiResponse(responseCode = "200", description = "Batch processed, see the per-item results")
+  @ApiResponse(responseCode = "400", description = "Body is not a JSON array")
+  public ResponseEntity<HolidayBatchResponseDTO> createHolidays(@RequestBody List<JsonNode> items) {
+    List<HolidayBatchItemDTO> results = batchService.createAll(
+        items.stream().map(item -> (Supplier<CreateHolidayRequestDTO>) () -> parseCreateRequest(item)));
+    return ResponseEntity.ok(HolidayBatchResponseDTO.of(results));
+  }
+
+  @PostMapping(path = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+  @Operation(summary = "Create holidays in batch from NDJSON", description = "Create many holidays from one JSON object per line with bulk writes. Lines are read as they arrive; blank lines are skipped")
+  @ApiResponse(responseCode = "200", description = "Batch processed, see the per-item results")
+  public ResponseEntity<HolidayBatchResponseDTO> createHolidaysFromNdjson(InputStream body)
+      throws IOException {
+    try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+      List<HolidayBatchItemDTO> results = batchService.createAll(
+          reader.lines()
+              .filter(line -> !line.isBlank())
+              .map(line -> (Supplier<CreateHolidayRequestDTO>) () -> parseCreateRequest(line)));
+      return ResponseEntity.ok(HolidayBatchResponseDTO.of(results));
+    }
+  }
+
+  @PostMapping(path = "/import", consumes = APPLICATION_NDJSON_VALUE)
+  @Operation(summary = "Import holidays from NDJSON", description = "Import an arbitrarily large NDJSON stream of holidays with batched upserts. Re-importing a record replaces it. An interrupted import is resumed by sending the same stream again with 'offset' set to the reported checkpoint")
+  @ApiResponse(responseCode = "200", description = "Import ended, see the report status")
+  @ApiResponse(responseCode = "400", description = "Offset is negative or beyond the end of the stream")
+  public ResponseEntity<HolidayImportReportDTO> importHolidays(
+      @Parameter(description = "Byte offset to resume from; that many bytes of the stream are skipped") @RequestParam(defaultValue = "0") long offset,
+      InputStream body) throws IOException {
+
+    try {
+      return ResponseEntity.ok(importService.importNdjson(body, offset, progress -> {
+      }));
+    } catch (IllegalArgumentException | EOFException e) {
       return ResponseEntity.badRequest().build();
     }
   }
@@ -168,7 +453,7 @@ public class HolidayController {
           .map(holidayMapper::toResponse)
           .map(ResponseEntity::ok)
           .orElse(ResponseEntity.notFound().build());
-    } catch (Exception e) {
+    } catch (IllegalArgumentException | DateTimeException e) {
       return ResponseEntity.badRequest().build();
     }
   }
@@ -180,15 +465,74 @@ public class HolidayController {
   public ResponseEntity<Void> deleteHoliday(
       @Parameter(description = "Holiday ID") @PathVariable String id) {
 
+    boolean deleted = holidayService.deleteById(id);
+
+    if (!deleted) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.noContent().build();
+  }
+
+  /** Parses one batch item, reporting malformed JSON as an invalid argument. */
+  private CreateHolidayRequestDTO parseCreateRequest(JsonNode item) {
+    try {
+      return objectMapper.treeToValue(item, CreateHolidayRequestDTO.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Malformed holiday: " + e.getOriginalMessage(), e);
+    }
+  }
+
+  private CreateHolidayRequestDTO parseCreateRequest(String item) {
     try {
-      boolean deleted = holidayService.deleteById(id);
+      return objectMapper.readValue(item, CreateHolidayRequestDTO.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Malformed holiday: " + e.getOriginalMessage(), e);
+    }
+  }
 
-      if (!deleted) {
-        return ResponseEntity.notFound().build();
+  /**
+   * Validators of a single holiday: a strong ETag from its version and last update, or from a
+   * SHA-256 of its JSON representation when it has no version.
+   */
+  private Validators validators(HolidayDataDTO holiday, HolidayResponseDTO response)
+      throws JsonProcessingException {
+    Optional<Instant> lastModified = holiday.lastUpdated()
+        .map(time -> time.atZone(ZoneId.systemDefault()).toInstant());
+
+    String tag;
+    if (holiday.version().isPresent()) {
+      tag = "v" + holiday.version().get()
+          + "." + Long.toHexString(lastModified.map(Instant::toEpochMilli).orElse(0L));
+    } else {
+      try {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(response));
+        tag = HexFormat.of().formatHex(digest, 0, 16);
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 is not available", e);
       }
-      return ResponseEntity.noContent().build();
-    } catch (Exception e) {
-      return ResponseEntity.notFound().build();
     }
+    return new Validators("\"" + tag + "\"", lastModified);
+  }
+
+  private <T> ResponseEntity<T> ok(Optional<Validators> validators, T body) {
+    return okBuilder(validators).body(body);
+  }
+
+  private ResponseEntity.BodyBuilder okBuilder(Optional<Validators> validators) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(cacheControl);
+    validators.ifPresent(
+        present -> {
+          response.eTag(present.etag());
+          present.lastModified().ifPresent(response::lastModified);
+        });
+    return response;
+  }
+
+  private <T> ResponseEntity<T> notModified(Validators validators) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+        .cacheControl(cacheControl)
+        .eTag(validators.etag());
+    validators.lastModified().ifPresent(response::lastModified);
+    return response.build();
   }
 }
@@ -0,0 +1,129 @@
+package me.clementino.holiday.controller;
+
+import module java.base;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Application specific imports
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.dto.HolidayResponseDTO;
+import me.clementino.holiday.mapper.HolidayMapper;
+import me.clementino.holiday.repository.HolidayFilter;
+import me.clementino.holiday.service.ReactiveHolidayService;
+
+/**
+ * WebFlux handler functions of the read API, routed by {@link ReactiveHolidayRouter}.
+ *
+ * <p>
+ * Takes the same query parameters as {@link HolidayController} and returns the same
+ * {@link HolidayResponseDTO} bodies. Listings are written as a JSON array, or as NDJSON when the
+ * client sends {@code Accept: application/x-ndjson}; either way holidays are encoded as they
+ * arrive from the MongoDB cursor and the cursor is only read as fast as the client consumes the
+ * response. Invalid parameters are answered with {@code 400 Bad Request}.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveHolidayHandler {
+
+  private static final MediaType APPLICATION_NDJSON =
+      MediaType.parseMediaType(HolidayController.APPLICATION_NDJSON_VALUE);
+
+  private final ReactiveHolidayService holidayService;
+  private final HolidayMapper holidayMapper;
+
+  public ReactiveHolidayHandler(ReactiveHolidayService holidayService, HolidayMapper holidayMapper) {
+    this.holidayService = holidayService;
+    this.holidayMapper = holidayMapper;
+  }
+
+  /** {@code GET /api/holidays}: holidays matching the optional filters. */
+  public Mono<ServerResponse> getHolidays(ServerRequest request) {
+    HolidayFilter filter;
+    try {
+      filter = new HolidayFilter(
+          param(request, "country"),
+          param(request, "state"),
+          param(request, "city"),
+          holidayType(request),
+          date(request, "startDate"),
+          date(request, "endDate"),
+          null,
+          param(request, "namePattern"));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return ServerResponse.badRequest().build();
+    }
+
+    MediaType mediaType = request.headers().accept().contains(APPLICATION_NDJSON)
+        ? APPLICATION_NDJSON
+        : MediaType.APPLICATION_JSON;
+    return ServerResponse.ok()
+        .contentType(mediaType)
+        .body(toResponses(holidayService.findWithFilters(filter)), HolidayResponseDTO.class);
+  }
+
+  /** {@code GET /api/holidays/{id}}: one holiday, or {@code 404 Not Found}. */
+  public Mono<ServerResponse> getHoliday(ServerRequest request) {
+    return holidayService
+        .findById(request.pathVariable("id"))
+        .map(holidayMapper::toResponse)
+        .flatMap(holiday -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(holiday))
+        .switchIfEmpty(ServerResponse.notFound().build());
+  }
+
+  /** {@code GET /api/holidays/occurrences}: yearly occurrences between two dates, by date. */
+  public Mono<ServerResponse> getOccurrences(ServerRequest request) {
+    Flux<HolidayDataDTO> occurrences;
+    try {
+      var filter = new HolidayFilter(
+          required(request, "country"),
+          param(request, "state"),
+          param(request, "city"),
+          holidayType(request),
+          null,
+          null,
+          null,
+          null);
+      occurrences = holidayService.expandOccurrences(
+          filter,
+          LocalDate.parse(required(request, "from")),
+          LocalDate.parse(required(request, "to")));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return ServerResponse.badRequest().build();
+    }
+
+    return ServerResponse.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(toResponses(occurrences), HolidayResponseDTO.class);
+  }
+
+  private Flux<HolidayResponseDTO> toResponses(Flux<HolidayDataDTO> holidays) {
+    return holidays.map(holidayMapper::toResponse);
+  }
+
+  private static String param(ServerRequest request, String name) {
+    return request.queryParam(name).filter(value -> !value.isBlank()).orElse(null);
+  }
+
+  private static String required(ServerRequest request, String name) {
+    return Optional.ofNullable(param(request, name))
+        .orElseThrow(() -> new IllegalArgumentException("Parameter '" + name + "' is required"));
+  }
+
+  /** Case-insensitive, like the enum conversion of the servlet stack. */
+  private static HolidayType holidayType(ServerRequest request) {
+    String type = param(request, "type");
+    return type == null ? null : HolidayType.valueOf(type.strip().toUpperCase(Locale.ROOT));
+  }
+
+  private static LocalDate date(ServerRequest request, String name) {
+    String date = param(request, name);
+    return date == null ? null : LocalDate.parse(date);
+  }
+}
@@ -0,0 +1,31 @@
+package me.clementino.holiday.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Functional routes of the reactive read API, active when the {@code reactive} profile runs the
+ * application on WebFlux instead of Spring MVC.
+ *
+ * <p>
+ * Mirrors the read endpoints of {@link HolidayController}. Writes, pagination and business-day
+ * calculations are only served by the servlet stack.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveHolidayRouter {
+
+  @Bean
+  RouterFunction<ServerResponse> holidayRoutes(ReactiveHolidayHandler handler) {
+    return RouterFunctions.route()
+        .GET("/api/holidays/occurrences", handler::getOccurrences)
+        .GET("/api/holidays/{id}", handler::getHoliday)
+        .GET("/api/holidays", handler::getHolidays)
+        .build();
+  }
+}
@@ -0,0 +1,123 @@
+package me.clementino.holiday.domain.dop;
+
+import module java.base;
+
+/**
+ * Pure operations over a year of non-working days packed in a {@code long[]} bitset.
+ *
+ * <p>
+ * Bit {@code n} of the bitset is set when day {@code n + 1} of the year (see
+ * {@link LocalDate#getDayOfYear()}) is not a business day, i.e. it falls on a weekend or on an
+ * observed holiday. A whole year fits in {@value #WORDS} words, so counting business days is a
+ * {@link Long#bitCount} per word and finding the n-th business day skips 64 days at a time
+ * instead of testing dates one by one.
+ *
+ * <p>
+ * Bitsets are treated as immutable once built; none of these operations modify them.
+ */
+public final class BusinessDayOperations {
+
+  /** Number of words in a year bitset (366 days rounded up to 64-bit words). */
+  public static final int WORDS = 6;
+
+  private BusinessDayOperations() {
+  }
+
+  /**
+   * Builds the non-working day bitset of a year from its weekends and the given observed holiday
+   * dates. Dates outside {@code year} are ignored.
+   */
+  public static long[] nonWorkingDays(int year, Collection<LocalDate> observedHolidays) {
+    long[] bits = new long[WORDS];
+
+    LocalDate day = LocalDate.ofYearDay(year, 1);
+    int length = day.lengthOfYear();
+    for (int index = 0; index < length; index++, day = day.plusDays(1)) {
+      DayOfWeek dayOfWeek = day.getDayOfWeek();
+      if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+        bits[index >>> 6] |= 1L << index;
+      }
+    }
+
+    for (LocalDate holiday : observedHolidays) {
+      if (holiday.getYear() == year) {
+        int index = holiday.getDayOfYear() - 1;
+        bits[index >>> 6] |= 1L << index;
+      }
+    }
+    return bits;
+  }
+
+  /** Returns true if the day at {@code index} (zero-based day of year) is a business day. */
+  public static boolean isBusinessDay(long[] bits, int index) {
+    return (bits[index >>> 6] & (1L << index)) == 0;
+  }
+
+  /**
+   * Counts the business days in the zero-based day-of-year range {@code [from, to)}.
+   *
+   * @param bits non-working day bitset
+   * @param from first day index, inclusive
+   * @param to   last day index, exclusive
+   */
+  public static int countBusinessDays(long[] bits, int from, int to) {
+    int count = 0;
+    for (int word = from >>> 6; from < to; word++) {
+      int wordEnd = Math.min(to, (word + 1) << 6);
+      count += Long.bitCount(~bits[word] & rangeMask(from, wordEnd));
+      from = wordEnd;
+    }
+    return count;
+  }
+
+  /**
+   * Finds the {@code n}-th business day at or after {@code from}, stopping before {@code to}.
+   *
+   * @return the zero-based day index, or -1 if the range holds fewer than {@code n} business days
+   */
+  public static int nthBusinessDayForward(long[] bits, int from, int to, int n) {
+    for (int word = from >>> 6; from < to; word++) {
+      int wordEnd = Math.min(to, (word + 1) << 6);
+      long working = ~bits[word] & rangeMask(from, wordEnd);
+      int available = Long.bitCount(working);
+      if (available >= n) {
+        for (int i = 1; i < n; i++) {
+          working &= working - 1;
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(working);
+      }
+      n -= available;
+      from = wordEnd;
+    }
+    return -1;
+  }
+
+  /**
+   * Finds the {@code n}-th business day at or before {@code from}, going backwards to day 0.
+   *
+   * @return the zero-based day index, or -1 if the range holds fewer than {@code n} business days
+   */
+  public static int nthBusinessDayBackward(long[] bits, int from, int n) {
+    for (int word = from >>> 6; word >= 0; word--) {
+      int wordStart = word << 6;
+      long working = ~bits[word] & rangeMask(wordStart, from + 1);
+      int available = Long.bitCount(working);
+      if (available >= n) {
+        for (int i = 1; i < n; i++) {
+          working &= ~Long.highestOneBit(working);
+        }
+        return wordStart + 63 - Long.numberOfLeadingZeros(working);
+      }
+      n -= available;
+      from = wordStart - 1;
+    }
+    return -1;
+  }
+
+  /** Mask of the bits {@code [from, to)} within the word that contains {@code from}. */
+  private static long rangeMask(int from, int to) {
+    int width = to - from;
+    long mask = width >= 64 ? -1L : (1L << width) - 1;
+    return mask << (from & 63);
+  }
+}
@@ -0,0 +1,238 @@
+package me.clementino.holiday.domain.dop;
+
+import module java.base;
+
+/**
+ * Immutable, sorted snapshot of the holidays of one location in one calendar year.
+ *
+ * <p>
+ * Every holiday date in the year is an entry of three parallel arrays: the epoch day (see
+ * {@link LocalDate#toEpochDay()}), the index of the holiday in {@link #holidays()}, and a flag,
+ * packed in a bitset, telling whether the entry is the day the holiday is observed. A holiday
+ * observed on its own date has one flagged entry; a holiday moved by mondayisation has an
+ * unflagged entry on its date and a flagged one on its observed date. Entries are ordered by
+ * epoch day, so every query is a binary search over an {@code int[]} and answers with primitives
+ * or entry positions, without allocating.
+ *
+ * <p>
+ * Holidays are given already resolved for the year, e.g. by
+ * {@link HolidayOperations#calculateObservedDate}. Dates outside the year are dropped, so an
+ * occurrence of the previous year observed in January can be passed to the calendar of the
+ * year it is observed in.
+ *
+ * <pre>{@code
+ * var calendar = CompiledCalendar.of(2025, holidaysOf2025);
+ * int next = calendar.nextHoliday(LocalDate.of(2025, 4, 1));
+ * if (next >= 0) {
+ *   Holiday holiday = calendar.holiday(next);
+ * }
+ * }</pre>
+ *
+ * @param <T> the holiday representation, e.g. {@link Holiday} or a DTO of its occurrence
+ */
+public final class CompiledCalendar<T> {
+
+  private final int year;
+  private final List<T> holidays;
+  private final int[] epochDays;
+  private final int[] holidayIndexes;
+  private final long[] observedFlags;
+
+  private CompiledCalendar(
+      int year, List<T> holidays, int[] epochDays, int[] holidayIndexes, long[] observedFlags) {
+    this.year = year;
+    this.holidays = holidays;
+    this.epochDays = epochDays;
+    this.holidayIndexes = holidayIndexes;
+    this.observedFlags = observedFlags;
+  }
+
+  /**
+   * Compiles the calendar of DOP holidays resolved for the year. The observed date of an
+   * {@link ObservedHoliday} is {@link ObservedHoliday#observed()}, any other holiday is observed
+   * on its date.
+   */
+  public static CompiledCalendar<Holiday> of(int year, Collection<? extends Holiday> holidays) {
+    return compile(
+        year,
+        List.copyOf(holidays),
+        Holiday::date,
+        holiday -> holiday instanceof ObservedHoliday observed ? observed.observed() : holiday.date());
+  }
+
+  /**
+   * Compiles the calendar of the given holiday occurrences.
+   *
+   * @param year     the calendar year
+   * @param holidays the holidays, resolved for the year or observed in it
+   * @param date     the date of a holiday
+   * @param observed the date a holiday is observed on, its date when it is not moved
+   * @throws IllegalArgumentException if the year is not positive
+   */
+  public static <T> CompiledCalendar<T> compile(
+      int year,
+      Collection<? extends T> holidays,
+      Function<? super T, LocalDate> date,
+      Function<? super T, LocalDate> observed) {
+    Objects.requireNonNull(holidays, "Holidays cannot be null");
+    if (year <= 0) {
+      throw new IllegalArgumentException("Year must be positive, got: " + year);
+    }
+
+    var kept = new ArrayList<T>();
+    // entry = epoch day << 32 | holiday index << 1 | observed flag, so sorting sorts by day
+    var entries = new long[2 * holidays.size()];
+    int size = 0;
+    for (T holiday : holidays) {
+      LocalDate holidayDate = Objects.requireNonNull(date.apply(holiday), "Date cannot be null");
+      LocalDate observedDate = Objects.requireNonNullElse(observed.apply(holiday), holidayDate);
+      boolean moved = !observedDate.equals(holidayDate);
+      boolean dateInYear = holidayDate.getYear() == year;
+      boolean observedInYear = observedDate.getYear() == year;
+      if (!dateInYear && !observedInYear) {
+        continue;
+      }
+
+      int index = kept.size();
+      kept.add(holiday);
+      if (dateInYear) {
+        entries[size++] = entry(holidayDate, index, !moved);
+      }
+      if (moved && observedInYear) {
+        entries[size++] = entry(observedDate, index, true);
+      }
+    }
+    Arrays.sort(entries, 0, size);
+
+    var epochDays = new int[size];
+    var holidayIndexes = new int[size];
+    var observedFlags = new long[(size + 63) >>> 6];
+    for (int position = 0; position < size; position++) {
+      long entry = entries[position];
+      epochDays[position] = (int) (entry >> 32);
+      holidayIndexes[position] = (int) entry >>> 1;
+      if ((entry & 1L) != 0) {
+        observedFlags[position >>> 6] |= 1L << position;
+      }
+    }
+    return new CompiledCalendar<>(
+        year, Collections.unmodifiableList(kept), epochDays, holidayIndexes, observedFlags);
+  }
+
+  private static long entry(LocalDate date, int index, boolean observed) {
+    return date.toEpochDay() << 32 | (long) index << 1 | (observed ? 1L : 0L);
+  }
+
+  /** The calendar year. */
+  public int year() {
+    return year;
+  }
+
+  /** The holidays with at least one entry in the year, indexed by {@link #holidayIndex}. */
+  public List<T> holidays() {
+    return holidays;
+  }
+
+  /** Number of entries. */
+  public int size() {
+    return epochDays.length;
+  }
+
+  /** True if a holiday falls on, or is observed on, {@code date}. */
+  public boolean isHoliday(LocalDate date) {
+    int day = (int) date.toEpochDay();
+    int position = lowerBound(day);
+    return position < epochDays.length && epochDays[position] == day;
+  }
+
+  /** True if a holiday is observed on {@code date}, i.e. it is a day off. */
+  public boolean isObserved(LocalDate date) {
+    int day = (int) date.toEpochDay();
+    for (int position = lowerBound(day);
+        position < epochDays.length && epochDays[position] == day;
+        position++) {
+      if (isObservedEntry(position)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Position of the first entry on or after {@code date}, or -1 if there is none this year. */
+  public int nextHoliday(LocalDate date) {
+    int position = lowerBound((int) date.toEpochDay());
+    return position < epochDays.length ? position : -1;
+  }
+
+  /**
+   * Position of the first entry on or after {@code from}. Together with {@link #endOf}, slices the
+   * entries of a date range: {@code for (int i = startOf(from); i < endOf(to); i++)}.
+   */
+  public int startOf(LocalDate from) {
+    return lowerBound((int) from.toEpochDay());
+  }
+
+  /** Position after the last entry on or before {@code to}. */
+  public int endOf(LocalDate to) {
+    return lowerBound((int) to.toEpochDay() + 1);
+  }
+
+  /** Epoch day of the entry at {@code position}. */
+  public int epochDay(int position) {
+    return epochDays[position];
+  }
+
+  /** Date of the entry at {@code position}. */
+  public LocalDate date(int position) {
+    return LocalDate.ofEpochDay(epochDays[position]);
+  }
+
+  /** Index in {@link #holidays()} of the holiday of the entry at {@code position}. */
+  public int holidayIndex(int position) {
+    return holidayIndexes[position];
+  }
+
+  /** Holiday of the entry at {@code position}. */
+  public T holiday(int position) {
+    return holidays.get(holidayIndexes[position]);
+  }
+
+  /** True if the entry at {@code position} is the day its holiday is observed. */
+  public boolean isObservedEntry(int position) {
+    Objects.checkIndex(position, epochDays.length);
+    return (observedFlags[position >>> 6] & (1L << position)) != 0;
+  }
+
+  /** Dates holidays are observed on, in order and without duplicates. */
+  public List<LocalDate> observedDates() {
+    var dates = new ArrayList<LocalDate>();
+    for (int position = 0; position < epochDays.length; position++) {
+      if (isObservedEntry(position)
+          && (dates.isEmpty() || dates.getLast().toEpochDay() != epochDays[position])) {
+        dates.add(LocalDate.ofEpochDay(epochDays[position]));
+      }
+    }
+    return dates;
+  }
+
+  /** First position whose epoch day is not before {@code day}. */
+  private int lowerBound(int day) {
+    int low = 0;
+    int high = epochDays.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (epochDays[middle] < day) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  @Override
+  public String toString() {
+    return "CompiledCalendar[year=" + year + ", holidays=" + holidays.size() + ", entries="
+        + epochDays.length + "]";
+  }
+}
@@ -0,0 +1,146 @@
+package me.clementino.holiday.domain.dop;
+
+import module java.base;
+
+/**
+ * Immutable dependency graph of a set of holidays and the base holidays they are derived from,
+ * evaluated one year at a time.
+ *
+ * <p>
+ * Every holiday is a node and every {@link MoveableFromBaseHoliday} has an edge to its base
+ * holiday. Nodes are keyed by the holiday records themselves, so a base shared by several
+ * derived holidays (e.g. Easter for Good Friday, Easter Monday and Corpus Christi) is a single
+ * node. Registration walks each base chain once, rejects cycles and stores the nodes in
+ * topological order, bases first. {@link #evaluate} then resolves every node exactly once per
+ * year, a derived holiday being its base's date plus the offset, so a full calendar year costs
+ * O(holidays) instead of O(holidays × derivation depth).
+ *
+ * <p>
+ * {@link HolidayOperations} resolves a single holiday through a graph of its own base chain, so
+ * results are the same as {@link HolidayOperations#calculateObservedDate} for each holiday, but
+ * they are neither cached nor timed individually; the callers cache the calendars they build.
+ *
+ * <pre>{@code
+ * var graph = HolidayCalendarGraph.of(holidays);
+ * List<Holiday> observed2025 = graph.evaluate(2025);
+ * }</pre>
+ */
+public final class HolidayCalendarGraph {
+
+  private static final int ROOT = -1;
+
+  private final Holiday[] nodes;
+  private final int[] bases;
+  private final int[] registered;
+
+  private HolidayCalendarGraph(Holiday[] nodes, int[] bases, int[] registered) {
+    this.nodes = nodes;
+    this.bases = bases;
+    this.registered = registered;
+  }
+
+  /**
+   * Builds the graph of the given holidays and of the base holidays they are derived from.
+   *
+   * @throws IllegalArgumentException if a holiday is, directly or transitively, its own base
+   */
+  public static HolidayCalendarGraph of(Collection<? extends Holiday> holidays) {
+    Objects.requireNonNull(holidays, "Holidays cannot be null");
+
+    var positions = new HashMap<Holiday, Integer>();
+    var nodes = new ArrayList<Holiday>();
+    var bases = new ArrayList<Integer>();
+    var registered = new int[holidays.size()];
+
+    int next = 0;
+    for (Holiday holiday : holidays) {
+      Objects.requireNonNull(holiday, "Holiday cannot be null");
+      registered[next++] = register(holiday, positions, nodes, bases);
+    }
+
+    return new HolidayCalendarGraph(
+        nodes.toArray(Holiday[]::new),
+        bases.stream().mapToInt(Integer::intValue).toArray(),
+        registered);
+  }
+
+  /**
+   * Adds the unregistered part of the base chain of {@code holiday}, root first, and returns the
+   * position of {@code holiday}.
+   */
+  private static int register(
+      Holiday holiday, Map<Holiday, Integer> positions, List<Holiday> nodes, List<Integer> bases) {
+    var chain = new LinkedHashSet<Holiday>();
+    Holiday current = holiday;
+    while (current != null && !positions.containsKey(current)) {
+      if (!chain.add(current)) {
+        throw new IllegalArgumentException(
+            "Circular dependency detected: " + current.name() + " is derived from itself");
+      }
+      current = current instanceof MoveableFromBaseHoliday derived ? derived.baseHoliday() : null;
+    }
+
+    var pending = new ArrayList<>(chain);
+    for (Holiday node : pending.reversed()) {
+      int base = node instanceof MoveableFromBaseHoliday derived
+          ? positions.get(derived.baseHoliday())
+          : ROOT;
+      positions.put(node, nodes.size());
+      nodes.add(node);
+      bases.add(base);
+    }
+    return positions.get(holiday);
+  }
+
+  /**
+   * Resolves every registered holiday for {@code year}, with its observed date, in the order
+   * the holidays were given to {@link #of}.
+   *
+   * @throws IllegalArgumentException if the year is not positive
+   */
+  public List<Holiday> evaluate(int year) {
+    LocalDate[] dates = dates(year);
+    var resolved = new ArrayList<Holiday>(registered.length);
+    for (int position : registered) {
+      resolved.add(HolidayOperations.withObservedDate(nodes[position], dates[position]));
+    }
+    return resolved;
+  }
+
+  /**
+   * Resolves the date of every registered holiday for {@code year}, before mondayisation, in the
+   * order the holidays were given to {@link #of}.
+   *
+   * @throws IllegalArgumentException if the year is not positive
+   */
+  public List<LocalDate> evaluateDates(int year) {
+    LocalDate[] dates = dates(year);
+    var resolved = new ArrayList<LocalDate>(registered.length);
+    for (int position : registered) {
+      resolved.add(dates[position]);
+    }
+    return resolved;
+  }
+
+  /** Number of distinct holidays in the graph, including base holidays that were not given. */
+  public int size() {
+    return nodes.length;
+  }
+
+  /** Dates of all nodes for {@code year}; bases come before their derived holidays. */
+  private LocalDate[] dates(int year) {
+    HolidayOperations.validateYear(year);
+
+    var dates = new LocalDate[nodes.length];
+    for (int position = 0; position < nodes.length; position++) {
+      dates[position] = switch (nodes[position]) {
+        case FixedHoliday fixed -> HolidayOperations.calculateFixedDate(fixed, year);
+        case ObservedHoliday observed -> HolidayOperations.calculateFixedDate(observed, year);
+        case MoveableHoliday moveable -> HolidayOperations.calculateMoveableDate(moveable, year);
+        case MoveableFromBaseHoliday derived ->
+          dates[bases[position]].plusDays(derived.dayOffset());
+      };
+    }
+    return dates;
+  }
+}
@@ -1,7 +1,12 @@
 package me.clementino.holiday.domain.dop;
 
 import module java.base;
+import io.micrometer.common.annotation.ValueResolver;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.MeterTag;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
+import me.clementino.holiday.config.CacheConfig;
 
 /**
  * Operations for working with holidays. This class demonstrates the DOP
@@ -22,9 +27,18 @@ import org.springframework.stereotype.Component;
  * instances, never modify
  * input
  * </ol>
+ *
+ * <p>
+ * Because every operation is a pure function of {@code (holiday, year)}, results of calls made
+ * through the Spring bean are memoized in the {@code calculated-holidays} and
+ * {@code holidays-by-year} caches. The class is not final so that it can be proxied.
+ *
+ * <p>
+ * Calls to {@link #calculateDate} and {@link #calculateObservedDate} made through the bean are
+ * timed in {@code holiday.operations}, tagged with the method and the {@link Holiday} variant.
  */
 @Component
-public final class HolidayOperations {
+public class HolidayOperations {
 
   /**
    * Calculates the date for a holiday in a specific year and returns a new
@@ -33,7 +47,10 @@ public final class HolidayOperations {
    * immutable instances
    * rather than modifying existing ones.
    */
-  public Holiday calculateDate(Holiday holiday, int year) {
+  @Timed("holiday.operations")
+  @Cacheable(cacheNames = CacheConfig.CALCULATED_HOLIDAYS, key = "{#root.methodName, #holiday, #year}")
+  public Holiday calculateDate(
+      @MeterTag(key = "variant", resolver = HolidayVariant.class) Holiday holiday, int year) {
     Objects.requireNonNull(holiday, "Holiday cannot be null");
     validateYear(year);
 
@@ -65,62 +82,60 @@ public final class HolidayOperations {
    * mondayisation rules if the
    * holiday supports it.
    */
-  public Holiday calculateObservedDate(Holiday holiday, int year) {
+  @Timed("holiday.operations")
+  @Cacheable(cacheNames = CacheConfig.CALCULATED_HOLIDAYS, key = "{#root.methodName, #holiday, #year}")
+  public Holiday calculateObservedDate(
+      @MeterTag(key = "variant", resolver = HolidayVariant.class) Holiday holiday, int year) {
     Objects.requireNonNull(holiday, "Holiday cannot be null");
     validateYear(year);
 
+    // only derived holidays have a base chain to resolve; the others are calculated directly
+    if (holiday instanceof MoveableFromBaseHoliday derived) {
+      return HolidayCalendarGraph.of(List.of(derived)).evaluate(year).getFirst();
+    }
+    return withObservedDate(holiday, getDateOnly(holiday, year));
+  }
+
+  /**
+   * Returns {@code holiday} resolved to {@code date}, with its observed date after mondayisation.
+   * A moveable or derived holiday that is observed on another day becomes an
+   * {@link ObservedHoliday}.
+   */
+  static Holiday withObservedDate(Holiday holiday, LocalDate date) {
     return switch (holiday) {
-      case FixedHoliday fixed -> {
-        LocalDate newDate = calculateFixedDate(fixed, year);
-        yield fixed.withDate(newDate);
-      }
+      case FixedHoliday fixed -> fixed.withDate(date);
       case ObservedHoliday observed -> {
-        LocalDate newDate = calculateFixedDate(observed, year);
-        LocalDate newObserved = observed.mondayisation() ? applyMondayisationRules(newDate) : newDate;
-        yield observed.withDate(newDate).withObserved(newObserved);
+        LocalDate newObserved = observed.mondayisation() ? applyMondayisationRules(date) : date;
+        yield observed.withDate(date).withObserved(newObserved);
       }
       case MoveableHoliday moveable -> {
-        LocalDate newDate = calculateMoveableDate(moveable, year);
-        LocalDate observedDate = moveable.mondayisation() ? applyMondayisationRules(newDate) : newDate;
-
-        if (moveable.mondayisation() && !newDate.equals(observedDate)) {
-          yield new ObservedHoliday(
-              moveable.name(),
-              moveable.description(),
-              newDate,
-              moveable.localities(),
-              moveable.type(),
-              observedDate,
-              true);
-        } else {
-          yield moveable.withDate(newDate);
-        }
+        LocalDate observedDate = moveable.mondayisation() ? applyMondayisationRules(date) : date;
+        yield observedDate.equals(date) ? moveable.withDate(date) : observedOn(moveable, date, observedDate);
       }
       case MoveableFromBaseHoliday derived -> {
-        LocalDate newDate = calculateDerivedDate(derived, year);
-        LocalDate observedDate = derived.mondayisation() ? applyMondayisationRules(newDate) : newDate;
-
-        if (derived.mondayisation() && !newDate.equals(observedDate)) {
-          yield new ObservedHoliday(
-              derived.name(),
-              derived.description(),
-              newDate,
-              derived.localities(),
-              derived.type(),
-              observedDate,
-              true);
-        } else {
-          yield derived.withDate(newDate);
-        }
+        LocalDate observedDate = derived.mondayisation() ? applyMondayisationRules(date) : date;
+        yield observedDate.equals(date) ? derived.withDate(date) : observedOn(derived, date, observedDate);
       }
     };
   }
 
+  private static ObservedHoliday observedOn(Holiday holiday, LocalDate date, LocalDate observedDate) {
+    return new ObservedHoliday(
+        holiday.name(),
+        holiday.description(),
+        date,
+        holiday.localities(),
+        holiday.type(),
+        observedDate,
+        true);
+  }
+
   /**
    * Helper method to get just the LocalDate for a holiday in a specific year.
    * Useful for
    * calculations that only need the date value.
    */
+  @Cacheable(cacheNames = CacheConfig.HOLIDAYS_BY_YEAR, key = "{#root.methodName, #holiday, #year}")
   public LocalDate getDateOnly(Holiday holiday, int year) {
     Objects.requireNonNull(holiday, "Holiday cannot be null");
     validateYear(year);
@@ -138,6 +153,7 @@ public final class HolidayOperations {
    * year. Useful for
    * calculations that only need the observed date value.
    */
+  @Cacheable(cacheNames = CacheConfig.HOLIDAYS_BY_YEAR, key = "{#root.methodName, #holiday, #year}")
   public LocalDate getObservedDateOnly(Holiday holiday, int year) {
     Objects.requireNonNull(holiday, "Holiday cannot be null");
     validateYear(year);
@@ -223,7 +239,8 @@ public final class HolidayOperations {
 
   /**
    * Checks if a holiday applies to a specific locality. Uses hierarchical
-   * locality matching.
+   * locality matching. To filter many holidays for the same localities, build a
+   * {@link LocalityIndex} once instead of calling this for every holiday.
    */
   public static boolean appliesTo(Holiday holiday, Locality targetLocality) {
     Objects.requireNonNull(holiday, "Holiday cannot be null");
@@ -233,29 +250,46 @@ public final class HolidayOperations {
         .anyMatch(holidayLocality -> localityMatches(holidayLocality, targetLocality));
   }
 
-  private static LocalDate calculateFixedDate(Holiday holiday, int year) {
+  static LocalDate calculateFixedDate(Holiday holiday, int year) {
     return holiday.date().withYear(year);
   }
 
-  /** Calculates the date for a moveable holiday in a specific year. */
-  private static LocalDate calculateMoveableDate(MoveableHoliday moveable, int year) {
-    return switch (moveable.knownHoliday()) {
+  /**
+   * Calculates the date for a moveable holiday in a specific year. Years covered by
+   * {@link MoveableFeastTable} are a table lookup, other years run the rule.
+   */
+  static LocalDate calculateMoveableDate(MoveableHoliday moveable, int year) {
+    KnownHoliday rule = moveable.knownHoliday();
+    if (MoveableFeastTable.covers(rule, year)) {
+      return MoveableFeastTable.date(rule, year);
+    }
+    return calculateMoveableRule(rule, year);
+  }
+
+  /**
+   * Runs the rule of a moveable known holiday for a specific year. Holidays derived from
+   * another known holiday (e.g. Good Friday) are offset from their base holiday.
+   */
+  static LocalDate calculateMoveableRule(KnownHoliday rule, int year) {
+    return switch (rule) {
       case EASTER -> calculateEaster(year);
       case THANKSGIVING_US -> calculateThanksgiving(year);
       case MEMORIAL_DAY_US -> calculateMemorialDay(year);
       case LABOR_DAY_US -> calculateLaborDay(year);
       case MOTHERS_DAY -> calculateMothersDay(year);
       case FATHERS_DAY -> calculateFathersDay(year);
-      default ->
-        throw new IllegalArgumentException(
-            "Unsupported moveable holiday: " + moveable.knownHoliday());
+      case GOOD_FRIDAY, EASTER_MONDAY, PALM_SUNDAY ->
+        calculateMoveableRule(rule.getBaseHoliday(), year).plusDays(rule.getDayOffset());
+      default -> throw new IllegalArgumentException("Unsupported moveable holiday: " + rule);
     };
   }
 
-  /** Calculates the date for a holiday derived from another holiday. */
-  private LocalDate calculateDerivedDate(MoveableFromBaseHoliday derived, int year) {
-    LocalDate baseDate = getDateOnly(derived.baseHoliday(), year);
-    return baseDate.plusDays(derived.dayOffset());
+  /**
+   * Calculates the date for a holiday derived from another holiday. Its base chain is resolved
+   * once, root first, in a {@link HolidayCalendarGraph}, which also rejects cycles.
+   */
+  private static LocalDate calculateDerivedDate(MoveableFromBaseHoliday derived, int year) {
+    return HolidayCalendarGraph.of(List.of(derived)).evaluateDates(year).getFirst();
   }
 
   /** Applies mondayisation rules to a date. */
@@ -391,7 +425,16 @@ public final class HolidayOperations {
     return firstSunday.plusWeeks(2);
   }
 
-  private static void validateYear(int year) {
+  /** Resolves the {@code variant} meter tag: the record type of a {@link Holiday}. */
+  public static final class HolidayVariant implements ValueResolver {
+
+    @Override
+    public String resolve(Object parameter) {
+      return parameter == null ? "none" : parameter.getClass().getSimpleName();
+    }
+  }
+
+  static void validateYear(int year) {
     if (year <= 0) {
       throw new IllegalArgumentException("Year must be positive, got: " + year);
     }
@@ -0,0 +1,167 @@
+package me.clementino.holiday.domain.dop;
+
+import module java.base;
+
+/**
+ * Immutable country → subdivision → city index over a set of holidays.
+ *
+ * <p>
+ * Each holiday is attached to the {@link Path} of every locality it declares. The holidays that
+ * apply to a target are then the ones attached to the paths from the target's country down to
+ * the target itself, so a lookup costs a hash lookup per level plus the size of the result,
+ * instead of matching every holiday against the target.
+ *
+ * <p>
+ * Paths are made of locality codes (country code, subdivision code and city name), so domain
+ * holidays, stored holidays and {@link Location}s can be indexed and looked up alike. A national
+ * holiday applies to its country and everything in it, a state holiday to the state and its
+ * cities, and a city holiday to that city only; a city declared without its subdivision applies
+ * to that city in any subdivision of the country.
+ *
+ * <pre>{@code
+ * var index = LocalityIndex.of(holidays);
+ * List<Holiday> inSaoPaulo = index.holidaysApplyingTo(Locality.saoPauloCity());
+ *
+ * var stored = LocalityIndex.of(entities, entity -> paths(entity.getLocalities()));
+ * List<HolidayEntity> inCampinas = stored.holidaysApplyingTo(new Location("BR", "SP", "Campinas"));
+ * }</pre>
+ *
+ * @param <T> the indexed holiday type
+ */
+public final class LocalityIndex<T> {
+
+  /**
+   * Codes of a locality, from the country down.
+   *
+   * @param country     the country code
+   * @param subdivision the subdivision code, or null when the locality is not within one
+   * @param city        the city name, or null when the locality is not a city
+   */
+  public record Path(String country, String subdivision, String city) {
+    public Path {
+      Objects.requireNonNull(country, "Country cannot be null");
+    }
+
+    /** Path of a domain locality. */
+    public static Path of(Locality locality) {
+      return switch (locality) {
+        case Locality.Country country -> new Path(country.code(), null, null);
+        case Locality.Subdivision subdivision ->
+          new Path(subdivision.country().code(), subdivision.code(), null);
+        case Locality.City city ->
+          new Path(city.country().code(), city.subdivision().code(), city.name());
+      };
+    }
+
+    /** Path of a location. */
+    public static Path of(Location location) {
+      return new Path(
+          location.country(), location.state().orElse(null), location.city().orElse(null));
+    }
+  }
+
+  private final Map<Path, List<T>> holidays;
+  private final int size;
+
+  private LocalityIndex(Map<Path, List<T>> holidays, int size) {
+    this.holidays = holidays;
+    this.size = size;
+  }
+
+  /** Builds the index of the given domain holidays. */
+  public static LocalityIndex<Holiday> of(Collection<? extends Holiday> holidays) {
+    return of(holidays, holiday -> holiday.localities().stream().map(Path::of).toList());
+  }
+
+  /**
+   * Builds the index of the given holidays.
+   *
+   * @param holidays the holidays to index
+   * @param paths    the paths of the localities a holiday declares
+   */
+  public static <T> LocalityIndex<T> of(
+      Collection<? extends T> holidays, Function<? super T, ? extends Collection<Path>> paths) {
+    Objects.requireNonNull(holidays, "Holidays cannot be null");
+    Objects.requireNonNull(paths, "Paths cannot be null");
+
+    var attached = new HashMap<Path, Set<T>>();
+    for (T holiday : holidays) {
+      for (Path path : paths.apply(holiday)) {
+        attached.computeIfAbsent(path, key -> new LinkedHashSet<>()).add(holiday);
+      }
+    }
+
+    var index = new HashMap<Path, List<T>>(attached.size());
+    attached.forEach((path, pathHolidays) -> index.put(path, List.copyOf(pathHolidays)));
+    return new LocalityIndex<>(Map.copyOf(index), holidays.size());
+  }
+
+  /** Number of holidays the index was built from. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns every holiday that applies to the target locality, including the ones inherited from
+   * its country and subdivision. National holidays come first, then state and city ones, each in
+   * the order they were indexed. A holiday declared at more than one level is returned once.
+   */
+  public List<T> holidaysApplyingTo(Locality target) {
+    Objects.requireNonNull(target, "Target locality cannot be null");
+    return holidaysApplyingTo(Path.of(target));
+  }
+
+  /** Same as {@link #holidaysApplyingTo(Locality)}, for a location. */
+  public List<T> holidaysApplyingTo(Location target) {
+    Objects.requireNonNull(target, "Target location cannot be null");
+    return holidaysApplyingTo(Path.of(target));
+  }
+
+  /** Same as {@link #holidaysApplyingTo(Locality)}, for the path of a locality. */
+  public List<T> holidaysApplyingTo(Path target) {
+    Objects.requireNonNull(target, "Target path cannot be null");
+
+    List<T> national = attachedTo(target.country(), null, null);
+    List<T> state = target.subdivision() == null
+        ? List.of()
+        : attachedTo(target.country(), target.subdivision(), null);
+    List<T> city = target.city() == null
+        ? List.of()
+        : merge(
+            attachedTo(target.country(), null, target.city()),
+            target.subdivision() == null
+                ? List.of()
+                : attachedTo(target.country(), target.subdivision(), target.city()),
+            List.of());
+    return merge(national, state, city);
+  }
+
+  /** Bulk variant of {@link #holidaysApplyingTo(Locality)}, keyed by target locality. */
+  public Map<Locality, List<T>> holidaysApplyingTo(Collection<? extends Locality> targets) {
+    Objects.requireNonNull(targets, "Target localities cannot be null");
+
+    var result = new LinkedHashMap<Locality, List<T>>();
+    for (Locality target : targets) {
+      result.computeIfAbsent(target, this::holidaysApplyingTo);
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  private List<T> attachedTo(String country, String subdivision, String city) {
+    return holidays.getOrDefault(new Path(country, subdivision, city), List.of());
+  }
+
+  private static <T> List<T> merge(List<T> national, List<T> state, List<T> city) {
+    if (state.isEmpty() && city.isEmpty()) {
+      return national;
+    }
+    if (national.isEmpty() && city.isEmpty()) {
+      return state;
+    }
+    var merged = new LinkedHashSet<T>(national.size() + state.size() + city.size());
+    merged.addAll(national);
+    merged.addAll(state);
+    merged.addAll(city);
+    return List.copyOf(merged);
+  }
+}
@@ -0,0 +1,81 @@
+package me.clementino.holiday.domain.dop;
+
+import module java.base;
+
+/**
+ * Precomputed dates of every moveable {@link KnownHoliday} rule over the years
+ * {@value #FIRST_YEAR}-{@value #LAST_YEAR}.
+ *
+ * <p>
+ * The dates are stored as epoch days in a single packed {@code int[]} laid out rule by rule, so
+ * a lookup is one array index instead of running the Easter computus or the weekday arithmetic
+ * of the US observances. The table is built from {@link HolidayOperations#calculateMoveableRule}
+ * the first time it is used (about 90 KB) and never changes afterwards. Years outside the window
+ * are not covered and must be calculated by the caller.
+ */
+final class MoveableFeastTable {
+
+  /** First year of the Gregorian calendar, and the first year covered by the table. */
+  static final int FIRST_YEAR = 1583;
+
+  /** Last year covered by the table. */
+  static final int LAST_YEAR = 4099;
+
+  private static final int YEARS = LAST_YEAR - FIRST_YEAR + 1;
+
+  /** Row of each rule in the packed table, indexed by ordinal, or -1 for fixed holidays. */
+  private static final int[] ROWS = rows();
+
+  private MoveableFeastTable() {
+  }
+
+  /** Returns true if the date of {@code rule} in {@code year} can be looked up. */
+  static boolean covers(KnownHoliday rule, int year) {
+    return year >= FIRST_YEAR && year <= LAST_YEAR && ROWS[rule.ordinal()] >= 0;
+  }
+
+  /**
+   * Returns the epoch day of {@code rule} in {@code year}.
+   *
+   * @throws ArrayIndexOutOfBoundsException if {@link #covers(KnownHoliday, int)} is false
+   */
+  static int epochDay(KnownHoliday rule, int year) {
+    return Holder.EPOCH_DAYS[ROWS[rule.ordinal()] * YEARS + (year - FIRST_YEAR)];
+  }
+
+  /** Returns the date of {@code rule} in {@code year}, see {@link #epochDay}. */
+  static LocalDate date(KnownHoliday rule, int year) {
+    return LocalDate.ofEpochDay(epochDay(rule, year));
+  }
+
+  private static int[] rows() {
+    int[] rows = new int[KnownHoliday.values().length];
+    int next = 0;
+    for (KnownHoliday rule : KnownHoliday.values()) {
+      rows[rule.ordinal()] = rule.isMoveable() ? next++ : -1;
+    }
+    return rows;
+  }
+
+  /** Lazy holder so the table is only built when the first lookup happens. */
+  private static final class Holder {
+
+    private static final int[] EPOCH_DAYS = build();
+
+    private static int[] build() {
+      int rules = (int) Arrays.stream(ROWS).filter(row -> row >= 0).count();
+      int[] epochDays = new int[rules * YEARS];
+      for (KnownHoliday rule : KnownHoliday.values()) {
+        int row = ROWS[rule.ordinal()];
+        if (row < 0) {
+          continue;
+        }
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+          epochDays[row * YEARS + (year - FIRST_YEAR)] =
+              Math.toIntExact(HolidayOperations.calculateMoveableRule(rule, year).toEpochDay());
+        }
+      }
+      return epochDays;
+    }
+  }
+}
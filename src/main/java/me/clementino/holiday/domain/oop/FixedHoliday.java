@@ -144,7 +144,7 @@ public class FixedHoliday extends Holiday {
   }
 
   /**
-   * Returns the date of this fixed holiday for the specified year.
+   * Calculates the date of this fixed holiday for the specified year.
    *
    * <p>Since this is a fixed holiday, it always returns the same day and month combination for any
    * valid year.
@@ -165,18 +165,11 @@ public class FixedHoliday extends Holiday {
    * }</pre>
    */
   @Override
-  public LocalDate getDate(int year) {
+  protected LocalDate calculateDate(int year) {
     validateYear(year);
 
-    if (getDate() != null && getDate().getYear() == year) {
-      return getDate();
-    }
-
     try {
-      LocalDate calculatedDate = LocalDate.of(year, getMonth(), getDay());
-      setDate(calculatedDate);
-      setDateWeekDay(calculatedDate.getDayOfWeek());
-      return calculatedDate;
+      return LocalDate.of(year, getMonth(), getDay());
     } catch (Exception e) {
       throw new IllegalArgumentException(
           String.format(
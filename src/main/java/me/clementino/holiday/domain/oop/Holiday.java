@@ -23,8 +23,19 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  *   <li><strong>Multi-locality:</strong> Support for holidays across different geographical
  *       locations
  *   <li><strong>Type Safety:</strong> Strong typing for holiday categories and temporal data
+ *   <li><strong>Shareable:</strong> Dates resolved per year are memoized without mutating the
+ *       holiday, so one instance can be shared by any number of threads
  * </ul>
  *
+ * <p><strong>Per-year memoization:</strong>
+ *
+ * <p>{@link #getDate(int)} and {@link #getObserved(int)} resolve both dates of a year together,
+ * through {@link #calculateDate(int)} and the mondayisation rules, and cache them in a bounded
+ * per-instance memo of 64 years. Cached reads take no lock and never see a date without its
+ * matching observed date. Holidays relative to another holiday (see
+ * {@link MoveableHolidayType#RELATIVE_TO_HOLIDAY}) resolve their base through its own memo, so a
+ * whole chain is calculated once per year.
+ *
  * <p><strong>Holiday Types:</strong>
  *
  * <ul>
@@ -63,17 +74,18 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  * @see Locality
  */
 public abstract class Holiday {
-  private String name;
-  private String description;
-  private int day;
-  private Month month;
-  private LocalDate date;
-  private LocalDate observed;
-  private DayOfWeek dateWeekDay;
-  private DayOfWeek observedWeekDay;
-  private List<Locality> localities;
-  private HolidayType type;
-  private boolean mondayisation;
+  private final String name;
+  private final String description;
+  private final int day;
+  private final Month month;
+  private final LocalDate date;
+  private final LocalDate observed;
+  private final DayOfWeek dateWeekDay;
+  private final DayOfWeek observedWeekDay;
+  private final List<Locality> localities;
+  private final HolidayType type;
+  private final boolean mondayisation;
+  private final YearMemo memo = new YearMemo();
 
   /**
    * Creates a new Holiday with full specification of all properties.
@@ -140,13 +152,17 @@ public abstract class Holiday {
     this.description = description;
     this.day = day;
     this.month = month;
+    this.date = null;
+    this.observed = null;
+    this.dateWeekDay = null;
+    this.observedWeekDay = null;
     this.localities = localities;
     this.type = type;
     this.mondayisation = mondayisation;
   }
 
   /**
-   * Calculates the actual date of this holiday for the specified year.
+   * Calculates the actual date of this holiday for the specified year, without memoization.
    *
    * <p>This method must be implemented by subclasses to provide year-specific date calculation:
    *
@@ -155,45 +171,64 @@ public abstract class Holiday {
    *   <li>{@link MoveableHoliday}: Calculates date based on specific rules (e.g., Easter algorithm)
    * </ul>
    *
+   * <p>Implementations must be pure functions of the year: they may be called concurrently, and
+   * more than once for the same year.
+   *
    * @param year the year for which to calculate the holiday date (must be positive)
    * @return the actual date of the holiday in the specified year
    * @throws IllegalArgumentException if year is invalid (e.g., negative or before supported range)
    */
-  public abstract LocalDate getDate(int year);
+  protected abstract LocalDate calculateDate(int year);
+
+  /**
+   * Returns the actual date of this holiday for the specified year.
+   *
+   * <p>If the holiday was created with a date in that year, it is returned. Otherwise the date is
+   * calculated with {@link #calculateDate(int)} on the first call for the year and memoized.
+   *
+   * @param year the year for which to get the holiday date (must be positive)
+   * @return the actual date of the holiday in the specified year
+   * @throws IllegalArgumentException if year is invalid (e.g., negative or before supported range)
+   */
+  public final LocalDate getDate(int year) {
+    return resolve(year).date();
+  }
 
   /**
-   * Calculates the observed date of this holiday for the specified year.
+   * Returns the observed date of this holiday for the specified year.
    *
    * <p>The observed date follows this priority logic:
    *
    * <ol>
-   *   <li>If {@code observed} property is not null: returns it
-   *   <li>If mondayisation is enabled: applies mondayisation rules to the actual date
-   *   <li>If {@code date} property is not null: returns it
-   *   <li>Otherwise: calculates the date using {@link #getDate(int)}, stores it, and returns it
+   *   <li>If the holiday was created with a date in that year and an observed date: returns it
+   *   <li>If mondayisation is enabled: applies mondayisation rules to {@link #getDate(int)}
+   *   <li>Otherwise: returns {@link #getDate(int)}
    * </ol>
    *
+   * <p>Both dates of the year are resolved and memoized together.
+   *
    * @param year the year for which to calculate the observed date (must be positive)
    * @return the observed date after applying mondayisation rules
    * @throws IllegalArgumentException if year is invalid
    */
-  public LocalDate getObserved(int year) {
-    if (observed != null && date != null && date.getYear() == year) {
-      return observed;
-    }
+  public final LocalDate getObserved(int year) {
+    return resolve(year).observed();
+  }
 
-    LocalDate actualDate = getDate(year);
+  private YearMemo.Resolution resolve(int year) {
+    return memo.get(year, this::resolveUncached);
+  }
 
-    if (mondayisation) {
-      LocalDate mondayisedDate = applyMondayisationRules(actualDate);
-      setObserved(mondayisedDate);
-      setObservedWeekDay(mondayisedDate.getDayOfWeek());
-      return mondayisedDate;
+  private YearMemo.Resolution resolveUncached(int year) {
+    if (date != null && date.getYear() == year) {
+      return new YearMemo.Resolution(year, date, observed != null ? observed : observedOf(date));
     }
+    LocalDate actualDate = calculateDate(year);
+    return new YearMemo.Resolution(year, actualDate, observedOf(actualDate));
+  }
 
-    setObserved(actualDate);
-    setObservedWeekDay(actualDate.getDayOfWeek());
-    return actualDate;
+  private LocalDate observedOf(LocalDate actualDate) {
+    return mondayisation ? applyMondayisationRules(actualDate) : actualDate;
   }
 
   /**
@@ -233,7 +268,8 @@ public abstract class Holiday {
   }
 
   /**
-   * Returns the exact date of this holiday.
+   * Returns the exact date this holiday was created with, if any. Dates resolved for a year are
+   * not stored here; use {@link #getDate(int)}.
    *
    * @return the holiday date (would be null if not set)
    */
@@ -242,16 +278,17 @@ public abstract class Holiday {
   }
 
   /**
-   * Returns the observed date of this holiday after applying mondayisation rules.
+   * Returns the observed date this holiday was created with, if any. Use
+   * {@link #getObserved(int)} for the observed date of a year.
    *
-   * @return the observed date (may be null if not calculated)
+   * @return the observed date (may be null if not set)
    */
   public LocalDate getObserved() {
     return observed;
   }
 
   /**
-   * Returns the day of the week for the actual holiday date.
+   * Returns the day of the week this holiday was created with, if any.
    *
    * @return the day of the week (may be null if not set)
    */
@@ -260,7 +297,7 @@ public abstract class Holiday {
   }
 
   /**
-   * Returns the day of the week for the observed holiday date.
+   * Returns the day of the week of the observed date this holiday was created with, if any.
    *
    * @return the observed day of the week (may be null if not set)
    */
@@ -346,42 +383,6 @@ public abstract class Holiday {
     return name.equals(holiday.name) && type == holiday.type;
   }
 
-  /**
-   * Sets the date property for internal state management.
-   *
-   * @param date the date to set
-   */
-  protected void setDate(LocalDate date) {
-    this.date = date;
-  }
-
-  /**
-   * Sets the observed date property for internal state management.
-   *
-   * @param observed the observed date to set
-   */
-  protected void setObserved(LocalDate observed) {
-    this.observed = observed;
-  }
-
-  /**
-   * Sets the date weekday property for internal state management.
-   *
-   * @param dateWeekDay the day of the week for the date
-   */
-  protected void setDateWeekDay(DayOfWeek dateWeekDay) {
-    this.dateWeekDay = dateWeekDay;
-  }
-
-  /**
-   * Sets the observed weekday property for internal state management.
-   *
-   * @param observedWeekDay the day of the week for the observed date
-   */
-  protected void setObservedWeekDay(DayOfWeek observedWeekDay) {
-    this.observedWeekDay = observedWeekDay;
-  }
-
   /**
    * Applies mondayisation rules to adjust weekend dates to weekdays.
    *
@@ -39,7 +39,8 @@ import me.clementino.holiday.domain.dop.HolidayType;
  *       holidays
  *   <li><strong>Astronomical accuracy:</strong> Implements precise Easter calculation algorithm
  *   <li><strong>Mondayisation support:</strong> Automatic weekend adjustment for public holidays
- *   <li><strong>Immutable design:</strong> Thread-safe and predictable behavior
+ *   <li><strong>Immutable design:</strong> Thread-safe and predictable behavior; dates resolved
+ *       per year are memoized by {@link Holiday} without mutating the instance
  *   <li><strong>Comprehensive validation:</strong> Input validation and error handling
  * </ul>
  *
@@ -310,21 +311,12 @@ public class MoveableHoliday extends Holiday {
   }
 
   @Override
-  public LocalDate getDate(int year) {
-    if (getDate() != null && getDate().getYear() == year) {
-      return getDate();
-    }
-
-    LocalDate calculatedDate =
-        switch (moveableType) {
-          case LUNAR_BASED -> calculateLunarBasedDate(year);
-          case RELATIVE_TO_HOLIDAY -> calculateRelativeDate(year);
-          case WEEKDAY_BASED -> calculateWeekdayBasedDate(year);
-        };
-
-    setDate(calculatedDate);
-    setDateWeekDay(calculatedDate.getDayOfWeek());
-    return calculatedDate;
+  protected LocalDate calculateDate(int year) {
+    return switch (moveableType) {
+      case LUNAR_BASED -> calculateLunarBasedDate(year);
+      case RELATIVE_TO_HOLIDAY -> calculateRelativeDate(year);
+      case WEEKDAY_BASED -> calculateWeekdayBasedDate(year);
+    };
   }
 
   /**
@@ -338,7 +330,10 @@ public class MoveableHoliday extends Holiday {
     };
   }
 
-  /** Calculates the date for holidays relative to another holiday. */
+  /**
+   * Calculates the date for holidays relative to another holiday. The base date comes from the
+   * memo of the base holiday, so a chain of relative holidays computes each link once per year.
+   */
   private LocalDate calculateRelativeDate(int year) {
     if (baseHoliday != null) {
       LocalDate baseDate = baseHoliday.getDate(year);
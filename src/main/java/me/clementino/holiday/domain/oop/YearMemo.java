@@ -0,0 +1,84 @@
+package me.clementino.holiday.domain.oop;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Bounded, thread-safe memo of the dates a {@link Holiday} resolves to, one entry per year.
+ *
+ * <p>The memo is a direct-mapped table: year {@code y} lives in slot {@code y mod capacity}, so
+ * any {@code capacity} consecutive years are cached side by side and alternating between years
+ * never evicts. A year only replaces the entry of a year {@code capacity} years apart.
+ *
+ * <p>Entries are immutable {@link Resolution} records published with release/acquire semantics,
+ * so a reader either sees a complete entry or none at all: a date is never observed without its
+ * matching observed date. Reads take no lock. Two threads missing the same year at once both
+ * compute it and store equal entries, which is harmless because resolution is a pure function of
+ * the year.
+ *
+ * @author Vagner Clementino
+ * @since 1.0
+ * @see Holiday#getDate(int)
+ * @see Holiday#getObserved(int)
+ */
+final class YearMemo {
+
+  /** Number of years cached per holiday. */
+  static final int DEFAULT_CAPACITY = 64;
+
+  /**
+   * The dates of a holiday in one year.
+   *
+   * @param year the year the dates were resolved for
+   * @param date the actual date of the holiday
+   * @param observed the date the holiday is observed on, after mondayisation
+   */
+  record Resolution(int year, LocalDate date, LocalDate observed) {}
+
+  private final AtomicReferenceArray<Resolution> slots;
+  private final int mask;
+
+  /** Creates a memo holding {@link #DEFAULT_CAPACITY} years. */
+  YearMemo() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a memo holding {@code capacity} years.
+   *
+   * @param capacity the number of slots, a positive power of two
+   * @throws IllegalArgumentException if capacity is not a positive power of two
+   */
+  YearMemo(int capacity) {
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException(
+          "Capacity must be a positive power of two, got: " + capacity);
+    }
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Returns the cached resolution of {@code year}, resolving and caching it on a miss.
+   *
+   * @param year the year to resolve
+   * @param resolver computes the resolution of a year; exceptions propagate and nothing is cached
+   * @return the resolution of the year
+   */
+  Resolution get(int year, IntFunction<Resolution> resolver) {
+    int slot = year & mask;
+    Resolution cached = slots.getAcquire(slot);
+    if (cached != null && cached.year() == year) {
+      return cached;
+    }
+    Resolution resolved = resolver.apply(year);
+    slots.setRelease(slot, resolved);
+    return resolved;
+  }
+
+  /** Returns the number of years that can be cached at once. */
+  int capacity() {
+    return slots.length();
+  }
+}
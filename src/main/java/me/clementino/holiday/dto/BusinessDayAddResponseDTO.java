@@ -0,0 +1,11 @@
+package me.clementino.holiday.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+
+/** Response DTO with the date reached after adding business days. */
+@Schema(description = "Date reached after adding business days to a start date")
+public record BusinessDayAddResponseDTO(
+    @Schema(description = "Start date, not counted", example = "2025-04-17") LocalDate date,
+    @Schema(description = "Business days added, negative to go backwards", example = "2") int days,
+    @Schema(description = "Resulting business day", example = "2025-04-22") LocalDate result) {}
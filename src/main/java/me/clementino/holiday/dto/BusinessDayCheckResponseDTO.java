@@ -0,0 +1,11 @@
+package me.clementino.holiday.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+
+/** Response DTO telling whether a date is a business day. */
+@Schema(description = "Whether a date is a business day at a location")
+public record BusinessDayCheckResponseDTO(
+    @Schema(description = "Checked date", example = "2025-04-21") LocalDate date,
+    @Schema(description = "True if the date is neither a weekend nor an observed holiday")
+        boolean businessDay) {}
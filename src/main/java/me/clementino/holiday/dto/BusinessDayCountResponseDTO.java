@@ -0,0 +1,11 @@
+package me.clementino.holiday.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+
+/** Response DTO with the number of business days in a date range. */
+@Schema(description = "Number of business days in an inclusive date range")
+public record BusinessDayCountResponseDTO(
+    @Schema(description = "First date of the range, inclusive", example = "2025-01-01") LocalDate from,
+    @Schema(description = "Last date of the range, inclusive", example = "2025-12-31") LocalDate to,
+    @Schema(description = "Business days in the range", example = "250") int businessDays) {}
@@ -46,6 +46,8 @@ public sealed interface CreateHolidayRequestDTO
   @NotBlank
   String name();
 
+  /** Required by the domain holidays; may be empty. */
+  @NotNull
   String description();
 
   @NotNull
@@ -65,7 +67,7 @@ public sealed interface CreateHolidayRequestDTO
    */
   record Fixed(
       @NotBlank String name,
-      String description,
+      @NotNull String description,
       @NotNull @Min(1) @Max(31) Integer day,
       @NotNull Month month,
       @Min(1) Integer year,
@@ -102,7 +104,7 @@ public sealed interface CreateHolidayRequestDTO
    */
   record Observed(
       @NotBlank String name,
-      String description,
+      @NotNull String description,
       @NotNull LocalDate date,
       @NotNull List<Locality> localities,
       @NotNull HolidayType holidayType,
@@ -116,7 +118,7 @@ public sealed interface CreateHolidayRequestDTO
    */
   record Moveable(
       @NotBlank String name,
-      String description,
+      @NotNull String description,
       @NotNull LocalDate date,
       @NotNull List<Locality> localities,
       @NotNull HolidayType holidayType,
@@ -130,7 +132,7 @@ public sealed interface CreateHolidayRequestDTO
    */
   record MoveableFromBase(
       @NotBlank String name,
-      String description,
+      @NotNull String description,
       @NotNull LocalDate date,
       @NotNull List<Locality> localities,
       @NotNull HolidayType holidayType,
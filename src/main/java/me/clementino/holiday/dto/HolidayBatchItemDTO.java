@@ -0,0 +1,42 @@
+package me.clementino.holiday.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Outcome of one item of a batch holiday creation.
+ *
+ * <p>The {@code id} is only present for created holidays and {@code errors} only for the others.
+ */
+@Schema(description = "Outcome of one item of a batch creation")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HolidayBatchItemDTO(
+    @Schema(description = "Zero-based position of the item in the request", example = "0")
+        int index,
+    @Schema(description = "Outcome of the item", example = "CREATED") Status status,
+    @Schema(description = "Id of the created holiday", example = "holiday-123") String id,
+    @Schema(description = "Why the item was not created") List<String> errors) {
+
+  /** Outcome of a batch item. */
+  public enum Status {
+    /** The holiday was stored. */
+    CREATED,
+    /** The item could not be parsed or failed validation; nothing was written. */
+    INVALID,
+    /** The item was valid but MongoDB rejected the write. */
+    FAILED
+  }
+
+  public static HolidayBatchItemDTO created(int index, String id) {
+    return new HolidayBatchItemDTO(index, Status.CREATED, id, null);
+  }
+
+  public static HolidayBatchItemDTO invalid(int index, List<String> errors) {
+    return new HolidayBatchItemDTO(index, Status.INVALID, null, List.copyOf(errors));
+  }
+
+  public static HolidayBatchItemDTO failed(int index, String error) {
+    return new HolidayBatchItemDTO(index, Status.FAILED, null, List.of(error));
+  }
+}
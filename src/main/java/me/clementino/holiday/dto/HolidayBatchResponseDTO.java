@@ -0,0 +1,29 @@
+package me.clementino.holiday.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/** Response DTO of a batch holiday creation, with one result per submitted item. */
+@Schema(description = "Result of a batch creation")
+public record HolidayBatchResponseDTO(
+    @Schema(description = "Number of holidays created", example = "98") int created,
+    @Schema(description = "Number of items rejected by validation", example = "1") int invalid,
+    @Schema(description = "Number of valid items whose write failed", example = "1") int failed,
+    @Schema(description = "Per-item results in request order", required = true)
+        List<HolidayBatchItemDTO> items) {
+
+  /** Builds the response and its counters from the item results. */
+  public static HolidayBatchResponseDTO of(List<HolidayBatchItemDTO> items) {
+    int created = 0;
+    int invalid = 0;
+    int failed = 0;
+    for (HolidayBatchItemDTO item : items) {
+      switch (item.status()) {
+        case CREATED -> created++;
+        case INVALID -> invalid++;
+        case FAILED -> failed++;
+      }
+    }
+    return new HolidayBatchResponseDTO(created, invalid, failed, items);
+  }
+}
@@ -0,0 +1,15 @@
+package me.clementino.holiday.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.util.List;
+
+/** Response DTO telling whether a date is a holiday at a location. */
+@Schema(description = "Whether a date is a holiday at a location")
+public record HolidayCheckResponseDTO(
+    @Schema(description = "Checked date", example = "2025-04-21") LocalDate date,
+    @Schema(description = "True if a holiday falls on or is observed on the date") boolean holiday,
+    @Schema(description = "True if a holiday is observed on the date, making it a day off")
+        boolean observed,
+    @Schema(description = "Occurrences of the holidays falling on or observed on the date")
+        List<HolidayResponseDTO> holidays) {}
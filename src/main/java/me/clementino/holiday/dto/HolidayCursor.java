@@ -0,0 +1,59 @@
+package me.clementino.holiday.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position of a holiday in the {@code (date, id)} ordering used by keyset pagination.
+ *
+ * <p>Clients only ever see the opaque {@link #encode() encoded} form, so the ordering key can
+ * change without breaking the API contract.
+ *
+ * @param date date of the last holiday returned in the previous page
+ * @param id id of the last holiday returned in the previous page
+ */
+public record HolidayCursor(LocalDate date, String id) {
+
+  private static final char SEPARATOR = '|';
+
+  public HolidayCursor {
+    Objects.requireNonNull(date, "Cursor date cannot be null");
+    Objects.requireNonNull(id, "Cursor id cannot be null");
+  }
+
+  /** Encodes this cursor as an opaque URL-safe token. */
+  public String encode() {
+    String raw = date.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a token produced by {@link #encode()}.
+   *
+   * @param token the opaque cursor token
+   * @return the decoded cursor
+   * @throws IllegalArgumentException if the token is not a valid cursor
+   */
+  public static HolidayCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      throw new IllegalArgumentException("Cursor cannot be blank");
+    }
+
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator <= 0 || separator == raw.length() - 1) {
+        throw new IllegalArgumentException("Malformed cursor: " + token);
+      }
+      return new HolidayCursor(
+          LocalDate.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Malformed cursor: " + token, e);
+    }
+  }
+}
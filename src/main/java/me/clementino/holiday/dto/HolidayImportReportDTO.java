@@ -0,0 +1,40 @@
+package me.clementino.holiday.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Progress or outcome of an NDJSON holiday import.
+ *
+ * <p>{@code checkpointOffset} is the byte offset in the source up to which every record has been
+ * handled; an interrupted import resumes from it without losing or duplicating records.
+ */
+@Schema(description = "Progress or outcome of a holiday import")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HolidayImportReportDTO(
+    @Schema(description = "Import status", example = "COMPLETED") Status status,
+    @Schema(description = "Records written", example = "12000") long imported,
+    @Schema(description = "Records rejected", example = "3") long failed,
+    @Schema(description = "Byte offset to resume from", example = "2451337") long checkpointOffset,
+    @Schema(description = "Records handled per second", example = "8500.5") double recordsPerSecond,
+    @Schema(description = "Elapsed time in milliseconds", example = "1412") long elapsedMillis,
+    @Schema(description = "First rejected records") List<Failure> failures,
+    @Schema(description = "Why the import was interrupted") String error) {
+
+  /** Import status. */
+  public enum Status {
+    /** The import is still running. */
+    RUNNING,
+    /** Every record of the source was handled. */
+    COMPLETED,
+    /** The import stopped early; resume from {@code checkpointOffset}. */
+    INTERRUPTED
+  }
+
+  /** A rejected record and the byte offset where it starts. */
+  @Schema(description = "A rejected record")
+  public record Failure(
+      @Schema(description = "Byte offset of the record", example = "1024") long offset,
+      @Schema(description = "Why the record was rejected") List<String> errors) {}
+}
@@ -0,0 +1,19 @@
+package me.clementino.holiday.dto;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Immutable page of holiday data produced by keyset pagination.
+ *
+ * @param items the holidays in this page, ordered by date and id
+ * @param next cursor for the following page, empty when this is the last page
+ */
+public record HolidayPageDTO(List<HolidayDataDTO> items, Optional<HolidayCursor> next) {
+  public HolidayPageDTO {
+    Objects.requireNonNull(items, "Page items cannot be null");
+    items = List.copyOf(items);
+    next = Objects.requireNonNullElse(next, Optional.empty());
+  }
+}
@@ -0,0 +1,19 @@
+package me.clementino.holiday.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Response DTO for one page of holidays.
+ *
+ * <p>The {@code next} cursor is omitted on the last page.
+ */
+@Schema(description = "One page of holidays ordered by date")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HolidayPageResponseDTO(
+    @Schema(description = "Holidays in this page", required = true) List<HolidayResponseDTO> items,
+    @Schema(
+            description = "Opaque cursor to pass as 'after' to fetch the next page",
+            example = "MjAyNC0xMi0yNXxob2xpZGF5LTEyMw")
+        String next) {}
@@ -0,0 +1,103 @@
+package me.clementino.holiday.entity;
+
+import module java.base;
+import me.clementino.holiday.domain.dop.KnownHoliday;
+import me.clementino.holiday.entity.HolidayEntity.HolidayVariant;
+
+/**
+ * MongoDB embedded document holding the root base holiday of a derived holiday.
+ *
+ * <p>
+ * A {@code MoveableFromBaseHoliday} is stored with the holiday at the root of its base chain and
+ * the sum of the offsets along the chain, so Good Friday is stored as Easter with an offset of
+ * {@code -2} whatever the intermediate holidays were. The base is either a
+ * {@link HolidayVariant#MOVEABLE} holiday, recalculated from its {@link KnownHoliday}, or a
+ * {@link HolidayVariant#FIXED} one, recurring on the day and month of its {@code date}.
+ */
+public class BaseHolidayEntity {
+
+  private String name;
+
+  private HolidayVariant holidayVariant;
+
+  private KnownHoliday knownHoliday;
+
+  private LocalDate date;
+
+  public BaseHolidayEntity() {
+  }
+
+  public BaseHolidayEntity(
+      String name, HolidayVariant holidayVariant, KnownHoliday knownHoliday, LocalDate date) {
+    this.name = name;
+    this.holidayVariant = holidayVariant;
+    this.knownHoliday = knownHoliday;
+    this.date = date;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public HolidayVariant getHolidayVariant() {
+    return holidayVariant;
+  }
+
+  public void setHolidayVariant(HolidayVariant holidayVariant) {
+    this.holidayVariant = holidayVariant;
+  }
+
+  public KnownHoliday getKnownHoliday() {
+    return knownHoliday;
+  }
+
+  public void setKnownHoliday(KnownHoliday knownHoliday) {
+    this.knownHoliday = knownHoliday;
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDate date) {
+    this.date = date;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof BaseHolidayEntity that)) {
+      return false;
+    }
+    return Objects.equals(name, that.name)
+        && holidayVariant == that.holidayVariant
+        && knownHoliday == that.knownHoliday
+        && Objects.equals(date, that.date);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, holidayVariant, knownHoliday, date);
+  }
+
+  @Override
+  public String toString() {
+    return "BaseHolidayEntity{"
+        + "name='"
+        + name
+        + '\''
+        + ", holidayVariant="
+        + holidayVariant
+        + ", knownHoliday="
+        + knownHoliday
+        + ", date="
+        + date
+        + '}';
+  }
+}
@@ -14,6 +14,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 // Application specific imports
 import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.KnownHoliday;
 
 /**
  * MongoDB document representing a holiday entity for persistence. Enhanced to
@@ -44,15 +45,29 @@ import me.clementino.holiday.domain.dop.HolidayType;
  * <ul>
  * <li>Country + Year: For efficient year-based queries
  * <li>Locality + Type: For hierarchical locality filtering
+ * <li>Country + Type + Date: For the common filtered listing queries
+ * <li>(Country +) Date + Id: For keyset pagination ordered by date and id
  * <li>Date + Year: For date range queries
  * <li>Base Holiday + Year: For derived holiday lookups
  * <li>Calculated Holidays: For cache management
  * </ul>
+ *
+ * <p>
+ * <strong>Yearly Rule:</strong> besides the resolved {@code date} and {@code observed} date of
+ * the year it was created for, a holiday keeps the rule that recalculates it in other years:
+ * its {@link HolidayVariant}, the {@link KnownHoliday} of moveable holidays, the root
+ * {@link BaseHolidayEntity} and total day offset of derived holidays, and the mondayisation and
+ * recurring flags. Holidays stored before the rule was persisted have no variant and are not
+ * expanded to other years.
  */
 @Document("holidays")
 @CompoundIndexes({
     @CompoundIndex(name = "country_year_idx", def = "{'country': 1, 'year': 1}"),
     @CompoundIndex(name = "locality_type_idx", def = "{'country': 1, 'state': 1, 'city': 1, 'type': 1}"),
+    @CompoundIndex(name = "locality_hierarchy_type_idx", def = "{'localities.countryCode': 1, 'localities.subdivisionCode': 1, 'localities.cityName': 1, 'type': 1}"),
+    @CompoundIndex(name = "country_type_date_idx", def = "{'localities.countryCode': 1, 'type': 1, 'date': 1}"),
+    @CompoundIndex(name = "date_id_idx", def = "{'date': 1, '_id': 1}"),
+    @CompoundIndex(name = "country_date_id_idx", def = "{'localities.countryCode': 1, 'date': 1, '_id': 1}"),
     @CompoundIndex(name = "date_range_idx", def = "{'date': 1, 'year': 1}"),
     @CompoundIndex(name = "base_holiday_year_idx", def = "{'baseHolidayId': 1, 'year': 1}"),
     @CompoundIndex(name = "calculated_holidays_idx", def = "{'isCalculated': 1, 'year': 1, 'country': 1}"),
@@ -86,6 +101,18 @@ public class HolidayEntity {
 
   private LocalDate observed;
 
+  private HolidayVariant holidayVariant;
+
+  private KnownHoliday knownHoliday;
+
+  private BaseHolidayEntity baseHoliday;
+
+  private Integer dayOffset;
+
+  private Boolean mondayisation;
+
+  private Boolean recurring;
+
   @CreatedDate
   private LocalDateTime dateCreated;
 
@@ -169,6 +196,14 @@ public class HolidayEntity {
     this.date = date;
   }
 
+  public LocalDate getObserved() {
+    return observed;
+  }
+
+  public void setObserved(LocalDate observed) {
+    this.observed = observed;
+  }
+
   public HolidayType getType() {
     return type;
   }
@@ -185,6 +220,68 @@ public class HolidayEntity {
     this.localities = localities;
   }
 
+  public HolidayVariant getHolidayVariant() {
+    return holidayVariant;
+  }
+
+  public void setHolidayVariant(HolidayVariant holidayVariant) {
+    this.holidayVariant = holidayVariant;
+  }
+
+  public KnownHoliday getKnownHoliday() {
+    return knownHoliday;
+  }
+
+  public void setKnownHoliday(KnownHoliday knownHoliday) {
+    this.knownHoliday = knownHoliday;
+  }
+
+  public BaseHolidayEntity getBaseHoliday() {
+    return baseHoliday;
+  }
+
+  public void setBaseHoliday(BaseHolidayEntity baseHoliday) {
+    this.baseHoliday = baseHoliday;
+  }
+
+  public Integer getDayOffset() {
+    return dayOffset;
+  }
+
+  public void setDayOffset(Integer dayOffset) {
+    this.dayOffset = dayOffset;
+  }
+
+  public Boolean getMondayisation() {
+    return mondayisation;
+  }
+
+  public void setMondayisation(Boolean mondayisation) {
+    this.mondayisation = mondayisation;
+  }
+
+  public Boolean getRecurring() {
+    return recurring;
+  }
+
+  public void setRecurring(Boolean recurring) {
+    this.recurring = recurring;
+  }
+
+  /**
+   * Copies the yearly rule (variant, known holiday, base holiday, day offset and mondayisation)
+   * of another holiday, leaving dates and the recurring flag untouched.
+   *
+   * @param other the holiday to copy the rule from
+   */
+  public void copyRuleFrom(HolidayEntity other) {
+    this.holidayVariant = other.holidayVariant;
+    this.knownHoliday = other.knownHoliday;
+    this.baseHoliday = other.baseHoliday;
+    this.dayOffset = other.dayOffset;
+    this.mondayisation = other.mondayisation;
+  }
+
   public LocalDateTime getDateCreated() {
     return dateCreated;
   }
@@ -208,4 +305,15 @@ public class HolidayEntity {
   public void setVersion(Integer version) {
     this.version = version;
   }
+
+  /**
+   * Enum naming the DOP Holiday variant a holiday was created as, so its yearly rule can be
+   * rebuilt.
+   */
+  public enum HolidayVariant {
+    FIXED,
+    OBSERVED,
+    MOVEABLE,
+    MOVEABLE_FROM_BASE
+  }
 }
@@ -1,6 +1,10 @@
 package me.clementino.holiday.exception;
 
 import module java.base;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -10,6 +14,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class GlobalExceptionHandler {
 
   /**
@@ -82,6 +87,23 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
   }
 
+  /**
+   * MongoDB unreachable or its connection pool exhausted for longer than
+   * {@code holiday.mongodb.pool.max-wait-time}. Clients may retry shortly.
+   */
+  @ExceptionHandler(DataAccessResourceFailureException.class)
+  public ResponseEntity<ErrorResponse> handleDataAccessResourceFailure(
+      DataAccessResourceFailureException ex) {
+    ErrorResponse error = new ErrorResponse(
+        OffsetDateTime.now(),
+        HttpStatus.SERVICE_UNAVAILABLE.value(),
+        "Service Unavailable",
+        "The holiday database is busy or unreachable, please retry");
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(error);
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
     ErrorResponse error = new ErrorResponse(
@@ -0,0 +1,126 @@
+package me.clementino.holiday.mapper;
+
+import module java.base;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.dto.HolidayResponseDTO;
+import me.clementino.holiday.entity.HolidayEntity;
+
+/**
+ * Cache of stored holidays pre-rendered as {@link HolidayResponseDTO} JSON, keyed by
+ * {@code (id, version)}.
+ *
+ * <p>
+ * Stored holidays rarely change, so their JSON is rendered once by {@link HolidayJsonWriter} and
+ * listings are answered by copying the cached UTF-8 bytes to the response. A write bumps the
+ * {@code @Version} of the document, so the next read looks up a new key and the old fragment is
+ * never served again; it is left to eviction. The changed holidays are also dropped through
+ * {@link #evict}, and every fragment through {@link #clear} when another instance changed the
+ * collection, so listings must read the change token before they are rendered.
+ *
+ * <p>
+ * The cache is bounded by the total size of the fragments, {@code holiday.fragment-cache.max-size}
+ * (default 32MB), and reported in the {@code cache.*} metrics as {@code holiday-fragments}.
+ * Holidays without an id or a version are rendered on every call and not cached. Occurrences are
+ * never cached: they share the id and version of their stored holiday but not its dates.
+ */
+@Component
+public class HolidayFragmentCache {
+
+  /** Name of the cache in the {@code cache.*} metrics. */
+  public static final String NAME = "holiday-fragments";
+
+  private record Key(String id, int version) {
+  }
+
+  private final HolidayJsonWriter writer;
+  private final JsonFactory jsonFactory;
+  private final Cache<Key, byte[]> fragments;
+
+  public HolidayFragmentCache(
+      HolidayJsonWriter writer,
+      ObjectMapper objectMapper,
+      MeterRegistry registry,
+      @Value("${holiday.fragment-cache.max-size:32MB}") DataSize maxSize) {
+    this.writer = writer;
+    this.jsonFactory = objectMapper.getFactory();
+    this.fragments = Caffeine.newBuilder()
+        .maximumWeight(maxSize.toBytes())
+        .weigher((Key key, byte[] fragment) -> fragment.length)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(registry, fragments, NAME);
+  }
+
+  /** The JSON of a stored holiday, rendered on the first call for its id and version. */
+  public byte[] fragment(HolidayDataDTO holiday) {
+    return fragment(holiday.id(), holiday.version().orElse(null), generator -> writer.write(generator, holiday));
+  }
+
+  /** The JSON of a stored holiday, rendered on the first call for its id and version. */
+  public byte[] fragment(HolidayEntity entity) {
+    return fragment(entity.getId(), entity.getVersion(), generator -> writer.write(generator, entity));
+  }
+
+  /** Writes the stored holidays as a JSON array, from their cached fragments. */
+  public void writeArray(OutputStream out, List<HolidayDataDTO> holidays) throws IOException {
+    out.write('[');
+    for (int index = 0; index < holidays.size(); index++) {
+      if (index > 0) {
+        out.write(',');
+      }
+      out.write(fragment(holidays.get(index)));
+    }
+    out.write(']');
+  }
+
+  /** Removes the fragments of every version of the given holidays. */
+  public void evict(Collection<String> ids) {
+    if (!ids.isEmpty()) {
+      fragments.asMap().keySet().removeIf(key -> ids.contains(key.id()));
+    }
+  }
+
+  /** Removes every fragment. */
+  public void clear() {
+    fragments.invalidateAll();
+  }
+
+  /** Total size in bytes of the cached fragments, after pending evictions. */
+  long weightedSize() {
+    fragments.cleanUp();
+    return fragments.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+  }
+
+  @FunctionalInterface
+  private interface Render {
+    void to(JsonGenerator generator) throws IOException;
+  }
+
+  private byte[] fragment(String id, Integer version, Render render) {
+    if (id == null || version == null) {
+      return render(render);
+    }
+    return fragments.get(new Key(id, version), key -> render(render));
+  }
+
+  private byte[] render(Render render) {
+    var buffer = new ByteArrayOutputStream(512);
+    try (JsonGenerator generator = jsonFactory.createGenerator(buffer, JsonEncoding.UTF8)) {
+      render.to(generator);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return buffer.toByteArray();
+  }
+}
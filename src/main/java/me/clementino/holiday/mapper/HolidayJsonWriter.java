@@ -0,0 +1,210 @@
+package me.clementino.holiday.mapper;
+
+import module java.base;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.stereotype.Component;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.Location;
+import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.dto.HolidayResponseDTO;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.util.CountryCodeUtil;
+
+/**
+ * Writes holidays to a {@link JsonGenerator} in the JSON shape of {@link HolidayResponseDTO},
+ * without building the DTOs.
+ *
+ * <p>
+ * Serializing a stored holiday through {@link HolidayMapper#toResponse} allocates a
+ * {@link HolidayDataDTO} with its {@code Optional}s, a {@link Location}, a
+ * {@code HolidayResponseDTO}, two {@code WhenInfoDTO}s and a list of {@code LocationInfoDTO}s,
+ * and then lets Jackson introspect them. This writer reads the entity fields and emits the same
+ * tokens directly, with field names and enum values pre-encoded, so streaming a holiday only
+ * allocates its pretty location name and the date strings.
+ *
+ * <p>
+ * The output is byte-for-byte the output of the application {@code ObjectMapper} for
+ * {@code toResponse(...)}: same field order, {@code null} fields omitted, ISO dates, enum names
+ * and {@code LocalDateTime.toString()} timestamps. Any change to {@link HolidayResponseDTO},
+ * {@code WhenInfoDTO} or {@code LocationInfoDTO} must be made here too; the golden files of
+ * {@code HolidayJsonWriterTest} catch the drift.
+ */
+@Component
+public class HolidayJsonWriter {
+
+  private static final SerializedString ID = new SerializedString("id");
+  private static final SerializedString NAME = new SerializedString("name");
+  private static final SerializedString WHEN = new SerializedString("when");
+  private static final SerializedString OBSERVED = new SerializedString("observed");
+  private static final SerializedString WHERE = new SerializedString("where");
+  private static final SerializedString TYPE = new SerializedString("type");
+  private static final SerializedString DESCRIPTION = new SerializedString("description");
+  private static final SerializedString CREATED = new SerializedString("created");
+  private static final SerializedString UPDATED = new SerializedString("updated");
+  private static final SerializedString DATE = new SerializedString("date");
+  private static final SerializedString WEEKDAY = new SerializedString("weekday");
+  private static final SerializedString COUNTRY = new SerializedString("country");
+  private static final SerializedString SUBDIVISION = new SerializedString("subdivision");
+  private static final SerializedString CITY = new SerializedString("city");
+  private static final SerializedString PRETTY = new SerializedString("pretty");
+
+  private static final String UNKNOWN_COUNTRY = "UNKNOWN";
+
+  private static final SerializableString[] WEEKDAYS = names(DayOfWeek.values());
+  private static final SerializableString[] TYPES = names(HolidayType.values());
+
+  /**
+   * Writes a stored holiday as {@code toResponse(HolidayService.toDomainData(entity))} would be
+   * serialized.
+   *
+   * @throws IllegalStateException if the entity has no name, date or type
+   * @throws IllegalArgumentException if the country of its primary locality is blank
+   */
+  public void write(JsonGenerator generator, HolidayEntity entity) throws IOException {
+    if (entity.getName() == null || entity.getName().isBlank()) {
+      throw new IllegalStateException("HolidayEntity name is null or blank for ID: " + entity.getId());
+    }
+    if (entity.getDate() == null) {
+      throw new IllegalStateException("HolidayEntity date is null for ID: " + entity.getId());
+    }
+    if (entity.getType() == null) {
+      throw new IllegalStateException("HolidayEntity type is null for ID: " + entity.getId());
+    }
+
+    LocalDate observed = entity.getEffectiveDate().equals(entity.getDate())
+        ? null
+        : entity.getEffectiveDate();
+
+    List<LocalityEntity> localities = entity.getLocalities();
+    LocalityEntity primary = localities == null || localities.isEmpty() ? null : localities.getFirst();
+    String country = primary != null && primary.getCountryCode() != null
+        ? primary.getCountryCode()
+        : UNKNOWN_COUNTRY;
+
+    write(
+        generator,
+        entity.getId(),
+        entity.getName(),
+        entity.getDate(),
+        observed,
+        country,
+        primary != null ? primary.getSubdivisionCode() : null,
+        primary != null ? primary.getCityName() : null,
+        entity.getType(),
+        entity.getDescription(),
+        entity.getDateCreated(),
+        entity.getLastUpdated());
+  }
+
+  /** Writes a holiday as {@code toResponse(holiday)} would be serialized. */
+  public void write(JsonGenerator generator, HolidayDataDTO holiday) throws IOException {
+    Location location = holiday.location();
+    write(
+        generator,
+        holiday.id(),
+        holiday.name(),
+        holiday.date(),
+        holiday.observed().orElse(null),
+        location.country(),
+        location.state().orElse(null),
+        location.city().orElse(null),
+        holiday.type(),
+        holiday.description().orElse(null),
+        holiday.dateCreated().orElse(null),
+        holiday.lastUpdated().orElse(null));
+  }
+
+  private static void write(
+      JsonGenerator generator,
+      String id,
+      String name,
+      LocalDate date,
+      LocalDate observed,
+      String country,
+      String subdivision,
+      String city,
+      HolidayType type,
+      String description,
+      LocalDateTime created,
+      LocalDateTime updated) throws IOException {
+    if (country.isBlank()) {
+      throw new IllegalArgumentException("Country cannot be blank");
+    }
+
+    generator.writeStartObject();
+    writeString(generator, ID, id);
+    writeString(generator, NAME, name);
+    writeWhen(generator, WHEN, date);
+    if (observed != null) {
+      writeWhen(generator, OBSERVED, observed);
+    }
+
+    String countryCode = CountryCodeUtil.normalizeCountry(country).orElse(country);
+    generator.writeFieldName(WHERE);
+    generator.writeStartArray();
+    generator.writeStartObject();
+    writeString(generator, COUNTRY, countryCode);
+    writeString(generator, SUBDIVISION, subdivision);
+    writeString(generator, CITY, city);
+    writeString(generator, PRETTY, prettyName(countryCode, subdivision, city));
+    generator.writeEndObject();
+    generator.writeEndArray();
+
+    generator.writeFieldName(TYPE);
+    generator.writeString(TYPES[type.ordinal()]);
+    writeString(generator, DESCRIPTION, description);
+    writeString(generator, CREATED, created != null ? created.toString() : null);
+    writeString(generator, UPDATED, updated != null ? updated.toString() : null);
+    generator.writeEndObject();
+  }
+
+  private static void writeWhen(JsonGenerator generator, SerializableString field, LocalDate date)
+      throws IOException {
+    generator.writeFieldName(field);
+    generator.writeStartObject();
+    generator.writeFieldName(DATE);
+    generator.writeString(date.toString());
+    generator.writeFieldName(WEEKDAY);
+    generator.writeString(WEEKDAYS[date.getDayOfWeek().ordinal()]);
+    generator.writeEndObject();
+  }
+
+  /** Writes a string field, or nothing when the value is {@code null}. */
+  private static void writeString(JsonGenerator generator, SerializableString field, String value)
+      throws IOException {
+    if (value != null) {
+      generator.writeFieldName(field);
+      generator.writeString(value);
+    }
+  }
+
+  /** Same as the pretty name of {@code LocationInfoDTO}: city, subdivision and country name. */
+  private static String prettyName(String countryCode, String subdivision, String city) {
+    String countryName = CountryCodeUtil.getPrettyName(countryCode);
+    boolean hasCity = city != null && !city.isBlank();
+    boolean hasSubdivision = subdivision != null && !subdivision.isBlank();
+    if (!hasCity && !hasSubdivision) {
+      return countryName;
+    }
+
+    var pretty = new StringBuilder(64);
+    if (hasCity) {
+      pretty.append(city).append(", ");
+    }
+    if (hasSubdivision) {
+      pretty.append(subdivision).append(", ");
+    }
+    return pretty.append(countryName).toString();
+  }
+
+  private static SerializableString[] names(Enum<?>[] constants) {
+    var names = new SerializableString[constants.length];
+    for (Enum<?> constant : constants) {
+      names[constant.ordinal()] = new SerializedString(constant.name());
+    }
+    return names;
+  }
+}
@@ -4,6 +4,8 @@ import module java.base;
 import org.springframework.stereotype.Component;
 import me.clementino.holiday.domain.dop.FixedHoliday;
 import me.clementino.holiday.domain.dop.Holiday;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.KnownHoliday;
 import me.clementino.holiday.domain.dop.Locality;
 import me.clementino.holiday.domain.dop.MoveableFromBaseHoliday;
 import me.clementino.holiday.domain.dop.MoveableHoliday;
@@ -12,7 +14,9 @@ import me.clementino.holiday.dto.HolidayDataDTO;
 import me.clementino.holiday.dto.HolidayResponseDTO;
 import me.clementino.holiday.dto.LocationInfoDTO;
 import me.clementino.holiday.dto.WhenInfoDTO;
+import me.clementino.holiday.entity.BaseHolidayEntity;
 import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.HolidayEntity.HolidayVariant;
 import me.clementino.holiday.entity.LocalityEntity;
 
 /** Simple mapper for Holiday data using DOP principles. */
@@ -71,6 +75,7 @@ public class HolidayMapper {
     HolidayEntity entity = new HolidayEntity(fixed.name(), fixed.description(), fixed.date(), country, fixed.type());
 
     entity.setLocalities(convertLocalitiesFromDOP(fixed.localities()));
+    setRule(entity, HolidayVariant.FIXED, null, false);
 
     return entity;
   }
@@ -84,6 +89,8 @@ public class HolidayMapper {
         observed.name(), observed.description(), observed.date(), country, observed.type());
 
     entity.setLocalities(convertLocalitiesFromDOP(observed.localities()));
+    entity.setObserved(observed.observed().equals(observed.date()) ? null : observed.observed());
+    setRule(entity, HolidayVariant.OBSERVED, null, observed.mondayisation());
 
     return entity;
   }
@@ -97,6 +104,7 @@ public class HolidayMapper {
         moveable.name(), moveable.description(), moveable.date(), country, moveable.type());
 
     entity.setLocalities(convertLocalitiesFromDOP(moveable.localities()));
+    setRule(entity, HolidayVariant.MOVEABLE, moveable.knownHoliday(), moveable.mondayisation());
 
     return entity;
   }
@@ -114,10 +122,192 @@ public class HolidayMapper {
         moveableFromBase.type());
 
     entity.setLocalities(convertLocalitiesFromDOP(moveableFromBase.localities()));
+    setRule(
+        entity,
+        HolidayVariant.MOVEABLE_FROM_BASE,
+        moveableFromBase.knownHoliday(),
+        moveableFromBase.mondayisation());
+    entity.setBaseHoliday(toBaseHolidayEntity(moveableFromBase.getRootBaseHoliday()));
+    entity.setDayOffset(totalDayOffset(moveableFromBase));
 
     return entity;
   }
 
+  /** Set the yearly rule of a new holiday, which recurs every year. */
+  private static void setRule(
+      HolidayEntity entity, HolidayVariant variant, KnownHoliday knownHoliday, boolean mondayisation) {
+    entity.setHolidayVariant(variant);
+    entity.setKnownHoliday(knownHoliday);
+    entity.setMondayisation(mondayisation);
+    entity.setRecurring(true);
+  }
+
+  /** Convert the root base of a derived holiday to its embedded entity. */
+  private static BaseHolidayEntity toBaseHolidayEntity(Holiday root) {
+    return switch (root) {
+      case MoveableHoliday moveable ->
+        new BaseHolidayEntity(
+            moveable.name(), HolidayVariant.MOVEABLE, moveable.knownHoliday(), moveable.date());
+      case FixedHoliday fixed -> new BaseHolidayEntity(fixed.name(), HolidayVariant.FIXED, null, fixed.date());
+      case ObservedHoliday observed ->
+        new BaseHolidayEntity(observed.name(), HolidayVariant.FIXED, null, observed.date());
+      case MoveableFromBaseHoliday derived ->
+        throw new IllegalStateException("Root base holiday cannot be derived: " + derived.name());
+    };
+  }
+
+  /** Sum of the day offsets along the base chain of a derived holiday. */
+  private static int totalDayOffset(MoveableFromBaseHoliday derived) {
+    int offset = 0;
+    Holiday current = derived;
+    while (current instanceof MoveableFromBaseHoliday step) {
+      offset += step.dayOffset();
+      current = step.baseHoliday();
+    }
+    return offset;
+  }
+
+  /**
+   * Convert a persisted HolidayEntity back to a DOP Holiday.
+   *
+   * <p>
+   * The variant is rebuilt from the persisted rule, so a moveable holiday stays a
+   * {@link MoveableHoliday} and a derived one a {@link MoveableFromBaseHoliday} of its root base
+   * holiday. A holiday stored without a rule becomes an {@link ObservedHoliday} without
+   * mondayisation when its observed date differs from its date, and a {@link FixedHoliday}
+   * otherwise.
+   *
+   * @param entity the persisted holiday
+   * @return the equivalent Holiday domain object
+   * @throws IllegalArgumentException if the entity has no localities or an invalid rule
+   */
+  public Holiday toHoliday(HolidayEntity entity) {
+    List<Locality> localities = Objects.requireNonNullElse(entity.getLocalities(), List.<LocalityEntity>of())
+        .stream()
+        .map(this::convertLocalityToDOP)
+        .toList();
+    String description = Objects.requireNonNullElse(entity.getDescription(), "");
+    LocalDate date = entity.getDate();
+    boolean mondayisation = Boolean.TRUE.equals(entity.getMondayisation());
+
+    return switch (entity.getHolidayVariant()) {
+      case null -> entity.getEffectiveDate().equals(date)
+          ? toFixedHoliday(entity.getName(), description, date, localities, entity.getType())
+          : new ObservedHoliday(
+              entity.getName(), description, date, localities, entity.getType(), entity.getEffectiveDate(), false);
+      case FIXED -> toFixedHoliday(entity.getName(), description, date, localities, entity.getType());
+      case OBSERVED ->
+        new ObservedHoliday(
+            entity.getName(),
+            description,
+            date,
+            localities,
+            entity.getType(),
+            entity.getEffectiveDate(),
+            mondayisation);
+      case MOVEABLE ->
+        new MoveableHoliday(
+            entity.getName(),
+            description,
+            date,
+            localities,
+            entity.getType(),
+            entity.getKnownHoliday(),
+            mondayisation);
+      case MOVEABLE_FROM_BASE ->
+        new MoveableFromBaseHoliday(
+            entity.getName(),
+            description,
+            date,
+            localities,
+            entity.getType(),
+            entity.getKnownHoliday(),
+            toBaseHoliday(
+                Objects.requireNonNull(entity.getBaseHoliday(), "Base holiday cannot be null"),
+                localities,
+                entity.getType()),
+            Objects.requireNonNull(entity.getDayOffset(), "Day offset cannot be null"),
+            mondayisation);
+    };
+  }
+
+  /**
+   * Convert a persisted HolidayEntity to the DOP Holiday that recalculates it every year.
+   *
+   * <p>
+   * Only holidays flagged as recurring with a complete rule have one. Holidays stored before the
+   * rule was persisted, one-off holidays and holidays whose rule the domain rejects (for instance
+   * one without localities) are empty: they only occur on their stored date, since their date in
+   * other years cannot be recovered.
+   *
+   * @param entity the persisted holiday
+   * @return the recurring Holiday, or empty when the holiday does not recur
+   */
+  public Optional<Holiday> toRecurringHoliday(HolidayEntity entity) {
+    if (!Boolean.TRUE.equals(entity.getRecurring()) || !hasRule(entity)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(toHoliday(entity));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  /** Whether every field the rule of the entity's variant needs is present. */
+  private static boolean hasRule(HolidayEntity entity) {
+    if (entity.getName() == null
+        || entity.getDate() == null
+        || entity.getType() == null
+        || entity.getLocalities() == null
+        || entity.getLocalities().isEmpty()) {
+      return false;
+    }
+    return switch (entity.getHolidayVariant()) {
+      case null -> false;
+      case FIXED, OBSERVED -> true;
+      case MOVEABLE -> isMoveable(entity.getKnownHoliday());
+      case MOVEABLE_FROM_BASE -> entity.getKnownHoliday() != null
+          && entity.getDayOffset() != null
+          && hasRule(entity.getBaseHoliday());
+    };
+  }
+
+  private static boolean hasRule(BaseHolidayEntity base) {
+    return base != null
+        && base.getName() != null
+        && base.getDate() != null
+        && switch (base.getHolidayVariant()) {
+          case FIXED -> true;
+          case MOVEABLE -> isMoveable(base.getKnownHoliday());
+          case null, default -> false;
+        };
+  }
+
+  private static boolean isMoveable(KnownHoliday knownHoliday) {
+    return knownHoliday != null && knownHoliday.isMoveable();
+  }
+
+  /** Rebuild the root base of a derived holiday, sharing the derived holiday's localities. */
+  private static Holiday toBaseHoliday(
+      BaseHolidayEntity base, List<Locality> localities, HolidayType type) {
+    return switch (base.getHolidayVariant()) {
+      case MOVEABLE ->
+        new MoveableHoliday(
+            base.getName(), "", base.getDate(), localities, type, base.getKnownHoliday(), false);
+      case FIXED -> toFixedHoliday(base.getName(), "", base.getDate(), localities, type);
+      case null, default ->
+        throw new IllegalArgumentException(
+            "Unsupported base holiday variant: " + base.getHolidayVariant());
+    };
+  }
+
+  private static FixedHoliday toFixedHoliday(
+      String name, String description, LocalDate date, List<Locality> localities, HolidayType type) {
+    return new FixedHoliday(
+        name, description, date, date.getDayOfMonth(), date.getMonth(), localities, type);
+  }
+
   /** Extract country code from a Locality using pattern matching. */
   private String getCountryCode(Locality locality) {
     return switch (locality) {
@@ -132,6 +322,25 @@ public class HolidayMapper {
     return localities.stream().map(this::convertLocalityFromDOP).toList();
   }
 
+  /** Convert single LocalityEntity to DOP Locality, falling back to codes for missing names. */
+  private Locality convertLocalityToDOP(LocalityEntity locality) {
+    var country = Locality.country(
+        locality.getCountryCode(),
+        Objects.requireNonNullElse(locality.getCountryName(), locality.getCountryCode()));
+    if (locality.getSubdivisionCode() == null) {
+      return country;
+    }
+
+    var subdivision = Locality.subdivision(
+        country,
+        locality.getSubdivisionCode(),
+        Objects.requireNonNullElse(locality.getSubdivisionName(), locality.getSubdivisionCode()));
+    if (locality.getCityName() == null) {
+      return subdivision;
+    }
+    return Locality.city(locality.getCityName(), subdivision, country);
+  }
+
   /** Convert single DOP Locality to LocalityEntity. */
   private LocalityEntity convertLocalityFromDOP(Locality locality) {
     return switch (locality) {
@@ -0,0 +1,178 @@
+package me.clementino.holiday.repository;
+
+import module java.base;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collection-level change token of the holidays collection, used as the validator of conditional
+ * GETs on holiday listings.
+ *
+ * <p>
+ * The token is a single document in {@code holiday_changes} holding a generation counter, the
+ * time of the last change and a random epoch. Every write path calls {@link #changed()} after
+ * the holidays are written and the caches invalidated, so a reader that sees a new token also
+ * sees the new data: the caches never keep a value loaded before an invalidation (see
+ * {@code HolidayCacheInvalidator#cached}). Reading the token is one lookup by {@code _id}, which lets a listing be
+ * answered with {@code 304 Not Modified} without loading a single holiday. Because the token
+ * lives in MongoDB, it is shared by every instance of the API. The epoch is set when the
+ * document is created, so tokens issued before the database was reset never match again.
+ *
+ * <p>
+ * The token also tells an instance when another instance changed the collection: when
+ * {@link #current()} returns a token this instance neither produced nor saw before, a
+ * {@link ChangedElsewhere} event is published so local caches can be dropped before the listing
+ * is reloaded. Otherwise a new ETag could be attached to a stale cached listing and keep
+ * clients on it after the cache expires. Writes made directly in MongoDB, bypassing the API, do
+ * not advance the token.
+ *
+ * <p>
+ * When a {@link MappedHolidaySnapshot} is served, MongoDB is never queried: the token is fixed
+ * and derived from the time the snapshot was written.
+ */
+@Component
+public class HolidayChangeTracker {
+
+  private static final Logger log = LoggerFactory.getLogger(HolidayChangeTracker.class);
+
+  /** Collection holding the change token document. */
+  static final String COLLECTION = "holiday_changes";
+
+  private static final String TOKEN_ID = "holidays";
+
+  /**
+   * State of the holidays collection as of its last change through the API.
+   *
+   * @param epoch        random id of the token document, renewed if the document is recreated
+   * @param generation   number of changes since the epoch
+   * @param lastModified time of the last change, millisecond precision
+   */
+  public record ChangeToken(String epoch, long generation, Instant lastModified) {
+
+    /** Strong entity tag of the token, quoted. */
+    public String etag() {
+      return "\"" + epoch + "-" + Long.toHexString(generation) + "\"";
+    }
+
+    /** True if this token is from another epoch or a later generation than {@code other}. */
+    boolean isAfter(ChangeToken other) {
+      return other == null || !Objects.equals(epoch, other.epoch) || generation > other.generation;
+    }
+  }
+
+  /**
+   * Published when the collection was changed by another instance, or for the first token this
+   * instance reads.
+   *
+   * @param token the token read
+   */
+  public record ChangedElsewhere(ChangeToken token) {
+  }
+
+  private final MongoTemplate mongoTemplate;
+  private final ApplicationEventPublisher events;
+  private final Optional<ChangeToken> snapshotToken;
+  private final AtomicReference<ChangeToken> lastSeen = new AtomicReference<>();
+
+  public HolidayChangeTracker(
+      MongoTemplate mongoTemplate,
+      ApplicationEventPublisher events,
+      Optional<MappedHolidaySnapshot> servedSnapshot) {
+    this.mongoTemplate = mongoTemplate;
+    this.events = events;
+    this.snapshotToken = servedSnapshot.map(
+        snapshot -> new ChangeToken(
+            "snapshot" + Long.toHexString(snapshot.createdAt().toEpochMilli()),
+            0,
+            snapshot.createdAt()));
+  }
+
+  /**
+   * Returns the current token, creating it on first use. Empty when MongoDB cannot be reached,
+   * e.g. while the read replica keeps serving during an outage; callers then skip conditional
+   * handling instead of failing the request.
+   */
+  public Optional<ChangeToken> current() {
+    if (snapshotToken.isPresent()) {
+      return snapshotToken;
+    }
+    try {
+      Document token = mongoTemplate.findById(TOKEN_ID, Document.class, COLLECTION);
+      if (token == null) {
+        mongoTemplate.upsert(query(), initialize(new Update()), COLLECTION);
+        token = mongoTemplate.findById(TOKEN_ID, Document.class, COLLECTION);
+      }
+      Optional<ChangeToken> current =
+          Optional.ofNullable(token).map(HolidayChangeTracker::toChangeToken);
+      current.filter(this::advance)
+          .ifPresent(seen -> events.publishEvent(new ChangedElsewhere(seen)));
+      return current;
+    } catch (DataAccessException e) {
+      log.debug("Holiday change token unavailable", e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Advances the token after holidays were written. A failure is logged rather than thrown,
+   * because the write itself has already succeeded.
+   */
+  public void changed() {
+    if (snapshotToken.isPresent()) {
+      return;
+    }
+    try {
+      Document token = mongoTemplate.findAndModify(
+          query(),
+          initialize(new Update().inc("generation", 1L).currentDate("lastModified")),
+          FindAndModifyOptions.options().upsert(true).returnNew(true),
+          Document.class,
+          COLLECTION);
+      Optional.ofNullable(token).map(HolidayChangeTracker::toChangeToken).ifPresent(this::advance);
+    } catch (DataAccessException e) {
+      log.warn("Could not advance the holiday change token, listings may be revalidated late", e);
+    }
+  }
+
+  /** Records {@code token} as seen; returns true if it is later than the last token seen. */
+  private boolean advance(ChangeToken token) {
+    ChangeToken previous = lastSeen.getAndAccumulate(
+        token, (seen, candidate) -> candidate.isAfter(seen) ? candidate : seen);
+    return token.isAfter(previous);
+  }
+
+  private static Query query() {
+    return Query.query(Criteria.where("_id").is(TOKEN_ID));
+  }
+
+  /** Sets the epoch, and the counter and date unless {@code update} already sets them. */
+  private static Update initialize(Update update) {
+    update.setOnInsert("epoch", new ObjectId().toHexString());
+    if (!update.modifies("generation")) {
+      update.setOnInsert("generation", 0L);
+    }
+    if (!update.modifies("lastModified")) {
+      update.setOnInsert("lastModified", new Date());
+    }
+    return update;
+  }
+
+  private static ChangeToken toChangeToken(Document token) {
+    Number generation = token.get("generation", Number.class);
+    Date lastModified = token.getDate("lastModified");
+    return new ChangeToken(
+        token.getString("epoch"),
+        generation == null ? 0 : generation.longValue(),
+        lastModified == null ? Instant.EPOCH : lastModified.toInstant());
+  }
+}
@@ -0,0 +1,159 @@
+package me.clementino.holiday.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+
+/**
+ * Immutable set of optional filters accepted by {@link HolidayRepositoryCustom}.
+ *
+ * <p>A {@code null} component means "do not filter on this field".
+ *
+ * @param country ISO country code stored in {@code localities.countryCode}
+ * @param state subdivision code stored in {@code localities.subdivisionCode}
+ * @param city city name stored in {@code localities.cityName}
+ * @param type holiday type
+ * @param startDate inclusive lower bound for the holiday date
+ * @param endDate inclusive upper bound for the holiday date
+ * @param recurring recurring flag
+ * @param namePattern case-insensitive regular expression matched against the name
+ */
+public record HolidayFilter(
+    String country,
+    String state,
+    String city,
+    HolidayType type,
+    LocalDate startDate,
+    LocalDate endDate,
+    Boolean recurring,
+    String namePattern) {
+
+  /** Filter that matches every holiday. */
+  public static HolidayFilter none() {
+    return new HolidayFilter(null, null, null, null, null, null, null, null);
+  }
+
+  /** Returns true if no filter is set. */
+  public boolean isEmpty() {
+    return country == null
+        && state == null
+        && city == null
+        && type == null
+        && startDate == null
+        && endDate == null
+        && recurring == null
+        && namePattern == null;
+  }
+
+  /**
+   * Names of the filters that are set, joined with {@code +} in declaration order (e.g.
+   * {@code country+startDate+endDate}), or {@code none}. Used to tag metrics by filter
+   * combination without the filter values.
+   */
+  public String presentFilters() {
+    var present = new StringJoiner("+");
+    present.setEmptyValue("none");
+    if (country != null) {
+      present.add("country");
+    }
+    if (state != null) {
+      present.add("state");
+    }
+    if (city != null) {
+      present.add("city");
+    }
+    if (type != null) {
+      present.add("type");
+    }
+    if (startDate != null) {
+      present.add("startDate");
+    }
+    if (endDate != null) {
+      present.add("endDate");
+    }
+    if (recurring != null) {
+      present.add("recurring");
+    }
+    if (namePattern != null) {
+      present.add("namePattern");
+    }
+    return present.toString();
+  }
+
+  /**
+   * Returns the canonical form of this filter: surrounding whitespace is stripped from the
+   * locality values, and blank locality values and an empty name pattern, which would otherwise
+   * be sent as filters on empty strings, are dropped. Filters that differ only in such input
+   * noise have the same canonical form.
+   */
+  public HolidayFilter normalized() {
+    HolidayFilter normalized =
+        new HolidayFilter(
+            normalize(country),
+            normalize(state),
+            normalize(city),
+            type,
+            startDate,
+            endDate,
+            recurring,
+            namePattern == null || namePattern.isEmpty() ? null : namePattern);
+    return normalized.equals(this) ? this : normalized;
+  }
+
+  private static String normalize(String value) {
+    return value == null || value.isBlank() ? null : value.strip();
+  }
+
+  /**
+   * Evaluates this filter in memory with the same semantics as the MongoDB query built by {@link
+   * HolidayRepositoryCustom#findWithFilters(HolidayFilter)}.
+   *
+   * @param entity the holiday to test, may be null
+   * @return true if the holiday would be returned by the query
+   */
+  public boolean matches(HolidayEntity entity) {
+    if (entity == null) {
+      return false;
+    }
+    if (type != null && type != entity.getType()) {
+      return false;
+    }
+    if (startDate != null && (entity.getDate() == null || entity.getDate().isBefore(startDate))) {
+      return false;
+    }
+    if (endDate != null && (entity.getDate() == null || entity.getDate().isAfter(endDate))) {
+      return false;
+    }
+    if (recurring != null && !recurring.equals(entity.getRecurring())) {
+      // like the query, holidays stored before the flag was persisted match neither value
+      return false;
+    }
+    if (namePattern != null
+        && (entity.getName() == null
+            || !Pattern.compile(namePattern, Pattern.CASE_INSENSITIVE)
+                .matcher(entity.getName())
+                .find())) {
+      return false;
+    }
+    return matchesLocality(entity.getLocalities());
+  }
+
+  private boolean matchesLocality(List<LocalityEntity> localities) {
+    if (country == null && state == null && city == null) {
+      return true;
+    }
+    if (localities == null) {
+      return false;
+    }
+    return localities.stream()
+        .anyMatch(
+            locality ->
+                (country == null || country.equals(locality.getCountryCode()))
+                    && (state == null || state.equals(locality.getSubdivisionCode()))
+                    && (city == null || city.equals(locality.getCityName())));
+  }
+}
@@ -0,0 +1,519 @@
+package me.clementino.holiday.repository;
+
+import module java.base;
+import me.clementino.holiday.domain.dop.Holiday;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+
+/**
+ * Yearly occurrences of a fixed set of holidays, expanded once for a range of years and kept off
+ * the Java heap.
+ *
+ * <p>
+ * {@link #build} evaluates the holidays for every year of the range with a
+ * {@link StoredHolidayCalendar}, so recurring holidays are recalculated from their persisted rule
+ * and the others only occur on their stored date, and writes one fixed-width row per occurrence
+ * and locality into a {@link MemorySegment} allocated from a shared {@link Arena}:
+ *
+ * <ul>
+ * <li>{@code int} date and observed date as epoch days (the observed date equals the date when
+ * the occurrence is not moved),
+ * <li>{@code int} index of the stored holiday, used to decode results,
+ * <li>{@code int} name id and locality id, into dictionaries of the distinct names and
+ * {@code (countryCode, subdivisionCode, cityName)} localities,
+ * <li>{@code byte} {@link HolidayType} ordinal.
+ * </ul>
+ *
+ * <p>
+ * Rows are grouped by country, then by the year they were evaluated for, and ordered by date
+ * within a year. A single {@code int[]} holds the first row of every {@code (country, year)}
+ * bucket, so a query only scans the buckets of its country and years, merging them by date as
+ * the result stream is consumed. Type, name, locality and
+ * recurring filters are compared on the columns: the name pattern and the locality filters are
+ * evaluated once per dictionary entry and the recurring flag once per stored holiday, not once
+ * per row. The heap only holds the stored holidays, the dictionaries and the bucket index,
+ * whatever the number of occurrences; at 24 bytes a row, a
+ * million occurrences take 24MB off-heap.
+ *
+ * <p>
+ * A holiday with several localities has one row per distinct locality in each occurrence, so the
+ * country index stays exact; such occurrences are reported once.
+ */
+public final class HolidayOccurrenceStore implements AutoCloseable {
+
+  private static final long ROW_BYTES = 24;
+  private static final long DATE = 0;
+  private static final long OBSERVED = 4;
+  private static final long HOLIDAY = 8;
+  private static final long NAME = 12;
+  private static final long LOCALITY = 16;
+  private static final long TYPE = 20;
+
+  private static final int NULL = -1;
+  private static final int ANY = -1;
+
+  private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT;
+  private static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+
+  private final List<HolidayEntity> holidays;
+  private final int firstYear;
+  private final int years;
+  private final List<String> names;
+  private final List<List<String>> localities;
+  private final Map<String, Integer> countries;
+  private final int[] bucketStarts;
+  private final boolean multiLocality;
+  private final Arena arena;
+  private final MemorySegment rows;
+
+  private HolidayOccurrenceStore(
+      List<HolidayEntity> holidays,
+      int firstYear,
+      int years,
+      List<String> names,
+      List<List<String>> localities,
+      Map<String, Integer> countries,
+      int[] bucketStarts,
+      boolean multiLocality,
+      Arena arena,
+      MemorySegment rows) {
+    this.holidays = holidays;
+    this.firstYear = firstYear;
+    this.years = years;
+    this.names = names;
+    this.localities = localities;
+    this.countries = countries;
+    this.bucketStarts = bucketStarts;
+    this.multiLocality = multiLocality;
+    this.arena = arena;
+    this.rows = rows;
+  }
+
+  /**
+   * Expands the holidays into their occurrences for every year from {@code firstYear} to
+   * {@code lastYear}, both inclusive.
+   *
+   * @param holidays the stored holidays; results refer to them
+   * @param rule     the domain holiday recalculating a stored holiday every year, empty when it
+   *                 does not recur
+   * @throws IllegalArgumentException if the range is empty or before year 1, or the occurrences do
+   *         not fit in an {@code int} row index
+   */
+  public static HolidayOccurrenceStore build(
+      Collection<HolidayEntity> holidays,
+      Function<? super HolidayEntity, Optional<Holiday>> rule,
+      int firstYear,
+      int lastYear) {
+    if (firstYear <= 0) {
+      throw new IllegalArgumentException("Year must be positive, got: " + firstYear);
+    }
+    if (lastYear < firstYear) {
+      throw new IllegalArgumentException("Last year must not be before first year");
+    }
+    var calendar = StoredHolidayCalendar.of(holidays, rule);
+    List<HolidayEntity> stored = calendar.holidays();
+    int years = lastYear - firstYear + 1;
+
+    var nameIds = new HashMap<String, Integer>();
+    var localityIds = new HashMap<List<String>, Integer>();
+    var countryIds = new LinkedHashMap<String, Integer>();
+    int[] holidayNames = new int[stored.size()];
+    int[][] holidayLocalities = new int[stored.size()][];
+    for (int holiday = 0; holiday < stored.size(); holiday++) {
+      HolidayEntity entity = stored.get(holiday);
+      holidayNames[holiday] = entity.getName() == null
+          ? NULL
+          : nameIds.computeIfAbsent(entity.getName(), name -> nameIds.size());
+      holidayLocalities[holiday] = localityKeys(entity).stream()
+          .mapToInt(key -> {
+            countryIds.putIfAbsent(key.getFirst(), countryIds.size());
+            return localityIds.computeIfAbsent(key, k -> localityIds.size());
+          })
+          .toArray();
+    }
+    List<String> names = dictionary(nameIds);
+    List<List<String>> localities = dictionary(localityIds);
+    boolean multiLocality = Arrays.stream(holidayLocalities).anyMatch(keys -> keys.length > 1);
+
+    // a recurring holiday occurs once every year, any other one in the year it is stored for
+    int[] bucketRows = new int[countryIds.size() * years];
+    for (int holiday = 0; holiday < stored.size(); holiday++) {
+      LocalDate date = stored.get(holiday).getDate();
+      boolean recurs = calendar.recurs(holiday);
+      if (!recurs && (date == null || date.getYear() < firstYear || date.getYear() > lastYear)) {
+        continue;
+      }
+      for (int locality : holidayLocalities[holiday]) {
+        int bucket = countryIds.get(localities.get(locality).getFirst()) * years;
+        if (recurs) {
+          for (int year = 0; year < years; year++) {
+            bucketRows[bucket + year]++;
+          }
+        } else {
+          bucketRows[bucket + date.getYear() - firstYear]++;
+        }
+      }
+    }
+    int[] bucketStarts = new int[bucketRows.length + 1];
+    long total = 0;
+    for (int bucket = 0; bucket < bucketRows.length; bucket++) {
+      bucketStarts[bucket] = (int) total;
+      total += bucketRows[bucket];
+      if (total > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException(
+            "Too many occurrences for " + stored.size() + " holidays over " + years + " years");
+      }
+    }
+    bucketStarts[bucketStarts.length - 1] = (int) total;
+
+    Arena arena = Arena.ofShared();
+    try {
+      MemorySegment rows = arena.allocate(Math.max(1, total * ROW_BYTES), Integer.BYTES);
+      int[] cursors = new int[countryIds.size()];
+      for (int year = 0; year < years; year++) {
+        for (int country = 0; country < cursors.length; country++) {
+          cursors[country] = bucketStarts[country * years + year];
+        }
+        // holiday, date and observed date of each occurrence, in holiday order
+        var occurrences = new ArrayList<int[]>(stored.size());
+        calendar.forEachOccurrence(
+            firstYear + year,
+            (holiday, date, observed) -> occurrences.add(
+                new int[] {holiday, (int) date.toEpochDay(), (int) observed.toEpochDay()}));
+        occurrences.sort(Comparator.comparingInt(occurrence -> occurrence[1]));
+        for (int[] occurrence : occurrences) {
+          int holiday = occurrence[0];
+          int date = occurrence[1];
+          int observed = occurrence[2];
+          HolidayType type = stored.get(holiday).getType();
+          for (int locality : holidayLocalities[holiday]) {
+            int country = countryIds.get(localities.get(locality).getFirst());
+            long at = ROW_BYTES * cursors[country]++;
+            rows.set(INT, at + DATE, date);
+            rows.set(INT, at + OBSERVED, observed);
+            rows.set(INT, at + HOLIDAY, holiday);
+            rows.set(INT, at + NAME, holidayNames[holiday]);
+            rows.set(INT, at + LOCALITY, locality);
+            rows.set(BYTE, at + TYPE, (byte) (type == null ? NULL : type.ordinal()));
+          }
+        }
+      }
+      return new HolidayOccurrenceStore(
+          stored,
+          firstYear,
+          years,
+          names,
+          localities,
+          countryIds,
+          bucketStarts,
+          multiLocality,
+          arena,
+          rows);
+    } catch (RuntimeException e) {
+      arena.close();
+      throw e;
+    }
+  }
+
+  /** First year the holidays were expanded for. */
+  public int firstYear() {
+    return firstYear;
+  }
+
+  /** Last year the holidays were expanded for. */
+  public int lastYear() {
+    return firstYear + years - 1;
+  }
+
+  /** Whether every year from {@code from} to {@code to} was expanded. */
+  public boolean covers(LocalDate from, LocalDate to) {
+    return from.getYear() >= firstYear && to.getYear() <= lastYear();
+  }
+
+  /** Number of rows, one per occurrence and distinct locality. */
+  public int size() {
+    return bucketStarts[bucketStarts.length - 1];
+  }
+
+  /** Off-heap size of the rows, in bytes. */
+  public long byteSize() {
+    return rows.byteSize();
+  }
+
+  /**
+   * Occurrences matching the filter, ordered by date, as copies of their stored holiday with the
+   * date of the occurrence and its observed date ({@code null} when not moved).
+   *
+   * <p>
+   * The filter has the semantics of {@link HolidayFilter#matches} applied to each occurrence:
+   * the date bounds select occurrence dates, the other filters the stored holiday. Without date
+   * bounds every expanded year is returned.
+   *
+   * <p>
+   * The stream is lazy: the matching buckets are merged by date and each row is only decoded
+   * when the stream reaches it, so a limited or short-circuited stream reads only what it needs.
+   */
+  public Stream<HolidayEntity> findWithFilters(HolidayFilter filter) {
+    int[] buckets = buckets(filter);
+    if (buckets.length == 0) {
+      return Stream.empty();
+    }
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            new OccurrenceIterator(buckets, new Scan(filter)),
+            Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  /** Number of occurrences {@link #findWithFilters} would return, without decoding them. */
+  public int count(HolidayFilter filter) {
+    Scan scan = new Scan(filter);
+    int count = 0;
+    for (int bucket : buckets(filter)) {
+      int year = bucket % years;
+      for (int row = bucketStarts[bucket]; row < bucketStarts[bucket + 1]; row++) {
+        if (scan.matches(row, year)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  /** Frees the rows; the store must not be used afterwards. */
+  @Override
+  public void close() {
+    arena.close();
+  }
+
+  /** The {@code (country, year)} buckets a filter can match, empty when none can. */
+  private int[] buckets(HolidayFilter filter) {
+    int fromYear = filter.startDate() == null
+        ? firstYear
+        : Math.max(firstYear, filter.startDate().getYear());
+    int toYear = filter.endDate() == null
+        ? lastYear()
+        : Math.min(lastYear(), filter.endDate().getYear());
+    if (fromYear > toYear) {
+      return new int[0];
+    }
+
+    int[] scanned;
+    if (filter.country() == null) {
+      scanned = IntStream.range(0, countries.size()).toArray();
+    } else if (countries.containsKey(filter.country())) {
+      scanned = new int[] {countries.get(filter.country())};
+    } else {
+      return new int[0];
+    }
+    return Arrays.stream(scanned)
+        .flatMap(country -> IntStream.rangeClosed(fromYear - firstYear, toYear - firstYear)
+            .map(year -> country * years + year))
+        .toArray();
+  }
+
+  /** Row predicate of one query. */
+  private final class Scan {
+
+    private final long from;
+    private final long to;
+    private final int type;
+    private final boolean[] nameMatches;
+    private final boolean[] localityMatches;
+    private final boolean[] recurringMatches;
+    private final BitSet reported;
+
+    Scan(HolidayFilter filter) {
+      from = filter.startDate() == null ? Long.MIN_VALUE : filter.startDate().toEpochDay();
+      to = filter.endDate() == null ? Long.MAX_VALUE : filter.endDate().toEpochDay();
+      type = filter.type() == null ? ANY : filter.type().ordinal();
+      nameMatches = filter.namePattern() == null ? null : nameMatches(filter.namePattern());
+      localityMatches = filter.country() == null && filter.state() == null
+          && filter.city() == null ? null : localityMatches(filter);
+      recurringMatches = filter.recurring() == null ? null : recurringMatches(filter.recurring());
+      reported = multiLocality ? new BitSet() : null;
+    }
+
+    /**
+     * Whether the row of the given bucket year matches. An occurrence with several localities
+     * only matches on the first of its rows asked for.
+     */
+    boolean matches(int row, int year) {
+      long at = ROW_BYTES * row;
+      if (type != ANY && rows.get(BYTE, at + TYPE) != type) {
+        return false;
+      }
+      int date = rows.get(INT, at + DATE);
+      if (date < from || date > to) {
+        return false;
+      }
+      if (nameMatches != null) {
+        int name = rows.get(INT, at + NAME);
+        if (name == NULL || !nameMatches[name]) {
+          return false;
+        }
+      }
+      if (localityMatches != null && !localityMatches[rows.get(INT, at + LOCALITY)]) {
+        return false;
+      }
+      if (recurringMatches != null && !recurringMatches[rows.get(INT, at + HOLIDAY)]) {
+        return false;
+      }
+      if (reported != null) {
+        // one occurrence per holiday and year, whatever the number of its localities
+        int occurrence = rows.get(INT, at + HOLIDAY) * years + year;
+        if (reported.get(occurrence)) {
+          return false;
+        }
+        reported.set(occurrence);
+      }
+      return true;
+    }
+  }
+
+  /** Next matching row of a bucket. */
+  private static final class Cursor {
+
+    private final int end;
+    private final int year;
+    private int row;
+    private int date;
+
+    Cursor(int row, int end, int year) {
+      this.row = row;
+      this.end = end;
+      this.year = year;
+    }
+  }
+
+  /**
+   * Merges the matching rows of several buckets by date, then row. The buckets are only opened
+   * when the first occurrence is asked for.
+   */
+  private final class OccurrenceIterator implements Iterator<HolidayEntity> {
+
+    private final int[] buckets;
+    private final Scan scan;
+    private PriorityQueue<Cursor> cursors;
+
+    OccurrenceIterator(int[] buckets, Scan scan) {
+      this.buckets = buckets;
+      this.scan = scan;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (cursors == null) {
+        cursors = new PriorityQueue<>(
+            buckets.length,
+            Comparator.comparingInt((Cursor cursor) -> cursor.date)
+                .thenComparingInt(cursor -> cursor.row));
+        for (int bucket : buckets) {
+          advance(new Cursor(bucketStarts[bucket], bucketStarts[bucket + 1], bucket % years));
+        }
+      }
+      return !cursors.isEmpty();
+    }
+
+    @Override
+    public HolidayEntity next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Cursor cursor = cursors.poll();
+      HolidayEntity occurrence = occurrence(cursor.row);
+      cursor.row++;
+      advance(cursor);
+      return occurrence;
+    }
+
+    /** Moves the cursor to its next matching row and queues it, unless the bucket is done. */
+    private void advance(Cursor cursor) {
+      while (cursor.row < cursor.end) {
+        if (scan.matches(cursor.row, cursor.year)) {
+          cursor.date = date(cursor.row);
+          cursors.add(cursor);
+          return;
+        }
+        cursor.row++;
+      }
+    }
+  }
+
+  private boolean[] nameMatches(String namePattern) {
+    Pattern pattern = Pattern.compile(namePattern, Pattern.CASE_INSENSITIVE);
+    boolean[] matches = new boolean[names.size()];
+    for (int name = 0; name < matches.length; name++) {
+      matches[name] = pattern.matcher(names.get(name)).find();
+    }
+    return matches;
+  }
+
+  private boolean[] recurringMatches(Boolean recurring) {
+    boolean[] matches = new boolean[holidays.size()];
+    for (int holiday = 0; holiday < matches.length; holiday++) {
+      matches[holiday] = recurring.equals(holidays.get(holiday).getRecurring());
+    }
+    return matches;
+  }
+
+  private boolean[] localityMatches(HolidayFilter filter) {
+    boolean[] matches = new boolean[localities.size()];
+    for (int locality = 0; locality < matches.length; locality++) {
+      List<String> key = localities.get(locality);
+      matches[locality] = (filter.country() == null || filter.country().equals(key.get(0)))
+          && (filter.state() == null || filter.state().equals(key.get(1)))
+          && (filter.city() == null || filter.city().equals(key.get(2)));
+    }
+    return matches;
+  }
+
+  private int date(int row) {
+    return rows.get(INT, ROW_BYTES * row + DATE);
+  }
+
+  private HolidayEntity occurrence(int row) {
+    long at = ROW_BYTES * row;
+    HolidayEntity holiday = holidays.get(rows.get(INT, at + HOLIDAY));
+    int date = rows.get(INT, at + DATE);
+    int observed = rows.get(INT, at + OBSERVED);
+
+    var occurrence = new HolidayEntity();
+    occurrence.setId(holiday.getId());
+    occurrence.setName(holiday.getName());
+    occurrence.setDescription(holiday.getDescription());
+    occurrence.setDate(LocalDate.ofEpochDay(date));
+    occurrence.setObserved(observed == date ? null : LocalDate.ofEpochDay(observed));
+    occurrence.setType(holiday.getType());
+    occurrence.setLocalities(holiday.getLocalities());
+    occurrence.setRecurring(holiday.getRecurring());
+    occurrence.setVersion(holiday.getVersion());
+    occurrence.setDateCreated(holiday.getDateCreated());
+    occurrence.setLastUpdated(holiday.getLastUpdated());
+    return occurrence;
+  }
+
+  /**
+   * Distinct {@code (countryCode, subdivisionCode, cityName)} of the localities of a holiday. A
+   * holiday without localities gets an all-null key, which no locality filter matches.
+   */
+  private static List<List<String>> localityKeys(HolidayEntity holiday) {
+    List<LocalityEntity> localities = holiday.getLocalities();
+    if (localities == null || localities.isEmpty()) {
+      return List.of(Arrays.asList(null, null, null));
+    }
+    return localities.stream()
+        .map(locality -> Arrays.asList(
+            locality.getCountryCode(), locality.getSubdivisionCode(), locality.getCityName()))
+        .distinct()
+        .toList();
+  }
+
+  /** Dictionary entries in id order. */
+  private static <T> List<T> dictionary(Map<T, Integer> ids) {
+    var entries = new ArrayList<T>(Collections.nCopies(ids.size(), null));
+    ids.forEach((entry, id) -> entries.set(id, entry));
+    return entries;
+  }
+}
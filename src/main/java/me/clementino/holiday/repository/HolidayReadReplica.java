@@ -0,0 +1,322 @@
+package me.clementino.holiday.repository;
+
+import module java.base;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.stereotype.Component;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.repository.HolidaySnapshot.Change;
+
+/**
+ * Optional in-memory read model of the holidays collection, enabled with
+ * {@code holiday.read-replica.enabled=true}.
+ *
+ * <p>
+ * On startup the replica opens a MongoDB change stream on the collection and then loads every
+ * holiday into a {@link HolidaySnapshot}. Insert, update, replace and delete events are then
+ * queued and applied to the snapshot without reloading the collection: every event queued by
+ * the time the replica thread gets to them is applied in a single rebuild, so a burst of writes
+ * (e.g. an import) costs a few rebuilds instead of one per document. Events received while the
+ * collection is loading are replayed on top of the loaded snapshot, so none are lost. Readers
+ * always see a complete, immutable snapshot.
+ *
+ * <p>
+ * Writes made by other instances or directly in MongoDB only reach this instance through the
+ * change stream, so after applying events the replica publishes a {@link Updated} event with
+ * the holidays before and after the change, and a {@link Reloaded} event after each full load,
+ * for the caches built from the replica to be invalidated.
+ *
+ * <p>
+ * If the change stream fails or is invalidated (e.g. the collection is dropped), the replica
+ * keeps serving its last snapshot and retries a full resync every
+ * {@code holiday.read-replica.resync-delay}. A MongoDB outage is therefore invisible to readers,
+ * who see data as of the last applied event. Change streams require MongoDB to run as a replica
+ * set.
+ *
+ * <p>
+ * Returned entities are shared with other readers and must not be modified.
+ */
+@Component
+@ConditionalOnProperty(name = "holiday.read-replica.enabled", havingValue = "true")
+public class HolidayReadReplica implements HolidayReadSource, SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(HolidayReadReplica.class);
+
+  private static final Duration SUBSCRIPTION_TIMEOUT = Duration.ofSeconds(10);
+
+  /**
+   * Published after change stream events were applied to the snapshot.
+   *
+   * @param holidays the changed holidays, both as they were before and as they are after the
+   *                 events
+   */
+  public record Updated(List<HolidayEntity> holidays) {
+  }
+
+  /** Published after the whole collection was loaded into a new snapshot. */
+  public record Reloaded() {
+  }
+
+  private final MongoTemplate mongoTemplate;
+  private final ApplicationEventPublisher events;
+  private final MessageListenerContainer container;
+  private final Duration resyncDelay;
+  private final ScheduledExecutorService resyncExecutor;
+  private final AtomicBoolean resyncScheduled = new AtomicBoolean();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+  private final Object lock = new Object();
+  private volatile HolidaySnapshot snapshot;
+  private List<Change> pending;
+  private List<Change> queued = new ArrayList<>();
+  private Subscription subscription;
+  private volatile boolean running;
+
+  public HolidayReadReplica(
+      MongoTemplate mongoTemplate,
+      ApplicationEventPublisher events,
+      @Value("${holiday.read-replica.resync-delay:5s}") Duration resyncDelay) {
+    this.mongoTemplate = mongoTemplate;
+    this.events = events;
+    this.container = new DefaultMessageListenerContainer(mongoTemplate);
+    this.resyncDelay = resyncDelay;
+    this.resyncExecutor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("holiday-read-replica").daemon().factory());
+  }
+
+  /** Returns true once the first snapshot has been loaded. */
+  @Override
+  public boolean isReady() {
+    return snapshot != null;
+  }
+
+  /** Number of holidays in the current snapshot. */
+  public int size() {
+    HolidaySnapshot current = snapshot;
+    return current == null ? 0 : current.size();
+  }
+
+  /** Find a holiday by id in the current snapshot. */
+  @Override
+  public Optional<HolidayEntity> findById(String id) {
+    return current().findById(id);
+  }
+
+  /** All holidays of the current snapshot ordered by date and id. */
+  @Override
+  public List<HolidayEntity> findAll() {
+    return current().findAll();
+  }
+
+  /** Holidays of the current snapshot matching the filter, ordered by date and id. */
+  @Override
+  public List<HolidayEntity> findWithFilters(HolidayFilter filter) {
+    return current().findWithFilters(filter);
+  }
+
+  /**
+   * Applies a write made through this instance right away, so the instance reads its own writes
+   * before the matching change stream event arrives. Replaying the event later is harmless.
+   *
+   * @param before the holiday before the write, or null when it was created
+   * @param after  the holiday after the write, or null when it was deleted
+   */
+  public void holidayChanged(HolidayEntity before, HolidayEntity after) {
+    if (after != null && after.getId() != null) {
+      apply(List.of(Change.upsert(after)));
+    } else if (before != null) {
+      apply(List.of(Change.removal(before.getId())));
+    }
+  }
+
+  /** Bulk variant of {@link #holidayChanged} for holidays created together. */
+  public void holidaysCreated(Collection<HolidayEntity> created) {
+    List<Change> changes = created.stream()
+        .filter(holiday -> holiday.getId() != null)
+        .map(Change::upsert)
+        .toList();
+    if (!changes.isEmpty()) {
+      apply(changes);
+    }
+  }
+
+  private HolidaySnapshot current() {
+    HolidaySnapshot current = snapshot;
+    if (current == null) {
+      throw new IllegalStateException("Holiday read replica is not loaded yet");
+    }
+    return current;
+  }
+
+  @Override
+  public void start() {
+    container.start();
+    running = true;
+    resync();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    resyncExecutor.shutdownNow();
+    container.stop();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /** Opens the change stream if needed, then reloads the whole collection. */
+  private synchronized void resync() {
+    resyncScheduled.set(false);
+    try {
+      synchronized (lock) {
+        pending = new ArrayList<>();
+      }
+      if (subscription == null || !subscription.isActive()) {
+        if (subscription != null) {
+          container.remove(subscription);
+        }
+        subscription = container.register(changeStreamRequest(), HolidayEntity.class, this::onError);
+        subscription.await(SUBSCRIPTION_TIMEOUT);
+      }
+
+      List<HolidayEntity> holidays = mongoTemplate.findAll(HolidayEntity.class);
+
+      synchronized (lock) {
+        snapshot = HolidaySnapshot.of(holidays).withChanges(pending);
+        pending = null;
+      }
+      log.info("Holiday read replica loaded {} holidays", holidays.size());
+      events.publishEvent(new Reloaded());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      synchronized (lock) {
+        pending = null;
+      }
+      log.warn("Holiday read replica resync failed, retrying in {}", resyncDelay, e);
+      scheduleResync();
+    }
+  }
+
+  private ChangeStreamRequest<HolidayEntity> changeStreamRequest() {
+    return ChangeStreamRequest.<HolidayEntity>builder(this::onChange)
+        .collection(mongoTemplate.getCollectionName(HolidayEntity.class))
+        .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+        .build();
+  }
+
+  private void onChange(Message<ChangeStreamDocument<Document>, HolidayEntity> message) {
+    ChangeStreamDocument<Document> event = message.getRaw();
+    if (event == null || event.getOperationType() == null) {
+      return;
+    }
+
+    switch (event.getOperationType()) {
+      case INSERT, UPDATE, REPLACE -> {
+        HolidayEntity holiday = message.getBody();
+        enqueue(holiday != null && holiday.getId() != null
+            ? Change.upsert(holiday)
+            : Change.removal(documentId(event)));
+      }
+      case DELETE -> enqueue(Change.removal(documentId(event)));
+      default -> scheduleResync();
+    }
+  }
+
+  /** Applies local writes right away, so this instance reads them on the next request. */
+  private void apply(List<Change> changes) {
+    synchronized (lock) {
+      if (pending != null) {
+        pending.addAll(changes);
+      }
+      if (snapshot != null) {
+        snapshot = snapshot.withChanges(changes);
+      }
+    }
+  }
+
+  /** Queues a change stream event, to be applied with the others queued by then. */
+  private void enqueue(Change change) {
+    synchronized (lock) {
+      if (pending != null) {
+        pending.add(change);
+      }
+      queued.add(change);
+    }
+    if (running && drainScheduled.compareAndSet(false, true)) {
+      try {
+        resyncExecutor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        drainScheduled.set(false);
+      }
+    }
+  }
+
+  /**
+   * Applies every queued event in one rebuild, then publishes the holidays they changed. While
+   * the collection is loading, the events are left to the load, which replays them.
+   */
+  private void drain() {
+    drainScheduled.set(false);
+    var changed = new ArrayList<HolidayEntity>();
+    synchronized (lock) {
+      List<Change> changes = queued;
+      queued = new ArrayList<>();
+      if (snapshot == null || changes.isEmpty()) {
+        return;
+      }
+      for (Change change : changes) {
+        if (change.id() != null) {
+          snapshot.findById(change.id()).ifPresent(changed::add);
+        }
+        if (change.holiday() != null) {
+          changed.add(change.holiday());
+        }
+      }
+      snapshot = snapshot.withChanges(changes);
+    }
+    if (!changed.isEmpty()) {
+      events.publishEvent(new Updated(List.copyOf(changed)));
+    }
+  }
+
+  private void onError(Throwable error) {
+    log.warn("Holiday read replica change stream failed, retrying in {}", resyncDelay, error);
+    scheduleResync();
+  }
+
+  private void scheduleResync() {
+    if (running && resyncScheduled.compareAndSet(false, true)) {
+      resyncExecutor.schedule(this::resync, resyncDelay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static String documentId(ChangeStreamDocument<Document> event) {
+    BsonValue id = event.getDocumentKey() == null ? null : event.getDocumentKey().get("_id");
+    if (id == null) {
+      return null;
+    }
+    return switch (id.getBsonType()) {
+      case STRING -> id.asString().getValue();
+      case OBJECT_ID -> id.asObjectId().getValue().toHexString();
+      default -> id.toString();
+    };
+  }
+}
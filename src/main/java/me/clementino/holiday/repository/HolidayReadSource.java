@@ -0,0 +1,59 @@
+package me.clementino.holiday.repository;
+
+import module java.base;
+import me.clementino.holiday.entity.HolidayEntity;
+
+/**
+ * Read-only view of the whole holidays dataset held outside MongoDB, such as the
+ * {@link HolidayReadReplica} or a {@link MappedHolidaySnapshot}.
+ *
+ * <p>
+ * When a source is configured and {@linkplain #isReady() ready}, the services answer reads from
+ * it instead of querying MongoDB. Results follow the semantics of {@link HolidayRepositoryCustom}:
+ * filters behave like {@link HolidayFilter#matches} and holidays are ordered by date and id.
+ * Returned entities may be shared with other readers and must not be modified.
+ */
+public interface HolidayReadSource {
+
+  /** Returns true once the source can answer reads. */
+  boolean isReady();
+
+  /** Find a holiday by id. */
+  Optional<HolidayEntity> findById(String id);
+
+  /** All holidays ordered by date and id. */
+  List<HolidayEntity> findAll();
+
+  /** Holidays matching the filter, ordered by date and id. */
+  List<HolidayEntity> findWithFilters(HolidayFilter filter);
+
+  /**
+   * One page of the holidays matching the filter, starting strictly after the
+   * {@code (afterDate, afterId)} position, like {@link HolidayRepositoryCustom#findPage}.
+   */
+  default List<HolidayEntity> findPage(
+      HolidayFilter filter, LocalDate afterDate, String afterId, int limit) {
+    List<HolidayEntity> matching = findWithFilters(filter);
+    int start = 0;
+    if (afterDate != null) {
+      int high = matching.size();
+      while (start < high) {
+        int middle = (start + high) >>> 1;
+        if (isAtOrBefore(matching.get(middle), afterDate, afterId)) {
+          start = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+    }
+    return matching.subList(start, Math.min(matching.size(), start + limit));
+  }
+
+  private static boolean isAtOrBefore(HolidayEntity holiday, LocalDate date, String id) {
+    LocalDate holidayDate = holiday.getDate();
+    if (holidayDate == null || holidayDate.isBefore(date)) {
+      return true;
+    }
+    return holidayDate.equals(date) && id != null && holiday.getId().compareTo(id) <= 0;
+  }
+}
@@ -1,10 +1,7 @@
 package me.clementino.holiday.repository;
 
-import module java.base;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
-import me.clementino.holiday.domain.dop.HolidayType;
 import me.clementino.holiday.entity.HolidayEntity;
 
 /**
@@ -26,27 +23,11 @@ import me.clementino.holiday.entity.HolidayEntity;
  * <li>Name-based search operations
  * <li>Complex multi-criteria search operations
  * </ul>
+ *
+ * <p>
+ * Multi-criteria filtering is provided by {@link HolidayRepositoryCustom}, which builds a query
+ * from the filters that are present so each combination gets an index-backed plan.
  */
 @Repository
-public interface HolidayRepository extends MongoRepository<HolidayEntity, String> {
-
-        @Query("{ $and: [ "
-                        + "{ $or: [ { ?0: null }, { 'localities.country': ?0 } ] }, "
-                        + "{ $or: [ { ?1: null }, { 'localities.state': ?1 } ] }, "
-                        + "{ $or: [ { ?2: null }, { 'localities.city': ?2 } ] }, "
-                        + "{ $or: [ { ?3: null }, { 'type': ?3 } ] }, "
-                        + "{ $or: [ { ?4: null }, { 'date': { $gte: ?4 } } ] }, "
-                        + "{ $or: [ { ?5: null }, { 'date': { $lte: ?5 } } ] }, "
-                        + "{ $or: [ { ?6: null }, { 'recurring': ?6 } ] }, "
-                        + "{ $or: [ { ?7: null }, { 'name': { $regex: ?7, $options: 'i' } } ] } "
-                        + "] }")
-        List<HolidayEntity> findWithFilters(
-                        String country,
-                        String state,
-                        String city,
-                        HolidayType type,
-                        LocalDate startDate,
-                        LocalDate endDate,
-                        Boolean recurring,
-                        String namePattern);
-}
+public interface HolidayRepository
+    extends MongoRepository<HolidayEntity, String>, HolidayRepositoryCustom {}
@@ -0,0 +1,102 @@
+package me.clementino.holiday.repository;
+
+import module java.base;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.entity.HolidayEntity;
+
+/**
+ * Custom repository fragment for queries that cannot be expressed efficiently as a static
+ * {@code @Query} template.
+ *
+ * <p>
+ * Every filter argument is optional: {@code null} means "do not filter on this field". The
+ * implementation only adds the predicates that are present, so MongoDB receives a tight query
+ * for each filter combination and can pick a matching index instead of scanning the collection.
+ */
+public interface HolidayRepositoryCustom {
+
+  /**
+   * Find holidays matching all of the given (optional) filters.
+   *
+   * @param country     ISO country code stored in {@code localities.countryCode}
+   * @param state       subdivision code stored in {@code localities.subdivisionCode}
+   * @param city        city name stored in {@code localities.cityName}
+   * @param type        holiday type
+   * @param startDate   inclusive lower bound for the holiday date
+   * @param endDate     inclusive upper bound for the holiday date
+   * @param recurring   recurring flag
+   * @param namePattern case-insensitive regular expression matched against the name
+   * @return matching holidays, never null
+   */
+  default List<HolidayEntity> findWithFilters(
+      String country,
+      String state,
+      String city,
+      HolidayType type,
+      LocalDate startDate,
+      LocalDate endDate,
+      Boolean recurring,
+      String namePattern) {
+    return findWithFilters(
+        new HolidayFilter(
+            country, state, city, type, startDate, endDate, recurring, namePattern));
+  }
+
+  /**
+   * Find holidays matching all filters set in the given {@link HolidayFilter}.
+   *
+   * @param filter the filters to apply
+   * @return matching holidays, never null
+   */
+  List<HolidayEntity> findWithFilters(HolidayFilter filter);
+
+  /**
+   * Stream holidays matching all filters set in the given {@link HolidayFilter} straight from a
+   * MongoDB cursor, without materializing the result list.
+   *
+   * <p>
+   * The returned stream holds an open cursor and must be closed by the caller.
+   *
+   * @param filter the filters to apply
+   * @return lazily fetched matching holidays
+   */
+  Stream<HolidayEntity> streamWithFilters(HolidayFilter filter);
+
+  /**
+   * Find one page of holidays ordered by {@code (date, id)} using keyset pagination.
+   *
+   * <p>
+   * The page starts strictly after the {@code (afterDate, afterId)} position, so the cost of a
+   * page does not depend on how deep into the result set it is.
+   *
+   * @param filter    the filters to apply
+   * @param afterDate date of the last holiday of the previous page, or null for the first page
+   * @param afterId   id of the last holiday of the previous page, or null for the first page
+   * @param limit     maximum number of holidays to return
+   * @return up to {@code limit} holidays ordered by date and id
+   */
+  List<HolidayEntity> findPage(
+      HolidayFilter filter, LocalDate afterDate, String afterId, int limit);
+
+  /**
+   * Insert new holidays with a single unordered bulk write. A failed insert, e.g. a duplicate
+   * id, does not prevent the others from being written.
+   *
+   * @param holidays the holidays to insert, with their ids already assigned
+   * @return error message of every holiday that was not inserted, keyed by its position in
+   *         {@code holidays}
+   */
+  Map<Integer, String> bulkInsert(List<HolidayEntity> holidays);
+
+  /**
+   * Insert or replace holidays by id with a single unordered bulk write, so writing the same
+   * holidays again does not create duplicates. A replaced holiday keeps its creation date and
+   * its version is incremented, whatever the version and creation date of the given entity; an
+   * inserted one starts at version 1.
+   *
+   * @param holidays the holidays to write, with their ids already assigned
+   * @return error message of every holiday that was not written, keyed by its position in
+   *         {@code holidays}
+   */
+  Map<Integer, String> bulkUpsert(List<HolidayEntity> holidays);
+}
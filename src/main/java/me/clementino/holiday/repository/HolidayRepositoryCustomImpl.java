@@ -0,0 +1,226 @@
+package me.clementino.holiday.repository;
+
+import module java.base;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import me.clementino.holiday.entity.HolidayEntity;
+
+/**
+ * {@link MongoTemplate} based implementation of {@link HolidayRepositoryCustom}.
+ *
+ * <p>
+ * Instead of a single template where every filter is wrapped in
+ * {@code { $or: [ { ?n: null }, ... ] }}, the query is assembled from the filters that are
+ * actually present. This keeps each predicate sargable so the planner can use the
+ * {@code localities.*}, {@code type} and {@code date} indexes.
+ *
+ * <p>
+ * Filtered queries are timed in {@code holiday.repository.queries}, tagged with the operation
+ * and the {@linkplain HolidayFilter#presentFilters() filters that were set}, so slow filter
+ * combinations stand out.
+ */
+class HolidayRepositoryCustomImpl implements HolidayRepositoryCustom {
+
+  private static final Sort PAGE_ORDER = Sort.by(Sort.Order.asc("date"), Sort.Order.asc("id"));
+
+  private final MongoTemplate mongoTemplate;
+  private final MeterRegistry meterRegistry;
+
+  HolidayRepositoryCustomImpl(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+    this.mongoTemplate = mongoTemplate;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public List<HolidayEntity> findWithFilters(HolidayFilter filter) {
+    return timer("findWithFilters", filter)
+        .record(() -> mongoTemplate.find(buildFilterQuery(filter), HolidayEntity.class));
+  }
+
+  @Override
+  public Stream<HolidayEntity> streamWithFilters(HolidayFilter filter) {
+    return mongoTemplate.stream(buildFilterQuery(filter), HolidayEntity.class);
+  }
+
+  @Override
+  public List<HolidayEntity> findPage(
+      HolidayFilter filter, LocalDate afterDate, String afterId, int limit) {
+    return timer("findPage", filter)
+        .record(() -> mongoTemplate.find(
+            buildPageQuery(filter, afterDate, afterId, limit), HolidayEntity.class));
+  }
+
+  private Timer timer(String operation, HolidayFilter filter) {
+    return Timer.builder("holiday.repository.queries")
+        .description("MongoDB holiday queries by operation and filters set")
+        .tag("operation", operation)
+        .tag("filters", filter.presentFilters())
+        .register(meterRegistry);
+  }
+
+  @Override
+  public Map<Integer, String> bulkInsert(List<HolidayEntity> holidays) {
+    if (holidays.isEmpty()) {
+      return Map.of();
+    }
+    return execute(mongoTemplate.bulkOps(BulkMode.UNORDERED, HolidayEntity.class).insert(holidays));
+  }
+
+  @Override
+  public Map<Integer, String> bulkUpsert(List<HolidayEntity> holidays) {
+    if (holidays.isEmpty()) {
+      return Map.of();
+    }
+    MongoPersistentEntity<?> entity = mongoTemplate.getConverter()
+        .getMappingContext()
+        .getRequiredPersistentEntity(HolidayEntity.class);
+    BulkOperations operations = mongoTemplate.bulkOps(BulkMode.UNORDERED, HolidayEntity.class);
+    for (HolidayEntity holiday : holidays) {
+      operations.upsert(
+          Query.query(Criteria.where("id").is(holiday.getId())), upsertUpdate(entity, holiday));
+    }
+    return execute(operations);
+  }
+
+  /**
+   * Update writing every field of {@code holiday} over the stored document, unsetting the fields
+   * it leaves empty. The version is incremented instead of written, so a replaced holiday keeps
+   * counting from its stored version, and the creation date is only written on insert.
+   */
+  private Update upsertUpdate(MongoPersistentEntity<?> entity, HolidayEntity holiday) {
+    var document = new Document();
+    mongoTemplate.getConverter().write(holiday, document);
+
+    String idField = entity.getRequiredIdProperty().getFieldName();
+    String versionField = entity.getRequiredVersionProperty().getFieldName();
+    String createdField = entity.getRequiredPersistentProperty("dateCreated").getFieldName();
+
+    var update = new Update().inc(versionField, 1);
+    document.forEach((field, value) -> {
+      if (field.equals(createdField)) {
+        update.setOnInsert(field, value);
+      } else if (!field.equals(idField) && !field.equals(versionField)) {
+        update.set(field, value);
+      }
+    });
+    for (MongoPersistentProperty property : entity) {
+      String field = property.getFieldName();
+      if (!document.containsKey(field)
+          && !property.isIdProperty()
+          && !property.isVersionProperty()
+          && !field.equals(createdField)) {
+        update.unset(field);
+      }
+    }
+    return update;
+  }
+
+  /** Runs the bulk write and maps its write errors to the positions of the failed operations. */
+  private static Map<Integer, String> execute(BulkOperations operations) {
+    try {
+      operations.execute();
+      return Map.of();
+    } catch (BulkOperationException e) {
+      return e.getErrors().stream()
+          .collect(Collectors.toUnmodifiableMap(
+              BulkWriteError::getIndex, BulkWriteError::getMessage, (first, second) -> first));
+    }
+  }
+
+  /** Builds a query holding only the predicates whose filter value is present. */
+  static Query buildFilterQuery(HolidayFilter filter) {
+    return new Query(filterCriteria(filter, filter.startDate()));
+  }
+
+  /**
+   * Builds a keyset page query: {@code date >= afterDate AND (date > afterDate OR id > afterId)}
+   * ordered by {@code (date, id)}. The inclusive date bound lets the planner seek straight to the
+   * page start on the date index; the {@code $or} only discards the rows that share the boundary
+   * date.
+   */
+  static Query buildPageQuery(
+      HolidayFilter filter, LocalDate afterDate, String afterId, int limit) {
+
+    LocalDate lowerBound = filter.startDate();
+    if (afterDate != null && (lowerBound == null || afterDate.isAfter(lowerBound))) {
+      lowerBound = afterDate;
+    }
+
+    Criteria criteria = filterCriteria(filter, lowerBound);
+    if (afterDate != null && afterId != null) {
+      criteria.orOperator(
+          Criteria.where("date").gt(afterDate),
+          Criteria.where("id").gt(afterId));
+    }
+
+    return new Query(criteria).with(PAGE_ORDER).limit(limit);
+  }
+
+  /**
+   * Builds the filter criteria using {@code lowerBound} as the inclusive date lower bound.
+   *
+   * <p>
+   * When more than one locality field is given they are combined with {@code $elemMatch} so
+   * that country, state and city must match the same embedded locality, which also lets the
+   * planner intersect the bounds of the compound locality index.
+   */
+  private static Criteria filterCriteria(HolidayFilter filter, LocalDate lowerBound) {
+    Criteria criteria = new Criteria();
+
+    Map<String, String> locality = new LinkedHashMap<>();
+    if (filter.country() != null) {
+      locality.put("countryCode", filter.country());
+    }
+    if (filter.state() != null) {
+      locality.put("subdivisionCode", filter.state());
+    }
+    if (filter.city() != null) {
+      locality.put("cityName", filter.city());
+    }
+
+    if (locality.size() == 1) {
+      var entry = locality.entrySet().iterator().next();
+      criteria.and("localities." + entry.getKey()).is(entry.getValue());
+    } else if (locality.size() > 1) {
+      Criteria element = new Criteria();
+      locality.forEach((field, value) -> element.and(field).is(value));
+      criteria.and("localities").elemMatch(element);
+    }
+
+    if (filter.type() != null) {
+      criteria.and("type").is(filter.type());
+    }
+
+    if (lowerBound != null || filter.endDate() != null) {
+      Criteria date = criteria.and("date");
+      if (lowerBound != null) {
+        date.gte(lowerBound);
+      }
+      if (filter.endDate() != null) {
+        date.lte(filter.endDate());
+      }
+    }
+
+    if (filter.recurring() != null) {
+      criteria.and("recurring").is(filter.recurring());
+    }
+
+    if (filter.namePattern() != null) {
+      criteria.and("name").regex(filter.namePattern(), "i");
+    }
+
+    return criteria;
+  }
+}
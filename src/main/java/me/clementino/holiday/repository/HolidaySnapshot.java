@@ -0,0 +1,201 @@
+package me.clementino.holiday.repository;
+
+import module java.base;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+
+/**
+ * Immutable, pre-indexed copy of the holidays collection used by {@link HolidayReadReplica}.
+ *
+ * <p>
+ * Holidays are indexed by id, country code, subdivision code, city name and type, and kept in a
+ * list sorted by {@code (date, id)} for date ranges. A filter is answered by scanning the
+ * smallest index bucket that its predicates select and applying {@link HolidayFilter#matches}
+ * to the candidates. Changes never modify a snapshot; {@link #withUpsert}, {@link #withRemoval}
+ * and {@link #withChanges} return a new one. Building a snapshot sorts and indexes every
+ * holiday, so changes arriving together should be applied with one {@link #withChanges} call.
+ */
+final class HolidaySnapshot {
+
+  /**
+   * Change of one holiday.
+   *
+   * @param id      id of the changed holiday
+   * @param holiday the holiday after the change, or null when it was removed
+   */
+  record Change(String id, HolidayEntity holiday) {
+
+    static Change upsert(HolidayEntity holiday) {
+      return new Change(holiday.getId(), holiday);
+    }
+
+    static Change removal(String id) {
+      return new Change(id, null);
+    }
+  }
+
+  private static final Comparator<HolidayEntity> DATE_ORDER = Comparator
+      .comparing(HolidayEntity::getDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+      .thenComparing(HolidayEntity::getId);
+
+  private final Map<String, HolidayEntity> byId;
+  private final List<HolidayEntity> byDate;
+  private final Map<String, List<HolidayEntity>> byCountry;
+  private final Map<String, List<HolidayEntity>> bySubdivision;
+  private final Map<String, List<HolidayEntity>> byCity;
+  private final Map<HolidayType, List<HolidayEntity>> byType;
+
+  private HolidaySnapshot(Map<String, HolidayEntity> byId) {
+    this.byId = Map.copyOf(byId);
+    this.byDate = byId.values().stream().sorted(DATE_ORDER).toList();
+    this.byCountry = index(byDate, LocalityEntity::getCountryCode);
+    this.bySubdivision = index(byDate, LocalityEntity::getSubdivisionCode);
+    this.byCity = index(byDate, LocalityEntity::getCityName);
+    this.byType = Collections.unmodifiableMap(byDate.stream()
+        .filter(entity -> entity.getType() != null)
+        .collect(Collectors.groupingBy(
+            HolidayEntity::getType,
+            () -> new EnumMap<>(HolidayType.class),
+            Collectors.toUnmodifiableList())));
+  }
+
+  /** Empty snapshot. */
+  static HolidaySnapshot empty() {
+    return new HolidaySnapshot(Map.of());
+  }
+
+  /** Snapshot holding the given holidays. Holidays without an id are ignored. */
+  static HolidaySnapshot of(Collection<HolidayEntity> holidays) {
+    Map<String, HolidayEntity> byId = new HashMap<>();
+    holidays.stream()
+        .filter(entity -> entity.getId() != null)
+        .forEach(entity -> byId.put(entity.getId(), entity));
+    return new HolidaySnapshot(byId);
+  }
+
+  /** Returns a snapshot where the holiday with the same id is inserted or replaced. */
+  HolidaySnapshot withUpsert(HolidayEntity holiday) {
+    Map<String, HolidayEntity> copy = new HashMap<>(byId);
+    copy.put(holiday.getId(), holiday);
+    return new HolidaySnapshot(copy);
+  }
+
+  /** Returns a snapshot where the holidays with the same ids are inserted or replaced. */
+  HolidaySnapshot withUpserts(Collection<HolidayEntity> holidays) {
+    if (holidays.isEmpty()) {
+      return this;
+    }
+    Map<String, HolidayEntity> copy = new HashMap<>(byId);
+    holidays.forEach(holiday -> copy.put(holiday.getId(), holiday));
+    return new HolidaySnapshot(copy);
+  }
+
+  /** Returns a snapshot without the holiday with the given id. */
+  HolidaySnapshot withRemoval(String id) {
+    if (id == null || !byId.containsKey(id)) {
+      return this;
+    }
+    Map<String, HolidayEntity> copy = new HashMap<>(byId);
+    copy.remove(id);
+    return new HolidaySnapshot(copy);
+  }
+
+  /**
+   * Returns a snapshot with the changes applied in order, built once whatever their number.
+   * Changes without an id are ignored.
+   */
+  HolidaySnapshot withChanges(List<Change> changes) {
+    if (changes.isEmpty()) {
+      return this;
+    }
+    Map<String, HolidayEntity> copy = new HashMap<>(byId);
+    for (Change change : changes) {
+      if (change.id() == null) {
+        continue;
+      }
+      if (change.holiday() == null) {
+        copy.remove(change.id());
+      } else {
+        copy.put(change.id(), change.holiday());
+      }
+    }
+    return new HolidaySnapshot(copy);
+  }
+
+  int size() {
+    return byId.size();
+  }
+
+  Optional<HolidayEntity> findById(String id) {
+    return Optional.ofNullable(byId.get(id));
+  }
+
+  /** All holidays ordered by date and id. */
+  List<HolidayEntity> findAll() {
+    return byDate;
+  }
+
+  /** Holidays matching the filter, ordered by date and id. */
+  List<HolidayEntity> findWithFilters(HolidayFilter filter) {
+    if (filter.isEmpty()) {
+      return byDate;
+    }
+
+    List<HolidayEntity> candidates = dateRange(filter.startDate(), filter.endDate());
+    candidates = smallest(candidates, bucket(byCountry, filter.country()));
+    candidates = smallest(candidates, bucket(bySubdivision, filter.state()));
+    candidates = smallest(candidates, bucket(byCity, filter.city()));
+    candidates = smallest(candidates, bucket(byType, filter.type()));
+
+    return candidates.stream().filter(filter::matches).toList();
+  }
+
+  /** Sub-list of {@link #byDate} within the inclusive bounds, found by binary search. */
+  private List<HolidayEntity> dateRange(LocalDate start, LocalDate end) {
+    int from = start == null ? 0 : firstIndexNotBefore(start);
+    int to = end == null ? byDate.size() : firstIndexNotBefore(end.plusDays(1));
+    return byDate.subList(from, Math.max(from, to));
+  }
+
+  private int firstIndexNotBefore(LocalDate date) {
+    int low = 0;
+    int high = byDate.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      LocalDate midDate = byDate.get(mid).getDate();
+      if (midDate == null || midDate.isBefore(date)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static <K> List<HolidayEntity> bucket(Map<K, List<HolidayEntity>> index, K key) {
+    return key == null ? null : index.getOrDefault(key, List.of());
+  }
+
+  private static List<HolidayEntity> smallest(List<HolidayEntity> current, List<HolidayEntity> bucket) {
+    return bucket != null && bucket.size() < current.size() ? bucket : current;
+  }
+
+  /** Groups holidays by a locality field; a holiday is listed once per distinct value. */
+  private static Map<String, List<HolidayEntity>> index(
+      List<HolidayEntity> holidays, Function<LocalityEntity, String> key) {
+    Map<String, List<HolidayEntity>> index = new HashMap<>();
+    for (HolidayEntity holiday : holidays) {
+      if (holiday.getLocalities() == null) {
+        continue;
+      }
+      holiday.getLocalities().stream()
+          .map(key)
+          .filter(Objects::nonNull)
+          .distinct()
+          .forEach(value -> index.computeIfAbsent(value, k -> new ArrayList<>()).add(holiday));
+    }
+    index.replaceAll((value, bucket) -> List.copyOf(bucket));
+    return Map.copyOf(index);
+  }
+}
@@ -0,0 +1,590 @@
+package me.clementino.holiday.repository;
+
+import module java.base;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.KnownHoliday;
+import me.clementino.holiday.entity.BaseHolidayEntity;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.HolidayEntity.HolidayVariant;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.entity.LocalityEntity.LocalityType;
+
+/**
+ * Read-only holidays dataset memory-mapped from a versioned, columnar binary file.
+ *
+ * <p>
+ * {@link #write} exports holidays with their localities to the file and {@link #open} maps it
+ * with {@link FileChannel#map(FileChannel.MapMode, long, long, Arena)}. Nothing is loaded on
+ * the heap up front: opening a file of any size is instant, the operating system pages it in on
+ * demand and shares those pages between processes serving the same file. Entities are decoded
+ * from the mapping for each result.
+ *
+ * <p>
+ * Layout, all numbers big-endian:
+ *
+ * <ul>
+ * <li>Header: magic {@code HSNP}, format version, holiday, locality, string and locality
+ * reference counts, creation time, and the offsets of the three sections.
+ * <li>String dictionary: every distinct string once, sorted, as an {@code int} offset table
+ * into a UTF-8 blob. Strings elsewhere are dictionary ids, {@code -1} for null.
+ * <li>Localities: one {@code int} column per {@link LocalityEntity} field, holding dictionary
+ * ids (and the {@link LocalityType} ordinal).
+ * <li>Holidays, ordered by date and id: {@code int} columns for id, name, description, type
+ * ordinal and version, the yearly rule (variant and known holiday ordinals, day offset, packed
+ * mondayisation and recurring flags, and the name, variant, known holiday and date of the base
+ * holiday), dates as epoch days, timestamps as epoch milliseconds (UTC) in
+ * {@code long} columns, locality ids as a CSR-style start table plus reference column, and the
+ * rows ordered by id for lookups.
+ * </ul>
+ *
+ * <p>
+ * Filters are evaluated on the columns first: a binary search on the date column bounds the
+ * rows, and type and locality filters compare ints against the dictionary ids of the filter
+ * values. Only candidate rows are decoded and checked with {@link HolidayFilter#matches}.
+ */
+public final class MappedHolidaySnapshot implements HolidayReadSource, AutoCloseable {
+
+  /** File signature, {@code HSNP} in ASCII. */
+  static final int MAGIC = 0x48534E50;
+
+  /** Current format version; files of other versions are rejected. */
+  static final int VERSION = 2;
+
+  private static final int HEADER_SIZE = 56;
+  private static final int LOCALITY_COLUMNS = 10;
+  private static final int RULE_COLUMNS = 8;
+  private static final int NULL = -1;
+  /** Filter value that matches any id. */
+  private static final int ANY = -2;
+  private static final int NULL_DAY = Integer.MIN_VALUE;
+  private static final int NULL_OFFSET = Integer.MIN_VALUE;
+  private static final long NULL_TIME = Long.MIN_VALUE;
+
+  private static final ValueLayout.OfInt INT =
+      ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+  private static final ValueLayout.OfLong LONG =
+      ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+  private static final Comparator<HolidayEntity> DATE_ORDER = Comparator
+      .comparing(HolidayEntity::getDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+      .thenComparing(HolidayEntity::getId);
+
+  private final Path file;
+  private final Arena arena;
+  private final MemorySegment segment;
+  private final int holidayCount;
+  private final int stringCount;
+  private final Instant createdAt;
+  private final long stringOffsets;
+  private final long stringBytes;
+  private final long localities;
+  private final int localityCount;
+  private final long ids;
+  private final long names;
+  private final long descriptions;
+  private final long dates;
+  private final long observedDates;
+  private final long types;
+  private final long versions;
+  private final long rules;
+  private final long datesCreated;
+  private final long lastUpdates;
+  private final long localityStarts;
+  private final long localityRefs;
+  private final long idOrder;
+
+  private MappedHolidaySnapshot(Path file, Arena arena, MemorySegment segment) throws IOException {
+    this.file = file;
+    this.arena = arena;
+    this.segment = segment;
+    if (segment.byteSize() < HEADER_SIZE || segment.get(INT, 0) != MAGIC) {
+      throw new IOException("Not a holiday snapshot: " + file);
+    }
+    int version = segment.get(INT, 4);
+    if (version != VERSION) {
+      throw new IOException(
+          "Unsupported holiday snapshot version " + version + " (expected " + VERSION + "): " + file);
+    }
+    holidayCount = segment.get(INT, 8);
+    localityCount = segment.get(INT, 12);
+    stringCount = segment.get(INT, 16);
+    int localityRefCount = segment.get(INT, 20);
+    createdAt = Instant.ofEpochMilli(segment.get(LONG, 24));
+    stringOffsets = segment.get(LONG, 32);
+    stringBytes = stringOffsets + 4L * (stringCount + 1);
+    localities = segment.get(LONG, 40);
+
+    long position = segment.get(LONG, 48);
+    long rows = 4L * holidayCount;
+    ids = position;
+    names = ids + rows;
+    descriptions = names + rows;
+    dates = descriptions + rows;
+    observedDates = dates + rows;
+    types = observedDates + rows;
+    versions = types + rows;
+    rules = versions + rows;
+    datesCreated = rules + RULE_COLUMNS * rows;
+    lastUpdates = datesCreated + 2 * rows;
+    localityStarts = lastUpdates + 2 * rows;
+    localityRefs = localityStarts + rows + 4;
+    idOrder = localityRefs + 4L * localityRefCount;
+    if (idOrder + rows != segment.byteSize()) {
+      throw new IOException("Truncated or corrupt holiday snapshot: " + file);
+    }
+  }
+
+  /**
+   * Maps a snapshot file for reading. The mapping stays valid until {@link #close()}.
+   *
+   * @throws IOException if the file cannot be read or is not a snapshot of this version
+   */
+  public static MappedHolidaySnapshot open(Path file) throws IOException {
+    Arena arena = Arena.ofShared();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+      return new MappedHolidaySnapshot(file, arena, segment);
+    } catch (IOException | RuntimeException e) {
+      arena.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Writes the holidays to a snapshot file, replacing it atomically. Holidays without an id are
+   * skipped.
+   *
+   * @return the number of holidays written
+   */
+  public static int write(Collection<HolidayEntity> holidays, Path file) throws IOException {
+    List<HolidayEntity> rows = holidays.stream()
+        .filter(holiday -> holiday.getId() != null)
+        .sorted(DATE_ORDER)
+        .toList();
+
+    var dictionary = new TreeSet<String>();
+    var localityKeys = new LinkedHashMap<List<Object>, Integer>();
+    for (HolidayEntity holiday : rows) {
+      Stream.of(holiday.getId(), holiday.getName(), holiday.getDescription(), baseName(holiday))
+          .filter(Objects::nonNull)
+          .forEach(dictionary::add);
+      for (LocalityEntity locality : localitiesOf(holiday)) {
+        localityStrings(locality).filter(Objects::nonNull).forEach(dictionary::add);
+        localityKeys.putIfAbsent(localityKey(locality), localityKeys.size());
+      }
+    }
+
+    List<String> strings = List.copyOf(dictionary);
+    var stringIds = new HashMap<String, Integer>();
+    var encoded = new ArrayList<byte[]>(strings.size());
+    for (String string : strings) {
+      stringIds.put(string, stringIds.size());
+      encoded.add(string.getBytes(StandardCharsets.UTF_8));
+    }
+    int localityRefCount = rows.stream().mapToInt(holiday -> localitiesOf(holiday).size()).sum();
+    long blobSize = encoded.stream().mapToLong(bytes -> bytes.length).sum();
+
+    long stringOffsets = HEADER_SIZE;
+    long localitiesPosition = stringOffsets + 4L * (strings.size() + 1) + blobSize;
+    long holidaysPosition = localitiesPosition + 4L * LOCALITY_COLUMNS * localityKeys.size();
+
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(rows.size());
+      out.writeInt(localityKeys.size());
+      out.writeInt(strings.size());
+      out.writeInt(localityRefCount);
+      out.writeLong(System.currentTimeMillis());
+      out.writeLong(stringOffsets);
+      out.writeLong(localitiesPosition);
+      out.writeLong(holidaysPosition);
+
+      int offset = 0;
+      for (byte[] bytes : encoded) {
+        out.writeInt(offset);
+        offset += bytes.length;
+      }
+      out.writeInt(offset);
+      for (byte[] bytes : encoded) {
+        out.write(bytes);
+      }
+
+      List<List<Object>> keys = List.copyOf(localityKeys.keySet());
+      for (int column = 0; column < LOCALITY_COLUMNS; column++) {
+        for (List<Object> key : keys) {
+          out.writeInt(switch (key.get(column)) {
+            case null -> NULL;
+            case LocalityType type -> type.ordinal();
+            case String string -> stringIds.get(string);
+            default -> throw new IllegalStateException("Unexpected locality value: " + key.get(column));
+          });
+        }
+      }
+
+      ToIntFunction<String> id = string -> string == null ? NULL : stringIds.get(string);
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(id.applyAsInt(holiday.getId()));
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(id.applyAsInt(holiday.getName()));
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(id.applyAsInt(holiday.getDescription()));
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(epochDay(holiday.getDate()));
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(epochDay(holiday.getObserved()));
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(holiday.getType() == null ? NULL : holiday.getType().ordinal());
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(holiday.getVersion() == null ? NULL : holiday.getVersion());
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(ordinal(holiday.getHolidayVariant()));
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(ordinal(holiday.getKnownHoliday()));
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(holiday.getDayOffset() == null ? NULL_OFFSET : holiday.getDayOffset());
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(flagBits(holiday.getMondayisation()) | flagBits(holiday.getRecurring()) << 2);
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(id.applyAsInt(baseName(holiday)));
+      }
+      for (HolidayEntity holiday : rows) {
+        BaseHolidayEntity base = holiday.getBaseHoliday();
+        out.writeInt(base == null ? NULL : ordinal(base.getHolidayVariant()));
+      }
+      for (HolidayEntity holiday : rows) {
+        BaseHolidayEntity base = holiday.getBaseHoliday();
+        out.writeInt(base == null ? NULL : ordinal(base.getKnownHoliday()));
+      }
+      for (HolidayEntity holiday : rows) {
+        BaseHolidayEntity base = holiday.getBaseHoliday();
+        out.writeInt(epochDay(base == null ? null : base.getDate()));
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeLong(epochMilli(holiday.getDateCreated()));
+      }
+      for (HolidayEntity holiday : rows) {
+        out.writeLong(epochMilli(holiday.getLastUpdated()));
+      }
+      int start = 0;
+      for (HolidayEntity holiday : rows) {
+        out.writeInt(start);
+        start += localitiesOf(holiday).size();
+      }
+      out.writeInt(start);
+      for (HolidayEntity holiday : rows) {
+        for (LocalityEntity locality : localitiesOf(holiday)) {
+          out.writeInt(localityKeys.get(localityKey(locality)));
+        }
+      }
+      // rows ordered by id; the dictionary is sorted, so id order is dictionary id order
+      int[] byId = IntStream.range(0, rows.size())
+          .boxed()
+          .sorted(Comparator.comparing((Integer row) -> rows.get(row).getId()))
+          .mapToInt(Integer::intValue)
+          .toArray();
+      for (int row : byId) {
+        out.writeInt(row);
+      }
+    }
+    Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return rows.size();
+  }
+
+  /** The mapped file. */
+  public Path file() {
+    return file;
+  }
+
+  /** Time the snapshot was written. */
+  public Instant createdAt() {
+    return createdAt;
+  }
+
+  /** Number of holidays in the snapshot. */
+  public int size() {
+    return holidayCount;
+  }
+
+  /** Always true: a snapshot is complete once mapped. */
+  @Override
+  public boolean isReady() {
+    return true;
+  }
+
+  @Override
+  public Optional<HolidayEntity> findById(String id) {
+    int stringId = stringId(id);
+    if (stringId == NULL) {
+      return Optional.empty();
+    }
+    int low = 0;
+    int high = holidayCount;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      int row = segment.get(INT, idOrder + 4L * middle);
+      int rowId = segment.get(INT, ids + 4L * row);
+      if (rowId < stringId) {
+        low = middle + 1;
+      } else if (rowId > stringId) {
+        high = middle;
+      } else {
+        return Optional.of(entity(row));
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public List<HolidayEntity> findAll() {
+    return findWithFilters(HolidayFilter.none());
+  }
+
+  @Override
+  public List<HolidayEntity> findWithFilters(HolidayFilter filter) {
+    int country = filterId(filter.country());
+    int state = filterId(filter.state());
+    int city = filterId(filter.city());
+    if (country == NULL || state == NULL || city == NULL) {
+      return List.of();
+    }
+    int type = filter.type() == null ? NULL : filter.type().ordinal();
+    boolean byLocality = filter.country() != null || filter.state() != null || filter.city() != null;
+
+    int from = filter.startDate() == null ? 0 : firstRowNotBefore(filter.startDate());
+    int to = filter.endDate() == null ? holidayCount : firstRowNotBefore(filter.endDate().plusDays(1));
+    var result = new ArrayList<HolidayEntity>();
+    for (int row = from; row < to; row++) {
+      if (type != NULL && segment.get(INT, types + 4L * row) != type) {
+        continue;
+      }
+      if (byLocality && !matchesLocality(row, country, state, city)) {
+        continue;
+      }
+      HolidayEntity holiday = entity(row);
+      if (filter.matches(holiday)) {
+        result.add(holiday);
+      }
+    }
+    return result;
+  }
+
+  /** Unmaps the file; the snapshot must not be used afterwards. */
+  @Override
+  public void close() {
+    arena.close();
+  }
+
+  private int filterId(String value) {
+    return value == null ? ANY : stringId(value);
+  }
+
+  private boolean matchesLocality(int row, int country, int state, int city) {
+    int start = segment.get(INT, localityStarts + 4L * row);
+    int end = segment.get(INT, localityStarts + 4L * (row + 1));
+    for (int ref = start; ref < end; ref++) {
+      int locality = segment.get(INT, localityRefs + 4L * ref);
+      if (matches(localityColumn(0, locality), country)
+          && matches(localityColumn(2, locality), state)
+          && matches(localityColumn(4, locality), city)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean matches(int value, int expected) {
+    return expected == ANY || value == expected;
+  }
+
+  private int firstRowNotBefore(LocalDate date) {
+    long day = date.toEpochDay();
+    int low = 0;
+    int high = holidayCount;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (segment.get(INT, dates + 4L * middle) < day) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /** Dictionary id of {@code value}, or {@link #NULL} if it is not in the snapshot. */
+  private int stringId(String value) {
+    if (value == null) {
+      return NULL;
+    }
+    int low = 0;
+    int high = stringCount - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int comparison = string(middle).compareTo(value);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return NULL;
+  }
+
+  private String string(int id) {
+    if (id == NULL) {
+      return null;
+    }
+    int start = segment.get(INT, stringOffsets + 4L * id);
+    int end = segment.get(INT, stringOffsets + 4L * (id + 1));
+    byte[] bytes = segment.asSlice(stringBytes + start, end - start).toArray(ValueLayout.JAVA_BYTE);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private int localityColumn(int column, int locality) {
+    return segment.get(INT, localities + 4L * ((long) column * localityCount + locality));
+  }
+
+  private HolidayEntity entity(int row) {
+    long at = 4L * row;
+    var holiday = new HolidayEntity();
+    holiday.setId(string(segment.get(INT, ids + at)));
+    holiday.setName(string(segment.get(INT, names + at)));
+    holiday.setDescription(string(segment.get(INT, descriptions + at)));
+    holiday.setDate(date(segment.get(INT, dates + at)));
+    holiday.setObserved(date(segment.get(INT, observedDates + at)));
+    int type = segment.get(INT, types + at);
+    holiday.setType(type == NULL ? null : HolidayType.values()[type]);
+    int version = segment.get(INT, versions + at);
+    holiday.setVersion(version == NULL ? null : version);
+    holiday.setHolidayVariant(value(HolidayVariant.values(), rule(0, row)));
+    holiday.setKnownHoliday(value(KnownHoliday.values(), rule(1, row)));
+    int dayOffset = rule(2, row);
+    holiday.setDayOffset(dayOffset == NULL_OFFSET ? null : dayOffset);
+    int flags = rule(3, row);
+    holiday.setMondayisation(flagValue(flags & 3));
+    holiday.setRecurring(flagValue(flags >>> 2 & 3));
+    int baseVariant = rule(5, row);
+    if (baseVariant != NULL) {
+      holiday.setBaseHoliday(new BaseHolidayEntity(
+          string(rule(4, row)),
+          HolidayVariant.values()[baseVariant],
+          value(KnownHoliday.values(), rule(6, row)),
+          date(rule(7, row))));
+    }
+    holiday.setDateCreated(dateTime(segment.get(LONG, datesCreated + 2 * at)));
+    holiday.setLastUpdated(dateTime(segment.get(LONG, lastUpdates + 2 * at)));
+
+    int start = segment.get(INT, localityStarts + at);
+    int end = segment.get(INT, localityStarts + at + 4);
+    var holidayLocalities = new ArrayList<LocalityEntity>(end - start);
+    for (int ref = start; ref < end; ref++) {
+      holidayLocalities.add(locality(segment.get(INT, localityRefs + 4L * ref)));
+    }
+    holiday.setLocalities(holidayLocalities);
+    return holiday;
+  }
+
+  private int rule(int column, int row) {
+    return segment.get(INT, rules + 4L * ((long) column * holidayCount + row));
+  }
+
+  private LocalityEntity locality(int locality) {
+    var entity = new LocalityEntity();
+    entity.setCountryCode(string(localityColumn(0, locality)));
+    entity.setCountryName(string(localityColumn(1, locality)));
+    entity.setSubdivisionCode(string(localityColumn(2, locality)));
+    entity.setSubdivisionName(string(localityColumn(3, locality)));
+    entity.setCityName(string(localityColumn(4, locality)));
+    int type = localityColumn(5, locality);
+    entity.setLocalityType(type == NULL ? null : LocalityType.values()[type]);
+    entity.setDopLocalityData(string(localityColumn(6, locality)));
+    entity.setTimeZone(string(localityColumn(7, locality)));
+    entity.setCurrencyCode(string(localityColumn(8, locality)));
+    entity.setLanguageCode(string(localityColumn(9, locality)));
+    return entity;
+  }
+
+  /** Locality fields in column order. */
+  private static List<Object> localityKey(LocalityEntity locality) {
+    return Arrays.asList(
+        locality.getCountryCode(),
+        locality.getCountryName(),
+        locality.getSubdivisionCode(),
+        locality.getSubdivisionName(),
+        locality.getCityName(),
+        locality.getLocalityType(),
+        locality.getDopLocalityData(),
+        locality.getTimeZone(),
+        locality.getCurrencyCode(),
+        locality.getLanguageCode());
+  }
+
+  private static Stream<String> localityStrings(LocalityEntity locality) {
+    return localityKey(locality).stream()
+        .filter(String.class::isInstance)
+        .map(String.class::cast);
+  }
+
+  private static String baseName(HolidayEntity holiday) {
+    return holiday.getBaseHoliday() == null ? null : holiday.getBaseHoliday().getName();
+  }
+
+  private static int ordinal(Enum<?> value) {
+    return value == null ? NULL : value.ordinal();
+  }
+
+  private static <E extends Enum<E>> E value(E[] values, int ordinal) {
+    return ordinal == NULL ? null : values[ordinal];
+  }
+
+  /** Two-bit encoding of a nullable flag: 0 for null, 1 for false, 2 for true. */
+  private static int flagBits(Boolean value) {
+    return value == null ? 0 : value ? 2 : 1;
+  }
+
+  private static Boolean flagValue(int bits) {
+    return bits == 0 ? null : bits == 2;
+  }
+
+  private static List<LocalityEntity> localitiesOf(HolidayEntity holiday) {
+    return holiday.getLocalities() == null ? List.of() : holiday.getLocalities();
+  }
+
+  private static int epochDay(LocalDate date) {
+    return date == null ? NULL_DAY : Math.toIntExact(date.toEpochDay());
+  }
+
+  private static LocalDate date(int epochDay) {
+    return epochDay == NULL_DAY ? null : LocalDate.ofEpochDay(epochDay);
+  }
+
+  private static long epochMilli(LocalDateTime time) {
+    return time == null ? NULL_TIME : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+  }
+
+  private static LocalDateTime dateTime(long epochMilli) {
+    return epochMilli == NULL_TIME
+        ? null
+        : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC);
+  }
+
+  @Override
+  public String toString() {
+    return "MappedHolidaySnapshot[" + file + ", holidays=" + holidayCount + "]";
+  }
+}
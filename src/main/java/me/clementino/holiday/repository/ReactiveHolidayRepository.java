@@ -0,0 +1,17 @@
+package me.clementino.holiday.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import me.clementino.holiday.entity.HolidayEntity;
+
+/**
+ * Non-blocking MongoDB repository for {@link HolidayEntity}, used by the reactive stack that the
+ * {@code reactive} profile serves instead of Spring MVC.
+ *
+ * <p>
+ * Reads the same collection as {@link HolidayRepository}. Multi-criteria filtering is provided
+ * by {@link ReactiveHolidayRepositoryCustom} with the same index-friendly queries.
+ */
+@Repository
+public interface ReactiveHolidayRepository
+    extends ReactiveMongoRepository<HolidayEntity, String>, ReactiveHolidayRepositoryCustom {}
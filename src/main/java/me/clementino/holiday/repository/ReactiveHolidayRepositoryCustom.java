@@ -0,0 +1,20 @@
+package me.clementino.holiday.repository;
+
+import reactor.core.publisher.Flux;
+import me.clementino.holiday.entity.HolidayEntity;
+
+/** Reactive counterpart of the filtering queries of {@link HolidayRepositoryCustom}. */
+public interface ReactiveHolidayRepositoryCustom {
+
+  /**
+   * Find holidays matching all filters set in the given {@link HolidayFilter}.
+   *
+   * <p>
+   * Documents are fetched from the MongoDB cursor in batches as the subscriber requests them, so
+   * a slow consumer does not make the whole result set buffer in memory.
+   *
+   * @param filter the filters to apply
+   * @return matching holidays
+   */
+  Flux<HolidayEntity> findWithFilters(HolidayFilter filter);
+}
@@ -0,0 +1,24 @@
+package me.clementino.holiday.repository;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import me.clementino.holiday.entity.HolidayEntity;
+
+/**
+ * {@link ReactiveMongoTemplate} based implementation of {@link ReactiveHolidayRepositoryCustom}.
+ * Queries are built by {@link HolidayRepositoryCustomImpl#buildFilterQuery}, so both stacks send
+ * MongoDB the same sargable query for a filter.
+ */
+class ReactiveHolidayRepositoryCustomImpl implements ReactiveHolidayRepositoryCustom {
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  ReactiveHolidayRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public Flux<HolidayEntity> findWithFilters(HolidayFilter filter) {
+    return mongoTemplate.find(HolidayRepositoryCustomImpl.buildFilterQuery(filter), HolidayEntity.class);
+  }
+}
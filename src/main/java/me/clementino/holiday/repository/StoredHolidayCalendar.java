@@ -0,0 +1,106 @@
+package me.clementino.holiday.repository;
+
+import module java.base;
+import me.clementino.holiday.domain.dop.Holiday;
+import me.clementino.holiday.domain.dop.HolidayCalendarGraph;
+import me.clementino.holiday.domain.dop.ObservedHoliday;
+import me.clementino.holiday.entity.HolidayEntity;
+
+/**
+ * Yearly occurrences of a list of stored holidays, evaluated one year at a time.
+ *
+ * <p>
+ * The holidays that recur are converted to their domain rule once and evaluated together in a
+ * {@link HolidayCalendarGraph}, so moveable and derived holidays get their date of each year. In
+ * the year a holiday is stored for, its stored date and observed date are reported as written
+ * instead. A holiday without a rule (one-off, stored before rules were persisted, or with an
+ * invalid rule) only occurs on its stored date.
+ *
+ * <pre>{@code
+ * var calendar = StoredHolidayCalendar.of(entities, mapper::toRecurringHoliday);
+ * calendar.forEachOccurrence(2026, (holiday, date, observed) -> ...);
+ * }</pre>
+ */
+public final class StoredHolidayCalendar {
+
+  /** Receives one occurrence of a stored holiday. */
+  @FunctionalInterface
+  public interface OccurrenceConsumer {
+
+    /**
+     * @param holiday  index of the stored holiday in {@link #holidays()}
+     * @param date     date of the occurrence
+     * @param observed observed date of the occurrence, equal to {@code date} when not moved
+     */
+    void accept(int holiday, LocalDate date, LocalDate observed);
+  }
+
+  private final List<HolidayEntity> holidays;
+  private final boolean[] recurring;
+  private final HolidayCalendarGraph graph;
+
+  private StoredHolidayCalendar(
+      List<HolidayEntity> holidays, boolean[] recurring, HolidayCalendarGraph graph) {
+    this.holidays = holidays;
+    this.recurring = recurring;
+    this.graph = graph;
+  }
+
+  /**
+   * Builds the calendar of the given holidays.
+   *
+   * @param holidays the stored holidays; occurrences refer to them by index
+   * @param rule     the domain holiday recalculating a stored holiday every year, empty when it
+   *                 does not recur
+   */
+  public static StoredHolidayCalendar of(
+      Collection<HolidayEntity> holidays,
+      Function<? super HolidayEntity, Optional<Holiday>> rule) {
+    Objects.requireNonNull(holidays, "Holidays cannot be null");
+    Objects.requireNonNull(rule, "Rule cannot be null");
+
+    List<HolidayEntity> stored = List.copyOf(holidays);
+    boolean[] recurring = new boolean[stored.size()];
+    var rules = new ArrayList<Holiday>();
+    for (int holiday = 0; holiday < stored.size(); holiday++) {
+      Optional<Holiday> definition = rule.apply(stored.get(holiday));
+      recurring[holiday] = definition.isPresent();
+      definition.ifPresent(rules::add);
+    }
+    return new StoredHolidayCalendar(stored, recurring, HolidayCalendarGraph.of(rules));
+  }
+
+  /** The stored holidays, in the order they were given. */
+  public List<HolidayEntity> holidays() {
+    return holidays;
+  }
+
+  /** Whether the stored holiday at {@code holiday} occurs every year. */
+  public boolean recurs(int holiday) {
+    return recurring[holiday];
+  }
+
+  /**
+   * Reports the occurrences of {@code year} in the order of {@link #holidays()}, at most one per
+   * stored holiday.
+   *
+   * @throws IllegalArgumentException if the year is not positive
+   */
+  public void forEachOccurrence(int year, OccurrenceConsumer consumer) {
+    List<Holiday> evaluated = graph.evaluate(year);
+    int next = 0;
+    for (int holiday = 0; holiday < holidays.size(); holiday++) {
+      HolidayEntity entity = holidays.get(holiday);
+      Holiday occurrence = recurring[holiday] ? evaluated.get(next++) : null;
+      if (entity.getDate() != null && entity.getDate().getYear() == year) {
+        consumer.accept(holiday, entity.getDate(), entity.getEffectiveDate());
+      } else if (occurrence != null) {
+        consumer.accept(holiday, occurrence.date(), observedDate(occurrence));
+      }
+    }
+  }
+
+  private static LocalDate observedDate(Holiday occurrence) {
+    return occurrence instanceof ObservedHoliday observed ? observed.observed() : occurrence.date();
+  }
+}
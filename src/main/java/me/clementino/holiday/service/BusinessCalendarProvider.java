@@ -0,0 +1,130 @@
+package me.clementino.holiday.service;
+
+import module java.base;
+import org.springframework.stereotype.Component;
+import me.clementino.holiday.config.CacheConfig;
+import me.clementino.holiday.domain.dop.BusinessDayOperations;
+import me.clementino.holiday.domain.dop.CompiledCalendar;
+import me.clementino.holiday.domain.dop.LocalityIndex;
+import me.clementino.holiday.domain.dop.Location;
+import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.mapper.HolidayMapper;
+import me.clementino.holiday.repository.HolidayFilter;
+import me.clementino.holiday.repository.HolidayReadSource;
+import me.clementino.holiday.repository.HolidayRepository;
+import me.clementino.holiday.repository.StoredHolidayCalendar;
+
+/**
+ * Builds the calendars of a location for a year: the non-working day bitset used by business-day
+ * calculations and the {@link CompiledCalendar} of holiday occurrences.
+ *
+ * <p>
+ * The holidays stored for the location's country (read from the {@link HolidayReadSource} when
+ * one is loaded) are indexed once per country in a {@link LocalityIndex}, cached in
+ * {@link CacheConfig#LOCALITY_INDEXES}, so each location only looks up the holidays along its
+ * country, state and city path. Those are evaluated in a {@link StoredHolidayCalendar}
+ * for the requested year and the year before, so a December holiday observed in January counts
+ * in the year it is observed in. Moveable holidays are recalculated from their persisted rule,
+ * the stored dates are used as written in their own year, and holidays without a rule only count
+ * in that year. Bitsets are
+ * cached in {@link CacheConfig#BUSINESS_CALENDARS} and compiled calendars in
+ * {@link CacheConfig#COMPILED_CALENDARS}; both are shared between callers, so bitsets must not
+ * be modified. Every cache here is filled through {@link HolidayCacheInvalidator#cached}, so a
+ * calendar built from data read before a write is never cached after that write.
+ */
+@Component
+public class BusinessCalendarProvider {
+
+  /**
+   * Cache key of a non-working day bitset or a compiled calendar.
+   *
+   * @param location the location the calendar applies to
+   * @param year     the calendar year
+   */
+  public record CalendarYear(Location location, int year) {
+  }
+
+  private final HolidayRepository holidayRepository;
+  private final HolidayMapper mapper;
+  private final Optional<HolidayReadSource> readSource;
+  private final HolidayCacheInvalidator cacheInvalidator;
+
+  public BusinessCalendarProvider(
+      HolidayRepository holidayRepository,
+      HolidayMapper mapper,
+      Optional<HolidayReadSource> readSource,
+      HolidayCacheInvalidator cacheInvalidator) {
+    this.holidayRepository = holidayRepository;
+    this.mapper = mapper;
+    this.readSource = readSource;
+    this.cacheInvalidator = cacheInvalidator;
+  }
+
+  /** Returns the non-working day bitset (weekends and observed holidays) of a location and year. */
+  public long[] nonWorkingDays(CalendarYear calendarYear) {
+    return cacheInvalidator.cached(
+        CacheConfig.BUSINESS_CALENDARS,
+        calendarYear,
+        () -> BusinessDayOperations.nonWorkingDays(
+            calendarYear.year(), compile(calendarYear).observedDates()));
+  }
+
+  /** Returns the compiled holiday occurrences of a location and year. */
+  public CompiledCalendar<HolidayDataDTO> compiledCalendar(CalendarYear calendarYear) {
+    return cacheInvalidator.cached(
+        CacheConfig.COMPILED_CALENDARS, calendarYear, () -> compile(calendarYear));
+  }
+
+  private CompiledCalendar<HolidayDataDTO> compile(CalendarYear calendarYear) {
+    Location location = calendarYear.location();
+    int year = calendarYear.year();
+    if (year <= 0) {
+      throw new IllegalArgumentException("Year must be positive, got: " + year);
+    }
+
+    List<HolidayEntity> entities = localityIndex(location.country()).holidaysApplyingTo(location);
+
+    var calendar = StoredHolidayCalendar.of(entities, mapper::toRecurringHoliday);
+    var occurrences = new ArrayList<HolidayDataDTO>();
+    for (int occurrenceYear = Math.max(1, year - 1); occurrenceYear <= year; occurrenceYear++) {
+      HolidayService.toOccurrences(calendar, occurrenceYear).forEach(occurrences::add);
+    }
+    return CompiledCalendar.compile(
+        year,
+        occurrences,
+        HolidayDataDTO::date,
+        occurrence -> occurrence.observed().orElse(occurrence.date()));
+  }
+
+  /** Returns the index of the holidays stored for a country. */
+  private LocalityIndex<HolidayEntity> localityIndex(String country) {
+    return cacheInvalidator.cached(
+        CacheConfig.LOCALITY_INDEXES, country, () -> loadLocalityIndex(country));
+  }
+
+  private LocalityIndex<HolidayEntity> loadLocalityIndex(String country) {
+    var filter = new HolidayFilter(country, null, null, null, null, null, null, null);
+    List<HolidayEntity> entities = readSource
+        .filter(HolidayReadSource::isReady)
+        .map(source -> source.findWithFilters(filter))
+        .orElseGet(() -> holidayRepository.findWithFilters(filter));
+    return LocalityIndex.of(entities, BusinessCalendarProvider::paths);
+  }
+
+  /** Paths of the localities a stored holiday declares in any country, matched on their codes. */
+  private static List<LocalityIndex.Path> paths(HolidayEntity entity) {
+    List<LocalityEntity> localities = entity.getLocalities();
+    return localities == null
+        ? List.of()
+        : localities.stream()
+            .filter(locality -> locality.getCountryCode() != null)
+            .map(
+                locality -> new LocalityIndex.Path(
+                    locality.getCountryCode(),
+                    locality.getSubdivisionCode(),
+                    locality.getCityName()))
+            .toList();
+  }
+}
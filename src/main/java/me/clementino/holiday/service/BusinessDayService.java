@@ -0,0 +1,175 @@
+package me.clementino.holiday.service;
+
+import module java.base;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Service;
+import me.clementino.holiday.domain.dop.BusinessDayOperations;
+import me.clementino.holiday.domain.dop.Location;
+import me.clementino.holiday.service.BusinessCalendarProvider.CalendarYear;
+
+/**
+ * Business-day calculations for settlement dates.
+ *
+ * <p>
+ * A business day is a weekday that is not an observed holiday of the location. Every
+ * calculation works on the per-year bitsets of {@link BusinessCalendarProvider}, so adding or
+ * counting business days costs a few word operations per year instead of a lookup per date.
+ *
+ * <p>
+ * A count spanning several years loads the calendars of all its years concurrently on the
+ * application task executor, which runs virtual threads when
+ * {@code spring.threads.virtual.enabled} is set, so a range of uncached years costs about one
+ * database round trip instead of one per year.
+ */
+@Service
+public class BusinessDayService {
+
+  /** Largest number of business days accepted by {@link #addBusinessDays}. */
+  public static final int MAX_BUSINESS_DAYS = 10_000;
+
+  /** Largest number of calendar years a count or an addition may span. */
+  public static final int MAX_YEARS_SPANNED = 100;
+
+  private final BusinessCalendarProvider calendarProvider;
+  private final Executor taskExecutor;
+
+  public BusinessDayService(
+      BusinessCalendarProvider calendarProvider,
+      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor taskExecutor) {
+    this.calendarProvider = calendarProvider;
+    this.taskExecutor = taskExecutor;
+  }
+
+  /** Returns true if {@code date} is a business day at {@code location}. */
+  public boolean isBusinessDay(Location location, LocalDate date) {
+    validate(location, date);
+    return BusinessDayOperations.isBusinessDay(
+        calendar(location, date.getYear()), date.getDayOfYear() - 1);
+  }
+
+  /**
+   * Counts the business days between {@code from} and {@code to}, both inclusive.
+   *
+   * @throws IllegalArgumentException if {@code from} is after {@code to} or the range is too long
+   */
+  public int countBusinessDays(Location location, LocalDate from, LocalDate to) {
+    validate(location, from);
+    Objects.requireNonNull(to, "To date cannot be null");
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("From date must not be after to date");
+    }
+    if (to.getYear() - from.getYear() >= MAX_YEARS_SPANNED) {
+      throw new IllegalArgumentException(
+          "Date range must span less than " + MAX_YEARS_SPANNED + " years");
+    }
+
+    List<long[]> calendars = calendars(location, from.getYear(), to.getYear());
+    int count = 0;
+    for (int year = from.getYear(); year <= to.getYear(); year++) {
+      int start = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+      int end = year == to.getYear() ? to.getDayOfYear() : Year.of(year).length();
+      count += BusinessDayOperations.countBusinessDays(
+          calendars.get(year - from.getYear()), start, end);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the date {@code days} business days after {@code date} (before it when negative).
+   * The start date itself is never counted, and adding zero days returns {@code date}.
+   *
+   * @throws IllegalArgumentException if {@code days} exceeds {@link #MAX_BUSINESS_DAYS}
+   */
+  public LocalDate addBusinessDays(Location location, LocalDate date, int days) {
+    validate(location, date);
+    if (Math.abs(days) > MAX_BUSINESS_DAYS) {
+      throw new IllegalArgumentException(
+          "Days must be between -" + MAX_BUSINESS_DAYS + " and " + MAX_BUSINESS_DAYS);
+    }
+    if (days == 0) {
+      return date;
+    }
+    return days > 0 ? forward(location, date, days) : backward(location, date, -days);
+  }
+
+  private LocalDate forward(Location location, LocalDate date, int remaining) {
+    int year = date.getYear();
+    int from = date.getDayOfYear();
+    while (true) {
+      long[] calendar = calendar(location, year);
+      int length = Year.of(year).length();
+      int index = BusinessDayOperations.nthBusinessDayForward(calendar, from, length, remaining);
+      if (index >= 0) {
+        return LocalDate.ofYearDay(year, index + 1);
+      }
+      remaining -= BusinessDayOperations.countBusinessDays(calendar, from, length);
+      if (++year - date.getYear() >= MAX_YEARS_SPANNED) {
+        throw new IllegalArgumentException(noBusinessDaysWithin(location));
+      }
+      from = 0;
+    }
+  }
+
+  private LocalDate backward(Location location, LocalDate date, int remaining) {
+    int year = date.getYear();
+    int from = date.getDayOfYear() - 2;
+    while (true) {
+      if (from >= 0) {
+        long[] calendar = calendar(location, year);
+        int index = BusinessDayOperations.nthBusinessDayBackward(calendar, from, remaining);
+        if (index >= 0) {
+          return LocalDate.ofYearDay(year, index + 1);
+        }
+        remaining -= BusinessDayOperations.countBusinessDays(calendar, 0, from + 1);
+      }
+      if (--year <= 0) {
+        throw new IllegalArgumentException("Result date is before year 1");
+      }
+      if (date.getYear() - year >= MAX_YEARS_SPANNED) {
+        throw new IllegalArgumentException(noBusinessDaysWithin(location));
+      }
+      from = Year.of(year).length() - 1;
+    }
+  }
+
+  private static String noBusinessDaysWithin(Location location) {
+    return "Not enough business days within " + MAX_YEARS_SPANNED + " years for " + location;
+  }
+
+  private long[] calendar(Location location, int year) {
+    return calendarProvider.nonWorkingDays(new CalendarYear(location, year));
+  }
+
+  /** Calendars of the years {@code first..last}, the years after the first loaded concurrently. */
+  private List<long[]> calendars(Location location, int first, int last) {
+    List<CompletableFuture<long[]>> pending = IntStream.rangeClosed(first + 1, last)
+        .mapToObj(year -> CompletableFuture.supplyAsync(() -> calendar(location, year), taskExecutor))
+        .toList();
+
+    var calendars = new ArrayList<long[]>(last - first + 1);
+    calendars.add(calendar(location, first));
+    try {
+      pending.forEach(calendar -> calendars.add(calendar.join()));
+    } catch (CompletionException e) {
+      pending.forEach(calendar -> calendar.cancel(false));
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+    return calendars;
+  }
+
+  private static void validate(Location location, LocalDate date) {
+    Objects.requireNonNull(location, "Location cannot be null");
+    Objects.requireNonNull(date, "Date cannot be null");
+    if (location.country().length() != 2) {
+      throw new IllegalArgumentException(
+          "Country must be an ISO 3166-1 alpha-2 code, got: " + location.country());
+    }
+    if (date.getYear() <= 0) {
+      throw new IllegalArgumentException("Year must be positive, got: " + date.getYear());
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package me.clementino.holiday.service;
+
+import module java.base;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import me.clementino.holiday.dto.CreateHolidayRequestDTO;
+import me.clementino.holiday.dto.HolidayBatchItemDTO;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.mapper.HolidayCreationMapper;
+import me.clementino.holiday.repository.HolidayChangeTracker;
+import me.clementino.holiday.repository.HolidayReadReplica;
+import me.clementino.holiday.repository.HolidayRepository;
+
+/**
+ * Creates many holidays at once, for seeding a country's calendar without one HTTP request and
+ * one round trip per holiday.
+ *
+ * <p>
+ * Items are processed in chunks of {@code holiday.batch.chunk-size}. Within a chunk, items are
+ * parsed, validated and have their dates calculated in parallel. The valid ones are then written
+ * with a single unordered bulk insert, so one rejected write does not stop the others. Caches and
+ * the read replica are updated once per chunk.
+ */
+@Service
+public class HolidayBatchService {
+
+  /** An item after parsing and validation: either the entity to insert or why it was rejected. */
+  record PreparedItem(int index, HolidayEntity entity, HolidayBatchItemDTO rejection) {
+  }
+
+  private final HolidayService holidayService;
+  private final HolidayRepository holidayRepository;
+  private final HolidayCreationMapper creationMapper;
+  private final Validator validator;
+  private final HolidayCacheInvalidator cacheInvalidator;
+  private final HolidayChangeTracker changeTracker;
+  private final Optional<HolidayReadReplica> readReplica;
+  private final int chunkSize;
+
+  public HolidayBatchService(
+      HolidayService holidayService,
+      HolidayRepository holidayRepository,
+      HolidayCreationMapper creationMapper,
+      Validator validator,
+      HolidayCacheInvalidator cacheInvalidator,
+      HolidayChangeTracker changeTracker,
+      Optional<HolidayReadReplica> readReplica,
+      @Value("${holiday.batch.chunk-size:500}") int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Batch chunk size must be positive, got: " + chunkSize);
+    }
+    this.holidayService = holidayService;
+    this.holidayRepository = holidayRepository;
+    this.creationMapper = creationMapper;
+    this.validator = validator;
+    this.cacheInvalidator = cacheInvalidator;
+    this.changeTracker = changeTracker;
+    this.readReplica = readReplica;
+    this.chunkSize = chunkSize;
+  }
+
+  /** Create the given holidays. See {@link #createAll(Stream)}. */
+  public List<HolidayBatchItemDTO> createAll(List<CreateHolidayRequestDTO> requests) {
+    return createAll(
+        requests.stream().map(request -> (Supplier<CreateHolidayRequestDTO>) () -> request));
+  }
+
+  /**
+   * Create one holiday per item, reading the items lazily chunk by chunk.
+   *
+   * <p>
+   * Each item supplies its parsed request, or throws an {@link IllegalArgumentException} when it
+   * cannot be parsed; parsing runs in parallel together with validation. An item that is
+   * malformed or fails validation is reported as {@code INVALID}, one whose write is rejected by
+   * MongoDB as {@code FAILED}. If a whole bulk write fails, e.g. because MongoDB is unreachable,
+   * every valid item of that chunk is reported as {@code FAILED}, even though some of them may
+   * have been written.
+   *
+   * @param items the items, in request order
+   * @return one result per item, in request order
+   */
+  public List<HolidayBatchItemDTO> createAll(
+      Stream<? extends Supplier<CreateHolidayRequestDTO>> items) {
+    List<HolidayBatchItemDTO> results = new ArrayList<>();
+    List<Supplier<CreateHolidayRequestDTO>> chunk = new ArrayList<>(chunkSize);
+
+    for (Iterator<? extends Supplier<CreateHolidayRequestDTO>> it = items.iterator(); it.hasNext();) {
+      chunk.add(it.next());
+      if (chunk.size() == chunkSize) {
+        createChunk(results.size(), chunk, results);
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      createChunk(results.size(), chunk, results);
+    }
+    return results;
+  }
+
+  private void createChunk(
+      int firstIndex,
+      List<Supplier<CreateHolidayRequestDTO>> chunk,
+      List<HolidayBatchItemDTO> results) {
+    List<PreparedItem> prepared = IntStream.range(0, chunk.size())
+        .parallel()
+        .mapToObj(i -> prepare(firstIndex + i, chunk.get(i)))
+        .toList();
+
+    List<HolidayEntity> entities = prepared.stream()
+        .map(PreparedItem::entity)
+        .filter(Objects::nonNull)
+        .toList();
+    Map<Integer, String> failures = insert(entities);
+
+    List<HolidayEntity> inserted = new ArrayList<>(entities.size());
+    int position = 0;
+    for (PreparedItem item : prepared) {
+      if (item.entity() == null) {
+        results.add(item.rejection());
+        continue;
+      }
+      String failure = failures.get(position++);
+      if (failure == null) {
+        inserted.add(item.entity());
+        results.add(HolidayBatchItemDTO.created(item.index(), item.entity().getId()));
+      } else {
+        results.add(HolidayBatchItemDTO.failed(item.index(), failure));
+      }
+    }
+
+    readReplica.ifPresent(replica -> replica.holidaysCreated(inserted));
+    cacheInvalidator.holidaysCreated(inserted);
+    if (!inserted.isEmpty()) {
+      changeTracker.changed();
+    }
+  }
+
+  /**
+   * Parse and validate one item and build the entity of the new holiday, or the reason it was
+   * rejected. Safe to call concurrently.
+   */
+  PreparedItem prepare(int index, Supplier<CreateHolidayRequestDTO> item) {
+    try {
+      CreateHolidayRequestDTO request = item.get();
+      if (request == null) {
+        return rejected(index, List.of("Item is empty"));
+      }
+
+      List<String> violations = validator.validate(request).stream()
+          .map(HolidayBatchService::describe)
+          .sorted()
+          .toList();
+      if (!violations.isEmpty()) {
+        return rejected(index, violations);
+      }
+
+      HolidayEntity entity = holidayService.newEntity(creationMapper.toHoliday(request), null);
+      entity.setVersion(0);
+      return new PreparedItem(index, entity, null);
+    } catch (RuntimeException e) {
+      return rejected(index, List.of(Objects.requireNonNullElse(e.getMessage(), e.toString())));
+    }
+  }
+
+  private Map<Integer, String> insert(List<HolidayEntity> entities) {
+    try {
+      return holidayRepository.bulkInsert(entities);
+    } catch (DataAccessException e) {
+      String message = "Bulk write failed: " + e.getMostSpecificCause().getMessage();
+      return IntStream.range(0, entities.size())
+          .boxed()
+          .collect(Collectors.toUnmodifiableMap(Function.identity(), i -> message));
+    }
+  }
+
+  private static PreparedItem rejected(int index, List<String> errors) {
+    return new PreparedItem(index, null, HolidayBatchItemDTO.invalid(index, errors));
+  }
+
+  private static String describe(ConstraintViolation<?> violation) {
+    return violation.getPropertyPath() + ": " + violation.getMessage();
+  }
+}
@@ -0,0 +1,231 @@
+package me.clementino.holiday.service;
+
+import module java.base;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import me.clementino.holiday.config.CacheConfig;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.mapper.HolidayFragmentCache;
+import me.clementino.holiday.repository.HolidayChangeTracker.ChangedElsewhere;
+import me.clementino.holiday.repository.HolidayFilter;
+import me.clementino.holiday.repository.HolidayReadReplica;
+import me.clementino.holiday.service.BusinessCalendarProvider.CalendarYear;
+
+/**
+ * Precise invalidation of the holiday read caches after a write.
+ *
+ * <p>
+ * Instead of clearing every cached listing, only the {@link CacheConfig#LOCALITY_HOLIDAYS}
+ * entries whose {@link HolidayFilter} matches the holiday before or after the change are
+ * removed, together with the {@link CacheConfig#HOLIDAY_BY_ID} entry of the changed holiday and
+ * the {@link CacheConfig#BUSINESS_CALENDARS}, {@link CacheConfig#COMPILED_CALENDARS} and
+ * {@link CacheConfig#LOCALITY_INDEXES} of its countries. Listings of the affected filters
+ * still in flight in the {@link HolidayQueryCoalescer} are detached, so no caller arriving after
+ * the write joins a query that may predate it. The pre-rendered JSON of the changed holidays is
+ * dropped from the {@link HolidayFragmentCache}, since an import may replace a document without
+ * bumping its version. Changes made by another instance are only known through the change
+ * token, so they clear those caches entirely. When the {@link HolidayReadReplica} is enabled,
+ * the holidays changed by its change stream events are invalidated like local writes, and its
+ * full reloads clear the caches.
+ *
+ * <p>
+ * Evicting is not enough on its own: a read that loaded the data before a write could put it in
+ * the cache after the write evicted the key. Every invalidation therefore advances a generation,
+ * and the reads that fill these caches go through {@link #cached}, which only puts a loaded value
+ * if no invalidation ran since the load started. Puts and invalidations exclude each other, so
+ * a put cannot land between an eviction and the generation moving.
+ */
+@Component
+public class HolidayCacheInvalidator {
+
+  private final CacheManager cacheManager;
+  private final HolidayQueryCoalescer queryCoalescer;
+  private final HolidayFragmentCache fragmentCache;
+  private final AtomicLong generation = new AtomicLong();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  public HolidayCacheInvalidator(
+      CacheManager cacheManager,
+      HolidayQueryCoalescer queryCoalescer,
+      HolidayFragmentCache fragmentCache) {
+    this.cacheManager = cacheManager;
+    this.queryCoalescer = queryCoalescer;
+    this.fragmentCache = fragmentCache;
+  }
+
+  /**
+   * Invalidates every cached entry that may contain the given holiday.
+   *
+   * @param before the holiday as it was before the change, or null when it was created
+   * @param after  the holiday as it is after the change, or null when it was deleted
+   */
+  public void holidayChanged(HolidayEntity before, HolidayEntity after) {
+    invalidate(Stream.of(before, after).filter(Objects::nonNull).toList());
+  }
+
+  /**
+   * Invalidates every cached entry that may contain any of the given new holidays, in a single
+   * pass over each cache.
+   *
+   * @param created the holidays that were created
+   */
+  public void holidaysCreated(Collection<HolidayEntity> created) {
+    if (!created.isEmpty()) {
+      invalidate(created);
+    }
+  }
+
+  /** Clears the holiday caches when another instance changed the collection. */
+  @EventListener
+  public void changedElsewhere(ChangedElsewhere event) {
+    clear();
+  }
+
+  /** Invalidates the holidays the read replica received from its change stream. */
+  @EventListener
+  public void replicaUpdated(HolidayReadReplica.Updated event) {
+    invalidate(event.holidays());
+  }
+
+  /** Clears the holiday caches after the read replica reloaded the collection. */
+  @EventListener
+  public void replicaReloaded(HolidayReadReplica.Reloaded event) {
+    clear();
+  }
+
+  private void clear() {
+    invalidating(() -> {
+      queryCoalescer.detachAll();
+      fragmentCache.clear();
+      Stream.of(
+              CacheConfig.HOLIDAY_BY_ID,
+              CacheConfig.LOCALITY_HOLIDAYS,
+              CacheConfig.BUSINESS_CALENDARS,
+              CacheConfig.COMPILED_CALENDARS,
+              CacheConfig.LOCALITY_INDEXES)
+          .map(cacheManager::getCache)
+          .filter(Objects::nonNull)
+          .forEach(Cache::clear);
+    });
+  }
+
+  /** Number of invalidations so far; a value loaded while it had another value may be stale. */
+  public long generation() {
+    return generation.get();
+  }
+
+  /**
+   * Returns the value cached for {@code key}, or loads it. The loaded value is only cached if no
+   * invalidation ran while it was loading; null values are never cached.
+   *
+   * @param cacheName one of the caches invalidated here
+   * @param key       the cache key
+   * @param loader    loads the value on a cache miss
+   */
+  public <T> T cached(String cacheName, Object key, Supplier<T> loader) {
+    return cached(cacheName, key, started -> loader.get());
+  }
+
+  /**
+   * Same as {@link #cached(String, Object, Supplier)}, for loaders that need the generation the
+   * read started in, e.g. to only share work with reads of the same generation.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T cached(String cacheName, Object key, LongFunction<T> loader) {
+    long started = generation();
+    Cache cache = cacheManager.getCache(cacheName);
+    Cache.ValueWrapper hit = cache == null ? null : cache.get(key);
+    if (hit != null) {
+      return (T) hit.get();
+    }
+    T value = loader.apply(started);
+    putIfUnchanged(cacheName, key, value, started);
+    return value;
+  }
+
+  /**
+   * Caches {@code value} for {@code key} unless an invalidation ran since {@link #generation()}
+   * returned {@code started}; null values are never cached.
+   */
+  public void putIfUnchanged(String cacheName, Object key, Object value, long started) {
+    Cache cache = cacheManager.getCache(cacheName);
+    if (cache == null || value == null) {
+      return;
+    }
+    lock.readLock().lock();
+    try {
+      if (generation.get() == started) {
+        cache.put(key, value);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Runs an invalidation with puts excluded, then advances the generation. */
+  private void invalidating(Runnable invalidation) {
+    lock.writeLock().lock();
+    try {
+      invalidation.run();
+    } finally {
+      generation.incrementAndGet();
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void invalidate(Collection<HolidayEntity> holidays) {
+    invalidating(() -> evict(holidays));
+  }
+
+  private void evict(Collection<HolidayEntity> holidays) {
+    queryCoalescer.detachIf(filter -> holidays.stream().anyMatch(holiday -> matches(filter, holiday)));
+
+    Set<String> ids = holidays.stream()
+        .map(HolidayEntity::getId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    fragmentCache.evict(ids);
+    Optional.ofNullable(cacheManager.getCache(CacheConfig.HOLIDAY_BY_ID))
+        .ifPresent(cache -> ids.forEach(cache::evict));
+
+    Optional.ofNullable(cacheManager.getCache(CacheConfig.LOCALITY_HOLIDAYS))
+        .ifPresent(cache -> evictIf(cache, key -> !(key instanceof HolidayFilter filter)
+            || holidays.stream().anyMatch(holiday -> matches(filter, holiday))));
+
+    Set<String> countries = holidays.stream()
+        .map(HolidayEntity::getLocalities)
+        .filter(Objects::nonNull)
+        .flatMap(List::stream)
+        .map(LocalityEntity::getCountryCode)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    Stream.of(CacheConfig.BUSINESS_CALENDARS, CacheConfig.COMPILED_CALENDARS)
+        .map(cacheManager::getCache)
+        .filter(Objects::nonNull)
+        .forEach(cache -> evictIf(cache, key -> !(key instanceof CalendarYear calendarYear)
+            || countries.contains(calendarYear.location().country())));
+    Optional.ofNullable(cacheManager.getCache(CacheConfig.LOCALITY_INDEXES))
+        .ifPresent(cache -> countries.forEach(cache::evict));
+  }
+
+  private static void evictIf(Cache cache, Predicate<Object> affected) {
+    switch (cache.getNativeCache()) {
+      case com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine ->
+        caffeine.asMap().keySet().removeIf(affected);
+      case ConcurrentMap<?, ?> map -> map.keySet().removeIf(affected);
+      default -> cache.clear();
+    }
+  }
+
+  /** Treats filters that cannot be evaluated in memory (e.g. invalid regex) as affected. */
+  private static boolean matches(HolidayFilter filter, HolidayEntity entity) {
+    try {
+      return filter.matches(entity);
+    } catch (RuntimeException e) {
+      return true;
+    }
+  }
+}
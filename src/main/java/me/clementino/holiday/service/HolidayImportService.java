@@ -0,0 +1,363 @@
+package me.clementino.holiday.service;
+
+import module java.base;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import me.clementino.holiday.dto.CreateHolidayRequestDTO;
+import me.clementino.holiday.dto.HolidayImportReportDTO;
+import me.clementino.holiday.dto.HolidayImportReportDTO.Failure;
+import me.clementino.holiday.dto.HolidayImportReportDTO.Status;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.repository.HolidayChangeTracker;
+import me.clementino.holiday.repository.HolidayRepository;
+import me.clementino.holiday.service.HolidayBatchService.PreparedItem;
+
+/**
+ * Imports arbitrarily large NDJSON sources of holidays with flat memory use.
+ *
+ * <p>
+ * The calling thread reads records one at a time with a streaming {@link JsonParser} and groups
+ * them in batches of {@code holiday.import.batch-size}. Batches go through a queue bounded to
+ * {@code holiday.import.queue-capacity} to a pool of {@code holiday.import.workers} writers, so a
+ * slow database blocks the reader instead of buffering the file in memory. Writers are virtual
+ * threads when {@code spring.threads.virtual.enabled} is set. Each writer maps its batch through
+ * {@link me.clementino.holiday.mapper.HolidayCreationMapper#toHoliday} and writes it with one
+ * unordered bulk upsert.
+ *
+ * <p>
+ * Holiday ids are derived from name, date, type and localities, so importing a record twice
+ * replaces it instead of duplicating it. After a batch is written, the checkpoint advances to the
+ * end of the latest batch such that it and every batch before it are written. Malformed JSON
+ * stops the reading but the records read before it are still written; a failed bulk write stops
+ * the whole import. Either way the import can be resumed from the reported checkpoint offset, and
+ * records between the checkpoint and the interruption are then upserted again.
+ *
+ * <p>
+ * Imported holidays are not applied to the {@code HolidayReadReplica} batch by batch, since
+ * every batch would rebuild the whole replica snapshot. The replica picks them up from its
+ * change stream, which applies the events that arrive together in one rebuild.
+ */
+@Service
+public class HolidayImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(HolidayImportService.class);
+
+  /** Largest number of rejected records listed in a report. */
+  public static final int MAX_REPORTED_FAILURES = 100;
+
+  private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(5);
+
+  /** A parsed record and the byte offset where it starts. */
+  private record ImportRecord(long offset, JsonNode json) {
+  }
+
+  /** Consecutive records, numbered in source order, ending at {@code endOffset}. */
+  private record ImportBatch(long sequence, List<ImportRecord> records, long endOffset) {
+  }
+
+  private static final ImportBatch END_OF_INPUT = new ImportBatch(-1, List.of(), -1);
+
+  private final ObjectMapper objectMapper;
+  private final HolidayBatchService batchService;
+  private final HolidayRepository holidayRepository;
+  private final HolidayCacheInvalidator cacheInvalidator;
+  private final HolidayChangeTracker changeTracker;
+  private final int batchSize;
+  private final int workers;
+  private final int queueCapacity;
+  private final ThreadFactory writerThreads;
+
+  public HolidayImportService(
+      ObjectMapper objectMapper,
+      HolidayBatchService batchService,
+      HolidayRepository holidayRepository,
+      HolidayCacheInvalidator cacheInvalidator,
+      HolidayChangeTracker changeTracker,
+      @Value("${holiday.import.batch-size:500}") int batchSize,
+      @Value("${holiday.import.workers:4}") int workers,
+      @Value("${holiday.import.queue-capacity:8}") int queueCapacity,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    if (batchSize < 1 || workers < 1 || queueCapacity < 1) {
+      throw new IllegalArgumentException("Import batch size, workers and queue capacity must be positive");
+    }
+    this.objectMapper = objectMapper;
+    this.batchService = batchService;
+    this.holidayRepository = holidayRepository;
+    this.cacheInvalidator = cacheInvalidator;
+    this.changeTracker = changeTracker;
+    this.batchSize = batchSize;
+    this.workers = workers;
+    this.queueCapacity = queueCapacity;
+    this.writerThreads = virtualThreads
+        ? Thread.ofVirtual().name("holiday-import-", 0).factory()
+        : Thread.ofPlatform().name("holiday-import-", 0).factory();
+  }
+
+  /** Import every record of the source. See {@link #importNdjson(InputStream, long, Consumer)}. */
+  public HolidayImportReportDTO importNdjson(InputStream source) throws IOException {
+    return importNdjson(source, 0, progress -> {
+    });
+  }
+
+  /**
+   * Import the NDJSON records of the source, starting at the given byte offset.
+   *
+   * @param source   the NDJSON source; it is read to the end but not closed
+   * @param offset   byte offset to resume from, usually the checkpoint of an interrupted import
+   * @param progress notified with a {@code RUNNING} report at most every few seconds as the
+   *                 checkpoint advances
+   * @return the final report; offsets are relative to the start of the source
+   * @throws IllegalArgumentException if the offset is negative
+   * @throws IOException              if the offset cannot be skipped
+   */
+  public HolidayImportReportDTO importNdjson(
+      InputStream source, long offset, Consumer<HolidayImportReportDTO> progress)
+      throws IOException {
+    if (offset < 0) {
+      throw new IllegalArgumentException("Offset must not be negative, got: " + offset);
+    }
+    source.skipNBytes(offset);
+
+    var run = new ImportRun(offset, progress);
+    var queue = new ArrayBlockingQueue<ImportBatch>(queueCapacity);
+    ExecutorService pool = Executors.newFixedThreadPool(workers, writerThreads);
+    try {
+      for (int i = 0; i < workers; i++) {
+        pool.execute(() -> write(queue, run));
+      }
+      read(source, offset, queue, run);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      run.writeFailed(e);
+    } finally {
+      pool.shutdown();
+      try {
+        for (int i = 0; i < workers; i++) {
+          queue.put(END_OF_INPUT);
+        }
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        pool.shutdownNow();
+        Thread.currentThread().interrupt();
+        run.writeFailed(e);
+      }
+    }
+
+    HolidayImportReportDTO report = run.report();
+    log.info(
+        "Holiday import {}: {} imported, {} failed, {} records/s, checkpoint {}",
+        report.status(), report.imported(), report.failed(),
+        Math.round(report.recordsPerSecond()), report.checkpointOffset());
+    return report;
+  }
+
+  /** Parses records and hands them to the writers in batches, blocking while the queue is full. */
+  private void read(
+      InputStream source, long offset, BlockingQueue<ImportBatch> queue, ImportRun run)
+      throws InterruptedException {
+    long sequence = 0;
+    List<ImportRecord> records = new ArrayList<>(batchSize);
+    long endOffset = offset;
+
+    try (JsonParser parser = objectMapper.createParser(source)) {
+      parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+      JsonToken token;
+      while (!run.isWriteFailed() && (token = parser.nextToken()) != null) {
+        long start = offset + parser.currentTokenLocation().getByteOffset();
+        if (token != JsonToken.START_OBJECT) {
+          throw new JsonParseException(parser, "Expected a holiday object at offset " + start);
+        }
+        JsonNode json = parser.readValueAsTree();
+        endOffset = offset + parser.currentLocation().getByteOffset();
+        records.add(new ImportRecord(start, json));
+
+        if (records.size() == batchSize) {
+          queue.put(new ImportBatch(sequence++, records, endOffset));
+          records = new ArrayList<>(batchSize);
+        }
+      }
+    } catch (IOException e) {
+      run.abort(e);
+    }
+
+    // Records read before a parse error are still written, so the checkpoint reaches the error
+    if (!run.isWriteFailed()) {
+      queue.put(new ImportBatch(sequence, records, endOffset));
+    }
+  }
+
+  /** Writer loop: takes batches until the end of input. */
+  private void write(BlockingQueue<ImportBatch> queue, ImportRun run) {
+    try {
+      for (ImportBatch batch = queue.take(); batch != END_OF_INPUT; batch = queue.take()) {
+        if (!run.isWriteFailed()) {
+          write(batch, run);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      run.writeFailed(e);
+    }
+  }
+
+  private void write(ImportBatch batch, ImportRun run) {
+    try {
+      List<PreparedItem> prepared = new ArrayList<>(batch.records().size());
+      for (int i = 0; i < batch.records().size(); i++) {
+        JsonNode json = batch.records().get(i).json();
+        prepared.add(batchService.prepare(i, () -> parse(json)));
+      }
+
+      List<HolidayEntity> entities = new ArrayList<>(prepared.size());
+      List<Integer> entityIndexes = new ArrayList<>(prepared.size());
+      for (PreparedItem item : prepared) {
+        if (item.entity() == null) {
+          run.failed(batch.records().get(item.index()).offset(), item.rejection().errors());
+        } else {
+          item.entity().setId(naturalId(item.entity()));
+          entities.add(item.entity());
+          entityIndexes.add(item.index());
+        }
+      }
+
+      Map<Integer, String> failures = holidayRepository.bulkUpsert(entities);
+      List<HolidayEntity> written = new ArrayList<>(entities.size());
+      for (int i = 0; i < entities.size(); i++) {
+        String failure = failures.get(i);
+        if (failure == null) {
+          written.add(entities.get(i));
+        } else {
+          run.failed(batch.records().get(entityIndexes.get(i)).offset(), List.of(failure));
+        }
+      }
+      cacheInvalidator.holidaysCreated(written);
+      if (!written.isEmpty()) {
+        changeTracker.changed();
+      }
+
+      run.imported(written.size());
+      run.batchCompleted(batch.sequence(), batch.endOffset());
+    } catch (RuntimeException e) {
+      run.writeFailed(e);
+    }
+  }
+
+  private CreateHolidayRequestDTO parse(JsonNode json) {
+    try {
+      return objectMapper.treeToValue(json, CreateHolidayRequestDTO.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Malformed holiday: " + e.getOriginalMessage(), e);
+    }
+  }
+
+  /** Id derived from what identifies a holiday, so re-importing a record replaces it. */
+  static String naturalId(HolidayEntity entity) {
+    var key = new StringJoiner("|")
+        .add(entity.getName())
+        .add(String.valueOf(entity.getDate()))
+        .add(String.valueOf(entity.getType()));
+    Optional.ofNullable(entity.getLocalities()).orElse(List.of()).stream()
+        .map(locality -> locality.getCountryCode() + "/" + locality.getSubdivisionCode() + "/"
+            + locality.getCityName())
+        .sorted()
+        .forEach(key::add);
+    return UUID.nameUUIDFromBytes(key.toString().getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  /** Counters and checkpoint of one import, shared by the reader and the writers. */
+  private static final class ImportRun {
+
+    private final long startNanos = System.nanoTime();
+    private final Consumer<HolidayImportReportDTO> progress;
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<Failure> failures = new ArrayList<>();
+    private final Map<Long, Long> completed = new HashMap<>();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private volatile boolean writeFailed;
+    private long nextSequence;
+    private long checkpoint;
+    private long lastProgressNanos = startNanos;
+
+    ImportRun(long offset, Consumer<HolidayImportReportDTO> progress) {
+      this.checkpoint = offset;
+      this.progress = progress;
+    }
+
+    boolean isWriteFailed() {
+      return writeFailed;
+    }
+
+    /** Records why the import stopped early; only the first cause is kept. */
+    void abort(Throwable cause) {
+      if (error.compareAndSet(null, cause)) {
+        log.warn("Holiday import interrupted", cause);
+      }
+    }
+
+    /** Stops both the reader and the writers. */
+    void writeFailed(Throwable cause) {
+      abort(cause);
+      writeFailed = true;
+    }
+
+    void imported(int count) {
+      imported.addAndGet(count);
+    }
+
+    synchronized void failed(long offset, List<String> errors) {
+      failed.incrementAndGet();
+      if (failures.size() < MAX_REPORTED_FAILURES) {
+        failures.add(new Failure(offset, List.copyOf(errors)));
+      }
+    }
+
+    /** Advances the checkpoint over every batch completed without gaps. */
+    void batchCompleted(long sequence, long endOffset) {
+      HolidayImportReportDTO report = null;
+      synchronized (this) {
+        completed.put(sequence, endOffset);
+        while (completed.containsKey(nextSequence)) {
+          checkpoint = completed.remove(nextSequence++);
+        }
+        long now = System.nanoTime();
+        if (now - lastProgressNanos >= PROGRESS_INTERVAL.toNanos()) {
+          lastProgressNanos = now;
+          report = report(Status.RUNNING);
+        }
+      }
+      if (report != null) {
+        progress.accept(report);
+      }
+    }
+
+    HolidayImportReportDTO report() {
+      Throwable cause = error.get();
+      return cause == null ? report(Status.COMPLETED) : report(Status.INTERRUPTED);
+    }
+
+    private synchronized HolidayImportReportDTO report(Status status) {
+      long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+      long handled = imported.get() + failed.get();
+      Throwable cause = error.get();
+      return new HolidayImportReportDTO(
+          status,
+          imported.get(),
+          failed.get(),
+          checkpoint,
+          handled * 1e9 / elapsedNanos,
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+          List.copyOf(failures),
+          cause == null ? null : Objects.requireNonNullElse(cause.getMessage(), cause.toString()));
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package me.clementino.holiday.service;
+
+import module java.base;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.repository.HolidayFilter;
+
+/**
+ * Single-flight execution of holiday listings: concurrent calls with the same
+ * {@linkplain HolidayFilter#normalized() normalized} filter share one query instead of each
+ * sending its own.
+ *
+ * <p>
+ * The first caller of a filter runs the query on its own thread; callers arriving while it is in
+ * flight wait for it and receive the same result, or the same exception. Nothing is kept once the
+ * query completes, so this only absorbs bursts of identical requests, e.g. every client polling
+ * at the top of the hour while the listing is not cached yet.
+ *
+ * <p>
+ * A query only shares callers that started in the same {@link HolidayCacheInvalidator}
+ * generation, and the result is cached by each caller for the generation it started in, so a
+ * query overtaken by a write is neither joined by later callers nor cached. {@link #detachIf}
+ * additionally drops such queries as soon as the write is known.
+ *
+ * <p>
+ * Meters: {@code holiday.query.coalescing} counts calls tagged {@code result=executed} (ran the
+ * query) or {@code result=shared} (joined one in flight), {@code holiday.query.coalescing.ratio}
+ * is the fraction of all calls that were shared, and {@code holiday.query.in-flight} the number
+ * of distinct queries currently running.
+ */
+@Component
+public class HolidayQueryCoalescer {
+
+  /** Identity of a query: its filter and the cache generation its callers started in. */
+  private record Flight(HolidayFilter filter, long generation) {
+  }
+
+  private final ConcurrentMap<Flight, CompletableFuture<List<HolidayDataDTO>>> inFlight =
+      new ConcurrentHashMap<>();
+  private final Counter executed;
+  private final Counter shared;
+
+  public HolidayQueryCoalescer(MeterRegistry registry) {
+    this.executed = Counter.builder("holiday.query.coalescing")
+        .description("Holiday listing calls by whether they ran the query or shared one in flight")
+        .tag("result", "executed")
+        .register(registry);
+    this.shared = Counter.builder("holiday.query.coalescing")
+        .description("Holiday listing calls by whether they ran the query or shared one in flight")
+        .tag("result", "shared")
+        .register(registry);
+    Gauge.builder("holiday.query.coalescing.ratio", this, HolidayQueryCoalescer::ratio)
+        .description("Fraction of holiday listing calls answered by a query already in flight")
+        .register(registry);
+    Gauge.builder("holiday.query.in-flight", inFlight, Map::size)
+        .description("Distinct holiday listing queries currently running")
+        .register(registry);
+  }
+
+  /**
+   * Runs {@code query} for {@code filter}, or waits for the identical query already in flight.
+   *
+   * @param filter     the normalized filter identifying the query
+   * @param generation the {@link HolidayCacheInvalidator#generation()} read before the cache was
+   *                   checked; the result may only be cached for this generation
+   * @param query      computes the listing of the filter
+   * @return the listing, shared with every caller that joined the same query
+   */
+  public List<HolidayDataDTO> execute(
+      HolidayFilter filter, long generation, Supplier<List<HolidayDataDTO>> query) {
+    var key = new Flight(filter, generation);
+    var flight = new CompletableFuture<List<HolidayDataDTO>>();
+    CompletableFuture<List<HolidayDataDTO>> running = inFlight.putIfAbsent(key, flight);
+    if (running != null) {
+      shared.increment();
+      return await(running);
+    }
+
+    executed.increment();
+    try {
+      List<HolidayDataDTO> result = query.get();
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  /**
+   * Detaches the in-flight queries whose filter matches: callers already waiting still get their
+   * result, later callers run a new query.
+   */
+  public void detachIf(Predicate<HolidayFilter> affected) {
+    inFlight.keySet().removeIf(flight -> affected.test(flight.filter()));
+  }
+
+  /** Detaches every in-flight query. */
+  public void detachAll() {
+    inFlight.clear();
+  }
+
+  /** Fraction of calls that shared a query in flight, 0 before the first call. */
+  double ratio() {
+    double total = executed.count() + shared.count();
+    return total == 0 ? 0 : shared.count() / total;
+  }
+
+  private static List<HolidayDataDTO> await(CompletableFuture<List<HolidayDataDTO>> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      switch (e.getCause()) {
+        case RuntimeException runtime -> throw runtime;
+        case Error error -> throw error;
+        default -> throw e;
+      }
+    }
+  }
+}
@@ -1,16 +1,28 @@
 package me.clementino.holiday.service;
 
 import module java.base;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import me.clementino.holiday.config.CacheConfig;
+import me.clementino.holiday.domain.dop.CompiledCalendar;
 import me.clementino.holiday.domain.dop.Holiday;
 import me.clementino.holiday.domain.dop.HolidayOperations;
-import me.clementino.holiday.domain.dop.HolidayType;
 import me.clementino.holiday.domain.dop.Location;
+import me.clementino.holiday.domain.dop.ObservedHoliday;
+import me.clementino.holiday.dto.HolidayCursor;
 import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.dto.HolidayPageDTO;
 import me.clementino.holiday.entity.HolidayEntity;
 import me.clementino.holiday.entity.LocalityEntity;
 import me.clementino.holiday.mapper.HolidayMapper;
+import me.clementino.holiday.repository.HolidayChangeTracker;
+import me.clementino.holiday.repository.HolidayFilter;
+import me.clementino.holiday.repository.HolidayOccurrenceStore;
+import me.clementino.holiday.repository.HolidayReadReplica;
+import me.clementino.holiday.repository.HolidayReadSource;
 import me.clementino.holiday.repository.HolidayRepository;
+import me.clementino.holiday.repository.StoredHolidayCalendar;
+import me.clementino.holiday.service.BusinessCalendarProvider.CalendarYear;
 
 /**
  * Service layer that orchestrates operations on holiday data using DOP
@@ -21,57 +33,301 @@ import me.clementino.holiday.repository.HolidayRepository;
  * Holiday domain
  * objects for business logic. It provides seamless conversion between entity
  * and domain layers.
+ *
+ * <p>
+ * Reads are cached through {@link HolidayCacheInvalidator#cached}; every write goes through
+ * {@link HolidayCacheInvalidator} so only the cached entries that may contain the changed holiday
+ * are dropped, and then advances the {@link HolidayChangeTracker} token that validates
+ * conditional GETs of listings. When the
+ * optional {@link HolidayReadReplica} is enabled and loaded, or a {@link HolidayReadSource}
+ * snapshot file is served, every read (lookups by id, listings, pages, streams and occurrence
+ * expansion) is answered from it; writes always go to MongoDB.
+ *
+ * <p>
+ * Date-centric questions about a location (which holidays fall on a date, which one comes next)
+ * are answered by binary search in the cached {@link CompiledCalendar} of each year instead of
+ * filtering holiday lists.
+ *
+ * <p>
+ * Every public method is timed in {@code holiday.service}, tagged with the method name. Methods
+ * returning a {@link Stream} are timed until the stream is returned, not while it is consumed.
  */
 @Service
+@Timed("holiday.service")
 public class HolidayService {
 
+  /** Largest page size accepted by {@link #findPage}. */
+  public static final int MAX_PAGE_SIZE = 100;
+
+  /** Largest number of calendar years spanned by {@link #expandOccurrences}. */
+  public static final int MAX_OCCURRENCE_YEARS = 1000;
+
+  /** Number of calendar years {@link #findNextHoliday} looks into. */
+  public static final int MAX_NEXT_HOLIDAY_YEARS = 10;
+
   private final HolidayRepository holidayRepository;
   private final HolidayOperations holidayOperations;
   private final HolidayMapper mapper;
+  private final HolidayCacheInvalidator cacheInvalidator;
+  private final HolidayChangeTracker changeTracker;
+  private final BusinessCalendarProvider calendarProvider;
+  private final HolidayQueryCoalescer queryCoalescer;
+  private final Optional<HolidayReadReplica> readReplica;
+  private final Optional<HolidayReadSource> readSource;
+  private final Optional<HolidayOccurrenceStore> occurrenceStore;
 
   public HolidayService(
       HolidayRepository holidayRepository,
       HolidayOperations holidayOperations,
-      HolidayMapper mapper) {
+      HolidayMapper mapper,
+      HolidayCacheInvalidator cacheInvalidator,
+      HolidayChangeTracker changeTracker,
+      BusinessCalendarProvider calendarProvider,
+      HolidayQueryCoalescer queryCoalescer,
+      Optional<HolidayReadReplica> readReplica,
+      Optional<HolidayReadSource> readSource,
+      Optional<HolidayOccurrenceStore> occurrenceStore) {
     this.holidayRepository = holidayRepository;
     this.holidayOperations = holidayOperations;
     this.mapper = mapper;
+    this.cacheInvalidator = cacheInvalidator;
+    this.changeTracker = changeTracker;
+    this.calendarProvider = calendarProvider;
+    this.queryCoalescer = queryCoalescer;
+    this.readReplica = readReplica;
+    this.readSource = readSource;
+    this.occurrenceStore = occurrenceStore;
   }
 
-  /** Find holiday by ID. */
+  /** The read replica or the mapped snapshot, when one is configured and loaded. */
+  private Optional<HolidayReadSource> loadedSource() {
+    return readSource.filter(HolidayReadSource::isReady);
+  }
+
+  /** Find holiday by ID. Holidays found are cached until a write invalidates them. */
   public Optional<HolidayDataDTO> findById(String id) {
-    return holidayRepository.findById(id).map(this::toDomainData);
+    return Optional.ofNullable(cacheInvalidator.cached(
+        CacheConfig.HOLIDAY_BY_ID,
+        id,
+        () -> loadedSource()
+            .map(source -> source.findById(id))
+            .orElseGet(() -> holidayRepository.findById(id))
+            .map(HolidayService::toDomainData)
+            .orElse(null)));
   }
 
   /** Delete holiday by ID. */
   public boolean deleteById(String id) {
-    if (holidayRepository.existsById(id)) {
-      holidayRepository.deleteById(id);
-      return true;
+    return holidayRepository
+        .findById(id)
+        .map(
+            existing -> {
+              holidayRepository.deleteById(existing.getId());
+              readReplica.ifPresent(replica -> replica.holidayChanged(existing, null));
+              cacheInvalidator.holidayChanged(existing, null);
+              changeTracker.changed();
+              return true;
+            })
+        .orElse(false);
+  }
+
+  /**
+   * Find all holidays with filters. On a cache miss, concurrent calls with the same normalized
+   * filter are coalesced by {@link HolidayQueryCoalescer} into a single query. The listing is
+   * only cached if no write invalidated it while it was loading, so a listing read before a
+   * write is never served under the change token issued after it. The listing is cached under
+   * the normalized filter, which is the one the invalidation matches holidays against.
+   */
+  public List<HolidayDataDTO> findAllWithFilters(HolidayFilter filter) {
+    HolidayFilter normalized = filter.normalized();
+    return cacheInvalidator.cached(
+        CacheConfig.LOCALITY_HOLIDAYS,
+        normalized,
+        generation -> queryCoalescer.execute(
+            normalized,
+            generation,
+            () -> findEntities(normalized).stream().map(HolidayService::toDomainData).toList()));
+  }
+
+  /**
+   * Find one page of holidays ordered by date and id using keyset pagination. Fetches one extra
+   * row to know whether a next page exists, so every page costs the same regardless of depth.
+   */
+  public HolidayPageDTO findPage(HolidayFilter filter, Optional<HolidayCursor> after, int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+
+    LocalDate afterDate = after.map(HolidayCursor::date).orElse(null);
+    String afterId = after.map(HolidayCursor::id).orElse(null);
+    List<HolidayEntity> entities = loadedSource()
+        .map(source -> source.findPage(filter, afterDate, afterId, limit + 1))
+        .orElseGet(() -> holidayRepository.findPage(filter, afterDate, afterId, limit + 1));
+
+    if (entities.size() <= limit) {
+      return new HolidayPageDTO(entities.stream().map(HolidayService::toDomainData).toList(), Optional.empty());
+    }
+
+    List<HolidayEntity> page = entities.subList(0, limit);
+    HolidayEntity last = page.getLast();
+    return new HolidayPageDTO(
+        page.stream().map(HolidayService::toDomainData).toList(),
+        Optional.of(new HolidayCursor(last.getDate(), last.getId())));
+  }
+
+  /**
+   * Stream holidays matching the filters straight from a MongoDB cursor, or from the loaded read
+   * source, converting one entity at a time. The returned stream must be closed to release the
+   * cursor.
+   */
+  public Stream<HolidayDataDTO> streamWithFilters(HolidayFilter filter) {
+    return streamEntitiesWithFilters(filter).map(HolidayService::toDomainData);
+  }
+
+  /**
+   * Same as {@link #streamWithFilters} without the conversion, for callers that serialize the
+   * stored holidays directly. The returned stream must be closed to release the cursor.
+   */
+  public Stream<HolidayEntity> streamEntitiesWithFilters(HolidayFilter filter) {
+    return loadedSource()
+        .map(source -> source.findWithFilters(filter).stream())
+        .orElseGet(() -> holidayRepository.streamWithFilters(filter));
+  }
+
+  /** Holidays matching the filter, from the read source when loaded, else from MongoDB. */
+  private List<HolidayEntity> findEntities(HolidayFilter filter) {
+    return loadedSource()
+        .map(source -> source.findWithFilters(filter))
+        .orElseGet(() -> holidayRepository.findWithFilters(filter));
+  }
+
+  /**
+   * Expand the holidays matching the filter into their yearly occurrences between {@code from}
+   * and {@code to}, both inclusive, ordered by date.
+   *
+   * <p>
+   * Only the stored holidays are loaded up front, into a {@link StoredHolidayCalendar}. Each
+   * year's occurrences are evaluated from it when the stream reaches that year, so memory is
+   * proportional to the number of holidays, not to the number of years. Holidays that do not
+   * recur only occur in the year they are stored for. The date filters of {@code filter} are
+   * ignored in favour of {@code from} and {@code to}.
+   *
+   * <p>
+   * When a {@link HolidayOccurrenceStore} covering the range is configured, the occurrences are
+   * read from its pre-expanded rows instead.
+   *
+   * @throws IllegalArgumentException if the range is empty, too long or before year 1
+   */
+  public Stream<HolidayDataDTO> expandOccurrences(
+      HolidayFilter filter, LocalDate from, LocalDate to) {
+    validateOccurrenceRange(from, to);
+
+    Optional<HolidayOccurrenceStore> store =
+        occurrenceStore.filter(candidate -> candidate.covers(from, to));
+    if (store.isPresent()) {
+      return store.get().findWithFilters(withDates(filter, from, to))
+          .map(occurrence -> toOccurrence(
+              occurrence, occurrence.getDate(), occurrence.getObserved()));
+    }
+
+    var calendar = StoredHolidayCalendar.of(
+        findEntities(withoutDates(filter)), mapper::toRecurringHoliday);
+
+    return IntStream.rangeClosed(from.getYear(), to.getYear())
+        .boxed()
+        .flatMap(
+            year -> toOccurrences(calendar, year)
+                .filter(occurrence -> !occurrence.date().isBefore(from)
+                    && !occurrence.date().isAfter(to))
+                .sorted(Comparator.comparing(HolidayDataDTO::date)));
+  }
+
+  /**
+   * Holiday occurrences at {@code location} that fall on, or are observed on, {@code date}, in
+   * the order of the compiled calendar.
+   *
+   * @throws IllegalArgumentException if the year of {@code date} is not positive
+   */
+  public List<HolidayDataDTO> findHolidaysOn(Location location, LocalDate date) {
+    CompiledCalendar<HolidayDataDTO> calendar = compiledCalendar(location, date);
+    int end = calendar.endOf(date);
+    var holidays = new ArrayList<HolidayDataDTO>(end - calendar.startOf(date));
+    for (int position = calendar.startOf(date); position < end; position++) {
+      holidays.add(calendar.holiday(position));
     }
-    return false;
+    return holidays;
   }
 
-  /** Find all holidays with filters. */
-  public List<HolidayDataDTO> findAllWithFilters(
-      String country,
-      String state,
-      String city,
-      HolidayType type,
-      LocalDate startDate,
-      LocalDate endDate,
-      Boolean recurring,
-      String namePattern) {
+  /**
+   * The first holiday occurrence at {@code location} falling on, or observed on, {@code date} or
+   * a later day, looking at most {@link #MAX_NEXT_HOLIDAY_YEARS} calendar years ahead.
+   *
+   * @throws IllegalArgumentException if the year of {@code date} is not positive
+   */
+  public Optional<HolidayDataDTO> findNextHoliday(Location location, LocalDate date) {
+    LocalDate from = date;
+    for (int years = 0; years < MAX_NEXT_HOLIDAY_YEARS; years++) {
+      CompiledCalendar<HolidayDataDTO> calendar = compiledCalendar(location, from);
+      int position = calendar.nextHoliday(from);
+      if (position >= 0) {
+        return Optional.of(calendar.holiday(position));
+      }
+      from = LocalDate.ofYearDay(from.getYear() + 1, 1);
+    }
+    return Optional.empty();
+  }
 
-    List<HolidayEntity> entities = holidayRepository.findWithFilters(
-        country, state, city, type, startDate, endDate, recurring, namePattern);
-    return entities.stream().map(this::toDomainData).toList();
+  private CompiledCalendar<HolidayDataDTO> compiledCalendar(Location location, LocalDate date) {
+    Objects.requireNonNull(location, "Location cannot be null");
+    Objects.requireNonNull(date, "Date cannot be null");
+    return calendarProvider.compiledCalendar(new CalendarYear(location, date.getYear()));
+  }
+
+  /**
+   * Checks an occurrence range: not empty, starting after year 0 and spanning less than
+   * {@link #MAX_OCCURRENCE_YEARS} years.
+   *
+   * @throws IllegalArgumentException if the range is not valid
+   */
+  static void validateOccurrenceRange(LocalDate from, LocalDate to) {
+    Objects.requireNonNull(from, "From date cannot be null");
+    Objects.requireNonNull(to, "To date cannot be null");
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("From date must not be after to date");
+    }
+    if (from.getYear() <= 0) {
+      throw new IllegalArgumentException("Year must be positive, got: " + from.getYear());
+    }
+    if (to.getYear() - from.getYear() >= MAX_OCCURRENCE_YEARS) {
+      throw new IllegalArgumentException(
+          "Date range must span less than " + MAX_OCCURRENCE_YEARS + " years");
+    }
+  }
+
+  /** The filter without its date bounds, selecting the holidays to expand into occurrences. */
+  static HolidayFilter withoutDates(HolidayFilter filter) {
+    return withDates(filter, null, null);
+  }
+
+  /** The filter with its date bounds replaced by {@code from} and {@code to}. */
+  static HolidayFilter withDates(HolidayFilter filter, LocalDate from, LocalDate to) {
+    return new HolidayFilter(
+        filter.country(),
+        filter.state(),
+        filter.city(),
+        filter.type(),
+        from,
+        to,
+        filter.recurring(),
+        filter.namePattern());
   }
 
   /** Find all holidays without filters. */
   public List<HolidayDataDTO> findAll() {
-    List<HolidayEntity> entities = holidayRepository.findAll();
-    return entities.stream().map(this::toDomainData).toList();
+    List<HolidayEntity> entities = loadedSource()
+        .map(HolidayReadSource::findAll)
+        .orElseGet(holidayRepository::findAll);
+    return entities.stream().map(HolidayService::toDomainData).toList();
   }
 
   public HolidayDataDTO create(Holiday holiday) {
@@ -80,19 +336,35 @@ public class HolidayService {
 
   /** Create a new holiday. */
   public HolidayDataDTO create(Holiday holiday, Integer year) {
+    HolidayEntity saved = holidayRepository.save(newEntity(holiday, year));
+    readReplica.ifPresent(replica -> replica.holidayChanged(null, saved));
+    cacheInvalidator.holidayChanged(null, saved);
+    changeTracker.changed();
+    return toDomainData(saved);
+  }
 
+  /**
+   * Build the entity of a new holiday: its date and observed date are calculated for the given
+   * year (the current year when null), it keeps the rule of its variant to be recalculated in
+   * other years, and it gets a fresh id and timestamps.
+   */
+  HolidayEntity newEntity(Holiday holiday, Integer year) {
     int defaultYear = Optional.ofNullable(year).orElse(LocalDate.now().getYear());
 
     var holidayWithDate = holidayOperations.calculateDate(holiday, defaultYear);
     var holidayWithObserved = holidayOperations.calculateObservedDate(holidayWithDate, defaultYear);
 
-    var entity = mapper.toEntity(holidayWithObserved);
+    // the rule comes from the calculated variant; a moveable holiday observed on another day
+    // is an ObservedHoliday once its observed date is calculated
+    var entity = mapper.toEntity(holidayWithDate);
+    if (holidayWithObserved instanceof ObservedHoliday observed
+        && !observed.observed().equals(observed.date())) {
+      entity.setObserved(observed.observed());
+    }
     entity.setId(UUID.randomUUID().toString());
     entity.setDateCreated(LocalDateTime.now());
     entity.setLastUpdated(LocalDateTime.now());
-
-    HolidayEntity saved = holidayRepository.save(entity);
-    return toDomainData(saved);
+    return entity;
   }
 
   /** Update an existing holiday. */
@@ -102,18 +374,23 @@ public class HolidayService {
         .map(
             existing -> {
               HolidayEntity updated = toEntity(holidayDataDTO);
+              updated.copyRuleFrom(existing);
+              updated.setRecurring(holidayDataDTO.recurring());
               updated.setId(existing.getId());
               updated.setDateCreated(existing.getDateCreated());
               updated.setLastUpdated(LocalDateTime.now());
               updated.setVersion(existing.getVersion());
 
               HolidayEntity saved = holidayRepository.save(updated);
+              readReplica.ifPresent(replica -> replica.holidayChanged(existing, saved));
+              cacheInvalidator.holidayChanged(existing, saved);
+              changeTracker.changed();
               return toDomainData(saved);
             });
   }
 
   /** Convert HolidayEntity to HolidayDataDTO. */
-  private HolidayDataDTO toDomainData(HolidayEntity entity) {
+  static HolidayDataDTO toDomainData(HolidayEntity entity) {
     if (entity.getName() == null || entity.getName().isBlank()) {
       throw new IllegalStateException(
           "HolidayEntity name is null or blank for ID: "
@@ -136,15 +413,53 @@ public class HolidayService {
             entity.getEffectiveDate().equals(entity.getDate()) ? null : entity.getEffectiveDate()),
         extractLocationFromLocalities(entity.getLocalities()),
         entity.getType(),
-        false,
+        Boolean.TRUE.equals(entity.getRecurring()),
+        Optional.ofNullable(entity.getDescription()),
+        Optional.ofNullable(entity.getDateCreated()),
+        Optional.ofNullable(entity.getLastUpdated()),
+        Optional.ofNullable(entity.getVersion()));
+  }
+
+  /**
+   * Convert a stored holiday to HolidayDataDTO as an occurrence on {@code date}, observed on
+   * {@code observed} when not null.
+   */
+  static HolidayDataDTO toOccurrence(HolidayEntity entity, LocalDate date, LocalDate observed) {
+    return toOccurrence(entity, date, observed, Boolean.TRUE.equals(entity.getRecurring()));
+  }
+
+  private static HolidayDataDTO toOccurrence(
+      HolidayEntity entity, LocalDate date, LocalDate observed, boolean recurring) {
+    return new HolidayDataDTO(
+        entity.getId(),
+        entity.getName(),
+        date,
+        Optional.ofNullable(observed),
+        extractLocationFromLocalities(entity.getLocalities()),
+        entity.getType(),
+        recurring,
         Optional.ofNullable(entity.getDescription()),
         Optional.ofNullable(entity.getDateCreated()),
         Optional.ofNullable(entity.getLastUpdated()),
         Optional.ofNullable(entity.getVersion()));
   }
 
+  /** The occurrences of {@code year} of the holidays of a calendar, in the calendar's order. */
+  static Stream<HolidayDataDTO> toOccurrences(StoredHolidayCalendar calendar, int year) {
+    var occurrences = Stream.<HolidayDataDTO>builder();
+    calendar.forEachOccurrence(
+        year,
+        (holiday, date, observed) -> occurrences.add(
+            toOccurrence(
+                calendar.holidays().get(holiday),
+                date,
+                observed.equals(date) ? null : observed,
+                calendar.recurs(holiday))));
+    return occurrences.build();
+  }
+
   /** Extract Location from List<LocalityEntity> for backward compatibility. */
-  private Location extractLocationFromLocalities(List<LocalityEntity> localities) {
+  private static Location extractLocationFromLocalities(List<LocalityEntity> localities) {
     if (localities == null || localities.isEmpty()) {
       return new Location("UNKNOWN", Optional.empty(), Optional.empty());
     }
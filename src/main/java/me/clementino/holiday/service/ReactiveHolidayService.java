@@ -0,0 +1,77 @@
+package me.clementino.holiday.service;
+
+import module java.base;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.mapper.HolidayMapper;
+import me.clementino.holiday.repository.HolidayFilter;
+import me.clementino.holiday.repository.ReactiveHolidayRepository;
+import me.clementino.holiday.repository.StoredHolidayCalendar;
+
+/**
+ * Non-blocking read side of {@link HolidayService}, used when the {@code reactive} profile serves
+ * the API on WebFlux.
+ *
+ * <p>
+ * Results are the same as the ones of {@link HolidayService}: entities are converted with the
+ * same functions and occurrences are evaluated from the persisted rules with a
+ * {@link StoredHolidayCalendar}. Nothing here
+ * blocks, so every method can run on the event loop. Results are not cached; the Caffeine caches
+ * of the servlet stack hold materialised lists, which would defeat streaming.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveHolidayService {
+
+  private final ReactiveHolidayRepository holidayRepository;
+  private final HolidayMapper mapper;
+
+  public ReactiveHolidayService(
+      ReactiveHolidayRepository holidayRepository,
+      HolidayMapper mapper) {
+    this.holidayRepository = holidayRepository;
+    this.mapper = mapper;
+  }
+
+  /** Find holiday by ID; empty when it does not exist. */
+  public Mono<HolidayDataDTO> findById(String id) {
+    return holidayRepository.findById(id).map(HolidayService::toDomainData);
+  }
+
+  /** Holidays matching the filter, emitted as the subscriber requests them. */
+  public Flux<HolidayDataDTO> findWithFilters(HolidayFilter filter) {
+    return holidayRepository.findWithFilters(filter).map(HolidayService::toDomainData);
+  }
+
+  /**
+   * Reactive {@link HolidayService#expandOccurrences}: yearly occurrences of the matching holidays
+   * between {@code from} and {@code to}, both inclusive, ordered by date. A year is only
+   * calculated once the subscriber has consumed the previous one.
+   *
+   * @throws IllegalArgumentException if the range is empty, too long or before year 1
+   */
+  public Flux<HolidayDataDTO> expandOccurrences(
+      HolidayFilter filter, LocalDate from, LocalDate to) {
+    HolidayService.validateOccurrenceRange(from, to);
+
+    Comparator<HolidayDataDTO> byDate = Comparator.comparing(HolidayDataDTO::date);
+    return holidayRepository
+        .findWithFilters(HolidayService.withoutDates(filter))
+        .collectList()
+        .flatMapMany(
+            entities -> {
+              var calendar = StoredHolidayCalendar.of(entities, mapper::toRecurringHoliday);
+              return Flux.range(from.getYear(), to.getYear() - from.getYear() + 1)
+                  .concatMap(
+                      year -> Flux.fromStream(
+                          HolidayService.toOccurrences(calendar, year)
+                              .filter(occurrence -> !occurrence.date().isBefore(from)
+                                  && !occurrence.date().isAfter(to))
+                              .sorted(byDate)));
+            });
+  }
+}
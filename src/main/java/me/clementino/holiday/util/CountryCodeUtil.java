@@ -10,9 +10,80 @@ import com.neovisionaries.i18n.CountryCode;
  * This utility follows DOP principles by providing pure functions for country
  * code validation
  * and conversion operations.
+ *
+ * <p>
+ * Lookups go through hash indexes built once at class initialization. The name index covers
+ * country names, alpha-2, alpha-3 and numeric codes and a few common aliases such as
+ * {@code "USA"} or {@code "Brasil"}. Its keys are case-folded and accent-insensitive. Inputs
+ * already in a canonical spelling ({@code "BR"}, {@code "br"}, {@code "Brazil"}) are found with a
+ * single probe and without allocating; other inputs are folded once and probed again.
  */
 public final class CountryCodeUtil {
 
+  /** A country with the values returned for it, precomputed so lookups do not allocate. */
+  private record IndexedCountry(CountryCode code, Optional<String> alpha2, Optional<String> name) {
+  }
+
+  /** Common names that differ from the ISO short names. */
+  private static final Map<String, CountryCode> ALIASES = Map.ofEntries(
+      Map.entry("USA", CountryCode.US),
+      Map.entry("United States of America", CountryCode.US),
+      Map.entry("Brasil", CountryCode.BR),
+      Map.entry("Great Britain", CountryCode.GB),
+      Map.entry("Deutschland", CountryCode.DE),
+      Map.entry("España", CountryCode.ES),
+      Map.entry("Holland", CountryCode.NL),
+      Map.entry("Russia", CountryCode.RU),
+      Map.entry("South Korea", CountryCode.KR),
+      Map.entry("North Korea", CountryCode.KP),
+      Map.entry("Vietnam", CountryCode.VN),
+      Map.entry("Iran", CountryCode.IR),
+      Map.entry("Bolivia", CountryCode.BO),
+      Map.entry("Venezuela", CountryCode.VE),
+      Map.entry("Tanzania", CountryCode.TZ),
+      Map.entry("Syria", CountryCode.SY),
+      Map.entry("Laos", CountryCode.LA),
+      Map.entry("Taiwan", CountryCode.TW));
+
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  /** Alpha-2 and alpha-3 codes. */
+  private static final Map<String, IndexedCountry> CODES;
+
+  /** Country names, aliases, alpha-2, alpha-3 and numeric codes. */
+  private static final Map<String, IndexedCountry> NAMES;
+
+  static {
+    Map<String, IndexedCountry> codes = new HashMap<>();
+    Map<String, IndexedCountry> names = new HashMap<>();
+    Map<CountryCode, IndexedCountry> countries = new EnumMap<>(CountryCode.class);
+
+    // Enum order decides between countries sharing a name, as the former linear scan did
+    for (CountryCode code : CountryCode.values()) {
+      if (code == CountryCode.UNDEFINED) {
+        continue;
+      }
+      IndexedCountry country = new IndexedCountry(
+          code, Optional.of(code.getAlpha2()), Optional.ofNullable(code.getName()));
+      countries.put(code, country);
+
+      index(codes, code.getAlpha2(), country);
+      index(codes, code.getAlpha3(), country);
+      if (code.getName() != null) {
+        index(names, code.getName(), country);
+      }
+      if (code.getNumeric() >= 0) {
+        index(names, "%03d".formatted(code.getNumeric()), country);
+      }
+    }
+    ALIASES.forEach((alias, code) -> index(names, alias, countries.get(code)));
+    codes.forEach(names::putIfAbsent);
+
+    CODES = Map.copyOf(codes);
+    NAMES = Map.copyOf(names);
+  }
+
   private CountryCodeUtil() {
   }
 
@@ -23,16 +94,7 @@ public final class CountryCodeUtil {
    * @return true if valid, false otherwise
    */
   public static boolean isValidCountryCode(String countryCode) {
-    if (countryCode == null || countryCode.isBlank()) {
-      return false;
-    }
-
-    try {
-      CountryCode code = CountryCode.getByCode(countryCode.toUpperCase());
-      return code != null && code != CountryCode.UNDEFINED;
-    } catch (Exception e) {
-      return false;
-    }
+    return lookup(CODES, countryCode) != null;
   }
 
   /**
@@ -42,66 +104,37 @@ public final class CountryCodeUtil {
    * @return the country name, or empty if invalid
    */
   public static Optional<String> getCountryName(String countryCode) {
-    if (!isValidCountryCode(countryCode)) {
-      return Optional.empty();
-    }
-
-    try {
-      CountryCode code = CountryCode.getByCode(countryCode.toUpperCase());
-      return Optional.ofNullable(code.getName());
-    } catch (Exception e) {
-      return Optional.empty();
-    }
+    IndexedCountry country = lookup(CODES, countryCode);
+    return country == null ? Optional.empty() : country.name();
   }
 
   /**
    * Convert a country name to ISO 3166-1 alpha-2 country code.
    *
+   * <p>
+   * Matching ignores case, accents and extra whitespace, and also accepts common aliases and
+   * alpha-3 or numeric codes.
+   *
    * @param countryName the country name
    * @return the ISO country code, or empty if not found
    */
   public static Optional<String> getCountryCode(String countryName) {
-    if (countryName == null || countryName.isBlank()) {
-      return Optional.empty();
-    }
-
-    try {
-      for (CountryCode code : CountryCode.values()) {
-        if (code != CountryCode.UNDEFINED
-            && code.getName() != null
-            && code.getName().equalsIgnoreCase(countryName.trim())) {
-          return Optional.of(code.getAlpha2());
-        }
-      }
-      return Optional.empty();
-    } catch (Exception e) {
-      return Optional.empty();
-    }
+    IndexedCountry country = lookup(NAMES, countryName);
+    return country == null ? Optional.empty() : country.alpha2();
   }
 
   /**
    * Normalize a country input to ISO 3166-1 alpha-2 format.
    *
    * <p>
-   * If the input is already a valid country code, returns it normalized. If the
-   * input is a
-   * country name, tries to convert it to a country code.
+   * The input can be an alpha-2, alpha-3 or numeric code, a country name or a
+   * common alias.
    *
    * @param countryInput the country code or name
    * @return normalized ISO country code, or empty if invalid
    */
   public static Optional<String> normalizeCountry(String countryInput) {
-    if (countryInput == null || countryInput.isBlank()) {
-      return Optional.empty();
-    }
-
-    String trimmed = countryInput.trim();
-
-    if (isValidCountryCode(trimmed)) {
-      return Optional.of(trimmed.toUpperCase());
-    }
-
-    return getCountryCode(trimmed);
+    return getCountryCode(countryInput);
   }
 
   /**
@@ -126,17 +159,33 @@ public final class CountryCodeUtil {
    * @return true if they represent the same country
    */
   public static boolean isSameCountry(String countryCode, String expectedCode) {
-    if (countryCode == null || expectedCode == null) {
-      return false;
-    }
+    IndexedCountry country = lookup(NAMES, countryCode);
+    return country != null && country == lookup(NAMES, expectedCode);
+  }
 
-    Optional<String> normalized1 = normalizeCountry(countryCode);
-    Optional<String> normalized2 = normalizeCountry(expectedCode);
+  /** Probes the index with the input as given, then with its folded form. */
+  private static IndexedCountry lookup(Map<String, IndexedCountry> index, String input) {
+    if (input == null || input.isBlank()) {
+      return null;
+    }
+    IndexedCountry country = index.get(input);
+    return country != null ? country : index.get(fold(input));
+  }
 
-    if (normalized1.isEmpty() || normalized2.isEmpty()) {
-      return false;
+  /** Indexes a key under its folded form and its canonical spellings. */
+  private static void index(Map<String, IndexedCountry> index, String key, IndexedCountry country) {
+    if (key == null) {
+      return;
     }
+    index.putIfAbsent(fold(key), country);
+    index.putIfAbsent(key, country);
+    index.putIfAbsent(key.toUpperCase(Locale.ROOT), country);
+  }
 
-    return normalized1.get().equalsIgnoreCase(normalized2.get());
+  /** Lower-cases the input, strips accents and collapses whitespace. */
+  private static String fold(String input) {
+    String decomposed = Normalizer.normalize(input.strip(), Normalizer.Form.NFD);
+    String unaccented = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    return WHITESPACE.matcher(unaccented).replaceAll(" ").toLowerCase(Locale.ROOT);
   }
 }
@@ -0,0 +1,36 @@
+package me.clementino.holiday.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MongoCommandMetrics Tests")
+@Tag("unit")
+class MongoCommandMetricsTest {
+
+  @Test
+  @DisplayName("Should count the documents of a cursor reply batch")
+  void shouldCountCursorBatches() {
+    assertThat(
+            MongoCommandMetrics.documents(
+                BsonDocument.parse("{cursor: {id: 0, ns: 'db.holidays', firstBatch: [{}, {}, {}]}, ok: 1}")))
+        .isEqualTo(3);
+    assertThat(
+            MongoCommandMetrics.documents(
+                BsonDocument.parse("{cursor: {id: 0, ns: 'db.holidays', nextBatch: [{}]}, ok: 1}")))
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should count affected documents of writes and the document of findAndModify")
+  void shouldCountWritesAndFindAndModify() {
+    assertThat(MongoCommandMetrics.documents(BsonDocument.parse("{n: 42, ok: 1}"))).isEqualTo(42);
+    assertThat(MongoCommandMetrics.documents(BsonDocument.parse("{value: {_id: 'holidays'}, ok: 1}")))
+        .isEqualTo(1);
+    assertThat(MongoCommandMetrics.documents(BsonDocument.parse("{value: null, ok: 1}"))).isZero();
+    assertThat(MongoCommandMetrics.documents(BsonDocument.parse("{ok: 1}"))).isZero();
+  }
+}
@@ -0,0 +1,50 @@
+package me.clementino.holiday.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.connection.ConnectionPoolSettings;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MongoConfig Tests")
+@Tag("unit")
+class MongoConfigTest {
+
+  private final MongoConfig config = new MongoConfig();
+
+  @Test
+  @DisplayName("Should apply pool size and wait limits over the connection string")
+  void shouldApplyPoolSettings() {
+    MongoClientSettings.Builder builder =
+        MongoClientSettings.builder()
+            .applyConnectionString(
+                new ConnectionString("mongodb://localhost:27017/holiday-api?maxPoolSize=5"));
+
+    config
+        .connectionPoolCustomizer(200, 20, 16, Duration.ofMillis(500), Duration.ofMinutes(1))
+        .customize(builder);
+
+    ConnectionPoolSettings pool = builder.build().getConnectionPoolSettings();
+    assertThat(pool.getMaxSize()).isEqualTo(200);
+    assertThat(pool.getMinSize()).isEqualTo(20);
+    assertThat(pool.getMaxConnecting()).isEqualTo(16);
+    assertThat(pool.getMaxWaitTime(TimeUnit.MILLISECONDS)).isEqualTo(500);
+    assertThat(pool.getMaxConnectionIdleTime(TimeUnit.SECONDS)).isEqualTo(60);
+  }
+
+  @Test
+  @DisplayName("Should reject a minimum pool size above the maximum")
+  void shouldRejectMinSizeAboveMaxSize() {
+    assertThatThrownBy(
+            () ->
+                config.connectionPoolCustomizer(
+                    10, 20, 2, Duration.ofSeconds(2), Duration.ofMinutes(5)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
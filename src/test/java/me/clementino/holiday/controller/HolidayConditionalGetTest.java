@@ -0,0 +1,124 @@
+package me.clementino.holiday.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.repository.HolidayChangeTracker;
+import me.clementino.holiday.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers
+@Tag("integration")
+@DisplayName("Conditional GET Tests")
+class HolidayConditionalGetTest {
+
+  @Container
+  static MongoDBContainer mongoDBContainer =
+      new MongoDBContainer("mongo:8").withExposedPorts(27017);
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+  }
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private HolidayRepository holidayRepository;
+
+  @Autowired private HolidayChangeTracker changeTracker;
+
+  @BeforeEach
+  void setUp() {
+    holidayRepository.deleteAll();
+    holidayRepository.save(
+        holiday("christmas", "Christmas Day", LocalDate.of(2024, Month.DECEMBER, 25)));
+    changeTracker.changed();
+  }
+
+  private static HolidayEntity holiday(String id, String name, LocalDate date) {
+    HolidayEntity entity = new HolidayEntity(name, name, date, "BR", HolidayType.NATIONAL);
+    entity.setId(id);
+    entity.setLocalities(List.of(new LocalityEntity("BR", "Brazil")));
+    return entity;
+  }
+
+  private String etagOf(String uri) throws Exception {
+    String etag = mockMvc.perform(get(uri))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.CACHE_CONTROL))
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+    assertThat(etag).isNotBlank().startsWith("\"").endsWith("\"");
+    return etag;
+  }
+
+  @Test
+  @DisplayName("Should answer an unchanged listing with 304 Not Modified")
+  void shouldAnswerUnchangedListingWithNotModified() throws Exception {
+    String etag = etagOf("/api/holidays?country=BR");
+
+    mockMvc.perform(get("/api/holidays?country=BR").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, etag));
+  }
+
+  @Test
+  @DisplayName("Should change the listing ETag after a write")
+  void shouldChangeListingEtagAfterWrite() throws Exception {
+    String etag = etagOf("/api/holidays?country=BR");
+
+    holidayRepository.save(
+        holiday("tiradentes", "Tiradentes", LocalDate.of(2024, Month.APRIL, 21)));
+    changeTracker.changed();
+
+    mockMvc.perform(get("/api/holidays?country=BR").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk());
+    assertThat(etagOf("/api/holidays?country=BR")).isNotEqualTo(etag);
+  }
+
+  @Test
+  @DisplayName("Should validate pages with the same change token")
+  void shouldValidatePages() throws Exception {
+    String etag = etagOf("/api/holidays?limit=10");
+
+    mockMvc.perform(get("/api/holidays?limit=10").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  @DisplayName("Should answer an unchanged holiday with 304 Not Modified")
+  void shouldAnswerUnchangedHolidayWithNotModified() throws Exception {
+    String etag = etagOf("/api/holidays/christmas");
+
+    mockMvc.perform(get("/api/holidays/christmas").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+    mockMvc.perform(get("/api/holidays/christmas").header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+        .andExpect(status().isOk());
+  }
+}
@@ -0,0 +1,75 @@
+package me.clementino.holiday.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/** The API answers 503 when MongoDB cannot be reached, instead of a misleading 404 or 400. */
+@SpringBootTest(
+    properties = {
+      "spring.data.mongodb.uri=mongodb://localhost:1/holiday_test?serverSelectionTimeoutMS=200",
+      "spring.data.mongodb.auto-index-creation=false"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("integration")
+@DisplayName("Database Unavailable Tests")
+class HolidayDatabaseUnavailableTest {
+
+  private static final String CHRISTMAS = """
+      {"type": "Fixed", "name": "Christmas", "description": "Christmas", "day": 25, \
+      "month": "DECEMBER", "localities": [{"localityType": "Country", "code": "BR", \
+      "name": "Brazil"}], "holidayType": "NATIONAL"}
+      """;
+
+  @Autowired private MockMvc mockMvc;
+
+  private static void assertUnavailable(ResultActions result) throws Exception {
+    result
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+  }
+
+  @Test
+  @DisplayName("Should answer 503 when getting a holiday by id")
+  void shouldNotReportUnreachableDatabaseAsNotFound() throws Exception {
+    assertUnavailable(mockMvc.perform(get("/api/holidays/christmas")));
+  }
+
+  @Test
+  @DisplayName("Should answer 503 when creating a holiday")
+  void shouldNotReportUnreachableDatabaseAsBadRequestOnCreate() throws Exception {
+    assertUnavailable(mockMvc.perform(
+        post("/api/holidays").contentType(MediaType.APPLICATION_JSON).content(CHRISTMAS)));
+  }
+
+  @Test
+  @DisplayName("Should answer 503 when updating a holiday")
+  void shouldNotReportUnreachableDatabaseAsBadRequestOnUpdate() throws Exception {
+    assertUnavailable(mockMvc.perform(
+        put("/api/holidays/christmas")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"name\": \"Christmas Day\"}")));
+  }
+
+  @Test
+  @DisplayName("Should answer 503 when deleting a holiday")
+  void shouldNotReportUnreachableDatabaseAsNotFoundOnDelete() throws Exception {
+    assertUnavailable(mockMvc.perform(delete("/api/holidays/christmas")));
+  }
+}
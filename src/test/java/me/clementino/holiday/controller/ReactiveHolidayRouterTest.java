@@ -0,0 +1,172 @@
+package me.clementino.holiday.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.dto.HolidayResponseDTO;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", "reactive"})
+@Testcontainers
+@Tag("integration")
+@DisplayName("Reactive holiday routes Tests")
+class ReactiveHolidayRouterTest {
+
+  @Container
+  static MongoDBContainer mongoDBContainer =
+      new MongoDBContainer("mongo:8").withExposedPorts(27017);
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+  }
+
+  @Autowired private WebTestClient webTestClient;
+
+  @Autowired private HolidayRepository holidayRepository;
+
+  @BeforeEach
+  void setUp() {
+    holidayRepository.deleteAll();
+    holidayRepository.saveAll(
+        List.of(
+            holiday("christmas", "Christmas Day", LocalDate.of(2024, Month.DECEMBER, 25), "BR"),
+            holiday("tiradentes", "Tiradentes", LocalDate.of(2024, Month.APRIL, 21), "BR"),
+            holiday("independence", "Independence Day", LocalDate.of(2024, Month.JULY, 4), "US")));
+  }
+
+  private static HolidayEntity holiday(String id, String name, LocalDate date, String country) {
+    HolidayEntity entity = new HolidayEntity(name, name, date, country, HolidayType.NATIONAL);
+    entity.setId(id);
+    entity.setLocalities(List.of(new LocalityEntity(country, country)));
+    return entity;
+  }
+
+  @Test
+  @DisplayName("Should list filtered holidays as a JSON array")
+  void shouldListFilteredHolidays() {
+    webTestClient
+        .get()
+        .uri("/api/holidays?country=BR&type=national")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+        .expectBodyList(HolidayResponseDTO.class)
+        .value(
+            holidays ->
+                assertThat(holidays)
+                    .extracting(HolidayResponseDTO::name)
+                    .containsExactlyInAnyOrder("Christmas Day", "Tiradentes"));
+  }
+
+  @Test
+  @DisplayName("Should stream holidays as NDJSON on demand")
+  void shouldStreamHolidaysAsNdjson() {
+    Flux<HolidayResponseDTO> holidays =
+        webTestClient
+            .get()
+            .uri("/api/holidays")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(HolidayResponseDTO.class)
+            .getResponseBody();
+
+    StepVerifier.create(holidays, 1)
+        .expectNextCount(1)
+        .thenRequest(2)
+        .expectNextCount(2)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("Should return a holiday by id or 404")
+  void shouldGetHolidayById() {
+    webTestClient
+        .get()
+        .uri("/api/holidays/{id}", "christmas")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(HolidayResponseDTO.class)
+        .value(holiday -> assertThat(holiday.name()).isEqualTo("Christmas Day"));
+
+    webTestClient.get().uri("/api/holidays/{id}", "missing").exchange().expectStatus().isNotFound();
+  }
+
+  @Test
+  @DisplayName("Should expand occurrences in date order")
+  void shouldExpandOccurrences() {
+    webTestClient
+        .get()
+        .uri("/api/holidays/occurrences?country=BR&from=2025-01-01&to=2026-12-31")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBodyList(HolidayResponseDTO.class)
+        .value(
+            occurrences ->
+                assertThat(occurrences)
+                    .extracting(HolidayResponseDTO::name)
+                    .containsExactly("Tiradentes", "Christmas Day", "Tiradentes", "Christmas Day"));
+  }
+
+  @Test
+  @DisplayName("Should reject invalid parameters")
+  void shouldRejectInvalidParameters() {
+    webTestClient.get().uri("/api/holidays?type=UNKNOWN").exchange().expectStatus().isBadRequest();
+    webTestClient
+        .get()
+        .uri("/api/holidays?startDate=not-a-date")
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+    webTestClient
+        .get()
+        .uri("/api/holidays/occurrences?country=BR&from=2026-01-01&to=2025-01-01")
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+    webTestClient
+        .get()
+        .uri("/api/holidays/occurrences?country=BR&from=2026-01-01")
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+    webTestClient
+        .get()
+        .uri("/api/holidays/occurrences?country=&from=2025-01-01&to=2026-12-31")
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+  }
+}
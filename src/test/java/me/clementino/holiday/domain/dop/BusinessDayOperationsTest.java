@@ -0,0 +1,104 @@
+package me.clementino.holiday.domain.dop;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests the non-working day bitset operations against a day-by-day reference. */
+@DisplayName("BusinessDayOperations Tests")
+@Tag("unit")
+class BusinessDayOperationsTest {
+
+  private static final List<LocalDate> BRAZIL_2024 =
+      List.of(
+          LocalDate.of(2024, Month.JANUARY, 1),
+          LocalDate.of(2024, Month.MARCH, 29),
+          LocalDate.of(2024, Month.APRIL, 21),
+          LocalDate.of(2024, Month.MAY, 1),
+          LocalDate.of(2024, Month.SEPTEMBER, 7),
+          LocalDate.of(2024, Month.OCTOBER, 12),
+          LocalDate.of(2024, Month.NOVEMBER, 2),
+          LocalDate.of(2024, Month.NOVEMBER, 15),
+          LocalDate.of(2024, Month.DECEMBER, 25),
+          LocalDate.of(2025, Month.JANUARY, 1));
+
+  private final long[] bits = BusinessDayOperations.nonWorkingDays(2024, BRAZIL_2024);
+
+  private static boolean isBusinessDayReference(LocalDate date) {
+    return switch (date.getDayOfWeek()) {
+      case SATURDAY, SUNDAY -> false;
+      default -> !BRAZIL_2024.contains(date);
+    };
+  }
+
+  @Test
+  @DisplayName("Should mark weekends and in-year holidays as non-working days")
+  void shouldMarkWeekendsAndHolidays() {
+    for (int index = 0; index < 366; index++) {
+      LocalDate date = LocalDate.ofYearDay(2024, index + 1);
+      assertEquals(
+          isBusinessDayReference(date),
+          BusinessDayOperations.isBusinessDay(bits, index),
+          date.toString());
+    }
+  }
+
+  @Test
+  @DisplayName("Should count business days like a day-by-day scan")
+  void shouldCountBusinessDays() {
+    assertEquals(262 - 5, BusinessDayOperations.countBusinessDays(bits, 0, 366));
+
+    for (int from = 0; from < 366; from += 13) {
+      for (int to = from; to <= 366; to += 7) {
+        int expected = 0;
+        for (int index = from; index < to; index++) {
+          if (isBusinessDayReference(LocalDate.ofYearDay(2024, index + 1))) {
+            expected++;
+          }
+        }
+        assertEquals(expected, BusinessDayOperations.countBusinessDays(bits, from, to));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should find the n-th business day forward and backward")
+  void shouldFindNthBusinessDay() {
+    for (int from = 0; from < 366; from += 11) {
+      for (int n = 1; n <= 40; n += 3) {
+        assertEquals(referenceForward(from, n), BusinessDayOperations.nthBusinessDayForward(bits, from, 366, n));
+        assertEquals(referenceBackward(from, n), BusinessDayOperations.nthBusinessDayBackward(bits, from, n));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should return -1 when the range holds fewer business days than requested")
+  void shouldReturnMinusOneWhenNotEnoughBusinessDays() {
+    assertEquals(-1, BusinessDayOperations.nthBusinessDayForward(bits, 360, 366, 10));
+    assertEquals(-1, BusinessDayOperations.nthBusinessDayBackward(bits, 5, 10));
+  }
+
+  private static int referenceForward(int from, int n) {
+    for (int index = from; index < 366; index++) {
+      if (isBusinessDayReference(LocalDate.ofYearDay(2024, index + 1)) && --n == 0) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private static int referenceBackward(int from, int n) {
+    for (int index = from; index >= 0; index--) {
+      if (isBusinessDayReference(LocalDate.ofYearDay(2024, index + 1)) && --n == 0) {
+        return index;
+      }
+    }
+    return -1;
+  }
+}
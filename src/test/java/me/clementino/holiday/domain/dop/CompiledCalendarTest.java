@@ -0,0 +1,133 @@
+package me.clementino.holiday.domain.dop;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CompiledCalendar Tests")
+@Tag("unit")
+class CompiledCalendarTest {
+
+  private static final List<Locality> BRAZIL = List.of(Locality.brazil());
+
+  private record Occurrence(String name, LocalDate date, LocalDate observed) {
+  }
+
+  private static final List<Occurrence> OCCURRENCES =
+      List.of(
+          new Occurrence("Christmas", LocalDate.of(2024, Month.DECEMBER, 25), null),
+          new Occurrence("Tiradentes", LocalDate.of(2024, Month.APRIL, 21), LocalDate.of(2024, Month.APRIL, 22)),
+          new Occurrence("Labour Day", LocalDate.of(2024, Month.MAY, 1), null),
+          new Occurrence("Workers' Day", LocalDate.of(2024, Month.MAY, 1), null),
+          new Occurrence("New Year's Eve", LocalDate.of(2023, Month.DECEMBER, 31), LocalDate.of(2024, Month.JANUARY, 1)),
+          new Occurrence("Last Year", LocalDate.of(2023, Month.JUNE, 1), null));
+
+  private final CompiledCalendar<Occurrence> calendar =
+      CompiledCalendar.compile(2024, OCCURRENCES, Occurrence::date, Occurrence::observed);
+
+  private static List<String> names(CompiledCalendar<Occurrence> calendar, int start, int end) {
+    var names = new ArrayList<String>();
+    for (int position = start; position < end; position++) {
+      names.add(calendar.holiday(position).name());
+    }
+    return names;
+  }
+
+  @Test
+  @DisplayName("Should keep only entries in the year, sorted by date")
+  void shouldSortEntriesOfTheYear() {
+    assertThat(calendar.size()).isEqualTo(6);
+    assertThat(calendar.holidays()).extracting(Occurrence::name).doesNotContain("Last Year");
+    for (int position = 1; position < calendar.size(); position++) {
+      assertThat(calendar.epochDay(position)).isGreaterThanOrEqualTo(calendar.epochDay(position - 1));
+    }
+    assertThat(calendar.date(0)).isEqualTo(LocalDate.of(2024, Month.JANUARY, 1));
+    assertThat(calendar.holiday(0).name()).isEqualTo("New Year's Eve");
+  }
+
+  @Test
+  @DisplayName("Should tell holidays from observed days off")
+  void shouldTellHolidaysFromObservedDays() {
+    LocalDate tiradentes = LocalDate.of(2024, Month.APRIL, 21);
+    LocalDate observedTiradentes = LocalDate.of(2024, Month.APRIL, 22);
+
+    assertThat(calendar.isHoliday(tiradentes)).isTrue();
+    assertThat(calendar.isObserved(tiradentes)).isFalse();
+    assertThat(calendar.isHoliday(observedTiradentes)).isTrue();
+    assertThat(calendar.isObserved(observedTiradentes)).isTrue();
+    assertThat(calendar.isHoliday(LocalDate.of(2024, Month.APRIL, 23))).isFalse();
+    assertThat(calendar.observedDates())
+        .containsExactly(
+            LocalDate.of(2024, Month.JANUARY, 1),
+            observedTiradentes,
+            LocalDate.of(2024, Month.MAY, 1),
+            LocalDate.of(2024, Month.DECEMBER, 25));
+  }
+
+  @Test
+  @DisplayName("Should find the next holiday on or after a date")
+  void shouldFindNextHoliday() {
+    int sameDay = calendar.nextHoliday(LocalDate.of(2024, Month.MAY, 1));
+    assertThat(calendar.holiday(sameDay).name()).isIn("Labour Day", "Workers' Day");
+
+    int next = calendar.nextHoliday(LocalDate.of(2024, Month.MAY, 2));
+    assertThat(calendar.holiday(next).name()).isEqualTo("Christmas");
+
+    assertThat(calendar.nextHoliday(LocalDate.of(2024, Month.DECEMBER, 26))).isEqualTo(-1);
+  }
+
+  @Test
+  @DisplayName("Should slice the entries of a date range, both ends inclusive")
+  void shouldSliceRange() {
+    LocalDate from = LocalDate.of(2024, Month.APRIL, 22);
+    LocalDate to = LocalDate.of(2024, Month.MAY, 1);
+
+    assertThat(names(calendar, calendar.startOf(from), calendar.endOf(to)))
+        .containsExactlyInAnyOrder("Tiradentes", "Labour Day", "Workers' Day");
+    assertThat(calendar.startOf(to.plusDays(1))).isEqualTo(calendar.endOf(to));
+    assertThat(names(calendar, calendar.startOf(to), calendar.endOf(to))).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("Should use the observed date of DOP observed holidays")
+  void shouldCompileDopHolidays() {
+    var christmas =
+        new FixedHoliday(
+            "Christmas", "Christmas Day", LocalDate.of(2022, Month.DECEMBER, 25), 25, Month.DECEMBER,
+            BRAZIL, HolidayType.NATIONAL);
+    var boxingDay =
+        new ObservedHoliday(
+            "Boxing Day", "Boxing Day", LocalDate.of(2022, Month.DECEMBER, 26), BRAZIL,
+            HolidayType.NATIONAL, LocalDate.of(2022, Month.DECEMBER, 27), true);
+
+    CompiledCalendar<Holiday> compiled = CompiledCalendar.of(2022, List.of(christmas, boxingDay));
+
+    assertThat(compiled.size()).isEqualTo(3);
+    assertThat(compiled.isObserved(LocalDate.of(2022, Month.DECEMBER, 25))).isTrue();
+    assertThat(compiled.isObserved(LocalDate.of(2022, Month.DECEMBER, 26))).isFalse();
+    assertThat(compiled.isObserved(LocalDate.of(2022, Month.DECEMBER, 27))).isTrue();
+    assertThat(compiled.holiday(compiled.nextHoliday(LocalDate.of(2022, Month.DECEMBER, 27))))
+        .isEqualTo(boxingDay);
+  }
+
+  @Test
+  @DisplayName("Should handle empty calendars and reject invalid years")
+  void shouldHandleEdgeCases() {
+    CompiledCalendar<Occurrence> empty =
+        CompiledCalendar.compile(2024, List.of(), Occurrence::date, Occurrence::observed);
+
+    assertThat(empty.size()).isZero();
+    assertThat(empty.isHoliday(LocalDate.of(2024, Month.JANUARY, 1))).isFalse();
+    assertThat(empty.nextHoliday(LocalDate.of(2024, Month.JANUARY, 1))).isEqualTo(-1);
+    assertThatThrownBy(
+            () -> CompiledCalendar.compile(0, OCCURRENCES, Occurrence::date, Occurrence::observed))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,133 @@
+package me.clementino.holiday.domain.dop;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests that evaluating a graph gives the same holidays as {@link HolidayOperations}. */
+@DisplayName("HolidayCalendarGraph Tests")
+@Tag("unit")
+class HolidayCalendarGraphTest {
+
+  private static final List<Locality> BRAZIL = List.of(Locality.country("BR", "Brazil"));
+
+  private static final MoveableHoliday EASTER =
+      new MoveableHoliday(
+          "Easter",
+          "Christian celebration",
+          LocalDate.of(2023, Month.APRIL, 9),
+          BRAZIL,
+          HolidayType.RELIGIOUS,
+          KnownHoliday.EASTER,
+          false);
+
+  private static final MoveableFromBaseHoliday GOOD_FRIDAY =
+      derived("Good Friday", KnownHoliday.GOOD_FRIDAY, EASTER, -2, false);
+
+  private static final MoveableFromBaseHoliday PALM_SUNDAY =
+      derived("Palm Sunday", KnownHoliday.PALM_SUNDAY, EASTER, -7, true);
+
+  private static final FixedHoliday CHRISTMAS =
+      new FixedHoliday(
+          "Christmas Day",
+          "Christian celebration",
+          LocalDate.of(2023, Month.DECEMBER, 25),
+          25,
+          Month.DECEMBER,
+          BRAZIL,
+          HolidayType.RELIGIOUS);
+
+  private static final ObservedHoliday NEW_YEAR =
+      new ObservedHoliday(
+          "New Year's Day",
+          "First day of the year",
+          LocalDate.of(2023, Month.JANUARY, 1),
+          BRAZIL,
+          HolidayType.NATIONAL,
+          LocalDate.of(2023, Month.JANUARY, 2),
+          true);
+
+  private final HolidayOperations holidayOperations = new HolidayOperations();
+
+  private static MoveableFromBaseHoliday derived(
+      String name, KnownHoliday knownHoliday, Holiday base, int offset, boolean mondayisation) {
+    return new MoveableFromBaseHoliday(
+        name,
+        name + " description",
+        LocalDate.of(2023, Month.JANUARY, 1),
+        BRAZIL,
+        HolidayType.RELIGIOUS,
+        knownHoliday,
+        base,
+        offset,
+        mondayisation);
+  }
+
+  @Test
+  @DisplayName("Should evaluate every holiday like calculateObservedDate, in the given order")
+  void shouldMatchCalculateObservedDate() {
+    List<Holiday> holidays = List.of(PALM_SUNDAY, CHRISTMAS, GOOD_FRIDAY, NEW_YEAR, EASTER);
+    var graph = HolidayCalendarGraph.of(holidays);
+
+    for (int year = 1900; year <= 2100; year++) {
+      List<Holiday> evaluated = graph.evaluate(year);
+
+      assertEquals(holidays.size(), evaluated.size());
+      for (int index = 0; index < holidays.size(); index++) {
+        assertEquals(
+            holidayOperations.calculateObservedDate(holidays.get(index), year),
+            evaluated.get(index),
+            holidays.get(index).name() + " in " + year);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should register a shared base holiday once, even when it is not given")
+  void shouldShareBaseHolidays() {
+    var graph = HolidayCalendarGraph.of(List.of(GOOD_FRIDAY, PALM_SUNDAY, GOOD_FRIDAY));
+
+    assertEquals(3, graph.size());
+    List<Holiday> evaluated = graph.evaluate(2025);
+    assertEquals(LocalDate.of(2025, Month.APRIL, 18), evaluated.get(0).date());
+    assertEquals(LocalDate.of(2025, Month.APRIL, 13), evaluated.get(1).date());
+    assertEquals(
+        LocalDate.of(2025, Month.APRIL, 14), ((ObservedHoliday) evaluated.get(1)).observed());
+    assertEquals(evaluated.get(0), evaluated.get(2));
+  }
+
+  @Test
+  @DisplayName("Should evaluate long derivation chains in a single pass")
+  void shouldEvaluateLongChains() {
+    var chain = new ArrayList<Holiday>();
+    Holiday base = EASTER;
+    for (int depth = 1; depth <= 1_000; depth++) {
+      base = derived("Day " + depth, KnownHoliday.EASTER_MONDAY, base, 1, false);
+      chain.add(base);
+    }
+    var graph = HolidayCalendarGraph.of(List.of(base));
+
+    assertEquals(1_001, graph.size());
+    assertEquals(
+        LocalDate.of(2025, Month.APRIL, 20).plusDays(1_000), graph.evaluate(2025).getFirst().date());
+    assertEquals(chain.size() + 1, HolidayCalendarGraph.of(chain).size());
+  }
+
+  @Test
+  @DisplayName("Should reject years before year 1 and null holidays")
+  void shouldRejectInvalidInput() {
+    var graph = HolidayCalendarGraph.of(List.of(CHRISTMAS));
+
+    assertThrows(IllegalArgumentException.class, () -> graph.evaluate(0));
+    assertThrows(NullPointerException.class, () -> HolidayCalendarGraph.of(null));
+    assertThrows(
+        NullPointerException.class, () -> HolidayCalendarGraph.of(Arrays.asList(EASTER, null)));
+  }
+}
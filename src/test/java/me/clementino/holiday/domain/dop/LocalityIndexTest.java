@@ -0,0 +1,117 @@
+package me.clementino.holiday.domain.dop;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests that the locality index returns the same holidays as {@link HolidayOperations#appliesTo}. */
+@DisplayName("LocalityIndex Tests")
+@Tag("unit")
+class LocalityIndexTest {
+
+  private static final Locality.Country BRAZIL = Locality.brazil();
+  private static final Locality.Subdivision SAO_PAULO_STATE = Locality.saoPauloState();
+  private static final Locality.City SAO_PAULO_CITY = Locality.saoPauloCity();
+  private static final Locality.Subdivision RIO_STATE =
+      new Locality.Subdivision(BRAZIL, "RJ", "Rio de Janeiro");
+  private static final Locality.City CAMPINAS =
+      new Locality.City("Campinas", SAO_PAULO_STATE, BRAZIL);
+
+  private static FixedHoliday holiday(String name, Month month, int day, Locality... localities) {
+    return new FixedHoliday(
+        name,
+        name,
+        LocalDate.of(2025, month, day),
+        day,
+        month,
+        List.of(localities),
+        HolidayType.NATIONAL);
+  }
+
+  private static final FixedHoliday CHRISTMAS = holiday("Christmas", Month.DECEMBER, 25, BRAZIL);
+  private static final FixedHoliday REVOLUTION =
+      holiday("Constitutionalist Revolution", Month.JULY, 9, SAO_PAULO_STATE);
+  private static final FixedHoliday CITY_ANNIVERSARY =
+      holiday("São Paulo Anniversary", Month.JANUARY, 25, SAO_PAULO_CITY);
+  private static final FixedHoliday SAINT_GEORGE = holiday("Saint George", Month.APRIL, 23, RIO_STATE);
+  private static final FixedHoliday INDEPENDENCE_US =
+      holiday("Independence Day", Month.JULY, 4, Locality.unitedStates());
+  private static final FixedHoliday BLACK_CONSCIOUSNESS =
+      holiday("Black Consciousness", Month.NOVEMBER, 20, SAO_PAULO_STATE, RIO_STATE, BRAZIL);
+
+  private static final List<Holiday> HOLIDAYS =
+      List.of(CHRISTMAS, REVOLUTION, CITY_ANNIVERSARY, SAINT_GEORGE, INDEPENDENCE_US, BLACK_CONSCIOUSNESS);
+
+  private final LocalityIndex<Holiday> index = LocalityIndex.of(HOLIDAYS);
+
+  @Test
+  @DisplayName("Should include inherited national and state holidays for a city")
+  void shouldIncludeInheritedHolidaysForCity() {
+    assertEquals(
+        List.of(CHRISTMAS, BLACK_CONSCIOUSNESS, REVOLUTION, CITY_ANNIVERSARY),
+        index.holidaysApplyingTo(SAO_PAULO_CITY));
+    assertEquals(
+        List.of(CHRISTMAS, BLACK_CONSCIOUSNESS, REVOLUTION), index.holidaysApplyingTo(CAMPINAS));
+  }
+
+  @Test
+  @DisplayName("Should only include national holidays for a country")
+  void shouldOnlyIncludeNationalHolidaysForCountry() {
+    assertEquals(List.of(CHRISTMAS, BLACK_CONSCIOUSNESS), index.holidaysApplyingTo(BRAZIL));
+    assertEquals(List.of(), index.holidaysApplyingTo(Locality.canada()));
+  }
+
+  @Test
+  @DisplayName("Should agree with appliesTo for every locality")
+  void shouldAgreeWithAppliesTo() {
+    List<Locality> targets =
+        List.of(
+            BRAZIL, SAO_PAULO_STATE, SAO_PAULO_CITY, RIO_STATE, CAMPINAS,
+            Locality.unitedStates(), Locality.california(), Locality.canada());
+
+    Map<Locality, List<Holiday>> result = index.holidaysApplyingTo(targets);
+
+    for (Locality target : targets) {
+      var expected =
+          HOLIDAYS.stream().filter(h -> HolidayOperations.appliesTo(h, target)).toList();
+      assertEquals(
+          expected.size(), result.get(target).size(), "Holidays applying to " + target);
+      assertTrue(result.get(target).containsAll(expected), "Holidays applying to " + target);
+    }
+  }
+
+  @Test
+  @DisplayName("Should look up holidays indexed by locality codes from a location")
+  void shouldLookUpByLocation() {
+    var national = new LocalityIndex.Path("BR", null, null);
+    var state = new LocalityIndex.Path("BR", "SP", null);
+    var city = new LocalityIndex.Path("BR", "SP", "Campinas");
+    var cityWithoutState = new LocalityIndex.Path("BR", null, "Santos");
+    Map<String, List<LocalityIndex.Path>> paths =
+        Map.of(
+            "Christmas", List.of(national),
+            "Revolution", List.of(state),
+            "Campinas Anniversary", List.of(city),
+            "Santos Anniversary", List.of(cityWithoutState));
+    LocalityIndex<String> stored =
+        LocalityIndex.of(
+            List.of("Christmas", "Revolution", "Campinas Anniversary", "Santos Anniversary"),
+            paths::get);
+
+    assertEquals(
+        List.of("Christmas", "Revolution", "Campinas Anniversary"),
+        stored.holidaysApplyingTo(new Location("BR", "SP", "Campinas")));
+    assertEquals(
+        List.of("Christmas", "Revolution", "Santos Anniversary"),
+        stored.holidaysApplyingTo(new Location("BR", "SP", "Santos")));
+    assertEquals(List.of("Christmas"), stored.holidaysApplyingTo(new Location("BR", null, "Campinas")));
+    assertEquals(List.of("Christmas"), stored.holidaysApplyingTo(new Location("BR")));
+    assertEquals(List.of(), stored.holidaysApplyingTo(new Location("US", "SP", "Campinas")));
+  }
+}
@@ -0,0 +1,77 @@
+package me.clementino.holiday.domain.dop;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests that the precomputed moveable feast table agrees with the rule calculations. */
+@DisplayName("MoveableFeastTable Tests")
+@Tag("unit")
+class MoveableFeastTableTest {
+
+  private final HolidayOperations holidayOperations = new HolidayOperations();
+
+  @Test
+  @DisplayName("Table should match the rule calculation for every moveable holiday and year")
+  void tableShouldMatchRuleForWholeWindow() {
+    for (KnownHoliday rule : KnownHoliday.values()) {
+      if (!rule.isMoveable()) {
+        assertFalse(MoveableFeastTable.covers(rule, 2025), rule + " should not be covered");
+        continue;
+      }
+      for (int year = MoveableFeastTable.FIRST_YEAR; year <= MoveableFeastTable.LAST_YEAR; year++) {
+        assertEquals(
+            HolidayOperations.calculateMoveableRule(rule, year),
+            MoveableFeastTable.date(rule, year),
+            rule + " in " + year);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Table should only cover years inside the supported window")
+  void tableShouldOnlyCoverSupportedWindow() {
+    assertTrue(MoveableFeastTable.covers(KnownHoliday.EASTER, MoveableFeastTable.FIRST_YEAR));
+    assertTrue(MoveableFeastTable.covers(KnownHoliday.EASTER, MoveableFeastTable.LAST_YEAR));
+    assertFalse(MoveableFeastTable.covers(KnownHoliday.EASTER, MoveableFeastTable.FIRST_YEAR - 1));
+    assertFalse(MoveableFeastTable.covers(KnownHoliday.EASTER, MoveableFeastTable.LAST_YEAR + 1));
+  }
+
+  @Test
+  @DisplayName("HolidayOperations should fall back to the rule outside the table window")
+  void shouldFallBackToRuleOutsideWindow() {
+    var easter =
+        new MoveableHoliday(
+            "Easter",
+            "Christian celebration",
+            LocalDate.of(2025, Month.APRIL, 20),
+            List.of(Locality.country("BR", "Brazil")),
+            HolidayType.RELIGIOUS,
+            KnownHoliday.EASTER,
+            false);
+
+    assertEquals(
+        HolidayOperations.calculateEaster(5000), holidayOperations.getDateOnly(easter, 5000));
+    assertEquals(
+        LocalDate.of(2025, Month.APRIL, 20), holidayOperations.getDateOnly(easter, 2025));
+  }
+
+  @Test
+  @DisplayName("Derived known holidays should be offset from their base holiday")
+  void derivedRulesShouldBeOffsetFromBase() {
+    assertEquals(
+        LocalDate.of(2025, Month.APRIL, 18),
+        MoveableFeastTable.date(KnownHoliday.GOOD_FRIDAY, 2025));
+    assertEquals(
+        LocalDate.of(2025, Month.APRIL, 21),
+        MoveableFeastTable.date(KnownHoliday.EASTER_MONDAY, 2025));
+    assertEquals(
+        LocalDate.of(2025, Month.APRIL, 13),
+        MoveableFeastTable.date(KnownHoliday.PALM_SUNDAY, 2025));
+  }
+}
@@ -0,0 +1,224 @@
+package me.clementino.holiday.domain.oop;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import me.clementino.holiday.domain.dop.HolidayType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("YearMemo Tests")
+@Tag("unit")
+class YearMemoTest {
+
+  private static final int THREADS = 8;
+  private static final int ITERATIONS = 200_000;
+
+  private static YearMemo.Resolution resolution(int year) {
+    LocalDate date = LocalDate.of(year, Month.JANUARY, 1).plusDays(year % 300);
+    return new YearMemo.Resolution(year, date, date.plusDays(1));
+  }
+
+  private static LocalDate mondayised(LocalDate date) {
+    return switch (date.getDayOfWeek()) {
+      case SATURDAY -> date.minusDays(1);
+      case SUNDAY -> date.plusDays(1);
+      default -> date;
+    };
+  }
+
+  /** Runs {@code task(thread)} on {@link #THREADS} threads released at the same instant. */
+  private static void race(ThreadTask task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      var start = new CountDownLatch(1);
+      var futures = new ArrayList<Future<?>>();
+      for (int thread = 0; thread < THREADS; thread++) {
+        int index = thread;
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  task.run(index);
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @FunctionalInterface
+  private interface ThreadTask {
+    void run(int thread) throws Exception;
+  }
+
+  @Nested
+  @DisplayName("Memoization Tests")
+  class MemoizationTests {
+
+    @Test
+    @DisplayName("Should resolve each year once while it stays cached")
+    void shouldResolveEachYearOnce() {
+      var memo = new YearMemo();
+      var calls = new AtomicInteger();
+
+      for (int round = 0; round < 10; round++) {
+        for (int year = 2000; year < 2000 + memo.capacity(); year++) {
+          memo.get(
+              year,
+              y -> {
+                calls.incrementAndGet();
+                return resolution(y);
+              });
+        }
+      }
+
+      assertEquals(YearMemo.DEFAULT_CAPACITY, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should evict only the year sharing the slot")
+    void shouldEvictOnlyCollidingYear() {
+      var memo = new YearMemo(4);
+      var calls = new AtomicInteger();
+      IntFunction<YearMemo.Resolution> counting =
+          year -> {
+            calls.incrementAndGet();
+            return resolution(year);
+          };
+
+      memo.get(2024, counting);
+      memo.get(2025, counting);
+      memo.get(2028, counting);
+      memo.get(2025, counting);
+      memo.get(2024, counting);
+
+      assertEquals(4, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache failed resolutions")
+    void shouldNotCacheFailures() {
+      var memo = new YearMemo();
+
+      assertThrows(
+          IllegalArgumentException.class,
+          () ->
+              memo.get(
+                  2023,
+                  year -> {
+                    throw new IllegalArgumentException("Invalid year");
+                  }));
+      assertEquals(resolution(2023), memo.get(2023, YearMemoTest::resolution));
+    }
+
+    @Test
+    @DisplayName("Should reject capacities that are not powers of two")
+    void shouldRejectInvalidCapacity() {
+      assertThrows(IllegalArgumentException.class, () -> new YearMemo(0));
+      assertThrows(IllegalArgumentException.class, () -> new YearMemo(48));
+    }
+  }
+
+  @Nested
+  @DisplayName("Concurrency Stress Tests")
+  class ConcurrencyStressTests {
+
+    @Test
+    @DisplayName("Should never return a torn or foreign entry under contention")
+    void shouldNeverReturnTornEntries() throws Exception {
+      // 4 slots for 16 years: every read races with writes of colliding years
+      var memo = new YearMemo(4);
+
+      race(
+          thread -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+              int year = 2000 + (i * (thread + 1)) % 16;
+              YearMemo.Resolution resolution = memo.get(year, YearMemoTest::resolution);
+
+              assertEquals(year, resolution.year());
+              assertEquals(resolution(year).date(), resolution.date());
+              assertEquals(resolution.date().plusDays(1), resolution.observed());
+            }
+          });
+    }
+
+    @Test
+    @DisplayName("Should resolve shared holiday chains consistently across threads")
+    void shouldResolveSharedHolidaysConsistently() throws Exception {
+      List<Locality> brazil = List.of(Locality.country("Brazil"));
+      var easter =
+          new MoveableHoliday(
+              "Easter Sunday",
+              "Resurrection of Christ",
+              brazil,
+              HolidayType.RELIGIOUS,
+              MoveableHolidayType.LUNAR_BASED);
+      var goodFriday =
+          new MoveableHoliday(
+              "Good Friday", "Crucifixion of Christ", brazil, HolidayType.RELIGIOUS, easter, -2);
+      var corpusChristi =
+          new MoveableHoliday(
+              "Corpus Christi", "Body of Christ", brazil, HolidayType.RELIGIOUS, easter, 60, true);
+      var christmas =
+          new FixedHoliday(
+              "Christmas", "Birth of Christ", 25, Month.DECEMBER, brazil, HolidayType.RELIGIOUS,
+              true);
+      List<Holiday> shared = List.of(easter, goodFriday, corpusChristi, christmas);
+
+      // Expected dates from private instances, resolved on a single thread
+      var expected = new ConcurrentHashMap<String, LocalDate>();
+      for (int year = 1900; year < 2100; year++) {
+        var privateEaster =
+            new MoveableHoliday(
+                "Easter Sunday",
+                "Resurrection of Christ",
+                brazil,
+                HolidayType.RELIGIOUS,
+                MoveableHolidayType.LUNAR_BASED);
+        LocalDate easterDate = privateEaster.getDate(year);
+        LocalDate christmasDate = LocalDate.of(year, Month.DECEMBER, 25);
+        expected.put("Easter Sunday@" + year, easterDate);
+        expected.put("Good Friday@" + year, easterDate.minusDays(2));
+        expected.put("Corpus Christi@" + year, easterDate.plusDays(60));
+        expected.put("Christmas@" + year, christmasDate);
+      }
+
+      race(
+          thread -> {
+            for (int i = 0; i < ITERATIONS / 10; i++) {
+              // Alternate between years far apart to force evictions of the 64-year memo
+              int year = (i + thread) % 2 == 0 ? 1900 + i % 200 : 2099 - i % 200;
+              for (Holiday holiday : shared) {
+                LocalDate date = holiday.getDate(year);
+                LocalDate observed = holiday.getObserved(year);
+
+                assertEquals(expected.get(holiday.getName() + "@" + year), date);
+                assertEquals(holiday.isMondayisation() ? mondayised(date) : date, observed);
+              }
+            }
+          });
+
+      assertNull(easter.getDate());
+      assertNull(christmas.getObserved());
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package me.clementino.holiday.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HolidayCursor Tests")
+@Tag("unit")
+class HolidayCursorTest {
+
+  @Test
+  @DisplayName("Should round-trip through the opaque token")
+  void shouldRoundTripThroughToken() {
+    HolidayCursor cursor = new HolidayCursor(LocalDate.of(2024, 12, 25), "holiday-123");
+
+    String token = cursor.encode();
+
+    assertThat(token).doesNotContain("2024-12-25").doesNotContain("=");
+    assertThat(HolidayCursor.decode(token)).isEqualTo(cursor);
+  }
+
+  @Test
+  @DisplayName("Should keep ids containing the separator")
+  void shouldKeepIdsContainingSeparator() {
+    HolidayCursor cursor = new HolidayCursor(LocalDate.of(2024, 1, 1), "a|b");
+
+    assertThat(HolidayCursor.decode(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @Test
+  @DisplayName("Should reject malformed tokens")
+  void shouldRejectMalformedTokens() {
+    assertThatThrownBy(() -> HolidayCursor.decode(null))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> HolidayCursor.decode("   "))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> HolidayCursor.decode("not base64 !"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> HolidayCursor.decode("bm8tc2VwYXJhdG9y"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> HolidayCursor.decode("bm90LWEtZGF0ZXxpZA"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,143 @@
+package me.clementino.holiday.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import me.clementino.holiday.config.JacksonConfig;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.Location;
+import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+@DisplayName("HolidayFragmentCache Tests")
+@Tag("unit")
+class HolidayFragmentCacheTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private HolidayFragmentCache cache(DataSize maxSize) {
+    return new HolidayFragmentCache(
+        new HolidayJsonWriter(), new JacksonConfig().objectMapper(), registry, maxSize);
+  }
+
+  private static HolidayDataDTO holiday(String id, String name, Integer version) {
+    return new HolidayDataDTO(
+        id,
+        name,
+        LocalDate.of(2024, 12, 25),
+        Optional.empty(),
+        new Location("BR"),
+        HolidayType.NATIONAL,
+        false,
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.ofNullable(version));
+  }
+
+  private static String json(byte[] fragment) {
+    return new String(fragment, StandardCharsets.UTF_8);
+  }
+
+  @Test
+  @DisplayName("Should render a stored holiday once per id and version")
+  void shouldRenderOncePerVersion() {
+    HolidayFragmentCache cache = cache(DataSize.ofMegabytes(1));
+
+    byte[] first = cache.fragment(holiday("christmas", "Christmas Day", 1));
+    byte[] cached = cache.fragment(holiday("christmas", "Christmas", 1));
+    byte[] updated = cache.fragment(holiday("christmas", "Christmas", 2));
+
+    assertThat(cached).isSameAs(first);
+    assertThat(json(first)).contains("\"name\":\"Christmas Day\"");
+    assertThat(json(updated)).contains("\"name\":\"Christmas\"");
+    assertThat(registry.get("cache.gets").tag("cache", HolidayFragmentCache.NAME)
+        .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should share fragments between entities and holiday data")
+  void shouldShareFragmentsBetweenEntitiesAndData() {
+    HolidayFragmentCache cache = cache(DataSize.ofMegabytes(1));
+    var entity = new HolidayEntity(
+        "Christmas Day", null, LocalDate.of(2024, 12, 25), "BR", HolidayType.NATIONAL);
+    entity.setId("christmas");
+    entity.setVersion(1);
+    entity.setLocalities(List.of(new LocalityEntity("BR", "Brazil")));
+
+    byte[] fromEntity = cache.fragment(entity);
+
+    assertThat(cache.fragment(holiday("christmas", "Christmas Day", 1))).isSameAs(fromEntity);
+  }
+
+  @Test
+  @DisplayName("Should not cache holidays without an id or a version")
+  void shouldNotCacheUnversionedHolidays() {
+    HolidayFragmentCache cache = cache(DataSize.ofMegabytes(1));
+
+    byte[] first = cache.fragment(holiday("christmas", "Christmas Day", null));
+
+    assertThat(cache.fragment(holiday("christmas", "Christmas Day", null)))
+        .isNotSameAs(first)
+        .isEqualTo(first);
+    assertThat(cache.weightedSize()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should write a JSON array of the fragments")
+  void shouldWriteArray() throws IOException {
+    HolidayFragmentCache cache = cache(DataSize.ofMegabytes(1));
+    List<HolidayDataDTO> holidays =
+        List.of(holiday("a", "First", 1), holiday("b", "Second", 1));
+    var out = new ByteArrayOutputStream();
+
+    cache.writeArray(out, holidays);
+
+    var mapper = new HolidayMapper();
+    assertThat(out.toString(StandardCharsets.UTF_8))
+        .isEqualTo(new JacksonConfig().objectMapper()
+            .writeValueAsString(holidays.stream().map(mapper::toResponse).toList()));
+
+    out.reset();
+    cache.writeArray(out, List.of());
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+  }
+
+  @Test
+  @DisplayName("Should evict every version of the given ids")
+  void shouldEvictIds() {
+    HolidayFragmentCache cache = cache(DataSize.ofMegabytes(1));
+    byte[] kept = cache.fragment(holiday("kept", "Kept", 1));
+    byte[] evicted = cache.fragment(holiday("evicted", "Evicted", 1));
+    cache.fragment(holiday("evicted", "Evicted", 2));
+
+    cache.evict(Set.of("evicted"));
+
+    assertThat(cache.weightedSize()).isEqualTo(kept.length);
+    assertThat(cache.fragment(holiday("evicted", "Evicted", 1))).isNotSameAs(evicted);
+  }
+
+  @Test
+  @DisplayName("Should bound the total size of the fragments")
+  void shouldBoundTotalSize() {
+    HolidayFragmentCache cache = cache(DataSize.ofBytes(4096));
+
+    for (int i = 0; i < 1_000; i++) {
+      cache.fragment(holiday("holiday-" + i, "Holiday " + i, 1));
+    }
+
+    assertThat(cache.weightedSize()).isPositive().isLessThanOrEqualTo(4096);
+  }
+}
@@ -0,0 +1,168 @@
+package me.clementino.holiday.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import me.clementino.holiday.config.JacksonConfig;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.Location;
+import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Golden-file tests of {@link HolidayJsonWriter}. The files under {@code golden/holiday-json}
+ * hold the JSON the application {@code ObjectMapper} produces for {@code HolidayResponseDTO}; the
+ * writer must reproduce them byte for byte.
+ */
+@DisplayName("HolidayJsonWriter Tests")
+@Tag("unit")
+class HolidayJsonWriterTest {
+
+  private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+  private final HolidayMapper mapper = new HolidayMapper();
+  private final HolidayJsonWriter writer = new HolidayJsonWriter();
+
+  @FunctionalInterface
+  private interface Write {
+    void to(JsonGenerator generator) throws IOException;
+  }
+
+  private String written(Write write) throws IOException {
+    var out = new StringWriter();
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.setRootValueSeparator(new SerializedString("\n"));
+      write.to(generator);
+    }
+    return out.toString();
+  }
+
+  private static String golden(String name) throws IOException {
+    try (InputStream in =
+        HolidayJsonWriterTest.class.getResourceAsStream("/golden/holiday-json/" + name + ".json")) {
+      assertThat(in).as("golden file " + name).isNotNull();
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8).stripTrailing();
+    }
+  }
+
+  private static HolidayEntity fullEntity() {
+    var entity = new HolidayEntity();
+    entity.setId("holiday-123");
+    entity.setName("Christmas Day");
+    entity.setDate(LocalDate.of(2024, 12, 25));
+    entity.setObserved(LocalDate.of(2024, 12, 26));
+    entity.setType(HolidayType.NATIONAL);
+    entity.setDescription("Christian holiday celebrating the birth of Jesus Christ");
+    entity.setLocalities(
+        List.of(new LocalityEntity("BR", "Brazil", "SP", "São Paulo", "São Paulo")));
+    entity.setDateCreated(LocalDateTime.of(2024, 1, 15, 10, 30));
+    entity.setLastUpdated(LocalDateTime.of(2024, 1, 16, 14, 45, 30));
+    return entity;
+  }
+
+  private static HolidayDataDTO fullData() {
+    return new HolidayDataDTO(
+        "holiday-123",
+        "Christmas Day",
+        LocalDate.of(2024, 12, 25),
+        Optional.of(LocalDate.of(2024, 12, 26)),
+        new Location("BR", Optional.of("SP"), Optional.of("São Paulo")),
+        HolidayType.NATIONAL,
+        false,
+        Optional.of("Christian holiday celebrating the birth of Jesus Christ"),
+        Optional.of(LocalDateTime.of(2024, 1, 15, 10, 30)),
+        Optional.of(LocalDateTime.of(2024, 1, 16, 14, 45, 30)),
+        Optional.of(3));
+  }
+
+  private static HolidayEntity minimalEntity() {
+    var entity = new HolidayEntity();
+    entity.setName("New Year's Day");
+    entity.setDate(LocalDate.of(2025, 1, 1));
+    entity.setType(HolidayType.NATIONAL);
+    return entity;
+  }
+
+  private static HolidayDataDTO escapedData() {
+    return new HolidayDataDTO(
+        "holiday-456",
+        "Independence \"Day\"",
+        LocalDate.of(2024, 7, 4),
+        Optional.empty(),
+        new Location("United States", Optional.of("California"), Optional.empty()),
+        HolidayType.STATE,
+        true,
+        Optional.of("Fireworks\tand parades\nall day"),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty());
+  }
+
+  @Test
+  @DisplayName("Golden files should match the serialized response DTOs")
+  void goldenFilesShouldMatchResponseDtos() throws IOException {
+    assertThat(objectMapper.writeValueAsString(mapper.toResponse(fullData())))
+        .isEqualTo(golden("full"));
+    assertThat(objectMapper.writeValueAsString(mapper.toResponse(escapedData())))
+        .isEqualTo(golden("escaped"));
+  }
+
+  @Test
+  @DisplayName("Should write a stored holiday with every field")
+  void shouldWriteFullEntity() throws IOException {
+    assertThat(written(generator -> writer.write(generator, fullEntity())))
+        .isEqualTo(golden("full"));
+  }
+
+  @Test
+  @DisplayName("Should omit absent fields and default the location of a stored holiday")
+  void shouldWriteMinimalEntity() throws IOException {
+    assertThat(written(generator -> writer.write(generator, minimalEntity())))
+        .isEqualTo(golden("minimal"));
+  }
+
+  @Test
+  @DisplayName("Should write holiday data like the response DTO")
+  void shouldWriteHolidayData() throws IOException {
+    assertThat(written(generator -> writer.write(generator, fullData())))
+        .isEqualTo(golden("full"));
+    assertThat(written(generator -> writer.write(generator, escapedData())))
+        .isEqualTo(golden("escaped"));
+  }
+
+  @Test
+  @DisplayName("Should separate root values like ObjectWriter when streaming NDJSON")
+  void shouldSeparateRootValues() throws IOException {
+    String ndjson = written(
+        generator -> {
+          writer.write(generator, fullEntity());
+          writer.write(generator, minimalEntity());
+        });
+
+    assertThat(ndjson).isEqualTo(golden("full") + "\n" + golden("minimal"));
+  }
+
+  @Test
+  @DisplayName("Should reject corrupted entities like the DTO conversion")
+  void shouldRejectCorruptedEntities() {
+    HolidayEntity entity = minimalEntity();
+    entity.setType(null);
+
+    assertThatThrownBy(() -> written(generator -> writer.write(generator, entity)))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
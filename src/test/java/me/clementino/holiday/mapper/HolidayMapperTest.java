@@ -1,16 +1,27 @@
 package me.clementino.holiday.mapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import me.clementino.holiday.domain.dop.Holiday;
 import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.KnownHoliday;
+import me.clementino.holiday.domain.dop.Locality;
 import me.clementino.holiday.domain.dop.Location;
+import me.clementino.holiday.domain.dop.MoveableFromBaseHoliday;
+import me.clementino.holiday.domain.dop.MoveableHoliday;
 import me.clementino.holiday.dto.HolidayDataDTO;
 import me.clementino.holiday.dto.HolidayResponseDTO;
 import me.clementino.holiday.dto.LocationInfoDTO;
+import me.clementino.holiday.entity.BaseHolidayEntity;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.HolidayEntity.HolidayVariant;
+import me.clementino.holiday.entity.LocalityEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -218,4 +229,65 @@ class HolidayMapperTest {
       assertThat(response.when().weekday()).isEqualTo(expectedWeekdays[i]);
     }
   }
+
+  @Test
+  @DisplayName("Should rebuild a moveable holiday from its persisted rule")
+  void shouldRoundTripMoveableHoliday() {
+    var easter = new MoveableHoliday(
+        "Easter", "Easter Sunday", LocalDate.of(2024, 3, 31), List.of(Locality.brazil()),
+        HolidayType.RELIGIOUS, KnownHoliday.EASTER, false);
+
+    HolidayEntity entity = mapper.toEntity(easter);
+
+    assertThat(entity.getHolidayVariant()).isEqualTo(HolidayVariant.MOVEABLE);
+    assertThat(entity.getRecurring()).isTrue();
+    assertThat(mapper.toHoliday(entity)).isEqualTo(easter);
+    assertThat(mapper.toRecurringHoliday(entity)).contains(easter);
+  }
+
+  @Test
+  @DisplayName("Should persist a derived holiday against its root base with the summed offset")
+  void shouldFlattenDerivedHolidayChains() {
+    List<Locality> brazil = List.of(Locality.brazil());
+    var easter = new MoveableHoliday(
+        "Easter", "", LocalDate.of(2024, 3, 31), brazil, HolidayType.RELIGIOUS,
+        KnownHoliday.EASTER, false);
+    var goodFriday = new MoveableFromBaseHoliday(
+        "Good Friday", "", LocalDate.of(2024, 3, 29), brazil, HolidayType.NATIONAL,
+        KnownHoliday.GOOD_FRIDAY, easter, -2, false);
+    var holySaturday = new MoveableFromBaseHoliday(
+        "Holy Saturday", "", LocalDate.of(2024, 3, 30), brazil, HolidayType.RELIGIOUS,
+        KnownHoliday.GOOD_FRIDAY, goodFriday, 1, false);
+
+    HolidayEntity entity = mapper.toEntity(holySaturday);
+
+    assertThat(entity.getBaseHoliday()).isEqualTo(new BaseHolidayEntity(
+        "Easter", HolidayVariant.MOVEABLE, KnownHoliday.EASTER, LocalDate.of(2024, 3, 31)));
+    assertThat(entity.getDayOffset()).isEqualTo(-1);
+
+    Holiday rebuilt = mapper.toHoliday(entity);
+    assertThat(rebuilt).isInstanceOfSatisfying(MoveableFromBaseHoliday.class, derived -> {
+      assertThat(derived.baseHoliday()).isEqualTo(easter);
+      assertThat(derived.dayOffset()).isEqualTo(-1);
+      assertThat(derived.knownHoliday()).isEqualTo(KnownHoliday.GOOD_FRIDAY);
+    });
+  }
+
+  @Test
+  @DisplayName("Should not recalculate holidays without a rule or localities")
+  void shouldNotRecurWithoutRule() {
+    HolidayEntity legacy = new HolidayEntity(
+        "Carnival", "Carnival", LocalDate.of(2024, 2, 13), "BR", HolidayType.NATIONAL);
+    legacy.setLocalities(List.of(new LocalityEntity("BR", "Brazil")));
+
+    HolidayEntity withoutLocalities = new HolidayEntity(
+        "Carnival", "Carnival", LocalDate.of(2024, 2, 13), "BR", HolidayType.NATIONAL);
+    withoutLocalities.setHolidayVariant(HolidayVariant.FIXED);
+    withoutLocalities.setRecurring(true);
+
+    assertThat(mapper.toRecurringHoliday(legacy)).isEmpty();
+    assertThat(mapper.toRecurringHoliday(withoutLocalities)).isEmpty();
+    assertThatThrownBy(() -> mapper.toHoliday(withoutLocalities))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
 }
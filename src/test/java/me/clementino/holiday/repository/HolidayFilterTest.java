@@ -0,0 +1,97 @@
+package me.clementino.holiday.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HolidayFilter Tests")
+@Tag("unit")
+class HolidayFilterTest {
+
+  private static HolidayEntity holiday(String name, LocalDate date, LocalityEntity... localities) {
+    HolidayEntity entity =
+        new HolidayEntity(name, name, date, localities[0].getCountryCode(), HolidayType.STATE);
+    entity.setLocalities(List.of(localities));
+    return entity;
+  }
+
+  @Test
+  @DisplayName("Empty filter should match every holiday")
+  void emptyFilterShouldMatchEverything() {
+    HolidayEntity entity =
+        holiday("Carnival", LocalDate.of(2024, 2, 13), new LocalityEntity("BR", "Brazil"));
+
+    assertThat(HolidayFilter.none().isEmpty()).isTrue();
+    assertThat(HolidayFilter.none().matches(entity)).isTrue();
+    assertThat(HolidayFilter.none().matches(null)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should match type, date range and case-insensitive name pattern")
+  void shouldMatchScalarFilters() {
+    HolidayEntity entity =
+        holiday("Carnival", LocalDate.of(2024, 2, 13), new LocalityEntity("BR", "Brazil"));
+
+    assertThat(
+            new HolidayFilter(
+                    null,
+                    null,
+                    null,
+                    HolidayType.STATE,
+                    LocalDate.of(2024, 2, 13),
+                    LocalDate.of(2024, 2, 13),
+                    null,
+                    "carn")
+                .matches(entity))
+        .isTrue();
+    assertThat(
+            new HolidayFilter(null, null, null, HolidayType.NATIONAL, null, null, null, null)
+                .matches(entity))
+        .isFalse();
+    assertThat(
+            new HolidayFilter(null, null, null, null, LocalDate.of(2024, 2, 14), null, null, null)
+                .matches(entity))
+        .isFalse();
+    assertThat(
+            new HolidayFilter(null, null, null, null, null, null, null, "^easter")
+                .matches(entity))
+        .isFalse();
+  }
+
+  @Test
+  @DisplayName("Locality filters should all match the same embedded locality")
+  void localityFiltersShouldMatchSameLocality() {
+    HolidayEntity entity =
+        holiday(
+            "Mixed",
+            LocalDate.of(2024, 1, 25),
+            new LocalityEntity("BR", "Brazil", "SP", "São Paulo"),
+            new LocalityEntity("US", "United States", "CA", "California"));
+
+    assertThat(new HolidayFilter("US", null, null, null, null, null, null, null).matches(entity))
+        .isTrue();
+    assertThat(new HolidayFilter("BR", "SP", null, null, null, null, null, null).matches(entity))
+        .isTrue();
+    assertThat(new HolidayFilter("BR", "CA", null, null, null, null, null, null).matches(entity))
+        .isFalse();
+  }
+
+  @Test
+  @DisplayName("Should name the filters that are set for metric tags")
+  void shouldNamePresentFilters() {
+    assertThat(HolidayFilter.none().presentFilters()).isEqualTo("none");
+    assertThat(
+            new HolidayFilter("BR", null, null, null, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), null, null)
+                .presentFilters())
+        .isEqualTo("country+startDate+endDate");
+    assertThat(new HolidayFilter(null, "SP", null, null, null, null, null, "carnival").presentFilters())
+        .isEqualTo("state+namePattern");
+  }
+}
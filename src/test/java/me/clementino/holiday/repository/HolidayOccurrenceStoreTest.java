@@ -0,0 +1,264 @@
+package me.clementino.holiday.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import me.clementino.holiday.domain.dop.Holiday;
+import me.clementino.holiday.domain.dop.HolidayOperations;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.KnownHoliday;
+import me.clementino.holiday.domain.dop.ObservedHoliday;
+import me.clementino.holiday.entity.BaseHolidayEntity;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.HolidayEntity.HolidayVariant;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.mapper.HolidayMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Tests that the store answers filters like {@link HolidayFilter#matches} on each occurrence. */
+@DisplayName("HolidayOccurrenceStore Tests")
+@Tag("unit")
+class HolidayOccurrenceStoreTest {
+
+  private static final int FIRST_YEAR = 2000;
+  private static final int LAST_YEAR = 2029;
+
+  private static final LocalityEntity BRAZIL = new LocalityEntity("BR", "Brazil");
+  private static final LocalityEntity SAO_PAULO =
+      new LocalityEntity("BR", "Brazil", "SP", "São Paulo");
+  private static final LocalityEntity UNITED_STATES = new LocalityEntity("US", "United States");
+  private static final LocalityEntity ARGENTINA = new LocalityEntity("AR", "Argentina");
+
+  private final HolidayMapper mapper = new HolidayMapper();
+  private final HolidayOperations holidayOperations = new HolidayOperations();
+
+  private List<HolidayEntity> holidays;
+  private HolidayOccurrenceStore store;
+
+  private static HolidayEntity holiday(
+      String id, LocalDate date, HolidayType type, LocalityEntity... localities) {
+    HolidayEntity entity = legacyHoliday(id, date, type, localities);
+    entity.setHolidayVariant(HolidayVariant.FIXED);
+    entity.setMondayisation(false);
+    entity.setRecurring(true);
+    return entity;
+  }
+
+  /** A holiday stored before the yearly rule was persisted. */
+  private static HolidayEntity legacyHoliday(
+      String id, LocalDate date, HolidayType type, LocalityEntity... localities) {
+    HolidayEntity entity = new HolidayEntity(id, id, date, localities[0].getCountryCode(), type);
+    entity.setId(id);
+    entity.setLocalities(List.of(localities));
+    return entity;
+  }
+
+  private static HolidayFilter filter(String country, String state, HolidayType type) {
+    return new HolidayFilter(country, state, null, type, null, null, null, null);
+  }
+
+  @BeforeEach
+  void setUp() {
+    HolidayEntity newYear =
+        holiday("new-year", LocalDate.of(2023, 1, 1), HolidayType.NATIONAL, BRAZIL, UNITED_STATES);
+    newYear.setObserved(LocalDate.of(2023, 1, 2));
+    newYear.setVersion(2);
+    newYear.setHolidayVariant(HolidayVariant.OBSERVED);
+    newYear.setMondayisation(true);
+    newYear.setRecurring(true);
+
+    HolidayEntity carnival =
+        holiday("br-carnival", LocalDate.of(2024, 2, 13), HolidayType.NATIONAL, BRAZIL, SAO_PAULO);
+    carnival.setHolidayVariant(HolidayVariant.MOVEABLE_FROM_BASE);
+    carnival.setKnownHoliday(KnownHoliday.EASTER);
+    carnival.setBaseHoliday(new BaseHolidayEntity(
+        "Easter", HolidayVariant.MOVEABLE, KnownHoliday.EASTER, LocalDate.of(2024, 3, 31)));
+    carnival.setDayOffset(-47);
+
+    HolidayEntity noLocalities =
+        holiday("no-localities", LocalDate.of(2024, 5, 1), HolidayType.NATIONAL, BRAZIL);
+    noLocalities.setLocalities(null);
+
+    holidays = List.of(
+        holiday("br-christmas", LocalDate.of(2024, 12, 25), HolidayType.RELIGIOUS, BRAZIL),
+        holiday("br-sp", LocalDate.of(2024, 7, 9), HolidayType.STATE, SAO_PAULO),
+        carnival,
+        holiday("us-july", LocalDate.of(2024, 7, 4), HolidayType.NATIONAL, UNITED_STATES),
+        holiday("us-christmas", LocalDate.of(2024, 12, 25), HolidayType.NATIONAL, UNITED_STATES),
+        newYear,
+        legacyHoliday("ar-legacy", LocalDate.of(2024, 3, 28), HolidayType.RELIGIOUS, ARGENTINA),
+        noLocalities);
+    store = HolidayOccurrenceStore.build(
+        holidays, mapper::toRecurringHoliday, FIRST_YEAR, LAST_YEAR);
+  }
+
+  @AfterEach
+  void tearDown() {
+    store.close();
+  }
+
+  /**
+   * Every occurrence in the store's years, filtered with {@link HolidayFilter#matches}: stored
+   * dates in their own year, the recalculated rule in the other years.
+   */
+  private List<HolidayEntity> expected(HolidayFilter filter) {
+    var occurrences = new ArrayList<HolidayEntity>();
+    for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+      for (HolidayEntity holiday : holidays) {
+        Optional<Holiday> rule = mapper.toRecurringHoliday(holiday);
+        LocalDate date;
+        LocalDate observed;
+        if (holiday.getDate().getYear() == year) {
+          date = holiday.getDate();
+          observed = holiday.getObserved();
+        } else if (rule.isPresent()) {
+          Holiday occurrence = holidayOperations.calculateObservedDate(rule.get(), year);
+          date = occurrence.date();
+          observed = occurrence instanceof ObservedHoliday moved
+              && !moved.observed().equals(moved.date()) ? moved.observed() : null;
+        } else {
+          continue;
+        }
+        var entity = new HolidayEntity();
+        entity.setId(holiday.getId());
+        entity.setName(holiday.getName());
+        entity.setType(holiday.getType());
+        entity.setLocalities(holiday.getLocalities());
+        entity.setRecurring(holiday.getRecurring());
+        entity.setDate(date);
+        entity.setObserved(observed);
+        if (filter.matches(entity)) {
+          occurrences.add(entity);
+        }
+      }
+    }
+    return occurrences;
+  }
+
+  private static List<String> keys(List<HolidayEntity> occurrences) {
+    return occurrences.stream()
+        .map(occurrence ->
+            occurrence.getId() + "@" + occurrence.getDate() + "/" + occurrence.getObserved())
+        .toList();
+  }
+
+  @Test
+  @DisplayName("Should answer filters like HolidayFilter.matches on every occurrence")
+  void shouldMatchFilterSemantics() {
+    List<HolidayFilter> filters = List.of(
+        HolidayFilter.none(),
+        filter("BR", null, null),
+        filter("BR", "SP", null),
+        filter(null, "SP", null),
+        filter("US", null, HolidayType.NATIONAL),
+        filter(null, null, HolidayType.RELIGIOUS),
+        new HolidayFilter(
+            "BR", null, null, null, LocalDate.of(2010, 2, 1), LocalDate.of(2012, 7, 9), null, null),
+        new HolidayFilter(null, null, null, null, null, null, null, "christ"),
+        new HolidayFilter(null, null, null, null, null, null, true, null),
+        new HolidayFilter(null, "SP", null, null, null, null, null, "^br-"));
+
+    for (HolidayFilter filter : filters) {
+      List<HolidayEntity> found = store.findWithFilters(filter).toList();
+
+      assertThat(keys(found)).as(filter.toString())
+          .containsExactlyInAnyOrderElementsOf(keys(expected(filter)));
+      assertThat(found).as(filter.toString()).isSortedAccordingTo(
+          Comparator.comparing(HolidayEntity::getDate));
+      assertThat(store.count(filter)).isEqualTo(found.size());
+    }
+  }
+
+  @Test
+  @DisplayName("Should report an occurrence with several localities once")
+  void shouldReportOccurrencesOnce() {
+    HolidayFilter newYear = new HolidayFilter(
+        null, null, null, null, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 1), null, null);
+
+    List<HolidayEntity> found = store.findWithFilters(newYear).toList();
+
+    assertThat(found).singleElement().satisfies(occurrence -> {
+      assertThat(occurrence.getId()).isEqualTo("new-year");
+      assertThat(occurrence.getObserved()).isEqualTo(LocalDate.of(2023, 1, 2));
+      assertThat(occurrence.getVersion()).isEqualTo(2);
+      assertThat(occurrence.getLocalities()).containsExactly(BRAZIL, UNITED_STATES);
+    });
+  }
+
+  @Test
+  @DisplayName("Should keep one fixed-width row per occurrence and locality off-heap")
+  void shouldSizeRows() {
+    int years = LAST_YEAR - FIRST_YEAR + 1;
+    // recurring holidays every year, ar-legacy and no-localities (one all-null row) in 2024 only
+    int rows = holidays.stream()
+        .mapToInt(holiday -> mapper.toRecurringHoliday(holiday).isPresent()
+            ? years * holiday.getLocalities().size()
+            : 1)
+        .sum();
+
+    assertThat(store.size()).isEqualTo(rows);
+    assertThat(store.byteSize()).isEqualTo(24L * store.size());
+    assertThat(store.covers(LocalDate.of(FIRST_YEAR, 1, 1), LocalDate.of(LAST_YEAR, 12, 31)))
+        .isTrue();
+    assertThat(store.covers(LocalDate.of(FIRST_YEAR - 1, 12, 31), LocalDate.of(LAST_YEAR, 1, 1)))
+        .isFalse();
+  }
+
+  @Test
+  @DisplayName("Should recalculate rules every year and keep holidays without a rule on their stored date")
+  void shouldExpandFromRules() {
+    HolidayFilter carnival = new HolidayFilter(
+        "BR", null, null, null,
+        LocalDate.of(2025, 1, 1), LocalDate.of(2026, 12, 31), null, "carnival");
+
+    assertThat(store.findWithFilters(carnival).map(HolidayEntity::getDate))
+        .containsExactly(LocalDate.of(2025, 3, 4), LocalDate.of(2026, 2, 17));
+    assertThat(store.findWithFilters(filter("AR", null, null)).map(HolidayEntity::getDate))
+        .containsExactly(LocalDate.of(2024, 3, 28));
+    assertThat(store.findWithFilters(
+            new HolidayFilter(null, null, null, null, null, null, null, "no-localities"))
+        .map(HolidayEntity::getDate))
+        .containsExactly(LocalDate.of(2024, 5, 1));
+    assertThat(store.findWithFilters(filter("BR", null, null)).map(HolidayEntity::getId))
+        .doesNotContain("no-localities");
+  }
+
+  @Test
+  @DisplayName("Should decode occurrences lazily in date order")
+  void shouldStreamLazily() {
+    List<HolidayEntity> all = store.findWithFilters(HolidayFilter.none()).toList();
+
+    assertThat(keys(store.findWithFilters(HolidayFilter.none()).limit(3).toList()))
+        .containsExactlyElementsOf(keys(all.subList(0, 3)));
+  }
+
+  @Test
+  @DisplayName("Should return nothing for unknown countries, unmatched recurring filters and other years")
+  void shouldReturnNothingOutsideTheStore() {
+    assertThat(store.findWithFilters(filter("CL", null, null))).isEmpty();
+    assertThat(store.findWithFilters(
+        new HolidayFilter(null, null, null, null, null, null, false, null))).isEmpty();
+    assertThat(store.findWithFilters(new HolidayFilter(
+        null, null, null, null, LocalDate.of(2030, 1, 1), null, null, null))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should reject empty ranges and years before year 1")
+  void shouldRejectInvalidYears() {
+    assertThatThrownBy(
+            () -> HolidayOccurrenceStore.build(holidays, mapper::toRecurringHoliday, 0, 10))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> HolidayOccurrenceStore.build(holidays, mapper::toRecurringHoliday, 2020, 2019))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,114 @@
+package me.clementino.holiday.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.service.HolidayCacheInvalidator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest(properties = "holiday.read-replica.enabled=true")
+@ActiveProfiles("test")
+@Testcontainers
+@Tag("integration")
+@DisplayName("HolidayReadReplica Tests")
+class HolidayReadReplicaTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  @Container
+  static MongoDBContainer mongoDBContainer =
+      new MongoDBContainer("mongo:8").withExposedPorts(27017);
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+  }
+
+  @Autowired private HolidayReadReplica readReplica;
+
+  @Autowired private HolidayRepository holidayRepository;
+
+  @Autowired private HolidayCacheInvalidator cacheInvalidator;
+
+  private static HolidayEntity holiday(String name, String country) {
+    HolidayEntity entity =
+        new HolidayEntity(name, name, LocalDate.of(2024, 10, 3), country, HolidayType.NATIONAL);
+    entity.setId(UUID.randomUUID().toString());
+    entity.setLocalities(List.of(new LocalityEntity(country, country)));
+    return entity;
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("condition met within %s", TIMEOUT).isLessThan(deadline);
+      Thread.sleep(20);
+    }
+  }
+
+  @Test
+  @DisplayName("Should apply inserts, updates and deletes from the change stream")
+  void shouldFollowChangeStream() throws InterruptedException {
+    assertThat(readReplica.isReady()).isTrue();
+
+    HolidayEntity unity = holidayRepository.save(holiday("German Unity Day", "DE"));
+    await(() -> readReplica.findById(unity.getId()).isPresent());
+    assertThat(
+            readReplica.findWithFilters(
+                new HolidayFilter("DE", null, null, null, null, null, null, null)))
+        .extracting(HolidayEntity::getId)
+        .contains(unity.getId());
+
+    unity.setName("Tag der Deutschen Einheit");
+    holidayRepository.save(unity);
+    await(
+        () ->
+            readReplica
+                .findById(unity.getId())
+                .map(HolidayEntity::getName)
+                .filter("Tag der Deutschen Einheit"::equals)
+                .isPresent());
+
+    holidayRepository.deleteById(unity.getId());
+    await(() -> readReplica.findById(unity.getId()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should invalidate caches for writes received from the change stream")
+  void shouldInvalidateCachesOnChangeStreamEvents() throws InterruptedException {
+    long generation = cacheInvalidator.generation();
+
+    // written directly, as another instance would, so only the change stream reports it
+    HolidayEntity bastille = holidayRepository.save(holiday("Bastille Day", "FR"));
+
+    await(() -> readReplica.findById(bastille.getId()).isPresent());
+    await(() -> cacheInvalidator.generation() > generation);
+  }
+
+  @Test
+  @DisplayName("Should read writes applied through holidayChanged immediately")
+  void shouldReadOwnWrites() {
+    HolidayEntity local = holiday("Local Holiday", "FR");
+
+    readReplica.holidayChanged(null, local);
+
+    assertThat(readReplica.findById(local.getId())).isPresent();
+  }
+}
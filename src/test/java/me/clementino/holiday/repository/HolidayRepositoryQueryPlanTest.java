@@ -0,0 +1,230 @@
+package me.clementino.holiday.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Verifies through {@code explain()} that the dynamic filter query built by {@link
+ * HolidayRepositoryCustomImpl} is answered by an index scan for the common filter combinations.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@Tag("integration")
+@DisplayName("HolidayRepository query plan Tests")
+class HolidayRepositoryQueryPlanTest {
+
+  @Container
+  static MongoDBContainer mongoDBContainer =
+      new MongoDBContainer("mongo:8").withExposedPorts(27017);
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+  }
+
+  @Autowired private MongoTemplate mongoTemplate;
+
+  @Autowired private HolidayRepository holidayRepository;
+
+  @BeforeEach
+  void setUp() {
+    holidayRepository.deleteAll();
+
+    IndexOperations indexOps = mongoTemplate.indexOps(HolidayEntity.class);
+    new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+        .resolveIndexFor(HolidayEntity.class)
+        .forEach(indexOps::ensureIndex);
+
+    List<HolidayEntity> holidays = new ArrayList<>();
+    String[] countries = {"BR", "US", "CA", "DE", "FR"};
+    HolidayType[] types = HolidayType.values();
+    for (int i = 0; i < 500; i++) {
+      String country = countries[i % countries.length];
+      LocalityEntity locality = new LocalityEntity(country, country, "S" + (i % 7), "S" + (i % 7));
+      HolidayEntity entity =
+          new HolidayEntity(
+              "Holiday " + i,
+              "Generated holiday " + i,
+              LocalDate.of(2000 + (i % 30), 1 + (i % 12), 1 + (i % 28)),
+              country,
+              types[i % types.length]);
+      entity.setId(UUID.randomUUID().toString());
+      entity.setLocalities(List.of(locality));
+      entity.setDateCreated(LocalDateTime.now());
+      entity.setLastUpdated(LocalDateTime.now());
+      holidays.add(entity);
+    }
+    holidayRepository.saveAll(holidays);
+  }
+
+  @Test
+  @DisplayName("Should use an index for a country filter")
+  void shouldUseIndexForCountry() {
+    assertIndexScan(
+        HolidayRepositoryCustomImpl.buildFilterQuery(
+            new HolidayFilter("BR", null, null, null, null, null, null, null)));
+  }
+
+  @Test
+  @DisplayName("Should use an index for a country and type filter")
+  void shouldUseIndexForCountryAndType() {
+    assertIndexScan(
+        HolidayRepositoryCustomImpl.buildFilterQuery(
+            new HolidayFilter("BR", null, null, HolidayType.NATIONAL, null, null, null, null)));
+  }
+
+  @Test
+  @DisplayName("Should use an index for a country, type and date range filter")
+  void shouldUseIndexForCountryTypeAndDateRange() {
+    assertIndexScan(
+        HolidayRepositoryCustomImpl.buildFilterQuery(
+            new HolidayFilter(
+                "US",
+                null,
+                null,
+                HolidayType.RELIGIOUS,
+                LocalDate.of(2010, 1, 1),
+                LocalDate.of(2015, 12, 31),
+                null,
+                null)));
+  }
+
+  @Test
+  @DisplayName("Should use an index for a country and date range filter")
+  void shouldUseIndexForCountryAndDateRange() {
+    assertIndexScan(
+        HolidayRepositoryCustomImpl.buildFilterQuery(
+            new HolidayFilter(
+                "CA",
+                null,
+                null,
+                null,
+                LocalDate.of(2010, 1, 1),
+                LocalDate.of(2010, 12, 31),
+                null,
+                null)));
+  }
+
+  @Test
+  @DisplayName("Should use an index for a country, state and type filter")
+  void shouldUseIndexForCountryStateAndType() {
+    assertIndexScan(
+        HolidayRepositoryCustomImpl.buildFilterQuery(
+            new HolidayFilter("BR", "S3", null, HolidayType.STATE, null, null, null, null)));
+  }
+
+  @Test
+  @DisplayName("Should use an index for a date range filter")
+  void shouldUseIndexForDateRange() {
+    assertIndexScan(
+        HolidayRepositoryCustomImpl.buildFilterQuery(
+            new HolidayFilter(
+                null,
+                null,
+                null,
+                null,
+                LocalDate.of(2010, 1, 1),
+                LocalDate.of(2010, 3, 31),
+                null,
+                null)));
+  }
+
+  @Test
+  @DisplayName("Should use an index for a keyset page query")
+  void shouldUseIndexForKeysetPage() {
+    assertIndexScan(
+        HolidayRepositoryCustomImpl.buildPageQuery(
+            new HolidayFilter("BR", null, null, null, null, null, null, null),
+            LocalDate.of(2015, 6, 1),
+            "m",
+            20));
+  }
+
+  @Test
+  @DisplayName("Should return the same holidays as the filter arguments describe")
+  void shouldReturnMatchingHolidays() {
+    List<HolidayEntity> result =
+        holidayRepository.findWithFilters(
+            "BR", null, null, HolidayType.NATIONAL, null, null, null, null);
+
+    assertThat(result).isNotEmpty();
+    assertThat(result)
+        .allSatisfy(
+            holiday -> {
+              assertThat(holiday.getType()).isEqualTo(HolidayType.NATIONAL);
+              assertThat(holiday.getLocalities().getFirst().getCountryCode()).isEqualTo("BR");
+            });
+  }
+
+  @Test
+  @DisplayName("Should walk every matching holiday exactly once with keyset pages")
+  void shouldWalkAllHolidaysWithKeysetPages() {
+    HolidayFilter filter = new HolidayFilter("BR", null, null, null, null, null, null, null);
+    List<HolidayEntity> expected = holidayRepository.findWithFilters(filter);
+
+    List<HolidayEntity> walked = new ArrayList<>();
+    LocalDate afterDate = null;
+    String afterId = null;
+    List<HolidayEntity> page;
+    do {
+      page = holidayRepository.findPage(filter, afterDate, afterId, 7);
+      walked.addAll(page);
+      if (!page.isEmpty()) {
+        afterDate = page.getLast().getDate();
+        afterId = page.getLast().getId();
+      }
+    } while (page.size() == 7);
+
+    assertThat(walked).hasSameSizeAs(expected);
+    assertThat(walked.stream().map(HolidayEntity::getId).distinct()).hasSize(expected.size());
+    assertThat(walked)
+        .isSortedAccordingTo(
+            Comparator.comparing(HolidayEntity::getDate).thenComparing(HolidayEntity::getId));
+  }
+
+  private void assertIndexScan(Query query) {
+    var converter = mongoTemplate.getConverter();
+    var entity = converter.getMappingContext().getPersistentEntity(HolidayEntity.class);
+    var queryMapper = new QueryMapper(converter);
+    Document filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+    Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+
+    Document explain =
+        mongoTemplate.execute(
+            HolidayEntity.class,
+            collection -> collection.find(filter).sort(sort).limit(query.getLimit()).explain());
+
+    String winningPlan =
+        explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+
+    assertThat(winningPlan).contains("IXSCAN").doesNotContain("COLLSCAN");
+  }
+}
@@ -0,0 +1,115 @@
+package me.clementino.holiday.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HolidaySnapshot Tests")
+@Tag("unit")
+class HolidaySnapshotTest {
+
+  private static HolidayEntity holiday(
+      String id, LocalDate date, HolidayType type, LocalityEntity locality) {
+    HolidayEntity entity = new HolidayEntity(id, id, date, locality.getCountryCode(), type);
+    entity.setId(id);
+    entity.setLocalities(List.of(locality));
+    return entity;
+  }
+
+  private final HolidaySnapshot snapshot =
+      HolidaySnapshot.of(
+          List.of(
+              holiday("br-christmas", LocalDate.of(2024, 12, 25), HolidayType.RELIGIOUS, new LocalityEntity("BR", "Brazil")),
+              holiday("br-sp", LocalDate.of(2024, 7, 9), HolidayType.STATE, new LocalityEntity("BR", "Brazil", "SP", "São Paulo")),
+              holiday("us-july", LocalDate.of(2024, 7, 4), HolidayType.NATIONAL, new LocalityEntity("US", "United States")),
+              holiday("us-thanks", LocalDate.of(2024, 11, 28), HolidayType.NATIONAL, new LocalityEntity("US", "United States"))));
+
+  @Test
+  @DisplayName("Should list every holiday ordered by date")
+  void shouldListAllByDate() {
+    assertThat(snapshot.findAll())
+        .extracting(HolidayEntity::getId)
+        .containsExactly("us-july", "br-sp", "us-thanks", "br-christmas");
+    assertThat(snapshot.findById("br-sp")).isPresent();
+    assertThat(snapshot.findById("missing")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should answer filters like the MongoDB query")
+  void shouldAnswerFilters() {
+    assertThat(snapshot.findWithFilters(new HolidayFilter("BR", null, null, null, null, null, null, null)))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("br-sp", "br-christmas");
+    assertThat(snapshot.findWithFilters(new HolidayFilter("BR", "SP", null, HolidayType.STATE, null, null, null, null)))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("br-sp");
+    assertThat(
+            snapshot.findWithFilters(
+                new HolidayFilter(null, null, null, HolidayType.NATIONAL, LocalDate.of(2024, 7, 4), LocalDate.of(2024, 7, 31), null, null)))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("us-july");
+    assertThat(snapshot.findWithFilters(new HolidayFilter("DE", null, null, null, null, null, null, null)))
+        .isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should return new snapshots on upsert and removal")
+  void shouldApplyChangesToNewSnapshots() {
+    HolidaySnapshot updated =
+        snapshot
+            .withUpsert(holiday("de-unity", LocalDate.of(2024, 10, 3), HolidayType.NATIONAL, new LocalityEntity("DE", "Germany")))
+            .withRemoval("us-july");
+
+    assertThat(updated.size()).isEqualTo(4);
+    assertThat(updated.findById("de-unity")).isPresent();
+    assertThat(updated.findById("us-july")).isEmpty();
+    assertThat(snapshot.findById("us-july")).isPresent();
+    assertThat(snapshot.findById("de-unity")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should upsert many holidays into one new snapshot")
+  void shouldUpsertManyHolidays() {
+    HolidaySnapshot updated =
+        snapshot.withUpserts(
+            List.of(
+                holiday("de-unity", LocalDate.of(2024, 10, 3), HolidayType.NATIONAL, new LocalityEntity("DE", "Germany")),
+                holiday("us-july", LocalDate.of(2025, 7, 4), HolidayType.NATIONAL, new LocalityEntity("US", "United States"))));
+
+    assertThat(updated.size()).isEqualTo(5);
+    assertThat(updated.findWithFilters(new HolidayFilter("DE", null, null, null, null, null, null, null)))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("de-unity");
+    assertThat(updated.findAll().getLast().getId()).isEqualTo("us-july");
+    assertThat(snapshot.withUpserts(List.of())).isSameAs(snapshot);
+  }
+
+  @Test
+  @DisplayName("Should apply queued changes in order into one new snapshot")
+  void shouldApplyChangesInOrder() {
+    HolidayEntity unity =
+        holiday("de-unity", LocalDate.of(2024, 10, 3), HolidayType.NATIONAL, new LocalityEntity("DE", "Germany"));
+    HolidaySnapshot updated =
+        snapshot.withChanges(
+            List.of(
+                HolidaySnapshot.Change.upsert(unity),
+                HolidaySnapshot.Change.removal("us-july"),
+                HolidaySnapshot.Change.upsert(
+                    holiday("us-july", LocalDate.of(2025, 7, 4), HolidayType.NATIONAL, new LocalityEntity("US", "United States"))),
+                HolidaySnapshot.Change.removal("br-sp"),
+                HolidaySnapshot.Change.removal(null)));
+
+    assertThat(updated.findAll())
+        .extracting(HolidayEntity::getId)
+        .containsExactly("de-unity", "us-thanks", "br-christmas", "us-july");
+    assertThat(snapshot.size()).isEqualTo(4);
+    assertThat(snapshot.withChanges(List.of())).isSameAs(snapshot);
+  }
+}
@@ -0,0 +1,187 @@
+package me.clementino.holiday.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.KnownHoliday;
+import me.clementino.holiday.entity.BaseHolidayEntity;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.HolidayEntity.HolidayVariant;
+import me.clementino.holiday.entity.LocalityEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("MappedHolidaySnapshot Tests")
+@Tag("unit")
+class MappedHolidaySnapshotTest {
+
+  private static final LocalityEntity BRAZIL = new LocalityEntity("BR", "Brazil");
+  private static final LocalityEntity SAO_PAULO =
+      new LocalityEntity("BR", "Brazil", "SP", "São Paulo");
+  private static final LocalityEntity UNITED_STATES = new LocalityEntity("US", "United States");
+
+  @TempDir
+  Path directory;
+
+  private Path file;
+  private MappedHolidaySnapshot snapshot;
+
+  private static HolidayEntity holiday(
+      String id, LocalDate date, HolidayType type, LocalityEntity... localities) {
+    HolidayEntity entity = new HolidayEntity(id, id, date, localities[0].getCountryCode(), type);
+    entity.setId(id);
+    entity.setLocalities(List.of(localities));
+    return entity;
+  }
+
+  @BeforeEach
+  void setUp() throws IOException {
+    HolidayEntity carnival =
+        holiday("br-carnival", LocalDate.of(2024, 2, 13), HolidayType.NATIONAL, BRAZIL, SAO_PAULO);
+    carnival.setDescription("Carnaval");
+    carnival.setObserved(LocalDate.of(2024, 2, 14));
+    carnival.setVersion(3);
+    carnival.setDateCreated(LocalDateTime.of(2024, 1, 1, 10, 30));
+    carnival.setLastUpdated(LocalDateTime.of(2024, 1, 2, 8, 15, 42));
+    carnival.setHolidayVariant(HolidayVariant.MOVEABLE_FROM_BASE);
+    carnival.setKnownHoliday(KnownHoliday.EASTER);
+    carnival.setBaseHoliday(new BaseHolidayEntity(
+        "Easter", HolidayVariant.MOVEABLE, KnownHoliday.EASTER, LocalDate.of(2024, 3, 31)));
+    carnival.setDayOffset(-47);
+    carnival.setMondayisation(false);
+    carnival.setRecurring(true);
+
+    List<HolidayEntity> holidays =
+        List.of(
+            holiday("br-christmas", LocalDate.of(2024, 12, 25), HolidayType.RELIGIOUS, BRAZIL),
+            holiday("br-sp", LocalDate.of(2024, 7, 9), HolidayType.STATE, SAO_PAULO),
+            holiday("us-july", LocalDate.of(2024, 7, 4), HolidayType.NATIONAL, UNITED_STATES),
+            holiday("us-thanks", LocalDate.of(2024, 11, 28), HolidayType.NATIONAL, UNITED_STATES),
+            holiday("us-christmas", LocalDate.of(2024, 12, 25), HolidayType.NATIONAL, UNITED_STATES),
+            carnival);
+
+    file = directory.resolve("holidays.snapshot");
+    assertThat(MappedHolidaySnapshot.write(holidays, file)).isEqualTo(6);
+    snapshot = MappedHolidaySnapshot.open(file);
+  }
+
+  @AfterEach
+  void tearDown() {
+    snapshot.close();
+  }
+
+  @Test
+  @DisplayName("Should round-trip every field of a holiday")
+  void shouldRoundTripHolidays() {
+    HolidayEntity carnival = snapshot.findById("br-carnival").orElseThrow();
+
+    assertThat(snapshot.size()).isEqualTo(6);
+    assertThat(snapshot.file()).isEqualTo(file);
+    assertThat(carnival.getName()).isEqualTo("br-carnival");
+    assertThat(carnival.getDescription()).isEqualTo("Carnaval");
+    assertThat(carnival.getDate()).isEqualTo(LocalDate.of(2024, 2, 13));
+    assertThat(carnival.getObserved()).isEqualTo(LocalDate.of(2024, 2, 14));
+    assertThat(carnival.getType()).isEqualTo(HolidayType.NATIONAL);
+    assertThat(carnival.getVersion()).isEqualTo(3);
+    assertThat(carnival.getDateCreated()).isEqualTo(LocalDateTime.of(2024, 1, 1, 10, 30));
+    assertThat(carnival.getLastUpdated()).isEqualTo(LocalDateTime.of(2024, 1, 2, 8, 15, 42));
+    assertThat(carnival.getLocalities())
+        .extracting(LocalityEntity::getSubdivisionName)
+        .containsExactly(null, "São Paulo");
+    assertThat(carnival.getHolidayVariant()).isEqualTo(HolidayVariant.MOVEABLE_FROM_BASE);
+    assertThat(carnival.getKnownHoliday()).isEqualTo(KnownHoliday.EASTER);
+    assertThat(carnival.getBaseHoliday()).isEqualTo(new BaseHolidayEntity(
+        "Easter", HolidayVariant.MOVEABLE, KnownHoliday.EASTER, LocalDate.of(2024, 3, 31)));
+    assertThat(carnival.getDayOffset()).isEqualTo(-47);
+    assertThat(carnival.getMondayisation()).isFalse();
+    assertThat(carnival.getRecurring()).isTrue();
+
+    HolidayEntity independence = snapshot.findById("us-july").orElseThrow();
+    assertThat(independence.getObserved()).isNull();
+    assertThat(independence.getVersion()).isNull();
+    assertThat(independence.getDateCreated()).isNull();
+    assertThat(independence.getHolidayVariant()).isNull();
+    assertThat(independence.getBaseHoliday()).isNull();
+    assertThat(independence.getDayOffset()).isNull();
+    assertThat(independence.getRecurring()).isNull();
+    assertThat(snapshot.findById("missing")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should list every holiday ordered by date and id")
+  void shouldListAllByDateAndId() {
+    assertThat(snapshot.findAll())
+        .extracting(HolidayEntity::getId)
+        .containsExactly(
+            "br-carnival", "us-july", "br-sp", "us-thanks", "br-christmas", "us-christmas");
+  }
+
+  @Test
+  @DisplayName("Should answer filters like the MongoDB query")
+  void shouldAnswerFilters() {
+    assertThat(snapshot.findWithFilters(new HolidayFilter("BR", null, null, null, null, null, null, null)))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("br-carnival", "br-sp", "br-christmas");
+    assertThat(snapshot.findWithFilters(new HolidayFilter("BR", "SP", null, null, null, null, null, null)))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("br-carnival", "br-sp");
+    assertThat(
+            snapshot.findWithFilters(
+                new HolidayFilter(null, null, null, HolidayType.NATIONAL, LocalDate.of(2024, 7, 4), LocalDate.of(2024, 11, 28), null, null)))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("us-july", "us-thanks");
+    assertThat(snapshot.findWithFilters(new HolidayFilter(null, null, null, null, null, null, null, "christmas")))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("br-christmas", "us-christmas");
+    assertThat(snapshot.findWithFilters(new HolidayFilter("DE", null, null, null, null, null, null, null)))
+        .isEmpty();
+    assertThat(snapshot.findWithFilters(new HolidayFilter(null, null, null, null, null, null, true, null)))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("br-carnival");
+    assertThat(snapshot.findWithFilters(new HolidayFilter(null, null, null, null, null, null, false, null)))
+        .isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should page strictly after the cursor")
+  void shouldPageAfterCursor() {
+    HolidayFilter all = HolidayFilter.none();
+
+    assertThat(snapshot.findPage(all, null, null, 2))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("br-carnival", "us-july");
+    assertThat(snapshot.findPage(all, LocalDate.of(2024, 12, 25), "br-christmas", 10))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("us-christmas");
+    assertThat(snapshot.findPage(all, LocalDate.of(2024, 12, 25), null, 10))
+        .extracting(HolidayEntity::getId)
+        .containsExactly("br-christmas", "us-christmas");
+  }
+
+  @Test
+  @DisplayName("Should reject files that are not snapshots of this version")
+  void shouldRejectInvalidFiles() throws IOException {
+    Path garbage = Files.write(directory.resolve("garbage.snapshot"), "not a snapshot".getBytes());
+    assertThatThrownBy(() -> MappedHolidaySnapshot.open(garbage))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("Not a holiday snapshot");
+
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[7] = 99;
+    Path future = Files.write(directory.resolve("future.snapshot"), bytes);
+    assertThatThrownBy(() -> MappedHolidaySnapshot.open(future))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("Unsupported holiday snapshot version 99");
+  }
+}
@@ -0,0 +1,206 @@
+package me.clementino.holiday.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.UUID;
+import me.clementino.holiday.domain.dop.FixedHoliday;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.KnownHoliday;
+import me.clementino.holiday.domain.dop.Locality;
+import me.clementino.holiday.domain.dop.Location;
+import me.clementino.holiday.domain.dop.MoveableFromBaseHoliday;
+import me.clementino.holiday.domain.dop.MoveableHoliday;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.HolidayEntity.HolidayVariant;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@Tag("integration")
+@DisplayName("BusinessDayService Tests")
+class BusinessDayServiceTest {
+
+  private static final Location BRAZIL = new Location("BR");
+  private static final Location SAO_PAULO = new Location("BR", "SP");
+
+  @Container
+  static MongoDBContainer mongoDBContainer =
+      new MongoDBContainer("mongo:8").withExposedPorts(27017);
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+  }
+
+  @Autowired private BusinessDayService businessDayService;
+
+  @Autowired private HolidayService holidayService;
+
+  @Autowired private HolidayRepository holidayRepository;
+
+  @Autowired private CacheManager cacheManager;
+
+  @BeforeEach
+  void setUp() {
+    holidayRepository.deleteAll();
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+    holidayRepository.saveAll(
+        List.of(
+            holiday("Christmas Day", LocalDate.of(2024, Month.DECEMBER, 25), new LocalityEntity("BR", "Brazil")),
+            holiday("New Year's Day", LocalDate.of(2025, Month.JANUARY, 1), new LocalityEntity("BR", "Brazil")),
+            holiday(
+                "Constitutionalist Revolution",
+                LocalDate.of(2024, Month.JULY, 9),
+                new LocalityEntity("BR", "Brazil", "SP", "São Paulo"))));
+  }
+
+  private static HolidayEntity holiday(String name, LocalDate date, LocalityEntity locality) {
+    HolidayEntity entity = new HolidayEntity(name, name, date, "BR", HolidayType.NATIONAL);
+    entity.setId(UUID.randomUUID().toString());
+    entity.setLocalities(List.of(locality));
+    entity.setHolidayVariant(HolidayVariant.FIXED);
+    entity.setMondayisation(false);
+    entity.setRecurring(true);
+    return entity;
+  }
+
+  @Test
+  @DisplayName("Should treat weekends and observed holidays as non-business days")
+  void shouldDetectBusinessDays() {
+    assertThat(businessDayService.isBusinessDay(BRAZIL, LocalDate.of(2024, 12, 24))).isTrue();
+    assertThat(businessDayService.isBusinessDay(BRAZIL, LocalDate.of(2024, 12, 25))).isFalse();
+    assertThat(businessDayService.isBusinessDay(BRAZIL, LocalDate.of(2024, 12, 28))).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should apply state holidays only to the state")
+  void shouldApplyStateHolidaysOnlyToState() {
+    assertThat(businessDayService.isBusinessDay(SAO_PAULO, LocalDate.of(2024, 7, 9))).isFalse();
+    assertThat(businessDayService.isBusinessDay(BRAZIL, LocalDate.of(2024, 7, 9))).isTrue();
+    assertThat(businessDayService.isBusinessDay(SAO_PAULO, LocalDate.of(2024, 12, 25))).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should recur stored holidays in other years")
+  void shouldRecurHolidaysInOtherYears() {
+    assertThat(businessDayService.isBusinessDay(BRAZIL, LocalDate.of(2026, 12, 25))).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should add business days across year boundaries in both directions")
+  void shouldAddBusinessDays() {
+    assertThat(businessDayService.addBusinessDays(BRAZIL, LocalDate.of(2024, 12, 24), 1))
+        .isEqualTo(LocalDate.of(2024, 12, 26));
+    assertThat(businessDayService.addBusinessDays(BRAZIL, LocalDate.of(2024, 12, 31), 1))
+        .isEqualTo(LocalDate.of(2025, 1, 2));
+    assertThat(businessDayService.addBusinessDays(BRAZIL, LocalDate.of(2025, 1, 2), -2))
+        .isEqualTo(LocalDate.of(2024, 12, 30));
+    assertThat(businessDayService.addBusinessDays(BRAZIL, LocalDate.of(2024, 12, 28), 0))
+        .isEqualTo(LocalDate.of(2024, 12, 28));
+  }
+
+  @Test
+  @DisplayName("Should count business days in an inclusive range")
+  void shouldCountBusinessDays() {
+    assertThat(
+            businessDayService.countBusinessDays(
+                BRAZIL, LocalDate.of(2024, 12, 23), LocalDate.of(2025, 1, 3)))
+        .isEqualTo(8);
+    assertThatThrownBy(
+            () ->
+                businessDayService.countBusinessDays(
+                    BRAZIL, LocalDate.of(2025, 1, 3), LocalDate.of(2024, 12, 23)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should count a multi-year range as the sum of its years")
+  void shouldCountMultiYearRangeAsSumOfYears() {
+    int perYear = 0;
+    for (int year = 2020; year <= 2030; year++) {
+      perYear +=
+          businessDayService.countBusinessDays(
+              SAO_PAULO, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+    assertThat(
+            businessDayService.countBusinessDays(
+                SAO_PAULO, LocalDate.of(2020, 1, 1), LocalDate.of(2030, 12, 31)))
+        .isEqualTo(perYear);
+  }
+
+  @Test
+  @DisplayName("Should rebuild the calendar after a holiday is created")
+  void shouldRebuildCalendarAfterCreate() {
+    LocalDate christmasEve = LocalDate.of(2024, 12, 24);
+    assertThat(businessDayService.isBusinessDay(BRAZIL, christmasEve)).isTrue();
+
+    holidayService.create(
+        new FixedHoliday(
+            "Christmas Eve",
+            "Day before Christmas",
+            christmasEve,
+            24,
+            Month.DECEMBER,
+            List.of(new Locality.Country("BR", "Brazil")),
+            HolidayType.NATIONAL),
+        2024);
+
+    assertThat(businessDayService.isBusinessDay(BRAZIL, christmasEve)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should recalculate moveable holidays in years other than the stored one")
+  void shouldRecalculateMoveableHolidays() {
+    List<Locality> brazil = List.of(new Locality.Country("BR", "Brazil"));
+    var easter = new MoveableHoliday(
+        "Easter", "Easter Sunday", LocalDate.of(2024, 3, 31), brazil, HolidayType.RELIGIOUS,
+        KnownHoliday.EASTER, false);
+    holidayService.create(
+        new MoveableFromBaseHoliday(
+            "Good Friday", "Good Friday", LocalDate.of(2024, 3, 29), brazil, HolidayType.NATIONAL,
+            KnownHoliday.GOOD_FRIDAY, easter, -2, false),
+        2024);
+
+    assertThat(businessDayService.isBusinessDay(BRAZIL, LocalDate.of(2024, 3, 29))).isFalse();
+    assertThat(businessDayService.isBusinessDay(BRAZIL, LocalDate.of(2026, 4, 3))).isFalse();
+    assertThat(businessDayService.isBusinessDay(BRAZIL, LocalDate.of(2026, 3, 27))).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should keep the stored observed date in the stored year")
+  void shouldKeepStoredObservedDate() {
+    HolidayEntity blackConsciousness = holiday(
+        "Black Consciousness", LocalDate.of(2024, Month.NOVEMBER, 20), new LocalityEntity("BR", "Brazil"));
+    blackConsciousness.setHolidayVariant(HolidayVariant.OBSERVED);
+    blackConsciousness.setObserved(LocalDate.of(2024, Month.NOVEMBER, 22));
+    holidayRepository.save(blackConsciousness);
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+    assertThat(businessDayService.isBusinessDay(BRAZIL, LocalDate.of(2024, 11, 22))).isFalse();
+    assertThat(businessDayService.isBusinessDay(BRAZIL, LocalDate.of(2024, 11, 20))).isTrue();
+    assertThat(businessDayService.isBusinessDay(BRAZIL, LocalDate.of(2025, 11, 20))).isFalse();
+  }
+}
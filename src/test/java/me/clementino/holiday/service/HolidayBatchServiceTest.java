@@ -0,0 +1,153 @@
+package me.clementino.holiday.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.KnownHoliday;
+import me.clementino.holiday.domain.dop.Locality;
+import me.clementino.holiday.dto.CreateHolidayRequestDTO;
+import me.clementino.holiday.dto.HolidayBatchItemDTO;
+import me.clementino.holiday.dto.HolidayBatchItemDTO.Status;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.repository.HolidayFilter;
+import me.clementino.holiday.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest(properties = "holiday.batch.chunk-size=2")
+@ActiveProfiles("test")
+@Testcontainers
+@Tag("integration")
+@DisplayName("HolidayBatchService Tests")
+class HolidayBatchServiceTest {
+
+  private static final HolidayFilter BRAZIL =
+      new HolidayFilter("BR", null, null, null, null, null, null, null);
+
+  @Container
+  static MongoDBContainer mongoDBContainer =
+      new MongoDBContainer("mongo:8").withExposedPorts(27017);
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+  }
+
+  @Autowired private HolidayBatchService batchService;
+
+  @Autowired private HolidayService holidayService;
+
+  @Autowired private HolidayRepository holidayRepository;
+
+  @BeforeEach
+  void setUp() {
+    holidayRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Should create valid items across chunks and report invalid ones")
+  void shouldCreateValidItemsAndReportInvalidOnes() {
+    List<HolidayBatchItemDTO> results =
+        batchService.createAll(
+            List.of(
+                fixed("Christmas", 25, Month.DECEMBER),
+                fixed(" ", 1, Month.JANUARY),
+                easter(),
+                fixed("Tiradentes", 21, Month.APRIL),
+                fixed("New Year", 1, Month.JANUARY)));
+
+    assertThat(results).extracting(HolidayBatchItemDTO::index).containsExactly(0, 1, 2, 3, 4);
+    assertThat(results)
+        .extracting(HolidayBatchItemDTO::status)
+        .containsExactly(
+            Status.CREATED, Status.INVALID, Status.CREATED, Status.CREATED, Status.CREATED);
+    assertThat(results.get(1).errors()).singleElement().asString().startsWith("name:");
+
+    assertThat(holidayRepository.count()).isEqualTo(4);
+    assertThat(holidayRepository.findById(results.get(2).id()))
+        .get()
+        .extracting(HolidayEntity::getName)
+        .isEqualTo("Easter");
+  }
+
+  @Test
+  @DisplayName("Should report items that cannot be parsed as invalid")
+  void shouldReportUnparseableItemsAsInvalid() {
+    Stream<Supplier<CreateHolidayRequestDTO>> items =
+        Stream.of(
+            () -> fixed("Christmas", 25, Month.DECEMBER),
+            () -> {
+              throw new IllegalArgumentException("Malformed holiday");
+            });
+
+    List<HolidayBatchItemDTO> results = batchService.createAll(items);
+
+    assertThat(results)
+        .extracting(HolidayBatchItemDTO::status)
+        .containsExactly(Status.CREATED, Status.INVALID);
+    assertThat(results.get(1).errors()).containsExactly("Malformed holiday");
+  }
+
+  @Test
+  @DisplayName("Should evict cached listings once holidays are created")
+  void shouldEvictCachedListings() {
+    assertThat(holidayService.findAllWithFilters(BRAZIL)).isEmpty();
+
+    batchService.createAll(List.of(fixed("Christmas", 25, Month.DECEMBER)));
+
+    assertThat(holidayService.findAllWithFilters(BRAZIL)).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Should report duplicate ids without stopping the bulk insert")
+  void shouldReportDuplicateIdsWithoutStoppingTheBulkInsert() {
+    HolidayEntity first = entity("same-id", "First");
+    HolidayEntity duplicate = entity("same-id", "Duplicate");
+    HolidayEntity other = entity("other-id", "Other");
+
+    Map<Integer, String> failures = holidayRepository.bulkInsert(List.of(first, duplicate, other));
+
+    assertThat(failures).containsOnlyKeys(1);
+    assertThat(failures.get(1)).contains("E11000");
+    assertThat(holidayRepository.count()).isEqualTo(2);
+  }
+
+  private static CreateHolidayRequestDTO fixed(String name, int day, Month month) {
+    return new CreateHolidayRequestDTO.Fixed(
+        name, name, day, month, null, List.of(Locality.brazil()), HolidayType.NATIONAL);
+  }
+
+  private static CreateHolidayRequestDTO easter() {
+    return new CreateHolidayRequestDTO.Moveable(
+        "Easter",
+        "Easter Sunday",
+        LocalDate.of(2025, Month.APRIL, 20),
+        List.of(Locality.brazil()),
+        HolidayType.RELIGIOUS,
+        KnownHoliday.EASTER,
+        false);
+  }
+
+  private static HolidayEntity entity(String id, String name) {
+    HolidayEntity entity =
+        new HolidayEntity(name, name, LocalDate.of(2025, 12, 25), "BR", HolidayType.NATIONAL);
+    entity.setId(id);
+    return entity;
+  }
+}
@@ -0,0 +1,152 @@
+package me.clementino.holiday.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.clementino.holiday.config.CacheConfig;
+import me.clementino.holiday.config.JacksonConfig;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.mapper.HolidayFragmentCache;
+import me.clementino.holiday.mapper.HolidayJsonWriter;
+import me.clementino.holiday.repository.HolidayFilter;
+import me.clementino.holiday.repository.HolidayReadReplica;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.util.unit.DataSize;
+
+@DisplayName("HolidayCacheInvalidator Tests")
+@Tag("unit")
+class HolidayCacheInvalidatorTest {
+
+  private static final HolidayFilter BRAZIL =
+      new HolidayFilter("BR", null, null, null, null, null, null, null);
+  private static final HolidayFilter UNITED_STATES =
+      new HolidayFilter("US", null, null, null, null, null, null, null);
+
+  private Cache listings;
+  private Cache byId;
+  private HolidayCacheInvalidator invalidator;
+
+  @BeforeEach
+  void setUp() {
+    var cacheManager =
+        new ConcurrentMapCacheManager(CacheConfig.LOCALITY_HOLIDAYS, CacheConfig.HOLIDAY_BY_ID);
+    listings = cacheManager.getCache(CacheConfig.LOCALITY_HOLIDAYS);
+    byId = cacheManager.getCache(CacheConfig.HOLIDAY_BY_ID);
+    var registry = new SimpleMeterRegistry();
+    invalidator = new HolidayCacheInvalidator(
+        cacheManager,
+        new HolidayQueryCoalescer(registry),
+        new HolidayFragmentCache(
+            new HolidayJsonWriter(), new JacksonConfig().objectMapper(), registry, DataSize.ofMegabytes(1)));
+
+    listings.put(BRAZIL, List.of());
+    listings.put(UNITED_STATES, List.of());
+    listings.put(HolidayFilter.none(), List.of());
+    byId.put("holiday-1", "cached");
+    byId.put("holiday-2", "cached");
+  }
+
+  private static HolidayEntity brazilianHoliday(String id) {
+    HolidayEntity entity =
+        new HolidayEntity("Carnival", "Carnival", LocalDate.of(2024, 2, 13), "BR", HolidayType.STATE);
+    entity.setId(id);
+    entity.setLocalities(List.of(new LocalityEntity("BR", "Brazil")));
+    return entity;
+  }
+
+  @Test
+  @DisplayName("Should evict only listings and ids affected by a created holiday")
+  void shouldEvictOnlyAffectedEntriesOnCreate() {
+    invalidator.holidayChanged(null, brazilianHoliday("holiday-1"));
+
+    assertThat(listings.get(BRAZIL)).isNull();
+    assertThat(listings.get(HolidayFilter.none())).isNull();
+    assertThat(listings.get(UNITED_STATES)).isNotNull();
+    assertThat(byId.get("holiday-1")).isNull();
+    assertThat(byId.get("holiday-2")).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Should evict listings matching either the old or the new version")
+  void shouldEvictListingsMatchingOldOrNewVersion() {
+    HolidayEntity before = brazilianHoliday("holiday-2");
+    HolidayEntity after = brazilianHoliday("holiday-2");
+    after.setLocalities(List.of(new LocalityEntity("US", "United States")));
+
+    invalidator.holidayChanged(before, after);
+
+    assertThat(listings.get(BRAZIL)).isNull();
+    assertThat(listings.get(UNITED_STATES)).isNull();
+    assertThat(byId.get("holiday-2")).isNull();
+    assertThat(byId.get("holiday-1")).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Should evict listings cached for filters with blank or padded localities")
+  void shouldEvictListingsOfNormalizedFilters() {
+    // the listing is cached under the normalized filter, as HolidayService does
+    HolidayFilter padded =
+        new HolidayFilter(" BR ", "", null, null, null, null, null, null).normalized();
+    listings.put(padded, List.of());
+
+    invalidator.holidayChanged(null, brazilianHoliday("holiday-4"));
+
+    assertThat(padded).isEqualTo(BRAZIL);
+    assertThat(listings.get(padded)).isNull();
+    assertThat(listings.get(UNITED_STATES)).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Should invalidate holidays changed through the read replica change stream")
+  void shouldInvalidateReplicaUpdates() {
+    long generation = invalidator.generation();
+
+    invalidator.replicaUpdated(new HolidayReadReplica.Updated(List.of(brazilianHoliday("holiday-2"))));
+
+    assertThat(listings.get(BRAZIL)).isNull();
+    assertThat(listings.get(UNITED_STATES)).isNotNull();
+    assertThat(byId.get("holiday-2")).isNull();
+    assertThat(byId.get("holiday-1")).isNotNull();
+    assertThat(invalidator.generation()).isGreaterThan(generation);
+
+    invalidator.replicaReloaded(new HolidayReadReplica.Reloaded());
+
+    assertThat(listings.get(UNITED_STATES)).isNull();
+    assertThat(byId.get("holiday-1")).isNull();
+  }
+
+  @Test
+  @DisplayName("Should not cache a value loaded while an invalidation ran")
+  void shouldNotCacheValuesLoadedBeforeAnInvalidation() {
+    String loaded = invalidator.cached(CacheConfig.HOLIDAY_BY_ID, "holiday-3", () -> {
+      // a write lands while the read is loading the previous version
+      invalidator.holidayChanged(null, brazilianHoliday("holiday-3"));
+      return "stale";
+    });
+
+    assertThat(loaded).isEqualTo("stale");
+    assertThat(byId.get("holiday-3")).isNull();
+    assertThat(invalidator.cached(CacheConfig.HOLIDAY_BY_ID, "holiday-3", () -> "fresh"))
+        .isEqualTo("fresh");
+    assertThat(byId.get("holiday-3").get()).isEqualTo("fresh");
+  }
+
+  @Test
+  @DisplayName("Should answer cached values without loading them")
+  void shouldAnswerCachedValues() {
+    String cached = invalidator.cached(CacheConfig.HOLIDAY_BY_ID, "holiday-1", () -> {
+      throw new AssertionError("loaded a cached value");
+    });
+
+    assertThat(cached).isEqualTo("cached");
+  }
+}
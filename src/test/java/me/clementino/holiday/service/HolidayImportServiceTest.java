@@ -0,0 +1,146 @@
+package me.clementino.holiday.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import me.clementino.holiday.dto.HolidayImportReportDTO;
+import me.clementino.holiday.dto.HolidayImportReportDTO.Status;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest(properties = {"holiday.import.batch-size=2", "holiday.import.workers=2"})
+@ActiveProfiles("test")
+@Testcontainers
+@Tag("integration")
+@DisplayName("HolidayImportService Tests")
+class HolidayImportServiceTest {
+
+  @Container
+  static MongoDBContainer mongoDBContainer =
+      new MongoDBContainer("mongo:8").withExposedPorts(27017);
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+  }
+
+  @Autowired private HolidayImportService importService;
+
+  @Autowired private HolidayRepository holidayRepository;
+
+  @BeforeEach
+  void setUp() {
+    holidayRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Should import valid records and report rejected ones with their offset")
+  void shouldImportValidRecordsAndReportRejectedOnes() throws IOException {
+    String invalid = fixed(" ", 1, "JANUARY");
+    String ndjson =
+        fixed("New Year", 1, "JANUARY")
+            + fixed("Tiradentes", 21, "APRIL")
+            + invalid
+            + fixed("Labour Day", 1, "MAY")
+            + fixed("Christmas", 25, "DECEMBER");
+
+    HolidayImportReportDTO report = importService.importNdjson(stream(ndjson));
+
+    assertThat(report.status()).isEqualTo(Status.COMPLETED);
+    assertThat(report.imported()).isEqualTo(4);
+    assertThat(report.failed()).isEqualTo(1);
+    assertThat(report.failures())
+        .singleElement()
+        .extracting(HolidayImportReportDTO.Failure::offset)
+        .isEqualTo((long) ndjson.indexOf(invalid));
+    assertThat(report.checkpointOffset()).isEqualTo(ndjson.length() - 1);
+    assertThat(holidayRepository.count()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should replace records that are imported again")
+  void shouldReplaceRecordsImportedAgain() throws IOException {
+    String ndjson = fixed("New Year", 1, "JANUARY") + fixed("Christmas", 25, "DECEMBER");
+
+    importService.importNdjson(stream(ndjson));
+    Map<String, HolidayEntity> first = byId();
+    HolidayImportReportDTO again = importService.importNdjson(stream(ndjson));
+
+    assertThat(again.imported()).isEqualTo(2);
+    assertThat(holidayRepository.count()).isEqualTo(2);
+    byId().forEach((id, replaced) -> {
+      assertThat(replaced.getVersion()).isEqualTo(first.get(id).getVersion() + 1);
+      assertThat(replaced.getDateCreated()).isEqualTo(first.get(id).getDateCreated());
+    });
+  }
+
+  private Map<String, HolidayEntity> byId() {
+    return holidayRepository.findAll().stream()
+        .collect(Collectors.toMap(HolidayEntity::getId, Function.identity()));
+  }
+
+  @Test
+  @DisplayName("Should stop at malformed JSON and resume from the checkpoint")
+  void shouldStopAtMalformedJsonAndResumeFromCheckpoint() throws IOException {
+    String head =
+        fixed("New Year", 1, "JANUARY")
+            + fixed("Tiradentes", 21, "APRIL")
+            + fixed("Labour Day", 1, "MAY");
+    String tail = fixed("Christmas", 25, "DECEMBER");
+
+    HolidayImportReportDTO interrupted =
+        importService.importNdjson(stream(head + "{\"type\": \"Fixed\", \n" + tail));
+
+    assertThat(interrupted.status()).isEqualTo(Status.INTERRUPTED);
+    assertThat(interrupted.error()).isNotBlank();
+    assertThat(interrupted.checkpointOffset()).isEqualTo(head.length() - 1);
+    assertThat(holidayRepository.count()).isEqualTo(3);
+
+    HolidayImportReportDTO resumed =
+        importService.importNdjson(
+            stream(head + tail), interrupted.checkpointOffset(), progress -> {});
+
+    assertThat(resumed.status()).isEqualTo(Status.COMPLETED);
+    assertThat(resumed.imported()).isEqualTo(1);
+    assertThat(holidayRepository.count()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should reject a negative offset")
+  void shouldRejectNegativeOffset() {
+    assertThatThrownBy(() -> importService.importNdjson(stream(""), -1, progress -> {}))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static InputStream stream(String ndjson) {
+    return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String fixed(String name, int day, String month) {
+    return """
+        {"type": "Fixed", "name": "%s", "description": "%s", "day": %d, "month": "%s", \
+        "localities": [{"localityType": "Country", "code": "BR", "name": "Brazil"}], \
+        "holidayType": "NATIONAL"}
+        """
+        .formatted(name, name, day, month);
+  }
+}
@@ -0,0 +1,245 @@
+package me.clementino.holiday.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.UUID;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.domain.dop.KnownHoliday;
+import me.clementino.holiday.domain.dop.Locality;
+import me.clementino.holiday.domain.dop.Location;
+import me.clementino.holiday.domain.dop.MoveableFromBaseHoliday;
+import me.clementino.holiday.domain.dop.MoveableHoliday;
+import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.HolidayEntity.HolidayVariant;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.repository.HolidayFilter;
+import me.clementino.holiday.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+@Tag("integration")
+@DisplayName("HolidayService occurrence expansion Tests")
+class HolidayOccurrencesTest {
+
+  private static final HolidayFilter BRAZIL =
+      new HolidayFilter("BR", null, null, null, null, null, null, null);
+
+  @Container
+  static MongoDBContainer mongoDBContainer =
+      new MongoDBContainer("mongo:8").withExposedPorts(27017);
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+  }
+
+  @Autowired private HolidayService holidayService;
+
+  @Autowired private HolidayRepository holidayRepository;
+
+  @BeforeEach
+  void setUp() {
+    holidayRepository.deleteAll();
+    holidayRepository.saveAll(
+        List.of(
+            holiday("Christmas Day", LocalDate.of(2024, Month.DECEMBER, 25), "BR"),
+            holiday("Tiradentes", LocalDate.of(2024, Month.APRIL, 21), "BR"),
+            holiday("Independence Day", LocalDate.of(2024, Month.JULY, 4), "US")));
+  }
+
+  private static HolidayEntity holiday(String name, LocalDate date, String country) {
+    HolidayEntity entity = legacyHoliday(name, date, country);
+    entity.setHolidayVariant(HolidayVariant.FIXED);
+    entity.setMondayisation(false);
+    entity.setRecurring(true);
+    return entity;
+  }
+
+  /** A holiday stored before the yearly rule was persisted. */
+  private static HolidayEntity legacyHoliday(String name, LocalDate date, String country) {
+    HolidayEntity entity = new HolidayEntity(name, name, date, country, HolidayType.NATIONAL);
+    entity.setId(UUID.randomUUID().toString());
+    entity.setLocalities(List.of(new LocalityEntity(country, country)));
+    return entity;
+  }
+
+  @Test
+  @DisplayName("Should expand every matching holiday once per year in date order")
+  void shouldExpandOccurrencesAcrossYears() {
+    List<HolidayDataDTO> occurrences =
+        holidayService
+            .expandOccurrences(BRAZIL, LocalDate.of(2020, 1, 1), LocalDate.of(2069, 12, 31))
+            .toList();
+
+    assertThat(occurrences).hasSize(100);
+    assertThat(occurrences.getFirst().date()).isEqualTo(LocalDate.of(2020, 4, 21));
+    assertThat(occurrences.getLast().date()).isEqualTo(LocalDate.of(2069, 12, 25));
+    assertThat(occurrences).isSortedAccordingTo((a, b) -> a.date().compareTo(b.date()));
+    assertThat(occurrences).allSatisfy(occurrence -> assertThat(occurrence.recurring()).isTrue());
+  }
+
+  @Test
+  @DisplayName("Should only include occurrences inside the requested range")
+  void shouldClipOccurrencesToRange() {
+    List<HolidayDataDTO> occurrences =
+        holidayService
+            .expandOccurrences(BRAZIL, LocalDate.of(2025, 5, 1), LocalDate.of(2026, 5, 1))
+            .toList();
+
+    assertThat(occurrences)
+        .extracting(HolidayDataDTO::date)
+        .containsExactly(LocalDate.of(2025, 12, 25), LocalDate.of(2026, 4, 21));
+  }
+
+  @Test
+  @DisplayName("Should generate occurrences lazily")
+  void shouldGenerateLazily() {
+    List<HolidayDataDTO> firstThree =
+        holidayService
+            .expandOccurrences(BRAZIL, LocalDate.of(1, 1, 1), LocalDate.of(999, 12, 31))
+            .limit(3)
+            .toList();
+
+    assertThat(firstThree)
+        .extracting(HolidayDataDTO::date)
+        .containsExactly(LocalDate.of(1, 4, 21), LocalDate.of(1, 12, 25), LocalDate.of(2, 4, 21));
+  }
+
+  @Test
+  @DisplayName("Should reject reversed or too long ranges")
+  void shouldRejectInvalidRanges() {
+    assertThatThrownBy(
+            () ->
+                holidayService.expandOccurrences(
+                    BRAZIL, LocalDate.of(2026, 1, 1), LocalDate.of(2025, 1, 1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                holidayService.expandOccurrences(
+                    BRAZIL, LocalDate.of(2000, 1, 1), LocalDate.of(3000, 1, 1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should answer holidays on a date from the compiled calendar")
+  void shouldFindHolidaysOnDate() {
+    assertThat(holidayService.findHolidaysOn(new Location("BR"), LocalDate.of(2031, 12, 25)))
+        .singleElement()
+        .satisfies(
+            holiday -> {
+              assertThat(holiday.name()).isEqualTo("Christmas Day");
+              assertThat(holiday.date()).isEqualTo(LocalDate.of(2031, 12, 25));
+            });
+    assertThat(holidayService.findHolidaysOn(new Location("BR"), LocalDate.of(2031, 12, 24)))
+        .isEmpty();
+    assertThat(holidayService.findHolidaysOn(new Location("US"), LocalDate.of(2031, 12, 25)))
+        .isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should find the next holiday across years")
+  void shouldFindNextHoliday() {
+    assertThat(holidayService.findNextHoliday(new Location("BR"), LocalDate.of(2030, 12, 26)))
+        .get()
+        .extracting(HolidayDataDTO::name, HolidayDataDTO::date)
+        .containsExactly("Tiradentes", LocalDate.of(2031, 4, 21));
+    assertThat(holidayService.findNextHoliday(new Location("AR"), LocalDate.of(2030, 1, 1)))
+        .isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should recalculate moveable and derived feasts in every year")
+  void shouldExpandMoveableFeastsAcrossYears() {
+    List<Locality> portugal = List.of(Locality.country("PT", "Portugal"));
+    var easter = new MoveableHoliday(
+        "Easter", "Easter Sunday", LocalDate.of(2024, 3, 31), portugal, HolidayType.RELIGIOUS,
+        KnownHoliday.EASTER, false);
+    holidayService.create(easter, 2024);
+    holidayService.create(
+        new MoveableFromBaseHoliday(
+            "Good Friday", "Good Friday", LocalDate.of(2024, 3, 29), portugal, HolidayType.NATIONAL,
+            KnownHoliday.GOOD_FRIDAY, easter, -2, false),
+        2024);
+
+    List<HolidayDataDTO> occurrences =
+        holidayService
+            .expandOccurrences(
+                new HolidayFilter("PT", null, null, null, null, null, null, null),
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2026, 12, 31))
+            .toList();
+
+    assertThat(occurrences)
+        .extracting(HolidayDataDTO::name, HolidayDataDTO::date)
+        .containsExactly(
+            tuple("Good Friday", LocalDate.of(2025, 4, 18)),
+            tuple("Easter", LocalDate.of(2025, 4, 20)),
+            tuple("Good Friday", LocalDate.of(2026, 4, 3)),
+            tuple("Easter", LocalDate.of(2026, 4, 5)));
+  }
+
+  @Test
+  @DisplayName("Should check and find moveable feasts of a later year from the compiled calendar")
+  void shouldAnswerMoveableFeastsAcrossYearBoundary() {
+    List<Locality> brazil = List.of(Locality.brazil());
+    var easter = new MoveableHoliday(
+        "Easter", "Easter Sunday", LocalDate.of(2024, 3, 31), brazil, HolidayType.RELIGIOUS,
+        KnownHoliday.EASTER, false);
+    holidayService.create(
+        new MoveableFromBaseHoliday(
+            "Carnival", "Carnival Tuesday", LocalDate.of(2024, 2, 13), brazil, HolidayType.NATIONAL,
+            KnownHoliday.EASTER, easter, -47, false),
+        2024);
+
+    assertThat(holidayService.findNextHoliday(new Location("BR"), LocalDate.of(2025, 12, 26)))
+        .get()
+        .extracting(HolidayDataDTO::name, HolidayDataDTO::date)
+        .containsExactly("Carnival", LocalDate.of(2026, 2, 17));
+    assertThat(holidayService.findHolidaysOn(new Location("BR", "SP"), LocalDate.of(2026, 2, 17)))
+        .extracting(HolidayDataDTO::name)
+        .containsExactly("Carnival");
+    assertThat(holidayService.findHolidaysOn(new Location("BR", "SP"), LocalDate.of(2026, 2, 13)))
+        .isEmpty();
+    assertThat(holidayService.findHolidaysOn(new Location("BR"), LocalDate.of(2024, 2, 13)))
+        .extracting(HolidayDataDTO::name)
+        .containsExactly("Carnival");
+  }
+
+  @Test
+  @DisplayName("Should only report holidays without a yearly rule on their stored date")
+  void shouldNotExpandHolidaysWithoutRule() {
+    holidayRepository.save(legacyHoliday("Semana Santa", LocalDate.of(2024, 3, 28), "AR"));
+
+    List<HolidayDataDTO> occurrences =
+        holidayService
+            .expandOccurrences(
+                new HolidayFilter("AR", null, null, null, null, null, null, null),
+                LocalDate.of(2023, 1, 1),
+                LocalDate.of(2026, 12, 31))
+            .toList();
+
+    assertThat(occurrences).singleElement().satisfies(occurrence -> {
+      assertThat(occurrence.date()).isEqualTo(LocalDate.of(2024, 3, 28));
+      assertThat(occurrence.recurring()).isFalse();
+    });
+  }
+}
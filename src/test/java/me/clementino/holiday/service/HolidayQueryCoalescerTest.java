@@ -0,0 +1,246 @@
+package me.clementino.holiday.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.clementino.holiday.config.CacheConfig;
+import me.clementino.holiday.config.JacksonConfig;
+import me.clementino.holiday.domain.dop.HolidayType;
+import me.clementino.holiday.dto.HolidayDataDTO;
+import me.clementino.holiday.entity.HolidayEntity;
+import me.clementino.holiday.entity.LocalityEntity;
+import me.clementino.holiday.mapper.HolidayFragmentCache;
+import me.clementino.holiday.mapper.HolidayJsonWriter;
+import me.clementino.holiday.repository.HolidayFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.util.unit.DataSize;
+
+@DisplayName("HolidayQueryCoalescer Tests")
+@Tag("unit")
+class HolidayQueryCoalescerTest {
+
+  private static final HolidayFilter BRAZIL =
+      new HolidayFilter("BR", null, null, null, null, null, null, null);
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final HolidayQueryCoalescer coalescer = new HolidayQueryCoalescer(registry);
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private double count(String result) {
+    return registry.get("holiday.query.coalescing").tag("result", result).counter().count();
+  }
+
+  private void awaitInFlight(int queries) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (registry.get("holiday.query.in-flight").gauge().value() < queries
+        && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  private void awaitShared(int callers) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (count("shared") < callers && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(count("shared")).isEqualTo(callers);
+  }
+
+  @Test
+  @DisplayName("Should run one query for concurrent identical calls and share its result")
+  void shouldCoalesceConcurrentCalls() throws Exception {
+    var release = new CountDownLatch(1);
+    var queries = new AtomicInteger();
+    List<HolidayDataDTO> listing = List.of();
+
+    var calls = new ArrayList<Future<List<HolidayDataDTO>>>();
+    for (int caller = 0; caller < 20; caller++) {
+      calls.add(executor.submit(() -> coalescer.execute(BRAZIL, 0, () -> {
+        queries.incrementAndGet();
+        await(release);
+        return listing;
+      })));
+    }
+    awaitShared(19);
+    release.countDown();
+
+    for (Future<List<HolidayDataDTO>> call : calls) {
+      assertThat(call.get(10, TimeUnit.SECONDS)).isSameAs(listing);
+    }
+    assertThat(queries).hasValue(1);
+    assertThat(count("executed")).isEqualTo(1);
+    assertThat(registry.get("holiday.query.coalescing.ratio").gauge().value()).isEqualTo(0.95);
+    assertThat(registry.get("holiday.query.in-flight").gauge().value()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should run a new query once the previous one completed")
+  void shouldNotKeepCompletedResults() {
+    var queries = new AtomicInteger();
+
+    coalescer.execute(BRAZIL, 0, () -> List.of());
+    coalescer.execute(BRAZIL, 0, () -> List.of());
+    coalescer.execute(HolidayFilter.none(), 0, () -> {
+      queries.incrementAndGet();
+      return List.of();
+    });
+
+    assertThat(count("executed")).isEqualTo(3);
+    assertThat(count("shared")).isZero();
+    assertThat(queries).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Should fail every waiting caller with the exception of the query")
+  void shouldShareFailures() throws Exception {
+    var release = new CountDownLatch(1);
+    Future<List<HolidayDataDTO>> leader =
+        executor.submit(() -> coalescer.execute(BRAZIL, 0, () -> {
+          await(release);
+          throw new IllegalStateException("database unavailable");
+        }));
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (count("executed") < 1 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    Future<List<HolidayDataDTO>> follower =
+        executor.submit(() -> coalescer.execute(BRAZIL, 0, () -> List.of()));
+    awaitShared(1);
+    release.countDown();
+
+    for (Future<List<HolidayDataDTO>> call : List.of(leader, follower)) {
+      assertThatThrownBy(() -> call.get(10, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  @DisplayName("Should start a new query for callers arriving after a detach")
+  void shouldDetachInFlightQueries() throws Exception {
+    var release = new CountDownLatch(1);
+    List<HolidayDataDTO> stale = List.of();
+    Future<List<HolidayDataDTO>> before =
+        executor.submit(() -> coalescer.execute(BRAZIL, 0, () -> {
+          await(release);
+          return stale;
+        }));
+    awaitInFlight(1);
+
+    coalescer.detachIf(filter -> "BR".equals(filter.country()));
+    List<HolidayDataDTO> fresh = new ArrayList<>();
+    assertThat(coalescer.execute(BRAZIL, 0, () -> fresh)).isSameAs(fresh);
+
+    release.countDown();
+    assertThat(before.get(10, TimeUnit.SECONDS)).isSameAs(stale);
+    assertThat(count("executed")).isEqualTo(2);
+    assertThat(count("shared")).isZero();
+  }
+
+  @Test
+  @DisplayName("Should not share a query with callers of a later cache generation")
+  void shouldNotShareAcrossGenerations() throws Exception {
+    var release = new CountDownLatch(1);
+    List<HolidayDataDTO> stale = List.of();
+    Future<List<HolidayDataDTO>> before =
+        executor.submit(() -> coalescer.execute(BRAZIL, 0, () -> {
+          await(release);
+          return stale;
+        }));
+    awaitInFlight(1);
+
+    List<HolidayDataDTO> fresh = new ArrayList<>();
+    assertThat(coalescer.execute(BRAZIL, 1, () -> fresh)).isSameAs(fresh);
+
+    release.countDown();
+    assertThat(before.get(10, TimeUnit.SECONDS)).isSameAs(stale);
+    assertThat(count("shared")).isZero();
+  }
+
+  @Test
+  @DisplayName("Should not cache a listing whose query was overtaken by a write")
+  void shouldNotCacheListingsOvertakenByWrites() throws Exception {
+    var cacheManager = new ConcurrentMapCacheManager(CacheConfig.LOCALITY_HOLIDAYS);
+    Cache listings = cacheManager.getCache(CacheConfig.LOCALITY_HOLIDAYS);
+    var invalidator = new HolidayCacheInvalidator(
+        cacheManager,
+        coalescer,
+        new HolidayFragmentCache(
+            new HolidayJsonWriter(), new JacksonConfig().objectMapper(), registry, DataSize.ofMegabytes(1)));
+    var release = new CountDownLatch(1);
+    List<HolidayDataDTO> stale = List.of();
+    List<HolidayDataDTO> fresh = new ArrayList<>();
+
+    // the same composition as HolidayService.findAllWithFilters
+    Callable<List<HolidayDataDTO>> staleListing =
+        () -> invalidator.cached(
+            CacheConfig.LOCALITY_HOLIDAYS,
+            BRAZIL,
+            generation -> coalescer.execute(BRAZIL, generation, () -> {
+              await(release);
+              return stale;
+            }));
+    Future<List<HolidayDataDTO>> leader = executor.submit(staleListing);
+    awaitInFlight(1);
+    Future<List<HolidayDataDTO>> follower = executor.submit(staleListing);
+    awaitShared(1);
+
+    HolidayEntity carnival =
+        new HolidayEntity("Carnival", "Carnival", LocalDate.of(2024, 2, 13), "BR", HolidayType.STATE);
+    carnival.setId("carnival");
+    carnival.setLocalities(List.of(new LocalityEntity("BR", "Brazil")));
+    invalidator.holidayChanged(null, carnival);
+
+    List<HolidayDataDTO> afterWrite = invalidator.cached(
+        CacheConfig.LOCALITY_HOLIDAYS,
+        BRAZIL,
+        generation -> coalescer.execute(BRAZIL, generation, () -> fresh));
+    release.countDown();
+
+    assertThat(afterWrite).isSameAs(fresh);
+    assertThat(leader.get(10, TimeUnit.SECONDS)).isSameAs(stale);
+    assertThat(follower.get(10, TimeUnit.SECONDS)).isSameAs(stale);
+    assertThat(listings.get(BRAZIL)).isNotNull()
+        .satisfies(cached -> assertThat(cached.get()).isSameAs(fresh));
+  }
+
+  @Test
+  @DisplayName("Should give equivalent filters the same normalized key")
+  void shouldNormalizeFilters() {
+    var padded = new HolidayFilter(" BR ", "", null, null, null, null, null, "");
+
+    assertThat(padded.normalized()).isEqualTo(BRAZIL);
+    assertThat(BRAZIL.normalized()).isSameAs(BRAZIL);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
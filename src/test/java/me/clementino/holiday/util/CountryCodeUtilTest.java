@@ -115,4 +115,45 @@ class CountryCodeUtilTest {
     assertThat(CountryCodeUtil.isSameCountry("BR", null)).isFalse();
     assertThat(CountryCodeUtil.isSameCountry(null, null)).isFalse();
   }
+
+  @Test
+  @DisplayName("Should normalize names ignoring case, accents and whitespace")
+  void shouldNormalizeNamesIgnoringCaseAccentsAndWhitespace() {
+    assertThat(CountryCodeUtil.normalizeCountry("uNiTeD   sTaTeS")).isEqualTo(Optional.of("US"));
+    assertThat(CountryCodeUtil.normalizeCountry("España")).isEqualTo(Optional.of("ES"));
+    assertThat(CountryCodeUtil.normalizeCountry("espana")).isEqualTo(Optional.of("ES"));
+    assertThat(CountryCodeUtil.normalizeCountry("Bräzil")).isEqualTo(Optional.of("BR"));
+  }
+
+  @Test
+  @DisplayName("Should normalize alpha-3 and numeric codes to alpha-2")
+  void shouldNormalizeAlpha3AndNumericCodes() {
+    assertThat(CountryCodeUtil.normalizeCountry("BRA")).isEqualTo(Optional.of("BR"));
+    assertThat(CountryCodeUtil.normalizeCountry("deu")).isEqualTo(Optional.of("DE"));
+    assertThat(CountryCodeUtil.normalizeCountry("076")).isEqualTo(Optional.of("BR"));
+    assertThat(CountryCodeUtil.normalizeCountry("840")).isEqualTo(Optional.of("US"));
+
+    assertThat(CountryCodeUtil.isValidCountryCode("BRA")).isTrue();
+    assertThat(CountryCodeUtil.isValidCountryCode("076")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should resolve common country aliases")
+  void shouldResolveCommonCountryAliases() {
+    assertThat(CountryCodeUtil.getCountryCode("USA")).isEqualTo(Optional.of("US"));
+    assertThat(CountryCodeUtil.getCountryCode("usa")).isEqualTo(Optional.of("US"));
+    assertThat(CountryCodeUtil.getCountryCode("Brasil")).isEqualTo(Optional.of("BR"));
+    assertThat(CountryCodeUtil.getCountryCode("United States of America"))
+        .isEqualTo(Optional.of("US"));
+
+    assertThat(CountryCodeUtil.isSameCountry("Brasil", "BRA")).isTrue();
+    assertThat(CountryCodeUtil.isSameCountry("USA", "United States")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should return the same instance for canonical inputs")
+  void shouldReturnSameInstanceForCanonicalInputs() {
+    assertThat(CountryCodeUtil.normalizeCountry("BR")).isSameAs(CountryCodeUtil.normalizeCountry("Brazil"));
+    assertThat(CountryCodeUtil.getCountryName("br")).isSameAs(CountryCodeUtil.getCountryName("BR"));
+  }
 }
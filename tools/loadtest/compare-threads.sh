@@ -0,0 +1,122 @@
+#!/usr/bin/env bash
+# Holiday API - platform threads vs virtual threads load test
+#
+# Starts the packaged application twice against the same MongoDB, once on the Tomcat
+# platform-thread pool and once with spring.threads.virtual.enabled=true, and drives both with
+# the same hey (https://github.com/rakyll/hey) load. Raw hey reports are written to
+# $OUT/<mode>-<endpoint>.txt and a summary table is printed at the end.
+#
+# Requirements: MongoDB running (make infra), the jar built (make build-artifact), hey and curl.
+#
+# Environment:
+#   CONCURRENCY  concurrent clients (default 1000)
+#   DURATION     load duration per endpoint and mode (default 30s)
+#   RECORDS      holidays seeded before the run (default 2000)
+#   PORT         HTTP port of the application (default 8080)
+#   OUT          report directory (default target/loadtest)
+#   JAVA_OPTS    extra JVM options for both runs
+
+set -euo pipefail
+
+CONCURRENCY=${CONCURRENCY:-1000}
+DURATION=${DURATION:-30s}
+RECORDS=${RECORDS:-2000}
+PORT=${PORT:-8080}
+OUT=${OUT:-target/loadtest}
+JAVA_OPTS=${JAVA_OPTS:--Xmx512m -Xms256m}
+JAR=${JAR:-$(ls target/holiday-api-*.jar 2>/dev/null | grep -v plain | head -1 || true)}
+BASE_URL="http://localhost:${PORT}"
+
+# Endpoint name and path; both block on MongoDB for every request (no response cache)
+ENDPOINTS=(
+  "page|/api/holidays?country=BR&limit=50"
+  "page-filtered|/api/holidays?country=BR&type=NATIONAL&startDate=2010-01-01&endDate=2030-12-31&limit=20"
+)
+
+command -v hey >/dev/null || { echo "hey is required: go install github.com/rakyll/hey@latest" >&2; exit 1; }
+[[ -n "$JAR" && -f "$JAR" ]] || { echo "Application jar not found, run 'make build-artifact' first" >&2; exit 1; }
+mkdir -p "$OUT"
+
+APP_PID=""
+stop_app() {
+  if [[ -n "$APP_PID" ]] && kill -0 "$APP_PID" 2>/dev/null; then
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+  fi
+  APP_PID=""
+}
+trap stop_app EXIT
+
+start_app() {
+  local mode=$1 virtual=$2
+  echo "Starting application on ${mode} threads..."
+  # shellcheck disable=SC2086
+  HOLIDAY_VIRTUAL_THREADS_ENABLED=$virtual java --enable-preview $JAVA_OPTS -jar "$JAR" \
+    --server.port="$PORT" >"$OUT/${mode}-app.log" 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 60); do
+    if curl -sf "$BASE_URL/actuator/health" >/dev/null; then
+      return
+    fi
+    sleep 1
+  done
+  echo "Application did not become healthy, see $OUT/${mode}-app.log" >&2
+  exit 1
+}
+
+seed() {
+  local file="$OUT/seed.ndjson"
+  awk -v records="$RECORDS" 'BEGIN {
+    split("JANUARY FEBRUARY MARCH APRIL MAY JUNE JULY AUGUST SEPTEMBER OCTOBER NOVEMBER DECEMBER", months, " ");
+    for (i = 0; i < records; i++) {
+      printf "{\"type\":\"Fixed\",\"name\":\"Load Test Holiday %d\",\"description\":\"Seeded by compare-threads.sh\",", i;
+      printf "\"day\":%d,\"month\":\"%s\",\"year\":%d,", (i % 28) + 1, months[(i % 12) + 1], 2000 + (i % 40);
+      printf "\"localities\":[{\"localityType\":\"Country\",\"code\":\"BR\",\"name\":\"Brazil\"}],\"holidayType\":\"NATIONAL\"}\n";
+    }
+  }' >"$file"
+  echo "Seeding ${RECORDS} holidays (re-running replaces them)..."
+  curl -sf -X POST "$BASE_URL/api/holidays/import" \
+    -H "Content-Type: application/x-ndjson" --data-binary @"$file" >"$OUT/seed-report.json"
+}
+
+run_load() {
+  local mode=$1
+  for endpoint in "${ENDPOINTS[@]}"; do
+    local name=${endpoint%%|*} path=${endpoint#*|}
+    echo "  ${name}: warm-up"
+    hey -z 5s -c 50 "$BASE_URL$path" >/dev/null
+    echo "  ${name}: ${CONCURRENCY} clients for ${DURATION}"
+    hey -z "$DURATION" -c "$CONCURRENCY" "$BASE_URL$path" >"$OUT/${mode}-${name}.txt"
+  done
+}
+
+start_app platform false
+seed
+run_load platform
+stop_app
+
+start_app virtual true
+run_load virtual
+stop_app
+
+summary() {
+  local report=$1
+  local rps p50 p99 ok errors
+  rps=$(awk '/Requests\/sec/ {print $2}' "$report")
+  p50=$(awk '/ 50% in/ {print $3}' "$report")
+  p99=$(awk '/ 99% in/ {print $3}' "$report")
+  ok=$(awk '/\[200\]/ {print $2}' "$report")
+  errors=$(awk '/\[[1-9][0-9][0-9]\]/ && !/\[200\]/ {sum += $2} /^  Get .*: / {sum++} END {print sum + 0}' "$report")
+  printf "%-10s %-14s %10s %10s %10s %10s %8s\n" "$2" "$3" "${rps:-0}" "${p50:--}" "${p99:--}" "${ok:-0}" "$errors"
+}
+
+echo
+printf "%-10s %-14s %10s %10s %10s %10s %8s\n" "threads" "endpoint" "req/s" "p50 (s)" "p99 (s)" "200" "errors"
+for mode in platform virtual; do
+  for endpoint in "${ENDPOINTS[@]}"; do
+    name=${endpoint%%|*}
+    summary "$OUT/${mode}-${name}.txt" "$mode" "$name"
+  done
+done
+echo
+echo "Full hey reports in $OUT"
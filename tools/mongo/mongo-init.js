@@ -181,6 +181,7 @@ function initializeDatabase() {
             db.holidays.createIndex({ "localities.countryCode": 1 });
             db.holidays.createIndex({ "localities.countryCode": 1, "localities.subdivisionCode": 1 });
             db.holidays.createIndex({ "localities.countryCode": 1, "localities.subdivisionCode": 1, "localities.cityName": 1 });
+            db.holidays.createIndex({ "localities.countryCode": 1, "type": 1, "date": 1 });
             
             // Index for date and type queries
             db.holidays.createIndex({ "date": 1 });